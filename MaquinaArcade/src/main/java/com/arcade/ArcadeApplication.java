@@ -1,6 +1,7 @@
 package com.arcade;
 
 import com.arcade.config.HibernateConfig;
+import com.arcade.service.ExecutionService;
 import com.arcade.util.FXMLLoader;
 import javafx.application.Application;
 import javafx.scene.Scene;
@@ -88,6 +89,9 @@ public class ArcadeApplication extends Application {
      */
     @Override
     public void stop() {
+        // Detener las tareas en segundo plano
+        ExecutionService.getInstance().shutdown();
+
         // Cerrar la conexión con la base de datos
         HibernateConfig.getInstance().shutdown();
     }
@@ -0,0 +1,231 @@
+package com.arcade.batch;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.hanoi.HanoiConfig;
+import com.arcade.model.game.knight.KnightConfig;
+import com.arcade.model.game.knight.Leaper;
+import com.arcade.model.game.queens.QueensConfig;
+import com.arcade.service.GameFactory;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Trabajo de un fichero de lotes: un juego con su configuración y estrategia
+ * La configuración (ver GameConfig) se valida al leer la línea
+ *
+ * Formato de cada línea (los campos finales son opcionales):
+ * tipo;tamaño;inicio;estrategia;segundos
+ *
+ * - tipo: nombre de GameFactory.GameType (QUEENS, KNIGHT, CAMEL, ZEBRA,
+ *   GIRAFFE, HANOI, HANOI_MULTIPEG)
+ * - tamaño: N del tablero, ANCHOxALTO en los recorridos rectangulares o
+ *   número de discos en Hanoi
+ * - inicio: x,y en los recorridos (0,0 por defecto); número de postes en
+ *   Hanoi; vacío en N Reinas
+ * - estrategia: nombre de una SolverStrategy o "auto" (por defecto) para
+ *   elegir la de menor coste esperado
+ * - segundos: tiempo máximo del trabajo (por defecto el de la ejecución)
+ */
+public final class BatchJob {
+
+    public static final String AUTO_STRATEGY = "auto";
+    private static final String SEPARATOR = ";";
+
+    private final int lineNumber;
+    private final GameType type;
+    private final GameConfig config; // Validada al leer la línea
+    private final String strategy; // null para elegirla automáticamente
+    private final Duration timeout; // null para usar el de la ejecución
+
+    private BatchJob(int lineNumber, GameType type, GameConfig config, String strategy, Duration timeout) {
+        this.lineNumber = lineNumber;
+        this.type = type;
+        this.config = config;
+        this.strategy = strategy;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Interpreta una línea del fichero de lotes
+     * @param line línea sin comentarios
+     * @param lineNumber número de línea, para los mensajes y los resultados
+     * @return trabajo leído
+     * @throws IllegalArgumentException si la línea no tiene el formato esperado
+     */
+    public static BatchJob parse(String line, int lineNumber) {
+        String[] fields = line.split(SEPARATOR, -1);
+        if (fields.length < 2 || fields.length > 5) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": se esperaban de 2 a 5 campos separados por '" +
+                    SEPARATOR + "'");
+        }
+
+        GameType type;
+        try {
+            type = GameType.valueOf(fields[0].trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": tipo de juego desconocido: " + fields[0].trim());
+        }
+
+        // Tamaño: N o ANCHOxALTO
+        String size = fields[1].trim().toLowerCase(Locale.ROOT);
+        int width;
+        int height;
+        int separator = size.indexOf('x');
+        if (separator >= 0) {
+            if (!isTour(type)) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": solo los recorridos admiten tableros rectangulares");
+            }
+            width = parseNumber(size.substring(0, separator), "el ancho", lineNumber);
+            height = parseNumber(size.substring(separator + 1), "el alto", lineNumber);
+        } else {
+            width = parseNumber(size, "el tamaño", lineNumber);
+            height = width;
+        }
+
+        // Inicio: posición en los recorridos, postes en Hanoi
+        String start = fields.length > 2 ? fields[2].trim() : "";
+        int startX = 0;
+        int startY = 0;
+        int pegs = 0;
+        if (!start.isEmpty()) {
+            if (isTour(type)) {
+                String[] position = start.split(",");
+                if (position.length != 2) {
+                    throw new IllegalArgumentException("Línea " + lineNumber + ": la posición inicial debe ser x,y");
+                }
+                startX = parseNumber(position[0].trim(), "la columna inicial", lineNumber);
+                startY = parseNumber(position[1].trim(), "la fila inicial", lineNumber);
+            } else if (type == GameType.HANOI || type == GameType.HANOI_MULTIPEG) {
+                pegs = parseNumber(start, "el número de postes", lineNumber);
+            } else {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": " + type.getName() + " no tiene posición inicial");
+            }
+        }
+
+        String strategy = fields.length > 3 ? fields[3].trim() : "";
+        if (strategy.isEmpty() || strategy.equalsIgnoreCase(AUTO_STRATEGY)) {
+            strategy = null;
+        }
+
+        Duration timeout = null;
+        if (fields.length > 4 && !fields[4].trim().isEmpty()) {
+            timeout = Duration.ofSeconds(parseNumber(fields[4].trim(), "el tiempo máximo", lineNumber));
+            if (timeout.isZero()) {
+                throw new IllegalArgumentException("Línea " + lineNumber + ": el tiempo máximo debe ser positivo");
+            }
+        }
+
+        // La configuración se valida aquí, para informar del error con su número de línea
+        GameConfig config;
+        try {
+            if (isTour(type)) {
+                Leaper leaper = GameFactory.getLeaper(type);
+                config = width == height
+                        ? KnightConfig.square(leaper, width, startX, startY)
+                        : KnightConfig.rectangular(leaper, width, height, startX, startY, null);
+            } else if (type == GameType.HANOI || type == GameType.HANOI_MULTIPEG) {
+                config = new HanoiConfig(width, pegs > 0 ? pegs : GameFactory.getDefaultPegs(type));
+            } else {
+                config = new QueensConfig(width);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": " + e.getMessage());
+        }
+
+        return new BatchJob(lineNumber, type, config, strategy, timeout);
+    }
+
+    private static int parseNumber(String text, String what, int lineNumber) {
+        try {
+            int value = Integer.parseInt(text);
+            if (value < 0) {
+                throw new NumberFormatException();
+            }
+            return value;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Línea " + lineNumber + ": valor no válido para " + what + ": " + text);
+        }
+    }
+
+    private static boolean isTour(GameType type) {
+        return type == GameType.KNIGHT || type == GameType.CAMEL ||
+                type == GameType.ZEBRA || type == GameType.GIRAFFE;
+    }
+
+    /**
+     * Crea e inicializa el juego del trabajo con GameFactory
+     * @return juego listo para resolver
+     */
+    public Game createGame() {
+        Game game = GameFactory.createGame(type);
+        game.initialize(config);
+        return game;
+    }
+
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    public GameType getType() {
+        return type;
+    }
+
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    /**
+     * Obtiene el tamaño tal como se escribe en el fichero
+     * @return N o ANCHOxALTO
+     */
+    public String getSizeText() {
+        if (config instanceof KnightConfig) {
+            KnightConfig tour = (KnightConfig) config;
+            if (tour.getWidth() != tour.getHeight()) {
+                return tour.getWidth() + "x" + tour.getHeight();
+            }
+        }
+        return Integer.toString(config.getProblemSize());
+    }
+
+    /**
+     * Obtiene el inicio tal como se escribe en el fichero
+     * @return x,y en los recorridos, postes en Hanoi o null si no tiene
+     */
+    public String getStartText() {
+        if (config instanceof KnightConfig) {
+            KnightConfig tour = (KnightConfig) config;
+            return tour.getStartX() + "," + tour.getStartY();
+        }
+        if (config instanceof HanoiConfig) {
+            return Integer.toString(((HanoiConfig) config).getNumPegs());
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene la estrategia pedida
+     * @return nombre de la estrategia o null si se elige automáticamente
+     */
+    public String getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * Obtiene el tiempo máximo del trabajo
+     * @return tiempo máximo o null si se usa el de la ejecución
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public String toString() {
+        return "Trabajo " + lineNumber + " [" + type + " " + getSizeText() +
+                (getStartText() != null ? " " + getStartText() : "") +
+                ", " + (strategy != null ? strategy : AUTO_STRATEGY) + "]";
+    }
+}
@@ -0,0 +1,389 @@
+package com.arcade.batch;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import com.arcade.model.entity.GameRecord;
+import com.arcade.model.game.Game;
+import com.arcade.model.game.ResumableSearch;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
+import com.arcade.model.game.SolverTelemetry;
+import com.arcade.service.ExecutionService;
+import com.arcade.service.GameFactory;
+import com.arcade.service.GameService;
+import com.arcade.service.GameServiceImpl;
+import com.arcade.service.solver.SolverRegistry;
+import com.arcade.service.solver.SolverStrategy;
+import com.arcade.util.Constants;
+import com.arcade.util.JsonBuilder;
+import com.arcade.util.SearchSnapshotFile;
+
+/**
+ * Punto de entrada sin interfaz gráfica para ejecutar lotes de resoluciones
+ * Lee un fichero de trabajos (ver BatchJob), los resuelve en paralelo en el
+ * grupo de cálculo de ExecutionService y escribe un resultado JSON por línea
+ * con los tiempos de cada trabajo, en el mismo orden que el fichero
+ *
+ * No carga JavaFX ni Hibernate: la base de datos solo se abre con --save,
+ * para guardar también cada partida en el historial
+ *
+ * Con --checkpoint=DIR, los trabajos cuya búsqueda se puede guardar (ver
+ * ResumableSearch) se resuelven por tramos de Constants.CHECKPOINT_INTERVAL_SECONDS
+ * y la búsqueda se guarda en DIR/trabajo-LÍNEA.arcs al final de cada tramo. Si
+ * la ejecución se corta, la siguiente con el mismo directorio continúa cada
+ * trabajo desde su búsqueda guardada en lugar de empezar de cero
+ *
+ * Uso: java com.arcade.batch.BatchRunner [--timeout=SEG] [--save] [--checkpoint=DIR] trabajos.txt resultados.jsonl
+ */
+public class BatchRunner {
+
+    private static final int EXIT_ERRORS = 1;
+    private static final int EXIT_USAGE = 2;
+    private static final String USAGE =
+            "Uso: BatchRunner [--timeout=SEG] [--save] [--checkpoint=DIR] trabajos.txt resultados.jsonl";
+    private static final String SNAPSHOT_SUFFIX = ".arcs";
+
+    private final Duration defaultTimeout;
+    private final GameService gameService;
+    private final boolean saveRecords;
+    private final Path checkpointDir; // null si no se guardan las búsquedas
+
+    /**
+     * Constructor con las opciones de la ejecución
+     * @param defaultTimeout tiempo máximo de los trabajos que no indican otro
+     * @param gameService servicio para resolver por tramos y guardar las partidas
+     * @param saveRecords true para guardar cada partida en el historial
+     * @param checkpointDir directorio de las búsquedas guardadas o null para no guardarlas
+     */
+    public BatchRunner(Duration defaultTimeout, GameService gameService, boolean saveRecords, Path checkpointDir) {
+        this.defaultTimeout = defaultTimeout;
+        this.gameService = gameService;
+        this.saveRecords = saveRecords;
+        this.checkpointDir = checkpointDir;
+    }
+
+    public static void main(String[] args) {
+        Duration timeout = Duration.ofSeconds(Constants.SOLVE_TIMEOUT_SECONDS);
+        boolean save = false;
+        Path checkpointDir = null;
+        List<String> files = new ArrayList<>();
+
+        for (String arg : args) {
+            if (arg.startsWith("--timeout=")) {
+                try {
+                    timeout = Duration.ofSeconds(Long.parseLong(arg.substring("--timeout=".length())));
+                } catch (NumberFormatException e) {
+                    exitWithUsage("Tiempo máximo no válido: " + arg);
+                }
+            } else if (arg.equals("--save")) {
+                save = true;
+            } else if (arg.startsWith("--checkpoint=")) {
+                checkpointDir = Paths.get(arg.substring("--checkpoint=".length()));
+            } else if (arg.startsWith("--")) {
+                exitWithUsage("Opción desconocida: " + arg);
+            } else {
+                files.add(arg);
+            }
+        }
+
+        if (files.size() != 2) {
+            exitWithUsage("Se requieren el fichero de trabajos y el de resultados");
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            exitWithUsage("El tiempo máximo debe ser positivo");
+        }
+
+        List<BatchJob> jobs;
+        try {
+            jobs = readJobs(Paths.get(files.get(0)));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("Error al leer los trabajos: " + e.getMessage());
+            System.exit(EXIT_USAGE);
+            return;
+        }
+
+        if (checkpointDir != null) {
+            try {
+                Files.createDirectories(checkpointDir);
+            } catch (IOException e) {
+                System.err.println("No se puede usar el directorio de búsquedas guardadas: " + e.getMessage());
+                System.exit(EXIT_USAGE);
+                return;
+            }
+        }
+
+        // GameServiceImpl solo abre la base de datos al guardar la primera partida
+        BatchRunner runner = new BatchRunner(timeout, new GameServiceImpl(), save, checkpointDir);
+
+        int errors;
+        try {
+            errors = runner.run(jobs, Paths.get(files.get(1)));
+        } catch (IOException e) {
+            System.err.println("Error al escribir los resultados: " + e.getMessage());
+            errors = jobs.size();
+        } finally {
+            ExecutionService.getInstance().shutdown();
+        }
+
+        if (errors > 0) {
+            System.exit(EXIT_ERRORS);
+        }
+    }
+
+    private static void exitWithUsage(String message) {
+        System.err.println(message);
+        System.err.println(USAGE);
+        System.exit(EXIT_USAGE);
+    }
+
+    /**
+     * Lee los trabajos de un fichero
+     * Las líneas vacías y las que empiezan por # se ignoran
+     * @param file fichero de trabajos
+     * @return trabajos en el orden del fichero
+     * @throws IOException si hay error al leer
+     * @throws IllegalArgumentException si alguna línea no tiene el formato esperado
+     */
+    public static List<BatchJob> readJobs(Path file) throws IOException {
+        List<BatchJob> jobs = new ArrayList<>();
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+
+        for (int i = 0; i < lines.size(); i++) {
+            String line = lines.get(i).trim();
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                jobs.add(BatchJob.parse(line, i + 1));
+            }
+        }
+
+        return jobs;
+    }
+
+    /**
+     * Ejecuta los trabajos en paralelo y escribe sus resultados
+     * Se mantienen en vuelo como mucho dos trabajos por hilo de cálculo, para
+     * no llenar la cola compartida, y los resultados se escriben en orden a
+     * medida que terminan
+     * @param jobs trabajos a ejecutar
+     * @param output fichero de resultados (JSON por líneas)
+     * @return número de trabajos que terminaron con error
+     * @throws IOException si hay error al escribir los resultados
+     */
+    public int run(List<BatchJob> jobs, Path output) throws IOException {
+        ExecutionService executor = ExecutionService.getInstance();
+        int window = Math.max(1, executor.getMetrics().getCpuThreads() * 2);
+        Deque<Future<JobOutcome>> pending = new ArrayDeque<>();
+        long batchStart = System.nanoTime();
+        int errors = 0;
+        int solved = 0;
+
+        System.err.println("Arranque en " + getStartupMillis() + " ms; " + jobs.size() + " trabajos en " +
+                executor.getMetrics().getCpuThreads() + " hilos de cálculo");
+
+        try (BufferedWriter writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8)) {
+            int next = 0;
+            while (next < jobs.size() || !pending.isEmpty()) {
+                // Llenar la ventana de trabajos en vuelo
+                while (next < jobs.size() && pending.size() < window) {
+                    BatchJob job = jobs.get(next++);
+                    long submitted = System.nanoTime();
+                    pending.add(executor.submitCpu(() -> runJob(job, submitted), ExecutionService.Priority.NORMAL));
+                }
+
+                JobOutcome outcome = await(pending.poll());
+                if (outcome.failed) {
+                    errors++;
+                } else if (outcome.solved) {
+                    solved++;
+                }
+
+                // Escribir cada resultado en cuanto está, por si la ejecución se interrumpe
+                writer.write(outcome.json.toString());
+                writer.newLine();
+                writer.flush();
+            }
+        }
+
+        System.err.println(String.format("%d trabajos en %.3f s: %d resueltos, %d con error",
+                jobs.size(), (System.nanoTime() - batchStart) / 1e9, solved, errors));
+        return errors;
+    }
+
+    /**
+     * Ejecuta un trabajo en un hilo de cálculo
+     * @param job trabajo a ejecutar
+     * @param submittedNanos instante en que se envió, para medir la espera en cola
+     * @return resultado del trabajo (también si falla)
+     */
+    private JobOutcome runJob(BatchJob job, long submittedNanos) {
+        long startNanos = System.nanoTime();
+        JsonBuilder json = new JsonBuilder()
+                .add("job", job.getLineNumber())
+                .add("type", job.getType().name())
+                .add("size", job.getSizeText())
+                .add("start", job.getStartText())
+                .add("requested_strategy", job.getStrategy() != null ? job.getStrategy() : BatchJob.AUTO_STRATEGY);
+        boolean solved = false;
+        boolean failed = false;
+
+        try {
+            Game created = job.createGame();
+            Path snapshot = checkpointDir != null && created instanceof ResumableSearch
+                    ? checkpointDir.resolve("trabajo-" + job.getLineNumber() + SNAPSHOT_SUFFIX)
+                    : null;
+            Game restored = snapshot != null ? restoreSearch(job, snapshot) : null;
+            Game game = restored != null ? restored : created;
+            SolverStrategy strategy = resolveStrategy(job, game);
+            Duration timeout = job.getTimeout() != null ? job.getTimeout() : defaultTimeout;
+            SolveOptions options = new SolveOptions(timeout, Long.MAX_VALUE, null);
+
+            SolveResult result;
+            if (snapshot != null) {
+                json.add("resumed", restored != null);
+                result = gameService.solveWithCheckpoints(game, job.getStrategy() != null ? strategy.getName() : null,
+                        options, snapshot, Duration.ofSeconds(Constants.CHECKPOINT_INTERVAL_SECONDS));
+            } else if (strategy == null) {
+                result = game.solve(options);
+            } else {
+                result = game.solve(options, strategy.getName(), () -> strategy.solve(game));
+            }
+
+            solved = result.isSolved();
+            json.add("algorithm", result.getAlgorithm())
+                    .add("status", result.getStatus().name())
+                    .add("solved", result.isSolved())
+                    .add("nodes", result.getNodes())
+                    .add("nodes_per_second", result.getNodesPerSecond())
+                    .add("solve_ms", result.getElapsedNanos() / 1e6);
+
+            SolverTelemetry telemetry = result.getTelemetry();
+            if (telemetry != null) {
+                json.add("telemetry", new JsonBuilder()
+                        .add("prunes", telemetry.getPrunes())
+                        .add("backtracks", telemetry.getBacktracks())
+                        .add("max_depth", telemetry.getMaxDepth())
+                        .add("depth_histogram", telemetry.getDepthHistogram()));
+            }
+
+            if (saveRecords) {
+                GameRecord record = gameService.saveGameRecord(game, result.isSolved());
+                json.add("record_id", record != null && record.getId() != null ? record.getId() : -1);
+            }
+        } catch (RuntimeException e) {
+            failed = true;
+            json.add("status", "ERROR").add("error", e.getMessage());
+        }
+
+        long endNanos = System.nanoTime();
+        json.add("queue_ms", (startNanos - submittedNanos) / 1e6)
+                .add("total_ms", (endNanos - submittedNanos) / 1e6)
+                .add("thread", Thread.currentThread().getName());
+        return new JobOutcome(json, solved, failed);
+    }
+
+    /**
+     * Lee la búsqueda guardada de un trabajo en una ejecución anterior
+     * Una búsqueda ilegible o de otra configuración (el fichero de trabajos
+     * ha cambiado) se descarta y el trabajo empieza de cero
+     * @param job trabajo
+     * @param file fichero de la búsqueda guardada
+     * @return juego con la búsqueda lista para reanudar o null si no hay ninguna válida
+     */
+    private static Game restoreSearch(BatchJob job, Path file) {
+        if (!Files.exists(file)) {
+            return null;
+        }
+
+        try {
+            Game game = SearchSnapshotFile.read(file);
+            if (GameFactory.getGameType(game) == job.getType() && job.getConfig().equals(game.getConfig())) {
+                System.err.println(job + ": se reanuda la búsqueda guardada en " + file);
+                return game;
+            }
+            System.err.println(job + ": la búsqueda guardada en " + file + " es de otro trabajo; se empieza de cero");
+        } catch (IOException e) {
+            System.err.println(job + ": no se puede leer la búsqueda guardada (" + e.getMessage() +
+                    "); se empieza de cero");
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene la estrategia de un trabajo: la pedida o la de menor coste esperado
+     * @param job trabajo
+     * @param game juego ya inicializado
+     * @return estrategia o null para usar el algoritmo propio del juego
+     */
+    private static SolverStrategy resolveStrategy(BatchJob job, Game game) {
+        SolverRegistry registry = SolverRegistry.getInstance();
+
+        if (job.getStrategy() == null) {
+            return registry.selectStrategy(job.getType(), game);
+        }
+
+        SolverStrategy strategy = registry.findStrategy(job.getType(), job.getStrategy());
+        if (strategy == null) {
+            throw new IllegalArgumentException("Estrategia desconocida para " + job.getType().getName() + ": " +
+                    job.getStrategy());
+        }
+        if (!strategy.canSolve(game)) {
+            throw new IllegalArgumentException("La estrategia " + strategy.getName() + " no admite este tablero");
+        }
+        return strategy;
+    }
+
+    /**
+     * Espera el resultado de un trabajo
+     * @param future futuro del trabajo
+     * @return resultado del trabajo
+     */
+    private static JobOutcome await(Future<JobOutcome> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Ejecución de lotes interrumpida", e);
+        } catch (ExecutionException e) {
+            // runJob ya convierte los errores en resultados; aquí solo llegan los inesperados
+            return new JobOutcome(new JsonBuilder().add("status", "ERROR").add("error", String.valueOf(e.getCause())),
+                    false, true);
+        }
+    }
+
+    /**
+     * Calcula el tiempo transcurrido desde que arrancó la máquina virtual
+     * @return milisegundos desde el arranque o -1 si no se conoce
+     */
+    private static long getStartupMillis() {
+        return ProcessHandle.current().info().startInstant()
+                .map(start -> Duration.between(start, Instant.now()).toMillis())
+                .orElse(-1L);
+    }
+
+    /**
+     * Resultado de un trabajo: la línea JSON y su estado para el resumen
+     */
+    private static final class JobOutcome {
+        private final JsonBuilder json;
+        private final boolean solved;
+        private final boolean failed;
+
+        JobOutcome(JsonBuilder json, boolean solved, boolean failed) {
+            this.json = json;
+            this.solved = solved;
+            this.failed = failed;
+        }
+    }
+}
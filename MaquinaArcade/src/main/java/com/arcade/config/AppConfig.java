@@ -79,7 +79,7 @@ public class AppConfig {
      * @param disks número de discos
      * @return número mínimo de movimientos (2^n - 1)
      */
-    public static int calculateMinimumHanoiMoves(int disks) {
-        return (int) Math.pow(2, disks) - 1;
+    public static long calculateMinimumHanoiMoves(int disks) {
+        return (1L << disks) - 1;
     }
 }
\ No newline at end of file
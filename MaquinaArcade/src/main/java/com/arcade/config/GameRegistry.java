@@ -1,11 +1,19 @@
 package com.arcade.config;
 
-import java.util.HashMap;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import com.arcade.model.game.Game;
 import com.arcade.service.GameFactory;
 import com.arcade.service.GameFactory.GameType;
+import com.arcade.util.Constants;
 
 /**
  * Registro central de juegos de la aplicación
@@ -13,18 +21,41 @@ import com.arcade.service.GameFactory.GameType;
  *
  * El patrón Registry actúa como un registro global que mantiene referencias
  * a objetos que pueden ser necesarios en diferentes partes de la aplicación
+ *
+ * Cada sesión (una máquina, una ventana o un cliente remoto) tiene sus
+ * propios juegos, de modo que varias sesiones en la misma máquina virtual no
+ * comparten estado. Los juegos que una sesión devuelve se reinician y se
+ * guardan en un grupo por tipo para reutilizarlos en otra sesión. Las
+ * sesiones y los juegos del grupo sin uso durante
+ * Constants.REGISTRY_IDLE_TIMEOUT_SECONDS se descartan
+ *
+ * El registro se puede usar desde varios hilos a la vez; cada juego, en
+ * cambio, solo debe usarlo su sesión
  */
 public class GameRegistry {
 
     private static GameRegistry instance;
 
-    private final Map<GameType, Game> activeGames;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+    private final Map<GameType, Deque<IdleGame>> pool = new ConcurrentHashMap<>();
+    private final long idleTimeoutNanos;
+    private final long evictionIntervalNanos;
+    private final AtomicLong lastEviction = new AtomicLong(System.nanoTime());
+
+    private final AtomicLong sessionsOpened = new AtomicLong();
+    private final AtomicLong sessionsClosed = new AtomicLong();
+    private final AtomicLong sessionsExpired = new AtomicLong();
+    private final AtomicLong gamesCreated = new AtomicLong();
+    private final AtomicLong gamesReused = new AtomicLong();
+    private final AtomicLong gamesReleased = new AtomicLong();
+    private final AtomicLong gamesEvicted = new AtomicLong();
 
     /**
      * Constructor privado para evitar instanciación directa (Singleton)
      */
     private GameRegistry() {
-        activeGames = new HashMap<>();
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(Constants.REGISTRY_IDLE_TIMEOUT_SECONDS);
+        this.evictionIntervalNanos = TimeUnit.SECONDS.toNanos(Constants.REGISTRY_EVICTION_INTERVAL_SECONDS);
     }
 
     /**
@@ -39,49 +70,398 @@ public class GameRegistry {
     }
 
     /**
-     * Obtiene un juego del registro, creándolo si no existe
-     * @param type tipo de juego
-     * @return instancia del juego
+     * Abre una sesión nueva con sus propios juegos
+     * @return sesión abierta
+     */
+    public Session openSession() {
+        evictIfDue();
+
+        Session session = new Session(UUID.randomUUID().toString());
+        sessions.put(session.id, session);
+        sessionsOpened.incrementAndGet();
+        return session;
+    }
+
+    /**
+     * Obtiene una sesión abierta
+     * @param id identificador de la sesión
+     * @return sesión o null si no existe o ha caducado
+     */
+    public Session getSession(String id) {
+        evictIfDue();
+
+        Session session = sessions.get(id);
+        if (session != null) {
+            session.touch();
+        }
+        return session;
+    }
+
+    /**
+     * Cierra una sesión y devuelve sus juegos al grupo
+     * @param id identificador de la sesión
+     * @return true si la sesión estaba abierta
+     */
+    public boolean closeSession(String id) {
+        Session session = sessions.get(id);
+        if (session == null) {
+            return false;
+        }
+
+        session.close();
+        return true;
+    }
+
+    /**
+     * Cierra todas las sesiones y vacía el grupo de juegos
+     */
+    public void clearRegistry() {
+        for (Session session : new ArrayList<>(sessions.values())) {
+            session.close();
+        }
+        pool.clear();
+    }
+
+    /**
+     * Descarta las sesiones y los juegos del grupo sin uso durante más tiempo del permitido
+     * Los juegos de una sesión caducada no vuelven al grupo: quien la abrió
+     * aún podría conservar referencias a ellos
+     * @return número de sesiones y juegos descartados
      */
-    public Game getGame(GameType type) {
-        if (!activeGames.containsKey(type)) {
-            Game game = GameFactory.createGame(type);
-            activeGames.put(type, game);
+    public int evictIdle() {
+        long now = System.nanoTime();
+        lastEviction.set(now);
+        int evicted = 0;
+
+        for (Session session : sessions.values()) {
+            if (now - session.lastAccess > idleTimeoutNanos && session.expire()) {
+                evicted++;
+            }
+        }
+
+        for (Deque<IdleGame> idle : pool.values()) {
+            // Los juegos más antiguos están al final
+            IdleGame oldest;
+            while ((oldest = idle.peekLast()) != null && now - oldest.releasedAt > idleTimeoutNanos) {
+                if (idle.removeLastOccurrence(oldest)) {
+                    gamesEvicted.incrementAndGet();
+                    evicted++;
+                }
+            }
         }
 
-        return activeGames.get(type);
+        return evicted;
+    }
+
+    /**
+     * Ejecuta la limpieza de inactivos si ha pasado el intervalo desde la última
+     * Solo un hilo la ejecuta aunque varios lleguen a la vez
+     */
+    private void evictIfDue() {
+        long last = lastEviction.get();
+        long now = System.nanoTime();
+        if (now - last >= evictionIntervalNanos && lastEviction.compareAndSet(last, now)) {
+            evictIdle();
+        }
     }
 
     /**
-     * Verifica si un juego está registrado
+     * Obtiene un juego del grupo o crea uno nuevo
      * @param type tipo de juego
-     * @return true si el juego está registrado
+     * @return juego sin inicializar
      */
-    public boolean hasGame(GameType type) {
-        return activeGames.containsKey(type);
+    private Game acquire(GameType type) {
+        Deque<IdleGame> idle = pool.get(type);
+        IdleGame pooled = idle != null ? idle.pollFirst() : null;
+        if (pooled != null) {
+            gamesReused.incrementAndGet();
+            return pooled.game;
+        }
+
+        gamesCreated.incrementAndGet();
+        return GameFactory.createGame(type);
     }
 
     /**
-     * Elimina un juego del registro
+     * Reinicia un juego y lo guarda en el grupo si queda sitio
      * @param type tipo de juego
+     * @param game juego que ya no usa su sesión
      */
-    public void removeGame(GameType type) {
-        activeGames.remove(type);
+    private void release(GameType type, Game game) {
+        game.reset();
+        gamesReleased.incrementAndGet();
+
+        Deque<IdleGame> idle = pool.computeIfAbsent(type, key -> new ConcurrentLinkedDeque<>());
+        if (idle.size() < Constants.REGISTRY_MAX_IDLE_PER_TYPE) {
+            idle.offerFirst(new IdleGame(game, System.nanoTime()));
+        } else {
+            gamesEvicted.incrementAndGet(); // Grupo lleno: el juego se descarta
+        }
     }
 
     /**
-     * Reinicia todos los juegos registrados
+     * Obtiene una instantánea de las métricas del registro
+     * @return métricas actuales
      */
-    public void resetAllGames() {
-        for (Game game : activeGames.values()) {
-            game.reset();
+    public Metrics getMetrics() {
+        int activeGames = 0;
+        for (Session session : sessions.values()) {
+            activeGames += session.games.size();
+        }
+
+        int idleGames = 0;
+        for (Deque<IdleGame> idle : pool.values()) {
+            idleGames += idle.size();
         }
+
+        return new Metrics(
+                sessions.size(),
+                activeGames,
+                idleGames,
+                sessionsOpened.get(),
+                sessionsClosed.get(),
+                sessionsExpired.get(),
+                gamesCreated.get(),
+                gamesReused.get(),
+                gamesReleased.get(),
+                gamesEvicted.get()
+        );
     }
 
     /**
-     * Limpia todo el registro
+     * Sesión del registro: un juego por tipo, propio de la sesión
      */
-    public void clearRegistry() {
-        activeGames.clear();
+    public final class Session {
+        private final String id;
+        private final Map<GameType, Game> games = new ConcurrentHashMap<>();
+        private volatile long lastAccess = System.nanoTime();
+        private volatile boolean closed;
+
+        private Session(String id) {
+            this.id = id;
+        }
+
+        /**
+         * Obtiene el identificador de la sesión
+         * @return identificador único
+         */
+        public String getId() {
+            return id;
+        }
+
+        /**
+         * Obtiene un juego de la sesión, tomándolo del grupo o creándolo si no existe
+         * @param type tipo de juego
+         * @return instancia del juego
+         * @throws IllegalStateException si la sesión está cerrada
+         */
+        public Game getGame(GameType type) {
+            checkOpen();
+            touch();
+
+            Game game = games.computeIfAbsent(type, GameRegistry.this::acquire);
+
+            // Si la sesión se cerró mientras tanto, el juego no debe quedar en ella
+            if (closed && games.remove(type, game)) {
+                release(type, game);
+                checkOpen();
+            }
+            return game;
+        }
+
+        /**
+         * Verifica si la sesión tiene un juego del tipo indicado
+         * @param type tipo de juego
+         * @return true si el juego está en la sesión
+         */
+        public boolean hasGame(GameType type) {
+            return games.containsKey(type);
+        }
+
+        /**
+         * Devuelve un juego de la sesión al grupo
+         * Quien lo obtuvo no debe seguir usándolo
+         * @param type tipo de juego
+         */
+        public void removeGame(GameType type) {
+            touch();
+            Game game = games.remove(type);
+            if (game != null) {
+                release(type, game);
+            }
+        }
+
+        /**
+         * Reinicia todos los juegos de la sesión
+         */
+        public void resetAllGames() {
+            touch();
+            for (Game game : games.values()) {
+                game.reset();
+            }
+        }
+
+        /**
+         * Obtiene los tipos de juego que tiene la sesión
+         * @return tipos de juego
+         */
+        public List<GameType> getGameTypes() {
+            return new ArrayList<>(games.keySet());
+        }
+
+        /**
+         * Indica si la sesión está cerrada o ha caducado
+         * @return true si ya no se puede usar
+         */
+        public boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Cierra la sesión y devuelve sus juegos al grupo
+         */
+        public void close() {
+            if (!markClosed()) {
+                return;
+            }
+
+            sessionsClosed.incrementAndGet();
+            for (GameType type : new ArrayList<>(games.keySet())) {
+                Game game = games.remove(type);
+                if (game != null) {
+                    release(type, game);
+                }
+            }
+        }
+
+        /**
+         * Cierra la sesión por inactividad sin devolver sus juegos al grupo
+         * @return true si la sesión estaba abierta
+         */
+        private boolean expire() {
+            if (!markClosed()) {
+                return false;
+            }
+
+            sessionsExpired.incrementAndGet();
+            games.clear();
+            return true;
+        }
+
+        /**
+         * Marca la sesión como cerrada y la quita del registro
+         * @return true si este hilo es el que la ha cerrado
+         */
+        private boolean markClosed() {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                closed = true;
+            }
+            sessions.remove(id, this);
+            return true;
+        }
+
+        private void touch() {
+            lastAccess = System.nanoTime();
+        }
+
+        private void checkOpen() {
+            if (closed) {
+                throw new IllegalStateException("La sesión " + id + " está cerrada");
+            }
+        }
+    }
+
+    /**
+     * Juego del grupo con el instante en que se devolvió
+     */
+    private static final class IdleGame {
+        private final Game game;
+        private final long releasedAt;
+
+        IdleGame(Game game, long releasedAt) {
+            this.game = game;
+            this.releasedAt = releasedAt;
+        }
+    }
+
+    /**
+     * Instantánea inmutable de las métricas del registro
+     */
+    public static final class Metrics {
+        private final int activeSessions;
+        private final int activeGames;
+        private final int idleGames;
+        private final long sessionsOpened;
+        private final long sessionsClosed;
+        private final long sessionsExpired;
+        private final long gamesCreated;
+        private final long gamesReused;
+        private final long gamesReleased;
+        private final long gamesEvicted;
+
+        Metrics(int activeSessions, int activeGames, int idleGames, long sessionsOpened, long sessionsClosed,
+                long sessionsExpired, long gamesCreated, long gamesReused, long gamesReleased, long gamesEvicted) {
+            this.activeSessions = activeSessions;
+            this.activeGames = activeGames;
+            this.idleGames = idleGames;
+            this.sessionsOpened = sessionsOpened;
+            this.sessionsClosed = sessionsClosed;
+            this.sessionsExpired = sessionsExpired;
+            this.gamesCreated = gamesCreated;
+            this.gamesReused = gamesReused;
+            this.gamesReleased = gamesReleased;
+            this.gamesEvicted = gamesEvicted;
+        }
+
+        public int getActiveSessions() {
+            return activeSessions;
+        }
+
+        public int getActiveGames() {
+            return activeGames;
+        }
+
+        public int getIdleGames() {
+            return idleGames;
+        }
+
+        public long getSessionsOpened() {
+            return sessionsOpened;
+        }
+
+        public long getSessionsClosed() {
+            return sessionsClosed;
+        }
+
+        public long getSessionsExpired() {
+            return sessionsExpired;
+        }
+
+        public long getGamesCreated() {
+            return gamesCreated;
+        }
+
+        public long getGamesReused() {
+            return gamesReused;
+        }
+
+        public long getGamesReleased() {
+            return gamesReleased;
+        }
+
+        public long getGamesEvicted() {
+            return gamesEvicted;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("registro[sesiones=%d (abiertas=%d, cerradas=%d, caducadas=%d), juegos en uso=%d, " +
+                            "en el grupo=%d, creados=%d, reutilizados=%d, devueltos=%d, descartados=%d]",
+                    activeSessions, sessionsOpened, sessionsClosed, sessionsExpired, activeGames,
+                    idleGames, gamesCreated, gamesReused, gamesReleased, gamesEvicted);
+        }
     }
-}
\ No newline at end of file
+}
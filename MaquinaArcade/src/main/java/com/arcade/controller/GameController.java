@@ -37,6 +37,11 @@ public interface GameController {
      */
     void solveGame();
 
+    /**
+     * Cancela la resolución automática en curso
+     */
+    void cancelSolve();
+
     /**
      * Reinicia el juego
      */
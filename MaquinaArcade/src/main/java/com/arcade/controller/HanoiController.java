@@ -6,20 +6,27 @@ import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
+import javafx.scene.control.TextField;
 import javafx.scene.layout.Pane;
 
-import java.util.List;
-import java.util.Stack;
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.HanoiRecord;
+import com.arcade.model.game.CancellationToken;
 import com.arcade.model.game.Game;
-import com.arcade.model.game.hanoi.Disk;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
+import com.arcade.model.game.hanoi.FrameStewart;
 import com.arcade.model.game.hanoi.HanoiGame;
 import com.arcade.model.game.hanoi.HanoiGame.Move;
+import com.arcade.service.ExecutionService;
 import com.arcade.service.GameService;
 import com.arcade.service.GameFactory.GameType;
+import com.arcade.util.Constants;
 import com.arcade.view.components.HanoiBoard;
+import com.arcade.view.hanoi.HanoiPlayback;
 
 /**
  * Controlador para el juego de Torres de Hanoi
@@ -39,24 +46,57 @@ public class HanoiController implements GameController {
     @FXML
     private Slider disksSlider;
 
+    @FXML
+    private Label pegsLabel;
+
+    @FXML
+    private Slider pegsSlider;
+
     @FXML
     private Button initButton;
 
     @FXML
     private Button solveButton;
 
+    @FXML
+    private Button cancelButton;
+
     @FXML
     private Button stepButton;
 
     @FXML
     private Button resetButton;
 
+    @FXML
+    private TextField seekField;
+
+    @FXML
+    private Button seekButton;
+
+    @FXML
+    private Button hintButton;
+
+    @FXML
+    private Button playButton;
+
+    @FXML
+    private Label speedLabel;
+
+    @FXML
+    private Slider speedSlider;
+
     @FXML
     private Label movesLabel;
 
     @FXML
     private Label optimalLabel;
 
+    @FXML
+    private Label remainingLabel;
+
+    @FXML
+    private Label hintLabel;
+
     @FXML
     private Label timeLabel;
 
@@ -64,8 +104,9 @@ public class HanoiController implements GameController {
     private GameType gameType;
     private HanoiGame game;
     private HanoiBoard hanoiBoard;
+    private HanoiPlayback playback;
+    private CancellationToken solveToken; // Señal de la resolución en curso (null si no hay)
     private int selectedTower = -1; // Torre seleccionada para mover
-    private int currentStepIndex = 0; // Índice actual para el paso a paso
 
     /**
      * Inicialización del controlador
@@ -73,36 +114,61 @@ public class HanoiController implements GameController {
     @FXML
     public void initialize() {
         // Configurar controles
-        disksSlider.setMin(3);
-        disksSlider.setMax(10);
-        disksSlider.setValue(5);
+        disksSlider.setMin(Constants.MIN_HANOI_DISKS);
+        disksSlider.setMax(Constants.MAX_HANOI_DISKS);
+        disksSlider.setValue(Constants.DEFAULT_HANOI_DISKS);
         disksSlider.setShowTickLabels(true);
         disksSlider.setShowTickMarks(true);
-        disksSlider.setMajorTickUnit(1);
-        disksSlider.setMinorTickCount(0);
+        disksSlider.setMajorTickUnit(10);
+        disksSlider.setMinorTickCount(9);
         disksSlider.setSnapToTicks(true);
 
         // Actualizar etiqueta al cambiar el slider
         disksSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
             int disks = newVal.intValue();
             disksLabel.setText("Número de discos: " + disks);
-            optimalLabel.setText("Movimientos óptimos: " + ((int) Math.pow(2, disks) - 1));
+            updateOptimalLabel();
+        });
+
+        // Postes (solo visibles en la variante de k postes)
+        pegsSlider.setMin(Constants.MIN_HANOI_PEGS);
+        pegsSlider.setMax(Constants.MAX_HANOI_PEGS);
+        pegsSlider.setValue(Constants.DEFAULT_HANOI_PEGS);
+        pegsSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            pegsLabel.setText("Número de postes: " + newVal.intValue());
+            updateOptimalLabel();
         });
 
         // Configurar eventos de botones
         initButton.setOnAction(event -> initGame());
         solveButton.setOnAction(event -> solveGame());
+        cancelButton.setOnAction(event -> cancelSolve());
         stepButton.setOnAction(event -> stepGame());
         resetButton.setOnAction(event -> resetGame());
+        seekButton.setOnAction(event -> seekGame());
+        hintButton.setOnAction(event -> showHint());
+        playButton.setOnAction(event -> togglePlayback());
+
+        // Velocidad de la reproducción en escala logarítmica: 10^0 a 10^4
+        speedSlider.setMax(Math.log10(HanoiPlayback.MAX_SPEED));
+        speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            double speed = getSelectedSpeed();
+            speedLabel.setText("Velocidad: " + Math.round(speed) + "x");
+            if (playback != null) {
+                playback.setSpeed(speed);
+            }
+        });
 
         // Deshabilitar botones hasta inicializar
         solveButton.setDisable(true);
         stepButton.setDisable(true);
         resetButton.setDisable(true);
+        seekButton.setDisable(true);
+        hintButton.setDisable(true);
+        playButton.setDisable(true);
 
         // Actualizar etiqueta de movimientos óptimos
-        int disks = (int) disksSlider.getValue();
-        optimalLabel.setText("Movimientos óptimos: " + ((int) Math.pow(2, disks) - 1));
+        updateOptimalLabel();
 
         // Inicialmente no hay tablero
         hanoiBoard = null;
@@ -116,6 +182,14 @@ public class HanoiController implements GameController {
     @Override
     public void setGameType(GameType gameType) {
         this.gameType = gameType;
+
+        boolean multiPeg = gameType == GameType.HANOI_MULTIPEG;
+        titleLabel.setText(gameType.getName());
+        pegsLabel.setVisible(multiPeg);
+        pegsLabel.setManaged(multiPeg);
+        pegsSlider.setVisible(multiPeg);
+        pegsSlider.setManaged(multiPeg);
+        updateOptimalLabel();
     }
 
     @Override
@@ -127,16 +201,16 @@ public class HanoiController implements GameController {
 
         // Inicializar con el número de discos seleccionado
         int disks = (int) disksSlider.getValue();
+        int pegs = getSelectedPegs();
         try {
-            gameService.initializeGame(game, disks);
-            currentStepIndex = 0; // Reiniciar el índice para paso a paso
+            gameService.initializeGame(game, disks, pegs);
 
             // Crear o actualizar el tablero
             if (hanoiBoard != null) {
                 mainContainer.getChildren().remove(hanoiBoard);
             }
 
-            hanoiBoard = new HanoiBoard(disks);
+            hanoiBoard = new HanoiBoard(disks, pegs);
             mainContainer.getChildren().add(hanoiBoard);
             hanoiBoard.relocate(50, 100);
 
@@ -153,8 +227,12 @@ public class HanoiController implements GameController {
             solveButton.setDisable(false);
             stepButton.setDisable(false);
             resetButton.setDisable(false);
+            seekButton.setDisable(false);
+            hintButton.setDisable(false);
+            playButton.setDisable(false);
             initButton.setDisable(true);
             disksSlider.setDisable(true);
+            pegsSlider.setDisable(true);
 
             // Reiniciar la selección
             selectedTower = -1;
@@ -168,26 +246,18 @@ public class HanoiController implements GameController {
     @Override
     public void stepGame() {
         if (game != null) {
-            // Obtener la solución óptima
-            List<Move> optimalSolution = game.getOptimalSolution();
-
             // Verificar si hay más pasos disponibles
-            if (currentStepIndex >= optimalSolution.size()) {
+            if (game.getNextOptimalMove() == null) {
                 showAlert(Alert.AlertType.INFORMATION, "Información",
                         "No se pueden realizar más pasos",
                         "El juego ha llegado a su estado final.");
                 return;
             }
 
-            // Obtener el siguiente movimiento
-            Move nextMove = optimalSolution.get(currentStepIndex);
-
-            // Realizar el movimiento
-            boolean success = game.moveDisk(nextMove.getFromTower(), nextMove.getToTower());
+            // Realizar el siguiente movimiento de la solución óptima
+            boolean success = game.step();
 
             if (success) {
-                currentStepIndex++;
-
                 // Actualizar tablero
                 updateHanoiBoard();
 
@@ -198,7 +268,7 @@ public class HanoiController implements GameController {
                 if (game.isSolved()) {
                     showAlert(Alert.AlertType.INFORMATION, "¡Felicidades!",
                             "Puzzle completado",
-                            "Se ha completado el puzzle con " + game.getMoves().size() +
+                            "Se ha completado el puzzle con " + game.getMoveCount() +
                                     " movimientos. Movimientos óptimos: " + game.getMinimumMoves());
                     endGame();
                 }
@@ -216,47 +286,97 @@ public class HanoiController implements GameController {
             // Deshabilitar controles durante la resolución
             setControlsEnabled(false);
 
-            // Resolver en un hilo separado para no bloquear la UI
-            new Thread(() -> {
-                boolean success = gameService.solveGame(game);
-                currentStepIndex = game.getOptimalSolution().size(); // Actualizar el contador de pasos
-
-                // Actualizar UI en el hilo de JavaFX
-                Platform.runLater(() -> {
-                    // Actualizar tablero
-                    updateHanoiBoard();
-
-                    // Actualizar UI
-                    updateUI();
-
-                    setControlsEnabled(true);
-
-                    if (success) {
-                        showAlert(Alert.AlertType.INFORMATION, "Éxito",
-                                "Puzzle resuelto",
-                                "Se ha resuelto el puzzle con " + game.getMoves().size() +
-                                        " movimientos (óptimo: " + game.getMinimumMoves() + ").");
-
-                        // Guardar el resultado
-                        endGame();
+            CancellationToken token = new CancellationToken();
+            solveToken = token;
+            cancelButton.setDisable(false);
+            SolveOptions options = SolveOptions.withTimeout(
+                    Duration.ofSeconds(Constants.SOLVE_TIMEOUT_SECONDS), token);
+
+            // Resolver en el grupo de cálculo para no bloquear la UI
+            try {
+                ExecutionService.getInstance().submitCpu(() -> {
+                    SolveResult result = null;
+                    try {
+                        result = gameService.solveGame(game, options);
+                    } catch (Exception e) {
+                        Platform.runLater(() -> {
+                            showAlert(Alert.AlertType.ERROR, "Error",
+                                    "Error al resolver",
+                                    "Ocurrió un error al resolver: " + e.getMessage());
+                        });
+                    } finally {
+                        final SolveResult finalResult = result;
+
+                        // Actualizar UI en el hilo de JavaFX
+                        Platform.runLater(() -> {
+                            solveToken = null;
+                            cancelButton.setDisable(true);
+
+                            // Actualizar tablero
+                            updateHanoiBoard();
+
+                            // Actualizar UI
+                            updateUI();
+
+                            setControlsEnabled(true);
+
+                            if (finalResult == null) {
+                                return; // El error ya se ha mostrado
+                            }
+
+                            if (finalResult.isSolved()) {
+                                showAlert(Alert.AlertType.INFORMATION, "Éxito",
+                                        "Puzzle resuelto",
+                                        "Se ha resuelto el puzzle con " + game.getMoveCount() +
+                                                " movimientos (óptimo: " + game.getMinimumMoves() + ").");
+
+                                // Guardar el resultado
+                                endGame();
+                            } else if (finalResult.isInterrupted()) {
+                                showAlert(Alert.AlertType.INFORMATION, "Resolución detenida",
+                                        finalResult.getStatus().getDescription(),
+                                        "Se detuvo tras " + game.getMoveCount() + " de " +
+                                                game.getMinimumMoves() + " movimientos.");
+                            }
+                        });
                     }
-                });
-            }).start();
+                }, ExecutionService.Priority.HIGH);
+            } catch (RejectedExecutionException e) {
+                // Grupo de cálculo saturado: devolver la interfaz a su estado anterior
+                solveToken = null;
+                cancelButton.setDisable(true);
+                setControlsEnabled(true);
+                showAlert(Alert.AlertType.WARNING, "Advertencia",
+                        "No se pudo iniciar la resolución", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void cancelSolve() {
+        if (solveToken != null) {
+            solveToken.cancel();
+            cancelButton.setDisable(true);
         }
     }
 
     @Override
     public void resetGame() {
+        stopPlayback();
+
         if (game != null) {
             game.reset();
-            currentStepIndex = 0;
 
             // Habilitar controles
             initButton.setDisable(false);
             disksSlider.setDisable(false);
+            pegsSlider.setDisable(false);
             solveButton.setDisable(true);
             stepButton.setDisable(true);
             resetButton.setDisable(true);
+            seekButton.setDisable(true);
+            hintButton.setDisable(true);
+            playButton.setDisable(true);
 
             // Limpiar selección
             selectedTower = -1;
@@ -269,43 +389,167 @@ public class HanoiController implements GameController {
 
             // Actualizar UI
             movesLabel.setText("Movimientos: 0");
+            remainingLabel.setText("Movimientos restantes: -");
+            hintLabel.setText("");
             timeLabel.setText("Tiempo: 0s");
         }
     }
 
+    /**
+     * Salta al estado de la solución óptima tras el número de movimientos indicado
+     * El estado se calcula directamente, sin reproducir los movimientos anteriores
+     */
+    private void seekGame() {
+        if (game == null) {
+            return;
+        }
+
+        long target;
+        try {
+            target = Long.parseLong(seekField.getText().trim());
+        } catch (NumberFormatException e) {
+            showAlert(Alert.AlertType.WARNING, "Advertencia",
+                    "Movimiento inválido",
+                    "Introduce un número entre 0 y " + game.getMinimumMoves() + ".");
+            return;
+        }
+
+        try {
+            game.seek(target);
+        } catch (IllegalArgumentException e) {
+            showAlert(Alert.AlertType.WARNING, "Advertencia", "Movimiento inválido", e.getMessage());
+            return;
+        }
+
+        selectedTower = -1;
+        hanoiBoard.highlightTower(-1);
+        updateHanoiBoard();
+        updateUI();
+    }
+
+    /**
+     * Inicia o pausa la reproducción de la solución desde el estado actual
+     * Un único AnimationTimer aplica los movimientos y repinta una vez por
+     * frame; a velocidades altas salta directamente al estado calculado
+     */
+    private void togglePlayback() {
+        if (game == null || hanoiBoard == null) {
+            return;
+        }
+
+        if (playback != null && playback.isPlaying()) {
+            stopPlayback();
+            return;
+        }
+
+        selectedTower = -1;
+        hanoiBoard.highlightTower(-1);
+
+        playback = new HanoiPlayback(game, () -> {
+            updateHanoiBoard();
+            updateUI();
+        }, () -> Platform.runLater(() -> {
+            // Los diálogos no se pueden abrir durante un pulso de animación
+            stopPlayback();
+            if (game.isSolved()) {
+                showAlert(Alert.AlertType.INFORMATION, "Éxito",
+                        "Puzzle resuelto",
+                        "Se ha resuelto el puzzle con " + game.getMoveCount() +
+                                " movimientos (óptimo: " + game.getMinimumMoves() + ").");
+                endGame();
+            }
+        }));
+        playback.setSpeed(getSelectedSpeed());
+        playback.play();
+
+        setControlsEnabled(false);
+        playButton.setText("Pausar");
+    }
+
+    /**
+     * Detiene la reproducción y devuelve el control al jugador
+     */
+    private void stopPlayback() {
+        if (playback != null) {
+            playback.pause();
+            playback = null;
+
+            setControlsEnabled(true);
+            playButton.setText("Reproducir solución");
+        }
+    }
+
+    /**
+     * Obtiene la velocidad elegida en el slider logarítmico
+     * @return multiplicador de velocidad (1 a HanoiPlayback.MAX_SPEED)
+     */
+    private double getSelectedSpeed() {
+        return Math.pow(10, speedSlider.getValue());
+    }
+
+    /**
+     * Muestra el siguiente movimiento óptimo desde la configuración actual
+     * Deja seleccionada la torre origen para que baste con pulsar la destino
+     */
+    private void showHint() {
+        if (game == null || hanoiBoard == null) {
+            return;
+        }
+
+        Move hint = game.getNextOptimalMove();
+        if (hint == null) {
+            hintLabel.setText(game.isSolved()
+                    ? "El puzzle ya está completo."
+                    : "Sin pista: hay demasiados discos fuera de su sitio para buscar el camino.");
+            return;
+        }
+
+        selectedTower = hint.getFromTower();
+        hanoiBoard.highlightTower(selectedTower);
+        hintLabel.setText("Pista: " + hint);
+    }
+
     @Override
     public void endGame() {
         if (game != null && game.isSolved()) {
-            GameRecord record = gameService.saveGameRecord(game, true);
-
-            if (record instanceof HanoiRecord) {
-                HanoiRecord hanoiRecord = (HanoiRecord) record;
-
-                showAlert(Alert.AlertType.INFORMATION, "Partida guardada",
-                        "Resultado guardado correctamente",
-                        "Discos: " + hanoiRecord.getNumDisks() +
-                                "\nMovimientos: " + hanoiRecord.getMovements() +
-                                " (óptimo: " + hanoiRecord.getMinimumMoves() + ")" +
-                                "\nSolución óptima: " + (hanoiRecord.isOptimalSolution() ? "Sí" : "No") +
-                                "\nTiempo: " + hanoiRecord.getElapsedTimeSeconds() + "s");
-            }
+            // El registro se crea aquí, donde se usa el juego, y se guarda en un hilo de E/S
+            GameRecord pending = gameService.createGameRecord(game, true);
+            ExecutionService.getInstance().submitIo(() -> {
+                GameRecord record = gameService.saveRecord(pending);
+
+                Platform.runLater(() -> {
+                    if (record instanceof HanoiRecord) {
+                        HanoiRecord hanoiRecord = (HanoiRecord) record;
+
+                        showAlert(Alert.AlertType.INFORMATION, "Partida guardada",
+                                "Resultado guardado correctamente",
+                                "Discos: " + hanoiRecord.getNumDisks() +
+                                        "\nMovimientos: " + hanoiRecord.getMovements() +
+                                        " (óptimo: " + hanoiRecord.getMinimumMoves() + ")" +
+                                        "\nSolución óptima: " + (hanoiRecord.isOptimalSolution() ? "Sí" : "No") +
+                                        "\nTiempo: " + hanoiRecord.getElapsedTimeSeconds() + "s");
+                    }
+                });
+            });
         }
     }
 
     /**
      * Maneja los clics en las torres
-     * @param tower índice de la torre (0, 1 o 2)
+     * @param tower índice de la torre (0 a numPegs - 1)
      */
     private void handleTowerClick(int tower) {
         System.out.println("Click en torre: " + tower);
 
-        if (game != null && hanoiBoard != null) {
-            List<Stack<Disk>> towers = game.getTowers();
+        if (playback != null) {
+            return; // Durante la reproducción el tablero no admite movimientos
+        }
 
+        if (game != null && hanoiBoard != null) {
             if (selectedTower == -1) {
                 // Primera selección (torre origen)
                 // Verificar que la torre tenga discos
-                if (towers.get(tower).isEmpty()) {
+                if (game.isTowerEmpty(tower)) {
                     // No mostramos alerta para mejorar la experiencia de usuario
                     // simplemente ignoramos el clic en torres vacías
                     return;
@@ -331,7 +575,7 @@ public class HanoiController implements GameController {
                         if (game.isSolved()) {
                             showAlert(Alert.AlertType.INFORMATION, "¡Felicidades!",
                                     "Puzzle completado",
-                                    "Has completado el puzzle con " + game.getMoves().size() +
+                                    "Has completado el puzzle con " + game.getMoveCount() +
                                             " movimientos. Movimientos óptimos: " + game.getMinimumMoves());
                             endGame();
                         }
@@ -360,22 +604,15 @@ public class HanoiController implements GameController {
      */
     private void updateHanoiBoard() {
         if (game != null && hanoiBoard != null) {
-            List<Stack<Disk>> towers = game.getTowers();
-
-            // Convertir las pilas de discos a arreglos para el tablero
-            int[][] towerDisks = new int[3][];
+            // Discos de cada torre como máscara de bits
+            long[] towerMasks = new long[game.getNumPegs()];
 
-            for (int i = 0; i < 3; i++) {
-                Stack<Disk> tower = towers.get(i);
-                towerDisks[i] = new int[tower.size()];
-
-                for (int j = 0; j < tower.size(); j++) {
-                    towerDisks[i][j] = tower.get(j).getSize();
-                }
+            for (int i = 0; i < towerMasks.length; i++) {
+                towerMasks[i] = game.getTowerMask(i);
             }
 
-            // Actualizar el tablero
-            hanoiBoard.updateTowers(towerDisks);
+            // Actualizar el tablero (solo se mueven los discos que cambian)
+            hanoiBoard.updateTowerMasks(towerMasks);
         }
     }
 
@@ -385,12 +622,36 @@ public class HanoiController implements GameController {
     private void updateUI() {
         if (game != null) {
             // Actualizar etiquetas
-            movesLabel.setText("Movimientos: " + game.getMoves().size() +
+            movesLabel.setText("Movimientos: " + game.getMoveCount() +
                     " / " + game.getMinimumMoves());
+            long remaining = game.getRemainingMoves();
+            remainingLabel.setText("Movimientos restantes: " + (remaining < 0 ? "?" : remaining) +
+                    (game.isOnOptimalPath() ? "" : " (fuera de la solución óptima)"));
+            hintLabel.setText("");
             timeLabel.setText("Tiempo: " + game.getElapsedTimeSeconds() + "s");
         }
     }
 
+    /**
+     * Obtiene el número de postes elegido
+     * @return 3 en el juego clásico o el valor del slider en la variante de k postes
+     */
+    private int getSelectedPegs() {
+        return gameType == GameType.HANOI_MULTIPEG ? (int) pegsSlider.getValue() : 3;
+    }
+
+    /**
+     * Actualiza la etiqueta de movimientos óptimos según discos y postes
+     */
+    private void updateOptimalLabel() {
+        int disks = (int) disksSlider.getValue();
+        int pegs = getSelectedPegs();
+        long optimal = pegs == 3
+                ? Constants.calculateMinimumHanoiMoves(disks)
+                : FrameStewart.getMinimumMoves(disks, pegs);
+        optimalLabel.setText("Movimientos óptimos: " + optimal);
+    }
+
     /**
      * Habilita o deshabilita los controles
      * @param enabled true para habilitar, false para deshabilitar
@@ -399,6 +660,8 @@ public class HanoiController implements GameController {
         solveButton.setDisable(!enabled);
         stepButton.setDisable(!enabled);
         resetButton.setDisable(!enabled);
+        seekButton.setDisable(!enabled);
+        hintButton.setDisable(!enabled);
     }
 
     /**
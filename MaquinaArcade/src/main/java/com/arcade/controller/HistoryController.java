@@ -1,5 +1,6 @@
 package com.arcade.controller;
 
+import javafx.application.Platform;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
@@ -12,8 +13,12 @@ import javafx.scene.control.Label;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TableView;
 import javafx.scene.control.Alert.AlertType;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
+import java.io.File;
+import java.io.IOException;
+
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
@@ -26,8 +31,10 @@ import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.HanoiRecord;
 import com.arcade.model.entity.KnightRecord;
 import com.arcade.model.entity.QueenRecord;
+import com.arcade.service.ExecutionService;
 import com.arcade.service.GameFactory.GameType;
 import com.arcade.service.GameService;
+import com.arcade.util.HanoiHistoryFile;
 
 /**
  * Controlador para la vista de historial de partidas
@@ -56,6 +63,12 @@ public class HistoryController {
     @FXML
     private Button deleteButton;
 
+    @FXML
+    private Button importButton;
+
+    @FXML
+    private Button exportButton;
+
     private GameService gameService;
     private RecordRepository recordRepository;
     private Stage stage;
@@ -67,7 +80,9 @@ public class HistoryController {
     public void initialize() {
         // Inicializar el combobox con los tipos de juegos
         gameTypeComboBox.setItems(FXCollections.observableArrayList(
-                "Todos", "N Reinas", "Recorrido del Caballo", "Torres de Hanoi"
+                "Todos", "N Reinas", "Recorrido del Caballo", "Recorrido del Camello",
+                "Recorrido de la Cebra", "Recorrido de la Jirafa", "Torres de Hanoi",
+                "Torres de Hanoi (k postes)"
         ));
         gameTypeComboBox.setValue("Todos");
 
@@ -79,6 +94,8 @@ public class HistoryController {
         refreshButton.setOnAction(e -> loadRecords());
         closeButton.setOnAction(e -> closeWindow());
         deleteButton.setOnAction(e -> deleteSelectedRecord());
+        importButton.setOnAction(e -> importHanoiRecords());
+        exportButton.setOnAction(e -> exportHanoiRecords());
 
         // Inicializar el repositorio
         recordRepository = new RecordRepository();
@@ -200,10 +217,15 @@ public class HistoryController {
                                 records.addAll(recordRepository.findAllQueenRecords());
                                 break;
                             case KNIGHT:
-                                records.addAll(recordRepository.findAllKnightRecords());
+                            case CAMEL:
+                            case ZEBRA:
+                            case GIRAFFE:
+                                records.addAll(recordRepository.findKnightRecordsByLeaper(gameType.name()));
                                 break;
                             case HANOI:
-                                records.addAll(recordRepository.findAllHanoiRecords());
+                            case HANOI_MULTIPEG:
+                                records.addAll(recordRepository.findHanoiRecordsByMultiPeg(
+                                        gameType == GameType.HANOI_MULTIPEG));
                                 break;
                         }
                     }
@@ -294,6 +316,94 @@ public class HistoryController {
         });
     }
 
+    /**
+     * Importa partidas de Torres de Hanoi desde un fichero de historial
+     * Cada partida se verifica con su registro de movimientos antes de guardarse.
+     * La lectura, la verificación y el guardado van a un hilo de E/S
+     */
+    private void importHanoiRecords() {
+        FileChooser chooser = createHistoryFileChooser("Importar historial de Torres de Hanoi");
+        File file = chooser.showOpenDialog(stage);
+        if (file == null) {
+            return;
+        }
+
+        setTransferEnabled(false);
+        ExecutionService.getInstance().submitIo(() -> {
+            try {
+                List<HanoiRecord> records = HanoiHistoryFile.read(file.toPath());
+                int imported = recordRepository.importHanoiRecords(records);
+
+                Platform.runLater(() -> {
+                    setTransferEnabled(true);
+                    loadRecords();
+                    showAlert(AlertType.INFORMATION, "Información", "Importación completada",
+                            String.format("Importadas %d de %d partidas. Las demás no superaron la verificación de movimientos.",
+                                    imported, records.size()));
+                });
+            } catch (IOException | RuntimeException e) {
+                Platform.runLater(() -> {
+                    setTransferEnabled(true);
+                    showAlert(AlertType.ERROR, "Error", "Error al importar", e.getMessage());
+                });
+            }
+        });
+    }
+
+    /**
+     * Exporta a un fichero las partidas de Torres de Hanoi con registro de movimientos
+     * La consulta y la escritura van a un hilo de E/S
+     */
+    private void exportHanoiRecords() {
+        FileChooser chooser = createHistoryFileChooser("Exportar historial de Torres de Hanoi");
+        File file = chooser.showSaveDialog(stage);
+        if (file == null) {
+            return;
+        }
+
+        setTransferEnabled(false);
+        ExecutionService.getInstance().submitIo(() -> {
+            try {
+                List<HanoiRecord> records = recordRepository.findAllHanoiRecords();
+                for (HanoiRecord record : records) {
+                    // El registro es de carga diferida; se pide explícitamente si no está cargado
+                    if (record.getMoveLog() == null) {
+                        record.setMoveLog(recordRepository.findHanoiMoveLog(record.getId()));
+                    }
+                }
+
+                int written = HanoiHistoryFile.write(file.toPath(), records);
+                Platform.runLater(() -> {
+                    setTransferEnabled(true);
+                    showAlert(AlertType.INFORMATION, "Información", "Exportación completada",
+                            String.format("Exportadas %d partidas.", written));
+                });
+            } catch (IOException | RuntimeException e) {
+                Platform.runLater(() -> {
+                    setTransferEnabled(true);
+                    showAlert(AlertType.ERROR, "Error", "Error al exportar", e.getMessage());
+                });
+            }
+        });
+    }
+
+    /**
+     * Habilita o deshabilita la importación y exportación mientras hay una en curso
+     * @param enabled true para habilitar, false para deshabilitar
+     */
+    private void setTransferEnabled(boolean enabled) {
+        importButton.setDisable(!enabled);
+        exportButton.setDisable(!enabled);
+    }
+
+    private FileChooser createHistoryFileChooser(String title) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle(title);
+        chooser.getExtensionFilters().add(
+                new FileChooser.ExtensionFilter("Historial de Hanoi (*.hanoi)", "*.hanoi"));
+        return chooser;
+    }
+
     /**
      * Cierra la ventana
      */
@@ -331,8 +441,16 @@ public class HistoryController {
                 return GameType.QUEENS;
             case "Recorrido del Caballo":
                 return GameType.KNIGHT;
+            case "Recorrido del Camello":
+                return GameType.CAMEL;
+            case "Recorrido de la Cebra":
+                return GameType.ZEBRA;
+            case "Recorrido de la Jirafa":
+                return GameType.GIRAFFE;
             case "Torres de Hanoi":
                 return GameType.HANOI;
+            case "Torres de Hanoi (k postes)":
+                return GameType.HANOI_MULTIPEG;
             default:
                 return null;
         }
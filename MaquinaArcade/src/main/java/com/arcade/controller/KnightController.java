@@ -1,5 +1,6 @@
 package com.arcade.controller;
 
+import javafx.animation.AnimationTimer;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Alert;
@@ -8,14 +9,26 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.control.Spinner;
 import javafx.scene.control.SpinnerValueFactory;
+import javafx.scene.control.ToggleButton;
 import javafx.scene.layout.GridPane;
 
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.KnightRecord;
+import com.arcade.model.game.CancellationToken;
 import com.arcade.model.game.Game;
+import com.arcade.model.game.ProgressMailbox;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
+import com.arcade.model.game.SolverProgress;
 import com.arcade.model.game.knight.KnightGame;
+import com.arcade.model.game.knight.Leaper;
+import com.arcade.service.ExecutionService;
 import com.arcade.service.GameService;
 import com.arcade.service.GameFactory.GameType;
+import com.arcade.util.Constants;
 import com.arcade.view.components.ChessBoard;
 
 /**
@@ -36,6 +49,15 @@ public class KnightController implements GameController {
     @FXML
     private Slider sizeSlider;
 
+    @FXML
+    private Label rowsLabel;
+
+    @FXML
+    private Slider rowsSlider;
+
+    @FXML
+    private ToggleButton blockToggle;
+
     @FXML
     private Spinner<Integer> startXSpinner;
 
@@ -48,12 +70,21 @@ public class KnightController implements GameController {
     @FXML
     private Button solveButton;
 
+    @FXML
+    private Button cancelButton;
+
     @FXML
     private Button stepButton;
 
     @FXML
     private Button resetButton;
 
+    @FXML
+    private Button undoButton;
+
+    @FXML
+    private Button redoButton;
+
     @FXML
     private Label stepsLabel;
 
@@ -69,10 +100,9 @@ public class KnightController implements GameController {
     private ChessBoard chessBoard;
     private int lastX, lastY; // Última posición del caballo
     private boolean solutionInProgress = false;
-    private int[][] possibleMoves = {
-            {2, 1}, {1, 2}, {-1, 2}, {-2, 1},
-            {-2, -1}, {-1, -2}, {1, -2}, {2, -1}
-    };
+    private AnimationTimer progressTimer; // Lee el progreso de la resolución en cada frame
+    private CancellationToken solveToken; // Señal de la resolución en curso (null si no hay)
+    private boolean[] blockedMask; // Casillas bloqueadas por índice empaquetado (fila * ancho + columna)
 
     /**
      * Inicialización del controlador
@@ -89,40 +119,64 @@ public class KnightController implements GameController {
         sizeSlider.setMinorTickCount(0);
         sizeSlider.setSnapToTicks(true);
 
+        rowsSlider.setMin(3);
+        rowsSlider.setMax(8);
+        rowsSlider.setValue(8);
+        rowsSlider.setShowTickLabels(true);
+        rowsSlider.setShowTickMarks(true);
+        rowsSlider.setMajorTickUnit(1);
+        rowsSlider.setMinorTickCount(0);
+        rowsSlider.setSnapToTicks(true);
+
         // Configurar spinners
-        configureSpinners((int) sizeSlider.getValue());
+        configureSpinners((int) sizeSlider.getValue(), (int) rowsSlider.getValue());
 
-        // Actualizar etiqueta y spinners al cambiar el slider
-        sizeSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
-            int size = newVal.intValue();
-            sizeLabel.setText("Tamaño del tablero: " + size + "x" + size);
-            configureSpinners(size);
-        });
+        // Actualizar etiquetas y spinners al cambiar los sliders
+        sizeSlider.valueProperty().addListener((obs, oldVal, newVal) -> updateBoardSizeControls());
+        rowsSlider.valueProperty().addListener((obs, oldVal, newVal) -> updateBoardSizeControls());
 
         // Configurar eventos de botones
         initButton.setOnAction(event -> initGame());
         solveButton.setOnAction(event -> solveGame());
+        cancelButton.setOnAction(event -> cancelSolve());
         stepButton.setOnAction(event -> stepGame());
         resetButton.setOnAction(event -> resetGame());
+        undoButton.setOnAction(event -> undoMove());
+        redoButton.setOnAction(event -> redoMove());
 
         // Deshabilitar botones hasta inicializar
         solveButton.setDisable(true);
         stepButton.setDisable(true);
         resetButton.setDisable(true);
+        undoButton.setDisable(true);
+        redoButton.setDisable(true);
+        blockToggle.setDisable(true);
 
         // Inicialmente no hay tablero
         chessBoard = null;
     }
 
+    /**
+     * Actualiza etiquetas y spinners con las dimensiones elegidas
+     */
+    private void updateBoardSizeControls() {
+        int cols = (int) sizeSlider.getValue();
+        int rows = (int) rowsSlider.getValue();
+        sizeLabel.setText("Tamaño del tablero: " + cols + "x" + rows);
+        rowsLabel.setText("Filas: " + rows);
+        configureSpinners(cols, rows);
+    }
+
     /**
      * Configura los spinners para seleccionar posición inicial
-     * @param size tamaño del tablero
+     * @param cols columnas del tablero
+     * @param rows filas del tablero
      */
-    private void configureSpinners(int size) {
+    private void configureSpinners(int cols, int rows) {
         SpinnerValueFactory<Integer> xValueFactory =
-                new SpinnerValueFactory.IntegerSpinnerValueFactory(0, size - 1, 0);
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(0, cols - 1, 0);
         SpinnerValueFactory<Integer> yValueFactory =
-                new SpinnerValueFactory.IntegerSpinnerValueFactory(0, size - 1, 0);
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(0, rows - 1, 0);
 
         startXSpinner.setValueFactory(xValueFactory);
         startYSpinner.setValueFactory(yValueFactory);
@@ -136,6 +190,21 @@ public class KnightController implements GameController {
     @Override
     public void setGameType(GameType gameType) {
         this.gameType = gameType;
+
+        // Crear el juego para adaptar los controles a la pieza saltadora
+        game = (KnightGame) gameService.createGame(gameType);
+        Leaper leaper = game.getLeaper();
+        titleLabel.setText(game.getName());
+
+        if (leaper != Leaper.KNIGHT) {
+            sizeSlider.setMin(leaper.getMinBoardSize());
+            sizeSlider.setMax(Constants.MAX_LEAPER_SIZE);
+            sizeSlider.setValue(leaper.getDefaultBoardSize());
+            rowsSlider.setMin(leaper.getMinBoardSize());
+            rowsSlider.setMax(Constants.MAX_LEAPER_SIZE);
+            rowsSlider.setValue(leaper.getDefaultBoardSize());
+            updateBoardSizeControls();
+        }
     }
 
     @Override
@@ -146,20 +215,23 @@ public class KnightController implements GameController {
         }
 
         // Inicializar con los parámetros seleccionados
-        int size = (int) sizeSlider.getValue();
+        int cols = (int) sizeSlider.getValue();
+        int rows = (int) rowsSlider.getValue();
         int startX = startXSpinner.getValue();
         int startY = startYSpinner.getValue();
         solutionInProgress = false;
 
         try {
-            gameService.initializeGame(game, size, startX, startY);
+            // Tablero sin casillas bloqueadas; se pueden bloquear antes del primer movimiento
+            blockedMask = new boolean[cols * rows];
+            gameService.initializeGame(game, cols, rows, startX, startY, blockedMask);
 
             // Crear o actualizar el tablero
             if (chessBoard == null) {
-                chessBoard = new ChessBoard(size, size);
+                chessBoard = new ChessBoard(cols, rows);
                 mainContainer.add(chessBoard, 1, 1);
             } else {
-                chessBoard.resize(size, size);
+                chessBoard.resize(cols, rows);
                 chessBoard.clear();
             }
 
@@ -181,8 +253,10 @@ public class KnightController implements GameController {
             solveButton.setDisable(false);
             stepButton.setDisable(false);
             resetButton.setDisable(false);
+            blockToggle.setDisable(false);
             initButton.setDisable(true);
             sizeSlider.setDisable(true);
+            rowsSlider.setDisable(true);
             startXSpinner.setDisable(true);
             startYSpinner.setDisable(true);
 
@@ -211,17 +285,19 @@ public class KnightController implements GameController {
             }
 
             // Intentar encontrar un movimiento válido desde la posición actual
-            int size = game.getBoardSize();
+            int cols = game.getWidth();
+            int rows = game.getHeight();
             int[][] board = game.getBoard();
             boolean foundMove = false;
 
-            // Probar los posibles movimientos del caballo
-            for (int i = 0; i < possibleMoves.length; i++) {
-                int newX = lastX + possibleMoves[i][0];
-                int newY = lastY + possibleMoves[i][1];
+            // Probar los posibles saltos de la pieza
+            Leaper leaper = game.getLeaper();
+            for (int i = 0; i < 8; i++) {
+                int newX = lastX + leaper.getXMove(i);
+                int newY = lastY + leaper.getYMove(i);
 
                 // Verificar si el movimiento es válido
-                if (newX >= 0 && newX < size && newY >= 0 && newY < size && board[newY][newX] == -1) {
+                if (newX >= 0 && newX < cols && newY >= 0 && newY < rows && board[newY][newX] == -1) {
                     // Intentar mover el caballo
                     if (game.move(lastX, lastY, newX, newY)) {
                         // Actualizar tablero
@@ -251,7 +327,7 @@ public class KnightController implements GameController {
             if (game.isSolved()) {
                 showAlert(Alert.AlertType.INFORMATION, "¡Felicidades!",
                         "Recorrido completado",
-                        "Has completado el recorrido del caballo correctamente.");
+                        "Has completado el " + game.getName().toLowerCase() + " correctamente.");
                 endGame();
             }
         }
@@ -263,66 +339,123 @@ public class KnightController implements GameController {
             // Deshabilitar controles durante la resolución
             setControlsEnabled(false);
             solutionInProgress = true;
-
-            // Resolver en un hilo separado para no bloquear la UI
-            new Thread(() -> {
-                boolean success = gameService.solveGame(game);
-
-                // Actualizar UI en el hilo de JavaFX
-                Platform.runLater(() -> {
-                    // Actualizar tablero con la solución
-                    if (success) {
-                        int[][] board = game.getBoard();
-                        int size = game.getBoardSize();
-
-                        chessBoard.clear();
-
-                        // Mostrar secuencia de movimientos
-                        for (int i = 0; i < size; i++) {
-                            for (int j = 0; j < size; j++) {
-                                if (board[i][j] >= 0) {
-                                    chessBoard.placeNumberAt(j, i, board[i][j]);
+            undoButton.setDisable(true);
+            redoButton.setDisable(true);
+            blockToggle.setSelected(false);
+            blockToggle.setDisable(true);
+
+            // El algoritmo publica instantáneas y la UI recoge la última en cada frame
+            startProgressTimer(new ProgressMailbox());
+
+            CancellationToken token = new CancellationToken();
+            solveToken = token;
+            cancelButton.setDisable(false);
+            SolveOptions options = SolveOptions.withTimeout(
+                    Duration.ofSeconds(Constants.SOLVE_TIMEOUT_SECONDS), token);
+
+            // Resolver en el grupo de cálculo para no bloquear la UI
+            try {
+                ExecutionService.getInstance().submitCpu(() -> {
+                    SolveResult result = null;
+                    try {
+                        result = gameService.solveGame(game, options);
+                    } catch (Exception e) {
+                        Platform.runLater(() -> {
+                            showAlert(Alert.AlertType.ERROR, "Error",
+                                    "Error al resolver",
+                                    "Ocurrió un error al resolver: " + e.getMessage());
+                        });
+                    } finally {
+                        final SolveResult finalResult = result;
+
+                        // Actualizar UI en el hilo de JavaFX
+                        Platform.runLater(() -> {
+                            stopProgressTimer();
+                            solveToken = null;
+                            cancelButton.setDisable(true);
+
+                            // Actualizar tablero con la solución (o el camino alcanzado si se detuvo)
+                            if (finalResult != null && (finalResult.isSolved() || finalResult.isInterrupted())) {
+                                int[][] board = game.getBoard();
+                                int cols = game.getWidth();
+                                int rows = game.getHeight();
+
+                                chessBoard.clear();
+
+                                // Mostrar secuencia de movimientos
+                                for (int i = 0; i < rows; i++) {
+                                    for (int j = 0; j < cols; j++) {
+                                        if (board[i][j] >= 0) {
+                                            chessBoard.placeNumberAt(j, i, board[i][j]);
+                                        }
+                                    }
                                 }
-                            }
-                        }
-
-                        // Colocar caballo en posición final
-                        int lastMove = size * size - 1;
-                        for (int i = 0; i < size; i++) {
-                            for (int j = 0; j < size; j++) {
-                                if (board[i][j] == lastMove) {
-                                    chessBoard.placeKnightAt(j, i);
-                                    lastX = j;
-                                    lastY = i;
+
+                                // Colocar caballo en posición final
+                                int lastMove = game.getTotalMoves() - 1;
+                                for (int i = 0; i < rows; i++) {
+                                    for (int j = 0; j < cols; j++) {
+                                        if (board[i][j] == lastMove) {
+                                            chessBoard.placeKnightAt(j, i);
+                                            lastX = j;
+                                            lastY = i;
+                                        }
+                                    }
                                 }
                             }
-                        }
-                    }
 
-                    updateUI();
-                    setControlsEnabled(true);
-                    solutionInProgress = false;
+                            solutionInProgress = false;
+                            updateUI();
+                            setControlsEnabled(true);
 
-                    if (success) {
-                        showAlert(Alert.AlertType.INFORMATION, "Éxito",
-                                "Problema resuelto",
-                                "Se ha encontrado un recorrido válido.");
-
-                        // Guardar el resultado
-                        endGame();
-                    } else {
-                        showAlert(Alert.AlertType.WARNING, "Advertencia",
-                                "No se encontró solución",
-                                "No se pudo encontrar un recorrido completo con los parámetros actuales.");
+                            if (finalResult == null) {
+                                return; // El error ya se ha mostrado
+                            }
+
+                            if (finalResult.isSolved()) {
+                                showAlert(Alert.AlertType.INFORMATION, "Éxito",
+                                        "Problema resuelto",
+                                        "Se ha encontrado un recorrido válido.");
+
+                                // Guardar el resultado
+                                endGame();
+                            } else if (finalResult.isInterrupted()) {
+                                showAlert(Alert.AlertType.INFORMATION, "Resolución detenida",
+                                        finalResult.getStatus().getDescription(),
+                                        "La búsqueda se detuvo tras explorar " + finalResult.getNodes() + " nodos.");
+                            } else {
+                                showAlert(Alert.AlertType.WARNING, "Advertencia",
+                                        "No se encontró solución",
+                                        "No se pudo encontrar un recorrido completo con los parámetros actuales.");
+                            }
+                        });
                     }
-                });
-            }).start();
+                }, ExecutionService.Priority.HIGH);
+            } catch (RejectedExecutionException e) {
+                // Grupo de cálculo saturado: devolver la interfaz a su estado anterior
+                stopProgressTimer();
+                solutionInProgress = false;
+                solveToken = null;
+                cancelButton.setDisable(true);
+                setControlsEnabled(true);
+                showAlert(Alert.AlertType.WARNING, "Advertencia",
+                        "No se pudo iniciar la resolución", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void cancelSolve() {
+        if (solveToken != null) {
+            solveToken.cancel();
+            cancelButton.setDisable(true);
         }
     }
 
     @Override
     public void resetGame() {
         if (game != null) {
+            stopProgressTimer();
             game.reset();
             solutionInProgress = false;
 
@@ -334,11 +467,16 @@ public class KnightController implements GameController {
             // Habilitar controles
             initButton.setDisable(false);
             sizeSlider.setDisable(false);
+            rowsSlider.setDisable(false);
+            blockToggle.setSelected(false);
+            blockToggle.setDisable(true);
             startXSpinner.setDisable(false);
             startYSpinner.setDisable(false);
             solveButton.setDisable(true);
             stepButton.setDisable(true);
             resetButton.setDisable(true);
+            undoButton.setDisable(true);
+            redoButton.setDisable(true);
 
             // Actualizar UI
             stepsLabel.setText("Pasos: 0");
@@ -350,19 +488,25 @@ public class KnightController implements GameController {
     @Override
     public void endGame() {
         if (game != null && game.isSolved()) {
-            GameRecord record = gameService.saveGameRecord(game, true);
-
-            if (record instanceof KnightRecord) {
-                KnightRecord knightRecord = (KnightRecord) record;
-
-                showAlert(Alert.AlertType.INFORMATION, "Partida guardada",
-                        "Resultado guardado correctamente",
-                        "Tablero " + knightRecord.getBoardSize() + "x" + knightRecord.getBoardSize() +
-                                "\nPosición inicial: (" + knightRecord.getStartX() + "," + knightRecord.getStartY() + ")" +
-                                "\nMovimientos: " + knightRecord.getTotalMoves() +
-                                "\nPasos: " + knightRecord.getSteps() +
-                                "\nTiempo: " + knightRecord.getElapsedTimeSeconds() + "s");
-            }
+            // El registro se crea aquí, donde se usa el juego, y se guarda en un hilo de E/S
+            GameRecord pending = gameService.createGameRecord(game, true);
+            ExecutionService.getInstance().submitIo(() -> {
+                GameRecord record = gameService.saveRecord(pending);
+
+                Platform.runLater(() -> {
+                    if (record instanceof KnightRecord) {
+                        KnightRecord knightRecord = (KnightRecord) record;
+
+                        showAlert(Alert.AlertType.INFORMATION, "Partida guardada",
+                                "Resultado guardado correctamente",
+                                "Tablero " + knightRecord.getBoardSize() + "x" + knightRecord.getBoardHeight() +
+                                        "\nPosición inicial: (" + knightRecord.getStartX() + "," + knightRecord.getStartY() + ")" +
+                                        "\nMovimientos: " + knightRecord.getTotalMoves() +
+                                        "\nPasos: " + knightRecord.getSteps() +
+                                        "\nTiempo: " + knightRecord.getElapsedTimeSeconds() + "s");
+                    }
+                });
+            });
         }
     }
 
@@ -372,6 +516,11 @@ public class KnightController implements GameController {
      * @param y coordenada y
      */
     private void handleBoardClick(int x, int y) {
+        if (game != null && chessBoard != null && blockToggle.isSelected()) {
+            toggleBlocked(x, y);
+            return;
+        }
+
         if (game != null && chessBoard != null) {
             // Intentar mover el caballo
             boolean success = game.move(lastX, lastY, x, y);
@@ -390,7 +539,7 @@ public class KnightController implements GameController {
                 if (game.isSolved()) {
                     showAlert(Alert.AlertType.INFORMATION, "¡Felicidades!",
                             "Recorrido completado",
-                            "Has completado el recorrido del caballo correctamente.");
+                            "Has completado el " + game.getName().toLowerCase() + " correctamente.");
                     endGame();
                 }
             }
@@ -400,6 +549,123 @@ public class KnightController implements GameController {
         }
     }
 
+    /**
+     * Bloquea o desbloquea una casilla antes del primer movimiento
+     * El juego se vuelve a inicializar con la nueva máscara de casillas bloqueadas
+     * @param x columna
+     * @param y fila
+     */
+    private void toggleBlocked(int x, int y) {
+        if (solutionInProgress || game.getTotalMoves() > 1) {
+            showAlert(Alert.AlertType.INFORMATION, "Información",
+                    "No se puede cambiar el tablero",
+                    "Solo se pueden bloquear casillas antes del primer movimiento.");
+            return;
+        }
+
+        if (x == game.getStartX() && y == game.getStartY()) {
+            return; // La casilla inicial no se puede bloquear
+        }
+
+        int cell = y * game.getWidth() + x;
+        blockedMask[cell] = !blockedMask[cell];
+        gameService.initializeGame(game, game.getWidth(), game.getHeight(),
+                game.getStartX(), game.getStartY(), blockedMask);
+
+        chessBoard.setBlocked(x, y, blockedMask[cell]);
+        updateUI();
+    }
+
+    /**
+     * Conecta el buzón al juego y arranca el temporizador que pinta el progreso
+     * @param mailbox buzón del que leer las instantáneas
+     */
+    private void startProgressTimer(ProgressMailbox mailbox) {
+        stopProgressTimer();
+        game.setProgressMailbox(mailbox);
+
+        progressTimer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                SolverProgress progress = mailbox.poll();
+                if (progress != null) {
+                    showProgress(progress);
+                }
+            }
+        };
+        progressTimer.start();
+    }
+
+    /**
+     * Detiene el temporizador de progreso y desconecta el buzón del juego
+     */
+    private void stopProgressTimer() {
+        if (progressTimer != null) {
+            progressTimer.stop();
+            progressTimer = null;
+        }
+
+        if (game != null) {
+            game.setProgressMailbox(null);
+        }
+    }
+
+    /**
+     * Pinta una instantánea del progreso de la búsqueda
+     * @param progress instantánea publicada por el algoritmo
+     */
+    private void showProgress(SolverProgress progress) {
+        int cols = game.getWidth();
+        int[] path = progress.getPath();
+
+        // Mostrar el camino que está explorando el algoritmo
+        chessBoard.clear();
+        for (int i = 0; i < path.length; i++) {
+            chessBoard.placeNumberAt(path[i] % cols, path[i] / cols, i);
+        }
+
+        stepsLabel.setText("Pasos: " + progress.getNodes() +
+                " (" + progress.getNodesPerSecond() + " nodos/s)");
+        movesLabel.setText("Profundidad: " + (progress.getDepth() + 1) + " / " + game.getTargetMoves());
+    }
+
+    /**
+     * Deshace el último movimiento del caballo
+     */
+    private void undoMove() {
+        if (game != null && chessBoard != null && game.undo()) {
+            // Vaciar la casilla deshecha y volver a la anterior
+            chessBoard.clearCell(lastX, lastY);
+            lastX = game.getCurrentX();
+            lastY = game.getCurrentY();
+            chessBoard.placeKnightAt(lastX, lastY);
+            chessBoard.placeNumberAt(lastX, lastY, game.getTotalMoves() - 1);
+
+            updateUI();
+        }
+    }
+
+    /**
+     * Rehace el último movimiento deshecho
+     */
+    private void redoMove() {
+        if (game != null && chessBoard != null && game.redo()) {
+            lastX = game.getCurrentX();
+            lastY = game.getCurrentY();
+            chessBoard.placeKnightAt(lastX, lastY);
+            chessBoard.placeNumberAt(lastX, lastY, game.getTotalMoves() - 1);
+
+            updateUI();
+
+            if (game.isSolved()) {
+                showAlert(Alert.AlertType.INFORMATION, "¡Felicidades!",
+                        "Recorrido completado",
+                        "Has completado el " + game.getName().toLowerCase() + " correctamente.");
+                endGame();
+            }
+        }
+    }
+
     /**
      * Actualiza la interfaz con el estado actual del juego
      */
@@ -407,9 +673,12 @@ public class KnightController implements GameController {
         if (game != null) {
             // Actualizar etiquetas
             stepsLabel.setText("Pasos: " + game.getSteps());
-            movesLabel.setText("Movimientos: " + game.getTotalMoves() + " / " +
-                    (game.getBoardSize() * game.getBoardSize()));
+            movesLabel.setText("Movimientos: " + game.getTotalMoves() + " / " + game.getTargetMoves());
             timeLabel.setText("Tiempo: " + game.getElapsedTimeSeconds() + "s");
+
+            // Deshacer/rehacer solo disponibles fuera de la resolución automática
+            undoButton.setDisable(solutionInProgress || !game.canUndo());
+            redoButton.setDisable(solutionInProgress || !game.canRedo());
         }
     }
 
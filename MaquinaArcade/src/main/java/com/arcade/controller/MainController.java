@@ -40,6 +40,18 @@ public class MainController {
     @FXML
     private Button hanoiButton;
 
+    @FXML
+    private Button camelButton;
+
+    @FXML
+    private Button zebraButton;
+
+    @FXML
+    private Button giraffeButton;
+
+    @FXML
+    private Button hanoiMultiPegButton;
+
     @FXML
     private Button historyButton;
 
@@ -55,7 +67,11 @@ public class MainController {
         // Configurar eventos de botones
         queensButton.setOnAction(event -> openGame(GameType.QUEENS));
         knightButton.setOnAction(event -> openGame(GameType.KNIGHT));
+        camelButton.setOnAction(event -> openGame(GameType.CAMEL));
+        zebraButton.setOnAction(event -> openGame(GameType.ZEBRA));
+        giraffeButton.setOnAction(event -> openGame(GameType.GIRAFFE));
         hanoiButton.setOnAction(event -> openGame(GameType.HANOI));
+        hanoiMultiPegButton.setOnAction(event -> openGame(GameType.HANOI_MULTIPEG));
         historyButton.setOnAction(event -> openHistoryView());
 
         // Actualizar etiquetas con información
@@ -88,12 +104,16 @@ public class MainController {
                     title = "N Reinas";
                     break;
                 case KNIGHT:
+                case CAMEL:
+                case ZEBRA:
+                case GIRAFFE:
                     fxmlPath = "/fxml/knight.fxml";
-                    title = "Recorrido del Caballo";
+                    title = gameType.getName();
                     break;
                 case HANOI:
+                case HANOI_MULTIPEG:
                     fxmlPath = "/fxml/hanoi.fxml";
-                    title = "Torres de Hanoi";
+                    title = gameType.getName();
                     break;
                 default:
                     throw new IllegalArgumentException("Tipo de juego no soportado");
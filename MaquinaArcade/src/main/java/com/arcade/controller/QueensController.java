@@ -8,12 +8,20 @@ import javafx.scene.control.Label;
 import javafx.scene.control.Slider;
 import javafx.scene.layout.GridPane;
 
+import java.time.Duration;
+import java.util.concurrent.RejectedExecutionException;
+
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.QueenRecord;
+import com.arcade.model.game.CancellationToken;
 import com.arcade.model.game.Game;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
 import com.arcade.model.game.queens.QueensGame;
+import com.arcade.service.ExecutionService;
 import com.arcade.service.GameService;
 import com.arcade.service.GameFactory.GameType;
+import com.arcade.util.Constants;
 import com.arcade.view.components.ChessBoard;
 
 /**
@@ -40,6 +48,9 @@ public class QueensController implements GameController {
     @FXML
     private Button solveButton;
 
+    @FXML
+    private Button cancelButton;
+
     @FXML
     private Button stepButton;
 
@@ -57,6 +68,7 @@ public class QueensController implements GameController {
     private QueensGame game;
     private ChessBoard chessBoard;
     private int currentRow = 0; // Para seguir el progreso de la solución paso a paso
+    private CancellationToken solveToken; // Señal de la resolución en curso (null si no hay)
 
     /**
      * Inicialización del controlador
@@ -81,6 +93,7 @@ public class QueensController implements GameController {
         // Configurar eventos de botones
         initButton.setOnAction(event -> initGame());
         solveButton.setOnAction(event -> solveGame());
+        cancelButton.setOnAction(event -> cancelSolve());
         stepButton.setOnAction(event -> stepGame());
         resetButton.setOnAction(event -> resetGame());
 
@@ -223,44 +236,77 @@ public class QueensController implements GameController {
             // Deshabilitar controles durante la resolución
             setControlsEnabled(false);
 
-            // Resolver en un hilo separado para no bloquear la UI
-            new Thread(() -> {
-                boolean success = false;
-                try {
-                    success = gameService.solveGame(game);
-                    // Actualizar contador de filas para el paso a paso
-                    if (success) {
-                        currentRow = game.getBoardSize();
-                    }
-                } catch (Exception e) {
-                    Platform.runLater(() -> {
-                        showAlert(Alert.AlertType.ERROR, "Error",
-                                "Error al resolver",
-                                "Ocurrió un error al resolver: " + e.getMessage());
-                    });
-                } finally {
-                    final boolean finalSuccess = success;
-
-                    // Actualizar UI en el hilo de JavaFX
-                    Platform.runLater(() -> {
-                        updateUI();
-                        setControlsEnabled(true);
-
-                        if (finalSuccess) {
-                            showAlert(Alert.AlertType.INFORMATION, "Éxito",
-                                    "Problema resuelto",
-                                    "Se ha encontrado una solución válida.");
-
-                            // Guardar el resultado
-                            endGame();
-                        } else {
-                            showAlert(Alert.AlertType.WARNING, "Advertencia",
-                                    "No se encontró solución",
-                                    "No se pudo resolver el problema con los parámetros actuales.");
+            CancellationToken token = new CancellationToken();
+            solveToken = token;
+            cancelButton.setDisable(false);
+            SolveOptions options = SolveOptions.withTimeout(
+                    Duration.ofSeconds(Constants.SOLVE_TIMEOUT_SECONDS), token);
+
+            // Resolver en el grupo de cálculo para no bloquear la UI
+            try {
+                ExecutionService.getInstance().submitCpu(() -> {
+                    SolveResult result = null;
+                    try {
+                        result = gameService.solveGame(game, options);
+                        // Actualizar contador de filas para el paso a paso
+                        if (result.isSolved()) {
+                            currentRow = game.getBoardSize();
                         }
-                    });
-                }
-            }).start();
+                    } catch (Exception e) {
+                        Platform.runLater(() -> {
+                            showAlert(Alert.AlertType.ERROR, "Error",
+                                    "Error al resolver",
+                                    "Ocurrió un error al resolver: " + e.getMessage());
+                        });
+                    } finally {
+                        final SolveResult finalResult = result;
+
+                        // Actualizar UI en el hilo de JavaFX
+                        Platform.runLater(() -> {
+                            solveToken = null;
+                            cancelButton.setDisable(true);
+                            updateUI();
+                            setControlsEnabled(true);
+
+                            if (finalResult == null) {
+                                return; // El error ya se ha mostrado
+                            }
+
+                            if (finalResult.isSolved()) {
+                                showAlert(Alert.AlertType.INFORMATION, "Éxito",
+                                        "Problema resuelto",
+                                        "Se ha encontrado una solución válida.");
+
+                                // Guardar el resultado
+                                endGame();
+                            } else if (finalResult.isInterrupted()) {
+                                showAlert(Alert.AlertType.INFORMATION, "Resolución detenida",
+                                        finalResult.getStatus().getDescription(),
+                                        "La búsqueda se detuvo tras explorar " + finalResult.getNodes() + " nodos.");
+                            } else {
+                                showAlert(Alert.AlertType.WARNING, "Advertencia",
+                                        "No se encontró solución",
+                                        "No se pudo resolver el problema con los parámetros actuales.");
+                            }
+                        });
+                    }
+                }, ExecutionService.Priority.HIGH);
+            } catch (RejectedExecutionException e) {
+                // Grupo de cálculo saturado: devolver la interfaz a su estado anterior
+                solveToken = null;
+                cancelButton.setDisable(true);
+                setControlsEnabled(true);
+                showAlert(Alert.AlertType.WARNING, "Advertencia",
+                        "No se pudo iniciar la resolución", e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void cancelSolve() {
+        if (solveToken != null) {
+            solveToken.cancel();
+            cancelButton.setDisable(true);
         }
     }
 
@@ -291,17 +337,23 @@ public class QueensController implements GameController {
     @Override
     public void endGame() {
         if (game != null && game.isSolved()) {
-            GameRecord record = gameService.saveGameRecord(game, true);
-
-            if (record instanceof QueenRecord) {
-                QueenRecord queenRecord = (QueenRecord) record;
-
-                showAlert(Alert.AlertType.INFORMATION, "Partida guardada",
-                        "Resultado guardado correctamente",
-                        "Tablero " + queenRecord.getBoardSize() + "x" + queenRecord.getBoardSize() +
-                                "\nPasos: " + queenRecord.getSteps() +
-                                "\nTiempo: " + queenRecord.getElapsedTimeSeconds() + "s");
-            }
+            // El registro se crea aquí, donde se usa el juego, y se guarda en un hilo de E/S
+            GameRecord pending = gameService.createGameRecord(game, true);
+            ExecutionService.getInstance().submitIo(() -> {
+                GameRecord record = gameService.saveRecord(pending);
+
+                Platform.runLater(() -> {
+                    if (record instanceof QueenRecord) {
+                        QueenRecord queenRecord = (QueenRecord) record;
+
+                        showAlert(Alert.AlertType.INFORMATION, "Partida guardada",
+                                "Resultado guardado correctamente",
+                                "Tablero " + queenRecord.getBoardSize() + "x" + queenRecord.getBoardSize() +
+                                        "\nPasos: " + queenRecord.getSteps() +
+                                        "\nTiempo: " + queenRecord.getElapsedTimeSeconds() + "s");
+                    }
+                });
+            });
         }
     }
 
@@ -102,9 +102,13 @@ public class GameDAOImpl implements GameDAO {
                 discriminatorValue = "QUEENS";
                 break;
             case KNIGHT:
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
                 discriminatorValue = "KNIGHT";
                 break;
             case HANOI:
+            case HANOI_MULTIPEG:
                 discriminatorValue = "HANOI";
                 break;
             default:
@@ -229,9 +233,13 @@ public class GameDAOImpl implements GameDAO {
                 discriminatorValue = "QUEENS";
                 break;
             case KNIGHT:
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
                 discriminatorValue = "KNIGHT";
                 break;
             case HANOI:
+            case HANOI_MULTIPEG:
                 discriminatorValue = "HANOI";
                 break;
             default:
@@ -13,6 +13,8 @@ import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.HanoiRecord;
 import com.arcade.model.entity.KnightRecord;
 import com.arcade.model.entity.QueenRecord;
+import com.arcade.model.game.hanoi.HanoiMoveLog;
+import com.arcade.model.game.hanoi.HanoiMoveLogVerifier;
 
 /**
  * Repositorio para gestionar los registros de partidas
@@ -82,6 +84,25 @@ public class RecordRepository {
         }
     }
 
+    /**
+     * Obtiene los registros de recorridos de una pieza saltadora
+     * Los registros anteriores a las piezas saltadoras cuentan como del caballo
+     * @param leaper nombre de la pieza (KNIGHT, CAMEL, ZEBRA, GIRAFFE)
+     * @return lista de registros
+     */
+    public List<KnightRecord> findKnightRecordsByLeaper(String leaper) {
+        try (Session session = sessionFactory.openSession()) {
+            Query<KnightRecord> query = session.createQuery(
+                    "FROM KnightRecord WHERE coalesce(leaper, 'KNIGHT') = :leaper ORDER BY endTime DESC",
+                    KnightRecord.class
+            );
+            query.setParameter("leaper", leaper);
+            return query.list();
+        } catch (Exception e) {
+            throw new RuntimeException("Error al buscar registros por pieza: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Obtiene todos los registros de Torres de Hanoi
      * @return lista de registros
@@ -98,6 +119,25 @@ public class RecordRepository {
         }
     }
 
+    /**
+     * Obtiene los registros de Torres de Hanoi según el número de postes
+     * Los registros anteriores a los postes configurables cuentan como de tres postes
+     * @param multiPeg true para las partidas con 4 o más postes, false para las clásicas
+     * @return lista de registros
+     */
+    public List<HanoiRecord> findHanoiRecordsByMultiPeg(boolean multiPeg) {
+        try (Session session = sessionFactory.openSession()) {
+            Query<HanoiRecord> query = session.createQuery(
+                    "FROM HanoiRecord WHERE coalesce(numPegs, 3) " + (multiPeg ? ">" : "=") +
+                            " 3 ORDER BY endTime DESC",
+                    HanoiRecord.class
+            );
+            return query.list();
+        } catch (Exception e) {
+            throw new RuntimeException("Error al buscar registros por número de postes: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Obtiene los registros de N Reinas para un tamaño específico
      * @param boardSize tamaño del tablero
@@ -152,6 +192,85 @@ public class RecordRepository {
         }
     }
 
+    /**
+     * Obtiene el registro compacto de movimientos de una partida de Torres de Hanoi
+     * Solo se lee la columna del BLOB, sin cargar la entidad
+     * @param recordId identificador del registro
+     * @return bytes del registro o null si la partida no lo guardó
+     */
+    public byte[] findHanoiMoveLog(Long recordId) {
+        try (Session session = sessionFactory.openSession()) {
+            Query<byte[]> query = session.createQuery(
+                    "SELECT moveLog FROM HanoiRecord WHERE id = :id",
+                    byte[].class
+            );
+            query.setParameter("id", recordId);
+            return query.uniqueResult();
+        } catch (Exception e) {
+            throw new RuntimeException("Error al buscar el registro de movimientos: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Importa partidas de Torres de Hanoi verificando sus movimientos
+     * Los registros se verifican en bloque con HanoiMoveLogVerifier y solo se
+     * guardan los que son legales y coinciden con los datos declarados
+     * (número de postes, número de movimientos y si se completó); la marca de solución óptima
+     * se calcula a partir de los movimientos reales
+     * @param records partidas leídas de un historial externo
+     * @return número de partidas importadas
+     */
+    public int importHanoiRecords(List<HanoiRecord> records) {
+        byte[][] logs = new byte[records.size()][];
+        int[] numDisks = new int[records.size()];
+
+        for (int i = 0; i < records.size(); i++) {
+            logs[i] = records.get(i).getMoveLog();
+            numDisks[i] = records.get(i).getNumDisks();
+        }
+
+        HanoiMoveLogVerifier.Result[] results = HanoiMoveLogVerifier.verifyAll(logs, numDisks);
+
+        Transaction transaction = null;
+        try (Session session = sessionFactory.openSession()) {
+            transaction = session.beginTransaction();
+            int imported = 0;
+
+            for (int i = 0; i < records.size(); i++) {
+                HanoiRecord record = records.get(i);
+                HanoiMoveLogVerifier.Result result = results[i];
+
+                if (!result.isLegal() ||
+                        result.getMoveCount() != record.getMovements() ||
+                        result.isComplete() != record.isCompleted()) {
+                    System.err.println("Partida " + (i + 1) + " rechazada: " + result);
+                    continue;
+                }
+
+                // El mínimo de movimientos depende de los postes: deben coincidir con los del registro
+                int logPegs = new HanoiMoveLog.Reader(logs[i]).getNumPegs();
+                if (logPegs != record.getNumPegs()) {
+                    System.err.println("Partida " + (i + 1) + " rechazada: el registro de movimientos es de " +
+                            logPegs + " postes y la partida declara " + record.getNumPegs());
+                    continue;
+                }
+
+                record.applyVerification(result);
+                session.save(record);
+                imported++;
+            }
+
+            transaction.commit();
+            System.out.println("Partidas de Torres de Hanoi importadas: " + imported + " de " + records.size());
+            return imported;
+        } catch (Exception e) {
+            if (transaction != null) {
+                transaction.rollback();
+            }
+            throw new RuntimeException("Error al importar registros de Torres de Hanoi: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Obtiene los registros en un rango de fechas
      * @param startDate fecha inicial
@@ -4,6 +4,9 @@ import java.time.LocalDateTime;
 
 import javax.persistence.*;
 
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.SolverTelemetry;
+
 /**
  * Clase base para registros de partidas
  * Implementa la estructura común para todos los registros de juegos
@@ -35,6 +38,31 @@ public abstract class GameRecord {
     @Column(name = "elapsed_time_seconds")
     private long elapsedTimeSeconds;
 
+    // Telemetría de la resolución automática; nula en partidas manuales y registros anteriores
+    @Column(name = "solve_nodes")
+    private Long solveNodes;
+
+    @Column(name = "solve_prunes")
+    private Long solvePrunes;
+
+    @Column(name = "solve_backtracks")
+    private Long solveBacktracks;
+
+    @Column(name = "solve_max_depth")
+    private Integer solveMaxDepth;
+
+    @Column(name = "solve_nanos")
+    private Long solveNanos;
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "depth_histogram")
+    private String depthHistogram; // Nodos por profundidad separados por comas
+
+    // Configuración de la partida codificada (ver GameConfig); nula en registros anteriores
+    @Column(name = "game_config", length = 4096)
+    private byte[] gameConfig;
+
     /**
      * Constructor por defecto requerido por Hibernate
      */
@@ -109,6 +137,97 @@ public abstract class GameRecord {
         this.elapsedTimeSeconds = elapsedTimeSeconds;
     }
 
+    public Long getSolveNodes() {
+        return solveNodes;
+    }
+
+    public void setSolveNodes(Long solveNodes) {
+        this.solveNodes = solveNodes;
+    }
+
+    public Long getSolvePrunes() {
+        return solvePrunes;
+    }
+
+    public void setSolvePrunes(Long solvePrunes) {
+        this.solvePrunes = solvePrunes;
+    }
+
+    public Long getSolveBacktracks() {
+        return solveBacktracks;
+    }
+
+    public void setSolveBacktracks(Long solveBacktracks) {
+        this.solveBacktracks = solveBacktracks;
+    }
+
+    public Integer getSolveMaxDepth() {
+        return solveMaxDepth;
+    }
+
+    public void setSolveMaxDepth(Integer solveMaxDepth) {
+        this.solveMaxDepth = solveMaxDepth;
+    }
+
+    public Long getSolveNanos() {
+        return solveNanos;
+    }
+
+    public void setSolveNanos(Long solveNanos) {
+        this.solveNanos = solveNanos;
+    }
+
+    public String getDepthHistogram() {
+        return depthHistogram;
+    }
+
+    public void setDepthHistogram(String depthHistogram) {
+        this.depthHistogram = depthHistogram;
+    }
+
+    public byte[] getGameConfig() {
+        return gameConfig;
+    }
+
+    public void setGameConfig(byte[] gameConfig) {
+        this.gameConfig = gameConfig;
+    }
+
+    /**
+     * Guarda en el registro la configuración de la partida
+     * @param config configuración del juego (se ignora si es null)
+     */
+    public void applyConfig(GameConfig config) {
+        if (config != null) {
+            this.gameConfig = config.toBytes();
+        }
+    }
+
+    /**
+     * Obtiene la configuración de la partida, para repetirla con los mismos valores
+     * @return configuración o null si el registro no la guardó
+     */
+    public GameConfig getConfig() {
+        return gameConfig != null ? GameConfig.fromBytes(gameConfig) : null;
+    }
+
+    /**
+     * Copia la telemetría de una resolución automática al registro
+     * @param telemetry telemetría de la resolución (se ignora si es null)
+     */
+    public void applyTelemetry(SolverTelemetry telemetry) {
+        if (telemetry == null) {
+            return;
+        }
+
+        this.solveNodes = telemetry.getNodes();
+        this.solvePrunes = telemetry.getPrunes();
+        this.solveBacktracks = telemetry.getBacktracks();
+        this.solveMaxDepth = telemetry.getMaxDepth();
+        this.solveNanos = telemetry.getElapsedNanos();
+        this.depthHistogram = telemetry.encodeDepthHistogram();
+    }
+
     /**
      * Obtiene el tipo de juego
      * @return tipo de juego
@@ -4,6 +4,10 @@ import java.time.LocalDateTime;
 
 import javax.persistence.*;
 
+import com.arcade.model.game.hanoi.FrameStewart;
+import com.arcade.model.game.hanoi.HanoiMoveLog;
+import com.arcade.model.game.hanoi.HanoiMoveLogVerifier;
+
 /**
  * Entidad para almacenar registros de partidas de Torres de Hanoi
  */
@@ -16,7 +20,18 @@ public class HanoiRecord extends GameRecord {
     private int numDisks;
 
     @Column(name = "movements")
-    private int movements;
+    private long movements;
+
+    @Column(name = "num_pegs")
+    private Integer numPegs; // Nulo en registros anteriores a los postes configurables (3)
+
+    @Lob
+    @Basic(fetch = FetchType.LAZY)
+    @Column(name = "move_log")
+    private byte[] moveLog; // Movimientos empaquetados con HanoiMoveLog, nulo si no se guardaron
+
+    @Column(name = "optimal_solution")
+    private Boolean optimalSolution; // Resultado de verificar el registro, nulo si no se verificó
 
     /**
      * Constructor por defecto requerido por Hibernate
@@ -34,11 +49,27 @@ public class HanoiRecord extends GameRecord {
      * @param startTime tiempo de inicio
      * @param endTime tiempo de finalización
      */
-    public HanoiRecord(int numDisks, int movements, boolean completed,
+    public HanoiRecord(int numDisks, long movements, boolean completed,
                        LocalDateTime startTime, LocalDateTime endTime) {
-        super(movements, completed, startTime, endTime);
+        this(numDisks, movements, completed, startTime, endTime, FrameStewart.MIN_PEGS);
+    }
+
+    /**
+     * Constructor con parámetros específicos del juego y número de postes
+     *
+     * @param numDisks número de discos
+     * @param movements número de movimientos realizados
+     * @param completed indica si se completó el juego
+     * @param startTime tiempo de inicio
+     * @param endTime tiempo de finalización
+     * @param numPegs número de postes
+     */
+    public HanoiRecord(int numDisks, long movements, boolean completed,
+                       LocalDateTime startTime, LocalDateTime endTime, int numPegs) {
+        super((int) Math.min(movements, Integer.MAX_VALUE), completed, startTime, endTime);
         this.numDisks = numDisks;
         this.movements = movements;
+        this.numPegs = numPegs;
     }
 
     /**
@@ -57,11 +88,27 @@ public class HanoiRecord extends GameRecord {
         this.numDisks = numDisks;
     }
 
+    /**
+     * Obtiene el número de postes
+     * @return número de postes (3 en registros antiguos)
+     */
+    public int getNumPegs() {
+        return numPegs != null ? numPegs : FrameStewart.MIN_PEGS;
+    }
+
+    /**
+     * Establece el número de postes
+     * @param numPegs número de postes
+     */
+    public void setNumPegs(int numPegs) {
+        this.numPegs = numPegs;
+    }
+
     /**
      * Obtiene el número de movimientos realizados
      * @return número de movimientos
      */
-    public int getMovements() {
+    public long getMovements() {
         return movements;
     }
 
@@ -69,35 +116,98 @@ public class HanoiRecord extends GameRecord {
      * Establece el número de movimientos realizados
      * @param movements número de movimientos
      */
-    public void setMovements(int movements) {
+    public void setMovements(long movements) {
         this.movements = movements;
     }
 
+    /**
+     * Obtiene el registro compacto de movimientos
+     * Se carga de forma perezosa, así que con el registro fuera de la sesión
+     * hay que pedirlo con RecordRepository.findHanoiMoveLog
+     * @return bytes del registro o null si la partida no lo guardó
+     */
+    public byte[] getMoveLog() {
+        return moveLog;
+    }
+
+    /**
+     * Establece el registro compacto de movimientos
+     * @param moveLog bytes generados por HanoiMoveLog.Writer
+     */
+    public void setMoveLog(byte[] moveLog) {
+        this.moveLog = moveLog;
+    }
+
+    /**
+     * Abre el registro de movimientos para reproducir la partida
+     * Los movimientos se decodifican de uno en uno a medida que se leen
+     * @return lector del registro o null si la partida no lo guardó
+     */
+    public HanoiMoveLog.Reader openMoveLog() {
+        return moveLog != null ? new HanoiMoveLog.Reader(moveLog) : null;
+    }
+
     /**
      * Calcula el número mínimo de movimientos necesarios
-     * @return número mínimo de movimientos (2^n - 1)
+     * @return número mínimo de movimientos (2^n - 1 con tres postes, Frame–Stewart con más)
      */
-    public int getMinimumMoves() {
-        return (int) Math.pow(2, numDisks) - 1;
+    public long getMinimumMoves() {
+        if (getNumPegs() > FrameStewart.MIN_PEGS) {
+            return FrameStewart.getMinimumMoves(numDisks, getNumPegs());
+        }
+        // Con 63 discos el desplazamiento desborda y la resta deja Long.MAX_VALUE
+        return (1L << numDisks) - 1;
+    }
+
+    /**
+     * Verifica el registro de movimientos y guarda si la solución es óptima
+     * @return resultado de la verificación (inválido si no hay registro)
+     */
+    public HanoiMoveLogVerifier.Result verifyMoveLog() {
+        HanoiMoveLogVerifier.Result result = HanoiMoveLogVerifier.verify(moveLog, numDisks);
+        applyVerification(result);
+        return result;
+    }
+
+    /**
+     * Guarda el resultado de una verificación hecha fuera del registro (verificación masiva)
+     * @param result resultado de HanoiMoveLogVerifier
+     */
+    public void applyVerification(HanoiMoveLogVerifier.Result result) {
+        this.optimalSolution = result.isLegal() ? result.isOptimal() : null;
     }
 
     /**
      * Indica si se resolvió de forma óptima
-     * @return true si se usaron exactamente los movimientos mínimos
+     * Si el registro de movimientos se verificó, el resultado sale de los
+     * movimientos reales; si no, solo se compara el número de movimientos
+     * @return true si la solución es óptima
      */
     public boolean isOptimalSolution() {
+        if (optimalSolution != null) {
+            return optimalSolution;
+        }
         return movements == getMinimumMoves();
     }
 
+    /**
+     * Establece si la solución es óptima
+     * @param optimalSolution resultado de la verificación o null para usar el número de movimientos
+     */
+    public void setOptimalSolution(Boolean optimalSolution) {
+        this.optimalSolution = optimalSolution;
+    }
+
     @Override
     public String getGameType() {
-        return "Torres de Hanoi";
+        return getNumPegs() > FrameStewart.MIN_PEGS ? "Torres de Hanoi (k postes)" : "Torres de Hanoi";
     }
 
     @Override
     public String toString() {
         return "HanoiRecord [id=" + getId() +
                 ", numDisks=" + numDisks +
+                ", numPegs=" + getNumPegs() +
                 ", movements=" + movements +
                 " (óptimo: " + getMinimumMoves() + ")" +
                 ", completed=" + isCompleted() +
@@ -24,6 +24,15 @@ public class KnightRecord extends GameRecord {
     @Column(name = "total_moves")
     private int totalMoves;
 
+    @Column(name = "leaper")
+    private String leaper; // Pieza saltadora (null en registros antiguos: caballo)
+
+    @Column(name = "board_height")
+    private Integer boardHeight; // Filas del tablero (null en registros antiguos: cuadrado)
+
+    @Column(name = "blocked_squares")
+    private Integer blockedSquares; // Casillas bloqueadas (null en registros antiguos: ninguna)
+
     /**
      * Constructor por defecto requerido por Hibernate
      */
@@ -51,6 +60,32 @@ public class KnightRecord extends GameRecord {
         this.startX = startX;
         this.startY = startY;
         this.totalMoves = totalMoves;
+        this.leaper = "KNIGHT";
+    }
+
+    /**
+     * Constructor con la pieza saltadora y la forma del tablero
+     *
+     * @param leaper nombre de la pieza saltadora (KNIGHT, CAMEL, ZEBRA, GIRAFFE)
+     * @param boardSize ancho del tablero
+     * @param boardHeight alto del tablero
+     * @param blockedSquares número de casillas bloqueadas
+     * @param startX posición X inicial
+     * @param startY posición Y inicial
+     * @param totalMoves total de movimientos realizados
+     * @param steps número de intentos/pasos realizados
+     * @param completed indica si se completó el juego
+     * @param startTime tiempo de inicio
+     * @param endTime tiempo de finalización
+     */
+    public KnightRecord(String leaper, int boardSize, int boardHeight, int blockedSquares,
+                        int startX, int startY, int totalMoves,
+                        int steps, boolean completed,
+                        LocalDateTime startTime, LocalDateTime endTime) {
+        this(boardSize, startX, startY, totalMoves, steps, completed, startTime, endTime);
+        this.leaper = leaper;
+        this.boardHeight = boardHeight;
+        this.blockedSquares = blockedSquares;
     }
 
     /**
@@ -69,6 +104,38 @@ public class KnightRecord extends GameRecord {
         this.boardSize = boardSize;
     }
 
+    /**
+     * Obtiene el alto del tablero
+     * @return filas del tablero (igual al tamaño en tableros cuadrados)
+     */
+    public int getBoardHeight() {
+        return boardHeight != null ? boardHeight : boardSize;
+    }
+
+    /**
+     * Establece el alto del tablero
+     * @param boardHeight filas del tablero
+     */
+    public void setBoardHeight(int boardHeight) {
+        this.boardHeight = boardHeight;
+    }
+
+    /**
+     * Obtiene el número de casillas bloqueadas
+     * @return casillas bloqueadas (0 en registros antiguos)
+     */
+    public int getBlockedSquares() {
+        return blockedSquares != null ? blockedSquares : 0;
+    }
+
+    /**
+     * Establece el número de casillas bloqueadas
+     * @param blockedSquares casillas bloqueadas
+     */
+    public void setBlockedSquares(int blockedSquares) {
+        this.blockedSquares = blockedSquares;
+    }
+
     /**
      * Obtiene la posición X inicial
      * @return posición X inicial
@@ -117,15 +184,38 @@ public class KnightRecord extends GameRecord {
         this.totalMoves = totalMoves;
     }
 
+    /**
+     * Obtiene la pieza saltadora del recorrido
+     * @return nombre de la pieza (KNIGHT si el registro es anterior a las piezas saltadoras)
+     */
+    public String getLeaper() {
+        return leaper != null ? leaper : "KNIGHT";
+    }
+
+    /**
+     * Establece la pieza saltadora del recorrido
+     * @param leaper nombre de la pieza
+     */
+    public void setLeaper(String leaper) {
+        this.leaper = leaper;
+    }
+
     @Override
     public String getGameType() {
-        return "Recorrido del Caballo";
+        switch (getLeaper()) {
+            case "CAMEL": return "Recorrido del Camello";
+            case "ZEBRA": return "Recorrido de la Cebra";
+            case "GIRAFFE": return "Recorrido de la Jirafa";
+            default: return "Recorrido del Caballo";
+        }
     }
 
     @Override
     public String toString() {
         return "KnightRecord [id=" + getId() +
-                ", boardSize=" + boardSize +
+                ", leaper=" + getLeaper() +
+                ", board=" + boardSize + "x" + getBoardHeight() +
+                ", blocked=" + getBlockedSquares() +
                 ", startPos=(" + startX + "," + startY + ")" +
                 ", totalMoves=" + totalMoves +
                 ", steps=" + getSteps() +
@@ -1,6 +1,7 @@
 package com.arcade.model.game;
 
 import java.time.LocalDateTime;
+import java.util.function.BooleanSupplier;
 
 /**
  * Clase abstracta que implementa funcionalidad común para todos los juegos
@@ -15,6 +16,10 @@ public abstract class AbstractGame implements Game {
     protected int steps;
     protected LocalDateTime startTime;
     protected LocalDateTime endTime;
+    protected SolveBudget budget; // Límites de la resolución en curso (null si no hay límites)
+    protected SolverTelemetry telemetry; // Telemetría de la resolución en curso (null si no se recoge)
+    private GameConfig config; // Configuración de la partida (null si no está inicializado)
+    private SolverTelemetry lastTelemetry; // Telemetría de la última resolución terminada
 
     /**
      * Constructor con nombre y descripción
@@ -41,10 +46,131 @@ public abstract class AbstractGame implements Game {
 
     @Override
     public void initialize(Object... params) {
+        initialize(createConfig(params));
+    }
+
+    /**
+     * Convierte los parámetros sueltos de initialize en la configuración del juego
+     * @param params parámetros de inicialización
+     * @return configuración validada
+     * @throws IllegalArgumentException si faltan parámetros o no son válidos
+     */
+    protected abstract GameConfig createConfig(Object... params);
+
+    /**
+     * Inicializa el estado común de la partida
+     * Las subclases comprueban el tipo de la configuración con requireConfig,
+     * llaman a este método y preparan su tablero
+     * @param config configuración del juego
+     */
+    @Override
+    public void initialize(GameConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("La configuración no puede ser nula");
+        }
+
+        this.config = config;
         this.startTime = LocalDateTime.now();
         this.steps = 0;
         this.solved = false;
         this.initialized = true;
+        this.lastTelemetry = null;
+    }
+
+    /**
+     * Comprueba que una configuración es del tipo que usa el juego
+     * @param config configuración recibida
+     * @param type clase de configuración del juego
+     * @return la misma configuración con su tipo
+     * @throws IllegalArgumentException si la configuración es de otro juego
+     */
+    protected <T extends GameConfig> T requireConfig(GameConfig config, Class<T> type) {
+        if (!type.isInstance(config)) {
+            throw new IllegalArgumentException("Configuración no válida para " + name + ": " + config);
+        }
+        return type.cast(config);
+    }
+
+    @Override
+    public GameConfig getConfig() {
+        return config;
+    }
+
+    @Override
+    public SolveResult solve(SolveOptions options) {
+        return solve(options, getName(), this::solve);
+    }
+
+    @Override
+    public SolveResult solve(SolveOptions options, String algorithmName, BooleanSupplier algorithm) {
+        if (options == null) {
+            throw new IllegalArgumentException("Las opciones de resolución no pueden ser nulas");
+        }
+        if (budget != null) {
+            throw new IllegalStateException("Ya hay una resolución en curso");
+        }
+
+        SolveBudget current = new SolveBudget(options);
+        SolverTelemetry stats = options.isTelemetryEnabled() ? new SolverTelemetry(getMaxSearchDepth()) : null;
+        budget = current;
+        telemetry = stats;
+        try {
+            boolean found = algorithm.getAsBoolean();
+
+            SolveResult.Status status;
+            if (found) {
+                status = SolveResult.Status.SOLVED;
+            } else if (current.getStopReason() != null) {
+                status = current.getStopReason();
+            } else {
+                status = SolveResult.Status.NO_SOLUTION;
+            }
+
+            long elapsed = current.getElapsedNanos();
+            if (stats != null) {
+                stats.finish(elapsed);
+                lastTelemetry = stats;
+            }
+
+            return new SolveResult(status, current.getNodes(), elapsed, algorithmName, stats);
+        } finally {
+            budget = null;
+            telemetry = null;
+        }
+    }
+
+    /**
+     * Profundidad máxima que puede alcanzar la búsqueda, para dimensionar la telemetría
+     * @return profundidad máxima (por defecto el tamaño del problema)
+     */
+    protected int getMaxSearchDepth() {
+        return getProblemSize();
+    }
+
+    @Override
+    public SolverTelemetry getLastTelemetry() {
+        return lastTelemetry;
+    }
+
+    /**
+     * Cuenta un nodo de búsqueda y comprueba los límites de la resolución
+     * Los bucles calientes deben copiar el campo budget a una variable local
+     * y llamar directamente a checkpoint()
+     * @return true si hay que detener la búsqueda
+     */
+    protected boolean isBudgetExhausted() {
+        SolveBudget current = budget;
+        return current != null && current.checkpoint();
+    }
+
+    /**
+     * Indica si la resolución en curso se ha detenido por sus límites
+     * No cuenta ningún nodo; sirve para distinguir una búsqueda agotada de una interrumpida
+     * @return true si se agotó el tiempo o los nodos, o se canceló
+     */
+    protected boolean isSolveInterrupted() {
+        SolveBudget current = budget;
+        return current != null && current.getStopReason() != null;
     }
 
     @Override
@@ -63,6 +189,7 @@ public abstract class AbstractGame implements Game {
 
     @Override
     public void reset() {
+        this.config = null;
         this.initialized = false;
         this.solved = false;
         this.steps = 0;
@@ -0,0 +1,26 @@
+package com.arcade.model.game;
+
+/**
+ * Señal de cancelación de una resolución en curso
+ * La interfaz llama a cancel() desde su hilo y el algoritmo la consulta
+ * periódicamente desde el suyo; basta con una lectura volátil
+ */
+public class CancellationToken {
+
+    private volatile boolean cancelled;
+
+    /**
+     * Solicita la cancelación
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Indica si se ha solicitado la cancelación
+     * @return true si está cancelado
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -1,5 +1,7 @@
 package com.arcade.model.game;
 
+import java.util.function.BooleanSupplier;
+
 import com.arcade.model.entity.GameRecord;
 
 /**
@@ -22,16 +24,62 @@ public interface Game {
 
     /**
      * Inicializa el juego con los parámetros proporcionados
+     * Adaptador de initialize(GameConfig): los parámetros se convierten en la
+     * configuración del juego, que los valida
      * @param params parámetros de inicialización
+     * @throws IllegalArgumentException si faltan parámetros o no son válidos
      */
     void initialize(Object... params);
 
+    /**
+     * Inicializa el juego con una configuración ya validada
+     * @param config configuración del juego (QueensConfig, KnightConfig o HanoiConfig)
+     * @throws IllegalArgumentException si la configuración no corresponde a este juego
+     */
+    void initialize(GameConfig config);
+
+    /**
+     * Obtiene la configuración con la que se inicializó el juego
+     * @return configuración o null si el juego no está inicializado
+     */
+    GameConfig getConfig();
+
     /**
      * Resuelve el juego de forma automática
      * @return true si se pudo resolver, false en caso contrario
      */
     boolean solve();
 
+    /**
+     * Resuelve el juego de forma automática con límites de tiempo y nodos
+     * @param options límites y señal de cancelación
+     * @return resultado con el estado final y las estadísticas
+     */
+    SolveResult solve(SolveOptions options);
+
+    /**
+     * Ejecuta un algoritmo de resolución externo (por ejemplo una estrategia)
+     * aplicando los límites indicados a los bucles de búsqueda del juego
+     * @param options límites y señal de cancelación
+     * @param algorithmName nombre del algoritmo para el resultado
+     * @param algorithm algoritmo que devuelve true si encontró solución
+     * @return resultado con el estado final y las estadísticas
+     */
+    SolveResult solve(SolveOptions options, String algorithmName, BooleanSupplier algorithm);
+
+    /**
+     * Telemetría de la última resolución automática
+     * @return telemetría o null si no se ha resuelto desde la inicialización
+     */
+    SolverTelemetry getLastTelemetry();
+
+    /**
+     * Tamaño del problema que resuelve el juego
+     * Sirve para elegir el algoritmo de resolución más adecuado
+     * @return tamaño del tablero o número de discos
+     */
+    int getProblemSize();
+
     /**
      * Realiza un paso en la resolución del juego
      * @return true si se realizó el paso correctamente, false si no es posible
@@ -0,0 +1,104 @@
+package com.arcade.model.game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import com.arcade.model.game.hanoi.HanoiConfig;
+import com.arcade.model.game.knight.KnightConfig;
+import com.arcade.model.game.queens.QueensConfig;
+
+/**
+ * Configuración inmutable con la que se inicializa un juego
+ * Cada juego tiene la suya (QueensConfig, KnightConfig, HanoiConfig), que se
+ * valida al crearla, así que un juego inicializado con una configuración
+ * nunca recibe parámetros incorrectos. Dos configuraciones iguales tienen el
+ * mismo hash (calculado al crearlas) y la misma codificación, por lo que
+ * sirven como clave de caché, como especificación de un trabajo y como
+ * metadatos guardados con las partidas
+ *
+ * Codificación: un byte con el tipo de configuración seguido de sus campos
+ * como enteros variables (ver ResumableSearch)
+ */
+public interface GameConfig {
+
+    byte QUEENS_TAG = 1;
+    byte KNIGHT_TAG = 2;
+    byte HANOI_TAG = 3;
+
+    /**
+     * Obtiene el tamaño del problema (N, casillas del lado o discos)
+     * @return tamaño del problema
+     */
+    int getProblemSize();
+
+    /**
+     * Escribe la configuración en binario compacto, empezando por su tipo
+     * @param out destino de los datos
+     * @throws IOException si hay error al escribir
+     */
+    void writeTo(DataOutput out) throws IOException;
+
+    /**
+     * Codifica la configuración en un array de bytes
+     * @return bytes de la configuración
+     */
+    default byte[] toBytes() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            writeTo(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Error al codificar la configuración", e);
+        }
+    }
+
+    /**
+     * Lee una configuración escrita con writeTo
+     * @param in origen de los datos
+     * @return configuración leída
+     * @throws IOException si hay error al leer o los datos no forman una configuración válida
+     */
+    static GameConfig read(DataInput in) throws IOException {
+        int tag = in.readUnsignedByte();
+        try {
+            switch (tag) {
+                case QUEENS_TAG:
+                    return QueensConfig.readFields(in);
+                case KNIGHT_TAG:
+                    return KnightConfig.readFields(in);
+                case HANOI_TAG:
+                    return HanoiConfig.readFields(in);
+                default:
+                    throw new IOException("Tipo de configuración desconocido: " + tag);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Configuración no válida: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decodifica una configuración escrita con toBytes
+     * @param bytes bytes de la configuración
+     * @return configuración leída
+     * @throws IllegalArgumentException si los bytes no forman una configuración válida
+     */
+    static GameConfig fromBytes(byte[] bytes) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            GameConfig config = read(in);
+            if (in.available() > 0) {
+                throw new IOException("bytes de más al final");
+            }
+            return config;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Configuración codificada no válida: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.arcade.model.game;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Buzón de una sola posición para publicar el progreso de un algoritmo
+ * El algoritmo escribe instantáneas a una frecuencia limitada y la interfaz
+ * recoge la más reciente. Cada publicación sustituye a la anterior, por lo que
+ * el algoritmo nunca se bloquea ni acumula trabajo pendiente (sin cerrojos)
+ */
+public class ProgressMailbox {
+
+    /** Frecuencia máxima de publicación por defecto (instantáneas por segundo) */
+    public static final int DEFAULT_MAX_RATE_HZ = 30;
+
+    private final AtomicReference<SolverProgress> slot = new AtomicReference<>();
+    private final long minIntervalNanos;
+    private long lastPublishNanos; // Solo lo usa el hilo que publica
+
+    /**
+     * Constructor con la frecuencia por defecto
+     */
+    public ProgressMailbox() {
+        this(DEFAULT_MAX_RATE_HZ);
+    }
+
+    /**
+     * Constructor con frecuencia máxima
+     * @param maxRateHz número máximo de instantáneas por segundo
+     */
+    public ProgressMailbox(int maxRateHz) {
+        if (maxRateHz <= 0) {
+            throw new IllegalArgumentException("La frecuencia debe ser positiva");
+        }
+        this.minIntervalNanos = 1_000_000_000L / maxRateHz;
+        this.lastPublishNanos = System.nanoTime() - minIntervalNanos;
+    }
+
+    /**
+     * Indica si ha pasado suficiente tiempo para publicar otra instantánea
+     * Debe llamarlo el hilo que publica antes de construir la instantánea
+     * @param nowNanos instante actual (System.nanoTime)
+     * @return true si se puede publicar
+     */
+    public boolean isDue(long nowNanos) {
+        return nowNanos - lastPublishNanos >= minIntervalNanos;
+    }
+
+    /**
+     * Publica una instantánea, sustituyendo a la que no se haya leído
+     * @param progress instantánea a publicar
+     * @param nowNanos instante de la publicación (System.nanoTime)
+     */
+    public void publish(SolverProgress progress, long nowNanos) {
+        lastPublishNanos = nowNanos;
+        slot.setRelease(progress);
+    }
+
+    /**
+     * Recoge la última instantánea publicada y vacía el buzón
+     * @return instantánea o null si no hay nada nuevo
+     */
+    public SolverProgress poll() {
+        return slot.getAndSet(null);
+    }
+}
@@ -0,0 +1,111 @@
+package com.arcade.model.game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Juego cuya búsqueda automática se puede guardar a medias y reanudar
+ * Cuando una resolución se detiene por tiempo, nodos o cancelación, el juego
+ * conserva el estado de la búsqueda (pila explícita, tablero y contadores).
+ * Ese estado se escribe en binario compacto junto con la configuración del
+ * juego, de modo que otra ejecución puede reconstruirlo y seguir buscando
+ * desde el mismo punto en lugar de empezar de cero
+ *
+ * Los enteros se escriben como enteros variables (7 bits por byte), así que
+ * las profundidades y casillas pequeñas ocupan un solo byte
+ */
+public interface ResumableSearch {
+
+    /**
+     * Indica si hay una búsqueda interrumpida que se puede guardar o reanudar
+     * @return true si la última resolución se detuvo antes de terminar
+     */
+    boolean hasPendingSearch();
+
+    /**
+     * Escribe la configuración del juego y el estado de la búsqueda interrumpida
+     * @param out destino de los datos
+     * @throws IOException si hay error al escribir
+     * @throws IllegalStateException si no hay búsqueda interrumpida
+     */
+    void writeSearchState(DataOutput out) throws IOException;
+
+    /**
+     * Inicializa el juego con la configuración leída y restaura la búsqueda
+     * @param in origen de los datos
+     * @throws IOException si hay error al leer o los datos no son válidos
+     */
+    void readSearchState(DataInput in) throws IOException;
+
+    /**
+     * Continúa la búsqueda interrumpida desde donde se detuvo
+     * Se usa como algoritmo de Game.solve(SolveOptions, String, BooleanSupplier),
+     * para que la reanudación tenga sus propios límites
+     * @return true si se encontró una solución
+     * @throws IllegalStateException si no hay búsqueda interrumpida
+     */
+    boolean resumeSearch();
+
+    /**
+     * Obtiene el nombre del algoritmo de la búsqueda interrumpida
+     * @return nombre del algoritmo
+     */
+    String getPendingAlgorithm();
+
+    /**
+     * Escribe un entero no negativo como entero variable
+     * @param out destino
+     * @param value valor (no negativo)
+     * @throws IOException si hay error al escribir
+     */
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        if (value < 0) {
+            throw new IllegalArgumentException("El valor no puede ser negativo: " + value);
+        }
+
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    /**
+     * Lee un entero variable escrito con writeVarInt
+     * @param in origen
+     * @return valor leído
+     * @throws IOException si hay error al leer o el valor está mal formado
+     */
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Entero variable fuera de rango");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Entero variable demasiado largo");
+    }
+
+    /**
+     * Lee un entero variable y comprueba que está en un rango
+     * @param in origen
+     * @param min valor mínimo permitido
+     * @param max valor máximo permitido
+     * @param what descripción del valor para el mensaje de error
+     * @return valor leído
+     * @throws IOException si hay error al leer o el valor está fuera del rango
+     */
+    static int readVarInt(DataInput in, int min, int max, String what) throws IOException {
+        int value = readVarInt(in);
+        if (value < min || value > max) {
+            throw new IOException("Valor no válido para " + what + ": " + value);
+        }
+        return value;
+    }
+}
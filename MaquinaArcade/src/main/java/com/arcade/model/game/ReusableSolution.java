@@ -0,0 +1,36 @@
+package com.arcade.model.game;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Juego cuya solución se puede guardar y aplicar de nuevo sin buscarla
+ * La configuración del juego (ver GameConfig), lo único de lo que depende la
+ * solución, sirve como clave de la caché de soluciones: dos partidas con la
+ * misma configuración y el mismo algoritmo llegan a la misma solución, así
+ * que la segunda puede copiarla de la primera
+ *
+ * Los datos se escriben en el mismo binario compacto que las búsquedas
+ * interrumpidas (ver ResumableSearch)
+ */
+public interface ReusableSolution {
+
+    /**
+     * Escribe la solución encontrada por la última resolución
+     * @param out destino de los datos
+     * @throws IOException si hay error al escribir
+     * @throws IllegalStateException si el juego no está resuelto
+     */
+    void writeSolution(DataOutput out) throws IOException;
+
+    /**
+     * Aplica una solución escrita por otro juego con la misma configuración
+     * Se usa como algoritmo de Game.solve(SolveOptions, String, BooleanSupplier);
+     * si los datos no forman una solución válida el tablero queda vacío
+     * @param in origen de los datos
+     * @return true si la solución se aplicó y es válida
+     * @throws IOException si hay error al leer o los datos no son válidos
+     */
+    boolean applySolution(DataInput in) throws IOException;
+}
@@ -0,0 +1,103 @@
+package com.arcade.model.game;
+
+/**
+ * Control de los límites durante una resolución
+ * Lo crea el juego al empezar a resolver y solo lo usa el hilo que resuelve.
+ * Los bucles de búsqueda llaman a checkpoint() en cada nodo: cuenta el nodo
+ * y compara con el máximo, y solo cada CHECK_INTERVAL nodos consulta el reloj
+ * y la señal de cancelación, que son las comprobaciones caras
+ */
+public final class SolveBudget {
+
+    // Nodos entre consultas del reloj y de la cancelación
+    private static final int CHECK_INTERVAL = 1024;
+
+    private final long deadlineNanos;
+    private final boolean hasDeadline;
+    private final long maxNodes;
+    private final CancellationToken cancellationToken;
+    private final long startNanos;
+
+    private long nodes;
+    private int untilCheck = CHECK_INTERVAL;
+    private SolveResult.Status stopReason;
+
+    /**
+     * Constructor a partir de las opciones de resolución
+     * @param options límites de la resolución
+     */
+    public SolveBudget(SolveOptions options) {
+        this.startNanos = System.nanoTime();
+        this.hasDeadline = options.getTimeout() != null;
+        this.deadlineNanos = hasDeadline ? startNanos + options.getTimeout().toNanos() : 0;
+        this.maxNodes = options.getMaxNodes();
+        this.cancellationToken = options.getCancellationToken();
+    }
+
+    /**
+     * Cuenta un nodo y comprueba si hay que detener la búsqueda
+     * Una vez que devuelve true sigue devolviendo true
+     * @return true si se ha agotado el tiempo o los nodos, o se ha cancelado
+     */
+    public boolean checkpoint() {
+        if (stopReason != null) {
+            return true;
+        }
+
+        if (nodes == maxNodes) {
+            stopReason = SolveResult.Status.NODE_LIMIT;
+            return true;
+        }
+        nodes++;
+
+        if (--untilCheck == 0) {
+            untilCheck = CHECK_INTERVAL;
+            return checkNow();
+        }
+
+        return false;
+    }
+
+    /**
+     * Comprueba el reloj y la cancelación sin contar ningún nodo
+     * Para puntos del algoritmo que no son nodos de búsqueda
+     * @return true si hay que detener la resolución
+     */
+    public boolean checkNow() {
+        if (stopReason != null) {
+            return true;
+        }
+
+        if (cancellationToken != null && cancellationToken.isCancelled()) {
+            stopReason = SolveResult.Status.CANCELLED;
+        } else if (hasDeadline && System.nanoTime() - deadlineNanos >= 0) {
+            stopReason = SolveResult.Status.TIMED_OUT;
+        }
+
+        return stopReason != null;
+    }
+
+    /**
+     * Obtiene el motivo por el que se detuvo la búsqueda
+     * @return motivo o null si no se ha detenido
+     */
+    public SolveResult.Status getStopReason() {
+        return stopReason;
+    }
+
+    /**
+     * Obtiene los nodos contados
+     * @return número de llamadas a checkpoint
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Obtiene el tiempo transcurrido desde que empezó la resolución
+     * @return tiempo en nanosegundos
+     */
+    public long getElapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+}
@@ -0,0 +1,108 @@
+package com.arcade.model.game;
+
+import java.time.Duration;
+
+/**
+ * Límites de una resolución automática
+ * Reúne el tiempo máximo, el número máximo de nodos y la señal de
+ * cancelación. Es inmutable; el plazo se convierte en instante absoluto al
+ * empezar a resolver (ver SolveBudget)
+ */
+public final class SolveOptions {
+
+    /** Sin límite de tiempo ni de nodos y sin cancelación */
+    public static final SolveOptions UNLIMITED = new SolveOptions(null, Long.MAX_VALUE, null);
+
+    private static final boolean DEFAULT_TELEMETRY = true;
+
+    private final Duration timeout;
+    private final long maxNodes;
+    private final CancellationToken cancellationToken;
+    private final boolean telemetryEnabled;
+
+    /**
+     * Constructor con todos los límites
+     * @param timeout tiempo máximo o null para no limitarlo
+     * @param maxNodes nodos máximos a explorar (Long.MAX_VALUE para no limitarlos)
+     * @param cancellationToken señal de cancelación o null si no se puede cancelar
+     */
+    public SolveOptions(Duration timeout, long maxNodes, CancellationToken cancellationToken) {
+        this(timeout, maxNodes, cancellationToken, DEFAULT_TELEMETRY);
+    }
+
+    /**
+     * Constructor con todos los límites y la recogida de telemetría
+     * @param timeout tiempo máximo o null para no limitarlo
+     * @param maxNodes nodos máximos a explorar (Long.MAX_VALUE para no limitarlos)
+     * @param cancellationToken señal de cancelación o null si no se puede cancelar
+     * @param telemetryEnabled true para recoger la telemetría de la resolución
+     */
+    public SolveOptions(Duration timeout, long maxNodes, CancellationToken cancellationToken,
+                        boolean telemetryEnabled) {
+        if (timeout != null && (timeout.isNegative() || timeout.isZero())) {
+            throw new IllegalArgumentException("El tiempo máximo debe ser positivo");
+        }
+        if (maxNodes <= 0) {
+            throw new IllegalArgumentException("El número máximo de nodos debe ser positivo");
+        }
+
+        this.timeout = timeout;
+        this.maxNodes = maxNodes;
+        this.cancellationToken = cancellationToken;
+        this.telemetryEnabled = telemetryEnabled;
+    }
+
+    /**
+     * Crea opciones con tiempo máximo y cancelación, sin límite de nodos
+     * @param timeout tiempo máximo
+     * @param cancellationToken señal de cancelación
+     * @return opciones de resolución
+     */
+    public static SolveOptions withTimeout(Duration timeout, CancellationToken cancellationToken) {
+        return new SolveOptions(timeout, Long.MAX_VALUE, cancellationToken);
+    }
+
+    /**
+     * Obtiene el tiempo máximo
+     * @return tiempo máximo o null si no hay límite
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public long getMaxNodes() {
+        return maxNodes;
+    }
+
+    /**
+     * Obtiene la señal de cancelación
+     * @return señal o null si no se puede cancelar
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+
+    /**
+     * Indica si se recoge la telemetría de la resolución
+     * @return true si está activada (por defecto)
+     */
+    public boolean isTelemetryEnabled() {
+        return telemetryEnabled;
+    }
+
+    /**
+     * Crea una copia de estas opciones sin telemetría
+     * @return opciones iguales salvo la telemetría
+     */
+    public SolveOptions withoutTelemetry() {
+        return new SolveOptions(timeout, maxNodes, cancellationToken, false);
+    }
+
+    @Override
+    public String toString() {
+        return "SolveOptions[timeout=" + timeout +
+                ", maxNodes=" + (maxNodes == Long.MAX_VALUE ? "sin límite" : maxNodes) +
+                ", cancelable=" + (cancellationToken != null) +
+                ", telemetry=" + telemetryEnabled + "]";
+    }
+}
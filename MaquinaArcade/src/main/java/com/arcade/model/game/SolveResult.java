@@ -0,0 +1,129 @@
+package com.arcade.model.game;
+
+/**
+ * Resultado inmutable de una resolución automática
+ * Indica cómo terminó (resuelto, sin solución, tiempo agotado, límite de
+ * nodos o cancelado) junto con las estadísticas de la búsqueda
+ */
+public final class SolveResult {
+
+    /**
+     * Forma en que terminó la resolución
+     */
+    public enum Status {
+        SOLVED("Resuelto"),
+        NO_SOLUTION("Sin solución"),
+        TIMED_OUT("Tiempo agotado"),
+        NODE_LIMIT("Límite de nodos alcanzado"),
+        CANCELLED("Cancelado");
+
+        private final String description;
+
+        Status(String description) {
+            this.description = description;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private final Status status;
+    private final long nodes;
+    private final long elapsedNanos;
+    private final String algorithm;
+    private final SolverTelemetry telemetry;
+
+    /**
+     * Constructor con los datos del resultado
+     * @param status forma en que terminó
+     * @param nodes nodos explorados
+     * @param elapsedNanos tiempo empleado en nanosegundos
+     * @param algorithm nombre del algoritmo usado
+     */
+    public SolveResult(Status status, long nodes, long elapsedNanos, String algorithm) {
+        this(status, nodes, elapsedNanos, algorithm, null);
+    }
+
+    /**
+     * Constructor con los datos del resultado y la telemetría
+     * @param status forma en que terminó
+     * @param nodes nodos explorados
+     * @param elapsedNanos tiempo empleado en nanosegundos
+     * @param algorithm nombre del algoritmo usado
+     * @param telemetry telemetría de la resolución o null si no se recogió
+     */
+    public SolveResult(Status status, long nodes, long elapsedNanos, String algorithm, SolverTelemetry telemetry) {
+        this.status = status;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+        this.algorithm = algorithm;
+        this.telemetry = telemetry;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Indica si se encontró una solución
+     * @return true si el estado es SOLVED
+     */
+    public boolean isSolved() {
+        return status == Status.SOLVED;
+    }
+
+    /**
+     * Indica si la búsqueda se detuvo antes de terminar
+     * @return true si se agotó el tiempo o los nodos, o se canceló
+     */
+    public boolean isInterrupted() {
+        return status == Status.TIMED_OUT || status == Status.NODE_LIMIT || status == Status.CANCELLED;
+    }
+
+    /**
+     * Obtiene los nodos explorados
+     * @return número de nodos
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Obtiene el tiempo empleado
+     * @return tiempo en nanosegundos
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Obtiene el nombre del algoritmo usado
+     * @return nombre del algoritmo
+     */
+    public String getAlgorithm() {
+        return algorithm;
+    }
+
+    /**
+     * Obtiene la telemetría de la resolución
+     * @return telemetría o null si no se recogió
+     */
+    public SolverTelemetry getTelemetry() {
+        return telemetry;
+    }
+
+    /**
+     * Calcula la velocidad media de exploración
+     * @return nodos por segundo
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos > 0 ? (long) (nodes * 1_000_000_000.0 / elapsedNanos) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s con %s: %d nodos en %.3f s",
+                status.getDescription(), algorithm, nodes, elapsedNanos / 1e9);
+    }
+}
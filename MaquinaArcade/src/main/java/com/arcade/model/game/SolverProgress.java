@@ -0,0 +1,73 @@
+package com.arcade.model.game;
+
+/**
+ * Instantánea inmutable del progreso de un algoritmo de resolución
+ * La publica el hilo que resuelve y la lee el hilo de la interfaz
+ */
+public final class SolverProgress {
+
+    private final int depth;
+    private final int[] path;
+    private final long nodes;
+    private final long elapsedNanos;
+
+    /**
+     * Constructor con los datos de la instantánea
+     * @param depth profundidad actual de la búsqueda
+     * @param path prefijo del camino actual (casillas empaquetadas)
+     * @param nodes nodos explorados desde el inicio
+     * @param elapsedNanos tiempo transcurrido en nanosegundos
+     */
+    public SolverProgress(int depth, int[] path, long nodes, long elapsedNanos) {
+        this.depth = depth;
+        this.path = path;
+        this.nodes = nodes;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Obtiene la profundidad actual de la búsqueda
+     * @return profundidad
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Obtiene el prefijo del camino actual
+     * @return array con las casillas del camino (no se debe modificar)
+     */
+    public int[] getPath() {
+        return path;
+    }
+
+    /**
+     * Obtiene los nodos explorados
+     * @return número de nodos
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Obtiene el tiempo transcurrido
+     * @return tiempo en nanosegundos
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Calcula la velocidad media de exploración
+     * @return nodos por segundo
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos > 0 ? (long) (nodes * 1_000_000_000.0 / elapsedNanos) : 0;
+    }
+
+    @Override
+    public String toString() {
+        return "SolverProgress[depth=" + depth + ", nodes=" + nodes +
+                ", nodesPerSecond=" + getNodesPerSecond() + "]";
+    }
+}
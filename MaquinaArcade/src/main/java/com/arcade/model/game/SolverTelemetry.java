@@ -0,0 +1,182 @@
+package com.arcade.model.game;
+
+import java.util.Arrays;
+
+/**
+ * Telemetría de una resolución: nodos, podas, retrocesos, profundidad máxima,
+ * histograma de nodos por profundidad y velocidad
+ *
+ * Solo la escribe el hilo que resuelve. Los bucles calientes no llaman a un
+ * método por nodo: incrementan directamente el contador de su profundidad
+ * (getDepthCounters) y llevan podas y retrocesos en variables locales que
+ * suman con add() al salir; el total de nodos y la profundidad máxima se
+ * deducen del histograma al terminar. Se publica a través del resultado y las
+ * de varias resoluciones se pueden acumular con merge()
+ */
+public final class SolverTelemetry {
+
+    private long nodes;
+    private long prunes;
+    private long backtracks;
+    private long[] depthHistogram;
+    private long elapsedNanos;
+    private long solves;
+
+    /**
+     * Constructor con la profundidad máxima de la búsqueda
+     * @param maxDepth profundidad máxima que puede alcanzar la búsqueda
+     */
+    public SolverTelemetry(int maxDepth) {
+        this.depthHistogram = new long[Math.max(1, maxDepth + 1)];
+    }
+
+    /**
+     * Obtiene los contadores de nodos por profundidad para incrementarlos
+     * directamente desde un bucle de búsqueda
+     * @return array indexado por profundidad (de 0 a la máxima indicada al crear)
+     */
+    public long[] getDepthCounters() {
+        return depthHistogram;
+    }
+
+    /**
+     * Cuenta un nodo de búsqueda fuera de un bucle caliente
+     * @param depth profundidad del nodo (desde 0)
+     */
+    public void node(int depth) {
+        nodes(depth, 1);
+    }
+
+    /**
+     * Cuenta de golpe varios nodos de la misma profundidad
+     * Sirve a los algoritmos que pueden deducir el histograma al terminar
+     * @param depth profundidad de los nodos (desde 0)
+     * @param count número de nodos
+     */
+    public void nodes(int depth, long count) {
+        if (depth >= depthHistogram.length) {
+            depthHistogram = Arrays.copyOf(depthHistogram, Math.max(depth + 1, depthHistogram.length * 2));
+        }
+        depthHistogram[depth] += count;
+    }
+
+    /**
+     * Suma los contadores locales de un bucle de búsqueda
+     * @param prunes ramas descartadas sin explorarlas
+     * @param backtracks retrocesos (deshacer el último paso)
+     */
+    public void add(long prunes, long backtracks) {
+        this.prunes += prunes;
+        this.backtracks += backtracks;
+    }
+
+    /**
+     * Registra el final de la resolución y totaliza los nodos del histograma
+     * @param elapsedNanos tiempo empleado en nanosegundos
+     */
+    public void finish(long elapsedNanos) {
+        long total = 0;
+        for (long count : depthHistogram) {
+            total += count;
+        }
+
+        this.nodes = total;
+        this.elapsedNanos = elapsedNanos;
+        this.solves = 1;
+    }
+
+    /**
+     * Acumula la telemetría de otra resolución
+     * @param other telemetría terminada de otra resolución
+     */
+    public void merge(SolverTelemetry other) {
+        nodes += other.nodes;
+        prunes += other.prunes;
+        backtracks += other.backtracks;
+        elapsedNanos += other.elapsedNanos;
+        solves += other.solves;
+
+        if (other.depthHistogram.length > depthHistogram.length) {
+            depthHistogram = Arrays.copyOf(depthHistogram, other.depthHistogram.length);
+        }
+        for (int d = 0; d < other.depthHistogram.length; d++) {
+            depthHistogram[d] += other.depthHistogram[d];
+        }
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    public long getPrunes() {
+        return prunes;
+    }
+
+    public long getBacktracks() {
+        return backtracks;
+    }
+
+    /**
+     * Obtiene la profundidad máxima alcanzada
+     * Se deduce del histograma, así que no cuesta nada durante la búsqueda
+     * @return profundidad máxima o -1 si no hubo nodos
+     */
+    public int getMaxDepth() {
+        for (int d = depthHistogram.length - 1; d >= 0; d--) {
+            if (depthHistogram[d] != 0) {
+                return d;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Obtiene el histograma de nodos por profundidad
+     * @return copia con el número de nodos en cada profundidad hasta la máxima
+     */
+    public long[] getDepthHistogram() {
+        return Arrays.copyOf(depthHistogram, getMaxDepth() + 1);
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Obtiene el número de resoluciones acumuladas
+     * @return 1 para una resolución, más si se han combinado con merge
+     */
+    public long getSolves() {
+        return solves;
+    }
+
+    /**
+     * Calcula la velocidad media de exploración
+     * @return nodos por segundo
+     */
+    public long getNodesPerSecond() {
+        return elapsedNanos > 0 ? (long) (nodes * 1_000_000_000.0 / elapsedNanos) : 0;
+    }
+
+    /**
+     * Codifica el histograma como texto para guardarlo en la base de datos
+     * @return valores separados por comas
+     */
+    public String encodeDepthHistogram() {
+        StringBuilder text = new StringBuilder();
+        int maxDepth = getMaxDepth();
+        for (int d = 0; d <= maxDepth; d++) {
+            if (d > 0) {
+                text.append(',');
+            }
+            text.append(depthHistogram[d]);
+        }
+        return text.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "SolverTelemetry[nodes=" + nodes + ", prunes=" + prunes + ", backtracks=" + backtracks +
+                ", maxDepth=" + getMaxDepth() + ", nodesPerSecond=" + getNodesPerSecond() + "]";
+    }
+}
@@ -0,0 +1,101 @@
+package com.arcade.model.game;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import com.arcade.model.game.hanoi.HanoiGame;
+import com.arcade.model.game.knight.KnightGame;
+import com.arcade.model.game.queens.QueensGame;
+
+/**
+ * Banco de pruebas del coste de la telemetría en los bucles de resolución
+ * Resuelve cada problema alternando rondas con y sin telemetría (tras unas
+ * rondas de calentamiento para que el JIT compile ambas variantes) y compara
+ * las medianas; el objetivo es que la telemetría cueste menos de un 2 %.
+ * Los problemas que se resuelven en pocos milisegundos se repiten varias
+ * veces en cada ronda para que el ruido del reloj no tape la diferencia
+ *
+ * Uso: java com.arcade.model.game.SolverTelemetryBenchmark [rondas]
+ */
+public class SolverTelemetryBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int DEFAULT_ROUNDS = 15;
+    private static final double MAX_OVERHEAD_PERCENT = 2.0;
+    private static final int HANOI_REPEATS = 10; // Unos 30 ms por resolución
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+
+        System.out.println(String.format("%-28s %12s %14s %14s %10s",
+                "Problema", "Nodos", "Sin (ms)", "Con (ms)", "Coste"));
+
+        boolean ok = true;
+        ok &= run("Caballo 8x8 (orden fijo)", () -> {
+            KnightGame game = new KnightGame();
+            game.initialize(8, 0, 0);
+            return game;
+        }, rounds, 1);
+        ok &= run("N Reinas 22 (backtracking)", () -> {
+            QueensGame game = new QueensGame();
+            game.initialize(22);
+            return game;
+        }, rounds, 1);
+        ok &= run("Hanoi 20 discos", () -> {
+            HanoiGame game = new HanoiGame();
+            game.initialize(20);
+            return game;
+        }, rounds, HANOI_REPEATS);
+
+        System.out.println(ok ? "Coste de la telemetría dentro del objetivo (< " + MAX_OVERHEAD_PERCENT + " %)"
+                : "Coste de la telemetría por encima del objetivo en algún problema");
+    }
+
+    /**
+     * Mide un problema con y sin telemetría
+     * @param name nombre para mostrar
+     * @param factory crea el juego inicializado
+     * @param rounds rondas medidas de cada variante
+     * @param repeats resoluciones sumadas en cada ronda
+     * @return true si el coste está dentro del objetivo
+     */
+    private static boolean run(String name, Supplier<Game> factory, int rounds, int repeats) {
+        SolveOptions with = SolveOptions.UNLIMITED;
+        SolveOptions without = SolveOptions.UNLIMITED.withoutTelemetry();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            factory.get().solve(with);
+            factory.get().solve(without);
+        }
+
+        long[] withNanos = new long[rounds];
+        long[] withoutNanos = new long[rounds];
+        long nodes = 0;
+
+        // Alternar para que las variaciones de frecuencia afecten a las dos por igual
+        for (int i = 0; i < rounds; i++) {
+            for (int r = 0; r < repeats; r++) {
+                withoutNanos[i] += factory.get().solve(without).getElapsedNanos();
+
+                SolveResult result = factory.get().solve(with);
+                withNanos[i] += result.getElapsedNanos();
+                nodes = result.getTelemetry().getNodes();
+            }
+        }
+
+        double withMillis = median(withNanos) / 1e6;
+        double withoutMillis = median(withoutNanos) / 1e6;
+        double overhead = (withMillis - withoutMillis) / withoutMillis * 100;
+
+        System.out.println(String.format("%-28s %12d %14.3f %14.3f %9.2f%%",
+                name, nodes, withoutMillis, withMillis, overhead));
+        return overhead < MAX_OVERHEAD_PERCENT;
+    }
+
+    private static double median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2.0;
+    }
+}
@@ -0,0 +1,202 @@
+package com.arcade.model.game.hanoi;
+
+import java.util.stream.IntStream;
+
+/**
+ * Tabla de costes de Frame–Stewart para las Torres de Hanói con k postes
+ * Para mover n discos con p postes se apartan los t discos superiores usando
+ * los p postes, se mueven los n - t restantes con p - 1 postes (el poste
+ * ocupado no se puede usar) y se vuelven a colocar los t encima:
+ *
+ *   FS(n, p) = min { 2 * FS(t, p) + FS(n - t, p - 1) : 1 <= t < n }
+ *
+ * Con 3 postes la mejor división es t = n - 1 y el coste es 2^n - 1. La tabla
+ * se memoriza de forma compartida y crece bajo demanda; cuando n es grande
+ * el mínimo de cada celda se calcula en paralelo por tramos de t
+ */
+public final class FrameStewart {
+
+    public static final int MIN_PEGS = 3;
+    public static final int MAX_PEGS = 10;
+
+    private static final int PARALLEL_THRESHOLD = 1024; // Discos a partir de los que se usa el pool común
+    private static final int MIN_CHUNK = 256;            // Valores de t por tramo paralelo
+
+    private static volatile Table table = new Table(new long[0][], new int[0][], -1);
+
+    /**
+     * Tabla inmutable: costs[p][n] y splits[p][n] para p = 0..MAX_PEGS
+     * (las filas 0-2 no se usan). Al crecer se publica una tabla nueva,
+     * por lo que las lecturas no necesitan sincronización
+     */
+    private static final class Table {
+        final long[][] costs;
+        final int[][] splits;
+        final int maxDisks;
+
+        Table(long[][] costs, int[][] splits, int maxDisks) {
+            this.costs = costs;
+            this.splits = splits;
+            this.maxDisks = maxDisks;
+        }
+    }
+
+    private FrameStewart() {
+    }
+
+    /**
+     * Obtiene el número mínimo de movimientos según Frame–Stewart
+     * @param numDisks número de discos
+     * @param numPegs número de postes (3 a MAX_PEGS)
+     * @return movimientos mínimos (Long.MAX_VALUE si no caben en un long)
+     */
+    public static long getMinimumMoves(int numDisks, int numPegs) {
+        checkPegs(numPegs);
+        return table(numDisks).costs[numPegs][numDisks];
+    }
+
+    /**
+     * Obtiene cuántos discos superiores se apartan en la división óptima
+     * @param numDisks número de discos (al menos 2)
+     * @param numPegs número de postes (3 a MAX_PEGS)
+     * @return discos t que se mueven con todos los postes
+     */
+    public static int getSplit(int numDisks, int numPegs) {
+        checkPegs(numPegs);
+        return table(numDisks).splits[numPegs][numDisks];
+    }
+
+    /**
+     * Obtiene la tabla de divisiones para un número de discos
+     * El generador de movimientos la consulta directamente en cada división
+     * @param numDisks número de discos que debe cubrir
+     * @return divisiones indexadas por [postes][discos] (no se debe modificar)
+     */
+    static int[][] getSplitTable(int numDisks) {
+        return table(numDisks).splits;
+    }
+
+    /**
+     * Devuelve la tabla memorizada, ampliándola si no cubre los discos pedidos
+     * @param numDisks número de discos necesario
+     * @return tabla que cubre al menos numDisks discos
+     */
+    private static Table table(int numDisks) {
+        if (numDisks < 0) {
+            throw new IllegalArgumentException("El número de discos no puede ser negativo");
+        }
+
+        Table current = table;
+        if (numDisks <= current.maxDisks) {
+            return current;
+        }
+
+        synchronized (FrameStewart.class) {
+            current = table;
+            if (numDisks > current.maxDisks) {
+                // Se duplica el tamaño para amortizar los recálculos
+                current = compute(Math.max(numDisks, Math.max(64, 2 * current.maxDisks)));
+                table = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Calcula la tabla completa hasta un número de discos
+     * Cada fila depende de la anterior y de sus propias celdas menores,
+     * así que se rellena por filas y el mínimo de cada celda se reparte en
+     * tramos de t cuando hay suficientes discos
+     * @param limit número máximo de discos
+     * @return tabla calculada
+     */
+    private static Table compute(int limit) {
+        long[][] newCosts = new long[MAX_PEGS + 1][limit + 1];
+        int[][] newSplits = new int[MAX_PEGS + 1][limit + 1];
+
+        // Tres postes: 2^n - 1 con división n - 1
+        for (int n = 1; n <= limit; n++) {
+            newCosts[MIN_PEGS][n] = n >= 63 ? Long.MAX_VALUE : (1L << n) - 1;
+            newSplits[MIN_PEGS][n] = n - 1;
+        }
+
+        for (int p = MIN_PEGS + 1; p <= MAX_PEGS; p++) {
+            long[] row = newCosts[p];
+            long[] previous = newCosts[p - 1];
+            int[] splitRow = newSplits[p];
+
+            if (limit >= 1) {
+                row[1] = 1;
+            }
+
+            for (int n = 2; n <= limit; n++) {
+                long[] best = n >= PARALLEL_THRESHOLD
+                        ? bestSplitParallel(row, previous, n)
+                        : bestSplit(row, previous, n, 1, n);
+                row[n] = best[0];
+                splitRow[n] = (int) best[1];
+            }
+        }
+
+        return new Table(newCosts, newSplits, limit);
+    }
+
+    /**
+     * Busca la mejor división de n discos en un tramo de valores de t
+     * @param row costes con p postes (ya calculados para menos de n discos)
+     * @param previous costes con p - 1 postes
+     * @param n número de discos
+     * @param fromT primer t del tramo (incluido)
+     * @param toT último t del tramo (excluido)
+     * @return {coste mínimo, t que lo consigue}
+     */
+    private static long[] bestSplit(long[] row, long[] previous, int n, int fromT, int toT) {
+        long bestCost = Long.MAX_VALUE;
+        int bestT = fromT;
+
+        for (int t = fromT; t < toT; t++) {
+            long cost = add(add(row[t], row[t]), previous[n - t]);
+            if (cost < bestCost) {
+                bestCost = cost;
+                bestT = t;
+            }
+        }
+
+        return new long[] {bestCost, bestT};
+    }
+
+    /**
+     * Busca la mejor división repartiendo los valores de t en tramos paralelos
+     * En caso de empate se queda con el t menor, igual que la versión secuencial
+     * @param row costes con p postes
+     * @param previous costes con p - 1 postes
+     * @param n número de discos
+     * @return {coste mínimo, t que lo consigue}
+     */
+    private static long[] bestSplitParallel(long[] row, long[] previous, int n) {
+        int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, (n - 1) / MIN_CHUNK));
+
+        // Tramos equilibrados de t en [1, n): ninguno queda vacío porque chunks <= n - 1
+        return IntStream.range(0, chunks).parallel()
+                .mapToObj(c -> bestSplit(row, previous, n,
+                        1 + (int) ((long) c * (n - 1) / chunks),
+                        1 + (int) ((long) (c + 1) * (n - 1) / chunks)))
+                .reduce((a, b) -> b[0] < a[0] || (b[0] == a[0] && b[1] < a[1]) ? b : a)
+                .orElseThrow();
+    }
+
+    /**
+     * Suma con saturación: los costes que no caben en un long quedan en Long.MAX_VALUE
+     */
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static void checkPegs(int numPegs) {
+        if (numPegs < MIN_PEGS || numPegs > MAX_PEGS) {
+            throw new IllegalArgumentException("El número de postes debe estar entre " +
+                    MIN_PEGS + " y " + MAX_PEGS);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.arcade.model.game.hanoi;
+
+import java.util.Arrays;
+
+/**
+ * Generador perezoso de la solución de Frame–Stewart con k postes
+ * En lugar de construir la lista de movimientos, mantiene una pila explícita
+ * de subproblemas (mover los discos base+1..base+n de un poste a otro usando
+ * un conjunto de postes) y solo expande el siguiente cuando se pide un
+ * movimiento. La pila tiene como mucho unas pocas entradas por disco y no se
+ * reserva memoria por movimiento
+ *
+ * Los postes siguen el convenio del juego: origen 0 y destino numPegs - 1
+ */
+public class FrameStewartMoveGenerator {
+
+    private final int numDisks;
+    private final int numPegs;
+    private final long totalMoves;
+    private final int[][] splits;
+
+    // Pila de subproblemas (estructura de arrays)
+    private int[] taskBase;
+    private int[] taskCount;
+    private int[] taskFrom;
+    private int[] taskTo;
+    private int[] taskPegs; // Postes disponibles como máscara de bits
+    private int top;
+
+    private long index; // Movimientos ya generados
+    private int disk;
+    private int fromTower;
+    private int toTower;
+
+    /**
+     * Constructor con número de discos y de postes
+     * @param numDisks número de discos
+     * @param numPegs número de postes (3 a FrameStewart.MAX_PEGS)
+     */
+    public FrameStewartMoveGenerator(int numDisks, int numPegs) {
+        this.numDisks = numDisks;
+        this.numPegs = numPegs;
+        this.totalMoves = FrameStewart.getMinimumMoves(numDisks, numPegs);
+        this.splits = FrameStewart.getSplitTable(numDisks);
+
+        int capacity = 2 * numDisks + 2;
+        this.taskBase = new int[capacity];
+        this.taskCount = new int[capacity];
+        this.taskFrom = new int[capacity];
+        this.taskTo = new int[capacity];
+        this.taskPegs = new int[capacity];
+
+        reset();
+    }
+
+    /**
+     * Vuelve al principio de la solución
+     */
+    public void reset() {
+        top = 0;
+        index = 0;
+        disk = 0;
+        fromTower = -1;
+        toTower = -1;
+        push(0, numDisks, 0, numPegs - 1, (1 << numPegs) - 1);
+    }
+
+    /**
+     * Indica si quedan movimientos por generar
+     * @return true si hay más movimientos
+     */
+    public boolean hasNext() {
+        return index < totalMoves;
+    }
+
+    /**
+     * Avanza al siguiente movimiento de la solución
+     * El movimiento queda disponible en getDisk, getFromTower y getToTower
+     * @return true si se generó un movimiento, false si la solución terminó
+     */
+    public boolean next() {
+        while (top > 0) {
+            top--;
+            int base = taskBase[top];
+            int count = taskCount[top];
+            int from = taskFrom[top];
+            int to = taskTo[top];
+            int pegs = taskPegs[top];
+
+            if (count == 1) {
+                index++;
+                disk = base + 1;
+                fromTower = from;
+                toTower = to;
+                return true;
+            }
+
+            int t = splits[Integer.bitCount(pegs)][count];
+            int spare = Integer.numberOfTrailingZeros(pegs & ~(1 << from) & ~(1 << to));
+
+            // Se apilan en orden inverso: apartar los t menores, mover el resto
+            // sin el poste ocupado y volver a colocar los t menores encima
+            push(base, t, spare, to, pegs);
+            push(base + t, count - t, from, to, pegs & ~(1 << spare));
+            push(base, t, from, spare, pegs);
+        }
+
+        return false;
+    }
+
+    /**
+     * Añade un subproblema a la pila
+     */
+    private void push(int base, int count, int from, int to, int pegs) {
+        if (count == 0) {
+            return;
+        }
+
+        if (top == taskBase.length) {
+            int capacity = taskBase.length * 2;
+            taskBase = Arrays.copyOf(taskBase, capacity);
+            taskCount = Arrays.copyOf(taskCount, capacity);
+            taskFrom = Arrays.copyOf(taskFrom, capacity);
+            taskTo = Arrays.copyOf(taskTo, capacity);
+            taskPegs = Arrays.copyOf(taskPegs, capacity);
+        }
+
+        taskBase[top] = base;
+        taskCount[top] = count;
+        taskFrom[top] = from;
+        taskTo[top] = to;
+        taskPegs[top] = pegs;
+        top++;
+    }
+
+    /**
+     * Obtiene el número de movimientos generados hasta ahora
+     * @return índice del último movimiento generado (0 si no hay ninguno)
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    public int getNumDisks() {
+        return numDisks;
+    }
+
+    public int getNumPegs() {
+        return numPegs;
+    }
+
+    public long getTotalMoves() {
+        return totalMoves;
+    }
+
+    public int getDisk() {
+        return disk;
+    }
+
+    public int getFromTower() {
+        return fromTower;
+    }
+
+    public int getToTower() {
+        return toTower;
+    }
+}
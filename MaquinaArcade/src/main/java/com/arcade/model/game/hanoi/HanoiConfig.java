@@ -0,0 +1,117 @@
+package com.arcade.model.game.hanoi;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.ResumableSearch;
+
+/**
+ * Configuración inmutable de las Torres de Hanói: discos y postes
+ */
+public final class HanoiConfig implements GameConfig {
+
+    public static final int MIN_DISKS = 3;
+
+    private final int numDisks;
+    private final int numPegs;
+    private final int hash;
+
+    /**
+     * Constructor con el número de discos y de postes
+     * @param numDisks número de discos (3 a HanoiMoveGenerator.MAX_DISKS)
+     * @param numPegs número de postes (FrameStewart.MIN_PEGS a FrameStewart.MAX_PEGS)
+     * @throws IllegalArgumentException si algún valor está fuera de rango
+     */
+    public HanoiConfig(int numDisks, int numPegs) {
+        if (numDisks < MIN_DISKS || numDisks > HanoiMoveGenerator.MAX_DISKS) {
+            throw new IllegalArgumentException("El número de discos debe estar entre " + MIN_DISKS + " y " +
+                    HanoiMoveGenerator.MAX_DISKS);
+        }
+        if (numPegs < FrameStewart.MIN_PEGS || numPegs > FrameStewart.MAX_PEGS) {
+            throw new IllegalArgumentException("El número de postes debe estar entre " +
+                    FrameStewart.MIN_PEGS + " y " + FrameStewart.MAX_PEGS);
+        }
+
+        this.numDisks = numDisks;
+        this.numPegs = numPegs;
+        this.hash = 31 * (31 * HANOI_TAG + numDisks) + numPegs;
+    }
+
+    /**
+     * Convierte los parámetros sueltos de Game.initialize en una configuración
+     * @param defaultPegs postes que se usan si no se indican
+     * @param params número de discos y, opcionalmente, de postes (Integer)
+     * @return configuración validada
+     * @throws IllegalArgumentException si faltan parámetros o no son válidos
+     */
+    public static HanoiConfig fromParams(int defaultPegs, Object... params) {
+        if (params.length < 1 || !(params[0] instanceof Integer)) {
+            throw new IllegalArgumentException("Se requiere el número de discos");
+        }
+
+        int pegs = params.length > 1 && params[1] instanceof Integer ? (Integer) params[1] : defaultPegs;
+        return new HanoiConfig((Integer) params[0], pegs);
+    }
+
+    /**
+     * Lee los campos de una configuración (el tipo ya se ha leído)
+     * @param in origen de los datos
+     * @return configuración leída
+     * @throws IOException si hay error al leer
+     */
+    public static HanoiConfig readFields(DataInput in) throws IOException {
+        int disks = ResumableSearch.readVarInt(in);
+        int pegs = ResumableSearch.readVarInt(in);
+        return new HanoiConfig(disks, pegs);
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(HANOI_TAG);
+        ResumableSearch.writeVarInt(out, numDisks);
+        ResumableSearch.writeVarInt(out, numPegs);
+    }
+
+    public int getNumDisks() {
+        return numDisks;
+    }
+
+    public int getNumPegs() {
+        return numPegs;
+    }
+
+    /**
+     * Indica si es la variante de más de tres postes
+     * @return true si hay más de tres postes
+     */
+    public boolean isMultiPeg() {
+        return numPegs > FrameStewart.MIN_PEGS;
+    }
+
+    @Override
+    public int getProblemSize() {
+        return numDisks;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof HanoiConfig)) {
+            return false;
+        }
+
+        HanoiConfig config = (HanoiConfig) other;
+        return numDisks == config.numDisks && numPegs == config.numPegs;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "HanoiConfig[" + numDisks + " discos, " + numPegs + " postes]";
+    }
+}
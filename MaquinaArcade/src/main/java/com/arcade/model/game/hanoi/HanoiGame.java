@@ -1,25 +1,52 @@
 package com.arcade.model.game.hanoi;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Stack;
 
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.HanoiRecord;
 import com.arcade.model.game.AbstractGame;
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.SolveBudget;
+import com.arcade.model.game.SolverTelemetry;
 
 /**
  * Implementación del juego de las Torres de Hanói
  * Permite resolver el problema de mover una torre de discos
  * de un poste a otro siguiendo reglas específicas
+ *
+ * Con más de tres postes (acertijo de Reve y sus generalizaciones) la
+ * solución sigue el algoritmo de Frame–Stewart
  */
 public class HanoiGame extends AbstractGame {
 
+    /**
+     * Máximo de movimientos que se guardan en el historial de la partida
+     * A partir de este límite solo se cuentan (con 63 discos la solución
+     * tiene 2^63 - 1 movimientos)
+     */
+    public static final int MAX_RECORDED_MOVES = 1 << 20;
+
+    /**
+     * Memoria máxima de la búsqueda en anchura que da las pistas con más de
+     * tres postes fuera de la solución (ver HanoiStateSearch)
+     */
+    public static final long HINT_MEMORY_BUDGET = 8L << 20;
+
+    private final int defaultPegs;
     private int numDisks;
-    private List<Stack<Disk>> towers;
-    private List<Move> moves;
-    private List<Move> optimalSolution;
-    private int currentMoveIndex;
+    private int numPegs;
+    private long fullMask;       // Un bit por disco: bit d - 1 para el disco d
+    private long[] pegs;         // Discos de cada torre como máscara de bits
+    private FrameStewartMoveGenerator multiPegPath; // Siguiente movimiento óptimo con más de 3 postes
+    private HanoiMoveLog.Writer moveLog; // Movimientos desde la configuración inicial, 3 bits cada uno
+    private long moveCount;
+    private long currentMoveIndex; // Posición en la solución óptima
+    private boolean offPath;       // El jugador se ha apartado de la solución óptima
+    private List<HanoiLogic.Move> returnPath; // Camino más corto a la meta fuera de Frame–Stewart (null si no se ha buscado)
+    private int returnIndex;       // Siguiente movimiento de returnPath
 
     /**
      * Representa un movimiento de disco entre torres
@@ -54,62 +81,65 @@ public class HanoiGame extends AbstractGame {
     }
 
     /**
-     * Constructor por defecto
+     * Constructor por defecto (tres postes)
      */
     public HanoiGame() {
-        super("Torres de Hanói", "Mueve la torre de discos de un poste a otro");
-        this.towers = new ArrayList<>(3);
-        this.moves = new ArrayList<>();
-        this.optimalSolution = new ArrayList<>();
+        this(FrameStewart.MIN_PEGS);
+    }
+
+    /**
+     * Constructor con número de postes por defecto
+     * @param numPegs número de postes (3 a FrameStewart.MAX_PEGS)
+     */
+    public HanoiGame(int numPegs) {
+        super(numPegs == FrameStewart.MIN_PEGS ? "Torres de Hanói" : "Torres de Hanói (k postes)",
+                "Mueve la torre de discos de un poste a otro");
+        this.defaultPegs = numPegs;
+        this.numPegs = numPegs;
+        this.pegs = new long[numPegs];
+        this.moveLog = new HanoiMoveLog.Writer(numPegs);
     }
 
     @Override
-    public void initialize(Object... params) {
-        super.initialize(params);
+    protected GameConfig createConfig(Object... params) {
+        return HanoiConfig.fromParams(defaultPegs, params);
+    }
 
-        if (params.length < 1 || !(params[0] instanceof Integer)) {
-            throw new IllegalArgumentException("Se requiere el número de discos");
-        }
+    @Override
+    public void initialize(GameConfig config) {
+        HanoiConfig hanoiConfig = requireConfig(config, HanoiConfig.class);
+        super.initialize(config);
 
-        this.numDisks = (Integer) params[0];
+        this.numDisks = hanoiConfig.getNumDisks();
+        int requestedPegs = hanoiConfig.getNumPegs();
 
-        if (numDisks < 3 || numDisks > 10) {
-            throw new IllegalArgumentException("El número de discos debe estar entre 3 y 10");
+        if (requestedPegs != numPegs) {
+            this.numPegs = requestedPegs;
+            this.pegs = new long[requestedPegs];
         }
 
-        // Inicializar torres
-        this.towers.clear();
-        for (int i = 0; i < 3; i++) {
-            this.towers.add(new Stack<>());
-        }
+        // Colocar todos los discos en la primera torre
+        // (con 63 discos 1L << 63 desborda y la resta deja los 63 bits bajos activos)
+        this.fullMask = (1L << numDisks) - 1;
+        Arrays.fill(this.pegs, 0);
+        this.pegs[0] = fullMask;
 
-        // Colocar discos en la primera torre
-        for (int i = numDisks; i > 0; i--) {
-            this.towers.get(0).push(new Disk(i));
+        if (moveLog.getNumPegs() != numPegs) {
+            this.moveLog = new HanoiMoveLog.Writer(numPegs);
+        } else {
+            this.moveLog.clear();
         }
-
-        this.moves.clear();
-        this.optimalSolution.clear();
+        this.moveCount = 0;
         this.currentMoveIndex = 0;
+        this.offPath = false;
+        this.returnPath = null;
 
-        // Calcular la solución óptima
-        calculateOptimalSolution(numDisks, 0, 2, 1);
-    }
-
-    /**
-     * Calcula recursivamente la solución óptima (secuencia de movimientos)
-     * @param n número de discos a mover
-     * @param from torre origen
-     * @param to torre destino
-     * @param aux torre auxiliar
-     */
-    private void calculateOptimalSolution(int n, int from, int to, int aux) {
-        if (n == 1) {
-            optimalSolution.add(new Move(from, to, 1));
+        if (isMultiPeg()) {
+            // El generador queda situado en el primer movimiento pendiente
+            this.multiPegPath = new FrameStewartMoveGenerator(numDisks, numPegs);
+            this.multiPegPath.next();
         } else {
-            calculateOptimalSolution(n - 1, from, aux, to);
-            optimalSolution.add(new Move(from, to, n));
-            calculateOptimalSolution(n - 1, aux, to, from);
+            this.multiPegPath = null;
         }
     }
 
@@ -120,13 +150,50 @@ public class HanoiGame extends AbstractGame {
         }
 
         // Reiniciar el juego
-        initialize(numDisks);
+        initialize(numDisks, numPegs);
+
+        long totalMoves = getMinimumMoves();
 
-        // Ejecutar todos los movimientos de la solución óptima
-        for (Move move : optimalSolution) {
-            moveDisk(move.getFromTower(), move.getToTower());
+        if (isMultiPeg()) {
+            // Frame–Stewart necesita muy pocos movimientos (17.409 para 63 discos y 4 postes)
+            while (step()) {
+                // Cada paso ejecuta el siguiente movimiento de la solución
+                if (isBudgetExhausted()) {
+                    return false; // Se queda el estado parcial alcanzado
+                }
+            }
+        } else if (totalMoves <= MAX_RECORDED_MOVES) {
+            // Ejecutar todos los movimientos para conservar el historial
+            // La telemetría no se cuenta movimiento a movimiento: se deduce al terminar
+            HanoiMoveGenerator generator = new HanoiMoveGenerator(numDisks);
+            SolveBudget limits = budget;
+            SolverTelemetry stats = telemetry;
+            telemetry = null;
+            try {
+                while (generator.next()) {
+                    if (limits != null && limits.checkpoint()) {
+                        return false;
+                    }
+                    moveDisk(generator.getFromTower(), generator.getToTower());
+                }
+            } finally {
+                telemetry = stats;
+                if (stats != null) {
+                    countOptimalMoves(stats, moveCount);
+                }
+            }
+        } else {
+            // Con muchos discos se salta directamente al estado final
+            pegs[0] = 0;
+            pegs[1] = 0;
+            pegs[2] = fullMask;
+            moveLog.clear();
+
+            moveCount = totalMoves;
+            steps = (int) Math.min(totalMoves, Integer.MAX_VALUE);
         }
 
+        currentMoveIndex = totalMoves;
         setCompleted();
         return true;
     }
@@ -137,50 +204,113 @@ public class HanoiGame extends AbstractGame {
             throw new IllegalStateException("El juego no ha sido inicializado");
         }
 
-        if (currentMoveIndex >= optimalSolution.size()) {
+        if (isGameComplete()) {
             return false; // No hay más pasos que mostrar
         }
 
-        // Ejecutar el siguiente movimiento de la solución óptima
-        Move move = optimalSolution.get(currentMoveIndex);
-        moveDisk(move.getFromTower(), move.getToTower());
-        currentMoveIndex++;
+        if (isMultiPeg()) {
+            if (!offPath) {
+                return moveDisk(multiPegPath.getFromTower(), multiPegPath.getToTower());
+            }
+            // Fuera de la solución se sigue el camino de la búsqueda en anchura, si cabe en memoria
+            HanoiLogic.Move hint = getReturnMove();
+            return hint != null && moveDisk(hint.getFromTower(), hint.getToTower());
+        }
 
-        // Comprobar si se ha completado el puzzle
-        if (isGameComplete()) {
-            setCompleted();
+        if (offPath) {
+            // Fuera de la solución óptima se sigue el camino más corto desde aquí
+            HanoiLogic.Move hint = HanoiLogic.getNextMove(getPegs(), 2);
+            return moveDisk(hint.getFromTower(), hint.getToTower());
         }
 
-        return true;
+        // Ejecutar el siguiente movimiento de la solución óptima
+        long k = currentMoveIndex + 1;
+        return moveDisk(HanoiMoveGenerator.getFromTower(numDisks, k), HanoiMoveGenerator.getToTower(numDisks, k));
     }
 
-    @Override
-    public boolean isValidSolution() {
-        // Comprobar que la torre destino tiene todos los discos correctamente apilados
-        if (towers.get(2).size() != numDisks) {
-            return false;
+    /**
+     * Salta directamente al estado de la solución óptima tras k movimientos
+     * Las torres se reconstruyen en O(n) sin reproducir los movimientos
+     * Con más de tres postes se reproducen los k primeros movimientos de
+     * Frame–Stewart, que son pocos incluso con muchos discos
+     * @param k movimientos de la solución óptima (0 al mínimo de movimientos)
+     */
+    public void seek(long k) {
+        if (!initialized) {
+            throw new IllegalStateException("El juego no ha sido inicializado");
         }
 
-        // Comprobar que los discos están en orden correcto (mayor a menor desde la base)
-        Stack<Disk> destTower = towers.get(2);
-        for (int i = 0; i < numDisks; i++) {
-            if (destTower.get(i).getSize() != numDisks - i) {
-                return false;
+        if (isMultiPeg()) {
+            long totalMoves = getMinimumMoves();
+            if (k < 0 || k > totalMoves) {
+                throw new IllegalArgumentException("El movimiento debe estar entre 0 y " + totalMoves);
             }
+
+            initialize(numDisks, numPegs);
+            while (currentMoveIndex < k) {
+                step();
+            }
+            return;
         }
 
-        return true;
+        int[] state = HanoiLogic.getConfigurationAfter(numDisks, k);
+
+        pegs[0] = 0;
+        pegs[1] = 0;
+        pegs[2] = 0;
+        for (int d = 0; d < numDisks; d++) {
+            pegs[state[d]] |= 1L << d;
+        }
+
+        // El registro se completa con los k movimientos óptimos si caben; si no,
+        // queda incompleto y no se guarda con la partida. Al avanzar por la
+        // solución (reproducción rápida) solo se añaden los movimientos saltados
+        boolean extendLog = hasCompleteMoveLog() && !offPath && moveCount == currentMoveIndex && k >= moveCount;
+        if (!extendLog) {
+            moveLog.clear();
+        }
+        if (k <= MAX_RECORDED_MOVES) {
+            HanoiMoveGenerator generator = new HanoiMoveGenerator(numDisks);
+            generator.seek(moveLog.getMoveCount());
+            while (generator.getIndex() < k && generator.next()) {
+                moveLog.add(generator.getFromTower(), generator.getToTower());
+            }
+        }
+
+        moveCount = k;
+        currentMoveIndex = k;
+        offPath = false;
+        steps = (int) Math.min(k, Integer.MAX_VALUE);
+        solved = false;
+        endTime = null;
+
+        if (isGameComplete()) {
+            setCompleted();
+        }
+    }
+
+    @Override
+    public boolean isValidSolution() {
+        // Los discos de una torre siempre están ordenados (moveDisk solo coloca
+        // un disco sobre otros mayores), así que basta con que estén todos en la destino
+        return initialized && pegs[numPegs - 1] == fullMask;
     }
 
     @Override
     public GameRecord createRecord(boolean isCompleted) {
-        return new HanoiRecord(
+        HanoiRecord record = new HanoiRecord(
                 numDisks,
-                moves.size(),
+                moveCount,
                 isCompleted,
                 startTime,
-                endTime
+                endTime,
+                numPegs
         );
+        record.setMoveLog(getMoveLog());
+        if (record.getMoveLog() != null) {
+            record.verifyMoveLog();
+        }
+        return record;
     }
 
     /**
@@ -191,65 +321,260 @@ public class HanoiGame extends AbstractGame {
         return numDisks;
     }
 
+    @Override
+    public int getProblemSize() {
+        return numDisks;
+    }
+
+    /**
+     * Obtiene el número de postes
+     * @return número de postes (3 o más)
+     */
+    public int getNumPegs() {
+        return numPegs;
+    }
+
+    /**
+     * Obtiene la torre a la que hay que llevar los discos (la última)
+     * @return índice de la torre destino
+     */
+    public int getGoalTower() {
+        return numPegs - 1;
+    }
+
+    /**
+     * Indica si la partida usa más de tres postes
+     * @return true con cuatro postes o más
+     */
+    public boolean isMultiPeg() {
+        return numPegs > FrameStewart.MIN_PEGS;
+    }
+
     /**
      * Obtiene el estado actual de las torres
-     * @return lista con las tres torres
+     * Se construye a partir de las máscaras de bits en cada llamada
+     * @return lista con las torres (copia)
      */
     public List<Stack<Disk>> getTowers() {
+        List<Stack<Disk>> towers = new ArrayList<>(numPegs);
+
+        for (int i = 0; i < numPegs; i++) {
+            Stack<Disk> tower = new Stack<>();
+            for (int size : getTowerDisks(i)) {
+                tower.push(new Disk(size));
+            }
+            towers.add(tower);
+        }
+
         return towers;
     }
 
+    /**
+     * Obtiene los discos de una torre
+     * @param tower índice de la torre (0 a numPegs - 1)
+     * @return tamaños de los discos desde la base hasta la cima
+     */
+    public int[] getTowerDisks(int tower) {
+        long mask = pegs[tower];
+        int[] disks = new int[Long.bitCount(mask)];
+
+        // El bit más alto es el disco mayor, que queda en la base
+        for (int i = 0; mask != 0; i++) {
+            int bit = 63 - Long.numberOfLeadingZeros(mask);
+            disks[i] = bit + 1;
+            mask &= ~(1L << bit);
+        }
+
+        return disks;
+    }
+
+    /**
+     * Obtiene los discos de una torre como máscara de bits
+     * @param tower índice de la torre (0 a numPegs - 1)
+     * @return máscara con el bit d - 1 activo para cada disco d de la torre
+     */
+    public long getTowerMask(int tower) {
+        return pegs[tower];
+    }
+
+    /**
+     * Indica si una torre no tiene discos
+     * @param tower índice de la torre (0 a numPegs - 1)
+     * @return true si está vacía
+     */
+    public boolean isTowerEmpty(int tower) {
+        return pegs[tower] == 0;
+    }
+
     /**
      * Obtiene la lista de movimientos realizados
+     * Se decodifica del registro compacto, que solo contiene los primeros
+     * MAX_RECORDED_MOVES (o los anteriores a un salto que no se pudo
+     * reproducir); el total está en getMoveCount
      * @return lista de movimientos
      */
     public List<Move> getMoves() {
-        return new ArrayList<>(moves);
+        List<Move> list = new ArrayList<>((int) moveLog.getMoveCount());
+        long[] replay = new long[numPegs];
+        replay[0] = fullMask;
+
+        // El disco de cada movimiento es el superior de la torre origen
+        HanoiMoveLog.Reader reader = new HanoiMoveLog.Reader(moveLog.toByteArray());
+        while (reader.next()) {
+            long disk = replay[reader.getFromTower()] & -replay[reader.getFromTower()];
+            replay[reader.getFromTower()] ^= disk;
+            replay[reader.getToTower()] |= disk;
+            list.add(new Move(reader.getFromTower(), reader.getToTower(), Long.numberOfTrailingZeros(disk) + 1));
+        }
+
+        return list;
+    }
+
+    /**
+     * Obtiene el registro compacto de la partida (ver HanoiMoveLog)
+     * @return bytes del registro, o null si no contiene todos los movimientos
+     */
+    public byte[] getMoveLog() {
+        return hasCompleteMoveLog() ? moveLog.toByteArray() : null;
+    }
+
+    /**
+     * Indica si el registro contiene todos los movimientos desde el principio
+     * @return true si la partida se puede reproducir desde el registro
+     */
+    public boolean hasCompleteMoveLog() {
+        return moveLog.getMoveCount() == moveCount;
+    }
+
+    /**
+     * Obtiene el número de movimientos realizados
+     * @return número de movimientos
+     */
+    public long getMoveCount() {
+        return moveCount;
+    }
+
+    /**
+     * Obtiene la posición del tablero en la solución óptima
+     * Solo tiene sentido mientras isOnOptimalPath sea true
+     * @return movimientos de la solución óptima ya realizados
+     */
+    public long getCurrentMoveIndex() {
+        return currentMoveIndex;
+    }
+
+    /**
+     * Obtiene el siguiente movimiento óptimo sin ejecutarlo
+     * Si el jugador se ha apartado de la solución, es el primer movimiento
+     * del camino más corto hacia la torre destino (sirve como pista). Con más
+     * de tres postes fuera de la solución se busca con HanoiStateSearch, que
+     * solo es posible mientras quepa en HINT_MEMORY_BUDGET
+     * @return movimiento o null si el puzzle está completo o no hay pista
+     */
+    public Move getNextOptimalMove() {
+        if (!initialized || isGameComplete()) {
+            return null;
+        }
+
+        if (isMultiPeg()) {
+            if (!offPath) {
+                return new Move(multiPegPath.getFromTower(), multiPegPath.getToTower(), multiPegPath.getDisk());
+            }
+            HanoiLogic.Move hint = getReturnMove();
+            return hint != null ? new Move(hint.getFromTower(), hint.getToTower(), hint.getDiskSize()) : null;
+        }
+
+        if (offPath) {
+            HanoiLogic.Move hint = HanoiLogic.getNextMove(getPegs(), 2);
+            return new Move(hint.getFromTower(), hint.getToTower(), hint.getDiskSize());
+        }
+
+        long k = currentMoveIndex + 1;
+        return new Move(HanoiMoveGenerator.getFromTower(numDisks, k),
+                HanoiMoveGenerator.getToTower(numDisks, k),
+                HanoiMoveGenerator.getDisk(k));
     }
 
     /**
      * Obtiene la solución óptima (lista de movimientos)
+     * Se genera bajo demanda, por lo que solo está disponible mientras
+     * la solución no supere MAX_RECORDED_MOVES movimientos
      * @return lista de movimientos de la solución óptima
      */
     public List<Move> getOptimalSolution() {
-        return new ArrayList<>(optimalSolution);
+        long totalMoves = getMinimumMoves();
+
+        if (totalMoves > MAX_RECORDED_MOVES) {
+            throw new IllegalStateException("La solución tiene " + totalMoves +
+                    " movimientos; usa step() o HanoiMoveGenerator");
+        }
+
+        List<Move> solution = new ArrayList<>((int) totalMoves);
+
+        if (isMultiPeg()) {
+            FrameStewartMoveGenerator generator = new FrameStewartMoveGenerator(numDisks, numPegs);
+            while (generator.next()) {
+                solution.add(new Move(generator.getFromTower(), generator.getToTower(), generator.getDisk()));
+            }
+            return solution;
+        }
+
+        HanoiMoveGenerator generator = new HanoiMoveGenerator(numDisks);
+        while (generator.next()) {
+            solution.add(new Move(generator.getFromTower(), generator.getToTower(), generator.getDisk()));
+        }
+        return solution;
     }
 
     /**
      * Intenta mover un disco de una torre a otra
-     * @param fromTower torre origen (0, 1 o 2)
-     * @param toTower torre destino (0, 1 o 2)
+     * @param fromTower torre origen (0 a numPegs - 1)
+     * @param toTower torre destino (0 a numPegs - 1)
      * @return true si el movimiento fue válido
      */
     public boolean moveDisk(int fromTower, int toTower) {
         if (!initialized ||
-                fromTower < 0 || fromTower > 2 ||
-                toTower < 0 || toTower > 2 ||
+                fromTower < 0 || fromTower >= numPegs ||
+                toTower < 0 || toTower >= numPegs ||
                 fromTower == toTower) {
             return false;
         }
 
-        Stack<Disk> fromStack = towers.get(fromTower);
-        Stack<Disk> toStack = towers.get(toTower);
+        long fromMask = pegs[fromTower];
+        long toMask = pegs[toTower];
 
         // No hay disco para mover
-        if (fromStack.isEmpty()) {
+        if (fromMask == 0) {
             return false;
         }
 
+        // El disco superior es el más pequeño de la torre (bit activo más bajo)
+        long disk = fromMask & -fromMask;
+
         // No se puede colocar un disco más grande sobre uno más pequeño
-        if (!toStack.isEmpty() && fromStack.peek().getSize() > toStack.peek().getSize()) {
+        if (toMask != 0 && (toMask & -toMask) < disk) {
             return false;
         }
 
         // Realizar el movimiento
-        Disk disk = fromStack.pop();
-        toStack.push(disk);
+        pegs[fromTower] = fromMask ^ disk;
+        pegs[toTower] = toMask | disk;
 
         // Registrar el movimiento
-        moves.add(new Move(fromTower, toTower, disk.getSize()));
+        if (hasCompleteMoveLog() && moveCount < MAX_RECORDED_MOVES) {
+            moveLog.add(fromTower, toTower);
+        }
+        moveCount++;
         steps++;
 
+        SolverTelemetry stats = telemetry;
+        if (stats != null) {
+            // El disco k se mueve en el nivel n - k de la solución recursiva
+            stats.node(numDisks - 1 - Long.numberOfTrailingZeros(disk));
+        }
+
+        trackOptimalPath(fromTower, toTower);
+
         // Comprobar si se ha completado el puzzle
         if (isGameComplete()) {
             setCompleted();
@@ -259,18 +584,150 @@ public class HanoiGame extends AbstractGame {
     }
 
     /**
-     * Comprueba si el juego está completo (todos los discos en la tercera torre)
+     * Suma a la telemetría los primeros movimientos de la solución óptima
+     * En ella el disco d se mueve en los pasos k con k = 2^(d-1) módulo 2^d,
+     * así que basta con contarlos por disco, en el nivel n - d de la recursión
+     * @param stats telemetría de la resolución
+     * @param moves movimientos realizados desde la posición inicial
+     */
+    private void countOptimalMoves(SolverTelemetry stats, long moves) {
+        for (int d = 1; d <= numDisks; d++) {
+            long count = (moves >>> (d - 1)) + 1 >>> 1; // floor((k + 2^(d-1)) / 2^d) sin desbordar
+            if (count > 0) {
+                stats.nodes(numDisks - d, count);
+            }
+        }
+    }
+
+    /**
+     * Actualiza la posición en la solución óptima tras un movimiento
+     * Si coincide con el siguiente movimiento óptimo basta con avanzar; si no,
+     * se comprueba en O(n) si el tablero ha vuelto a algún punto de la solución
+     * @param fromTower torre origen del movimiento realizado
+     * @param toTower torre destino del movimiento realizado
+     */
+    private void trackOptimalPath(int fromTower, int toTower) {
+        if (isMultiPeg()) {
+            // Con más postes solo se sigue la solución mientras no se aparte de ella
+            if (!offPath && fromTower == multiPegPath.getFromTower() && toTower == multiPegPath.getToTower()) {
+                currentMoveIndex++;
+                multiPegPath.next();
+                return;
+            }
+
+            offPath = true;
+            // El camino de vuelta ya buscado sigue valiendo si se ha hecho su siguiente movimiento
+            if (returnPath != null && returnIndex < returnPath.size() &&
+                    returnPath.get(returnIndex).getFromTower() == fromTower &&
+                    returnPath.get(returnIndex).getToTower() == toTower) {
+                returnIndex++;
+            } else {
+                returnPath = null;
+            }
+            return;
+        }
+
+        long totalMoves = getMinimumMoves();
+
+        if (!offPath && currentMoveIndex < totalMoves) {
+            long k = currentMoveIndex + 1;
+            if (fromTower == HanoiMoveGenerator.getFromTower(numDisks, k) &&
+                    toTower == HanoiMoveGenerator.getToTower(numDisks, k)) {
+                currentMoveIndex = k;
+                return;
+            }
+        }
+
+        int[] configuration = getPegs();
+        long k = totalMoves - HanoiLogic.getRemainingMoves(configuration, 2);
+        offPath = !HanoiLogic.isOptimalConfiguration(configuration, k);
+
+        if (!offPath) {
+            currentMoveIndex = k;
+        }
+    }
+
+    /**
+     * Obtiene la torre en la que está cada disco
+     * @return torre de cada disco (índice 0 para el disco 1, el más pequeño)
+     */
+    public int[] getPegs() {
+        int[] configuration = new int[numDisks];
+
+        for (int peg = 0; peg < numPegs; peg++) {
+            long mask = pegs[peg];
+            while (mask != 0) {
+                configuration[Long.numberOfTrailingZeros(mask)] = peg;
+                mask &= mask - 1;
+            }
+        }
+
+        return configuration;
+    }
+
+    /**
+     * Indica si el tablero está en algún punto de la solución óptima
+     * @return true si no se ha apartado de la solución óptima
+     */
+    public boolean isOnOptimalPath() {
+        return !offPath;
+    }
+
+    /**
+     * Obtiene el mínimo de movimientos que faltan para completar el puzzle
+     * desde la configuración actual
+     * @return movimientos restantes (-1 si no se conocen: más de tres postes
+     *         fuera de la solución de Frame–Stewart sin haber pedido una pista)
+     */
+    public long getRemainingMoves() {
+        if (!offPath) {
+            return getMinimumMoves() - currentMoveIndex;
+        }
+        if (isMultiPeg()) {
+            // Solo si ya se pidió una pista: la búsqueda no se lanza al actualizar la interfaz
+            return returnPath != null ? returnPath.size() - returnIndex : -1;
+        }
+        return HanoiLogic.getRemainingMoves(getPegs(), 2);
+    }
+
+    /**
+     * Obtiene el siguiente movimiento del camino más corto a la meta con más
+     * de tres postes fuera de la solución de Frame–Stewart
+     * El camino se busca una vez y se reutiliza mientras el jugador lo siga
+     * @return movimiento o null si la búsqueda no cabe en HINT_MEMORY_BUDGET
+     */
+    private HanoiLogic.Move getReturnMove() {
+        if (returnPath == null) {
+            int[] goal = new int[numDisks];
+            Arrays.fill(goal, numPegs - 1);
+
+            try {
+                returnPath = new HanoiStateSearch(numPegs, HINT_MEMORY_BUDGET).findShortestPath(getPegs(), goal);
+                returnIndex = 0;
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                return null; // Demasiados discos fuera de su sitio para buscar el camino
+            }
+        }
+
+        return returnIndex < returnPath.size() ? returnPath.get(returnIndex) : null;
+    }
+
+    /**
+     * Comprueba si el juego está completo (todos los discos en la última torre)
      * @return true si el juego está completo
      */
     private boolean isGameComplete() {
-        return towers.get(2).size() == numDisks;
+        return pegs[numPegs - 1] == fullMask;
     }
 
     /**
      * Obtiene el número mínimo de movimientos necesarios para resolver el puzzle
-     * @return número mínimo de movimientos (2^n - 1)
+     * @return número mínimo de movimientos (2^n - 1 con tres postes, Frame–Stewart con más)
      */
-    public int getMinimumMoves() {
-        return (int) Math.pow(2, numDisks) - 1;
+    public long getMinimumMoves() {
+        if (isMultiPeg()) {
+            return FrameStewart.getMinimumMoves(numDisks, numPegs);
+        }
+        return HanoiMoveGenerator.getTotalMoves(numDisks);
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.arcade.model.game.hanoi;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -278,4 +279,135 @@ public class HanoiLogic {
     public void resetSteps() {
         this.steps = 0;
     }
+
+    /**
+     * Calcula en O(n) la torre de cada disco tras k movimientos de la solución óptima
+     * El disco d se mueve en los pasos cuyo bit d - 1 es el menos significativo
+     * activo, así que tras k pasos se ha movido (k + 2^(d-1)) >> d veces. Cada
+     * disco recorre las torres siempre en el mismo sentido: 0 -> 2 -> 1 si
+     * n - d es par y 0 -> 1 -> 2 si es impar, por lo que su torre es ese número
+     * de movimientos módulo 3 en su sentido, sin reproducir los k pasos
+     * @param numDisks número de discos (1 a 63)
+     * @param k movimientos realizados (0 a 2^n - 1)
+     * @return torre de cada disco (índice 0 para el disco 1, el más pequeño)
+     */
+    public static int[] getConfigurationAfter(int numDisks, long k) {
+        long totalMoves = HanoiMoveGenerator.getTotalMoves(numDisks);
+        if (k < 0 || k > totalMoves) {
+            throw new IllegalArgumentException("El movimiento debe estar entre 0 y " + totalMoves);
+        }
+
+        int[] pegs = new int[numDisks];
+
+        for (int d = 1; d <= numDisks; d++) {
+            // La suma puede pasar de 2^63, pero cabe en 64 bits sin signo y >>> la trata así
+            long diskMoves = (k + (1L << (d - 1))) >>> d;
+            int cycle = (int) (diskMoves % 3);
+
+            if (((numDisks - d) & 1) == 0) {
+                pegs[d - 1] = (3 - cycle) % 3; // 0 -> 2 -> 1
+            } else {
+                pegs[d - 1] = cycle;           // 0 -> 1 -> 2
+            }
+        }
+
+        return pegs;
+    }
+
+    /**
+     * Calcula el contenido de las tres torres tras k movimientos de la solución óptima
+     * @param numDisks número de discos (1 a 63)
+     * @param k movimientos realizados (0 a 2^n - 1)
+     * @return tamaños de los discos de cada torre, desde la base hasta la cima
+     */
+    public static int[][] getTowersAfter(int numDisks, long k) {
+        return toTowers(getConfigurationAfter(numDisks, k));
+    }
+
+    /**
+     * Convierte la torre de cada disco en el contenido de las tres torres
+     * @param pegs torre de cada disco (índice 0 para el disco 1)
+     * @return tamaños de los discos de cada torre, desde la base hasta la cima
+     */
+    public static int[][] toTowers(int[] pegs) {
+        int[] counts = new int[3];
+        for (int peg : pegs) {
+            counts[peg]++;
+        }
+
+        int[][] towers = {new int[counts[0]], new int[counts[1]], new int[counts[2]]};
+        int[] heights = new int[3];
+
+        // Recorrer de mayor a menor para apilar desde la base
+        for (int d = pegs.length; d >= 1; d--) {
+            int peg = pegs[d - 1];
+            towers[peg][heights[peg]++] = d;
+        }
+
+        return towers;
+    }
+
+    /**
+     * Calcula en O(n) el mínimo de movimientos para llevar cualquier configuración a la torre destino
+     * Se recorren los discos de mayor a menor: si un disco no está en la torre
+     * donde debe acabar, hay que moverlo (1 movimiento) después de apartar todos
+     * los menores a la tercera torre (2^(d-1) - 1 movimientos), y esa tercera
+     * torre pasa a ser el destino de los discos menores
+     * @param pegs torre de cada disco (índice 0 para el disco 1)
+     * @param goal torre destino (0, 1 o 2)
+     * @return movimientos restantes (0 si ya está resuelto)
+     */
+    public static long getRemainingMoves(int[] pegs, int goal) {
+        long remaining = 0;
+        int target = goal;
+
+        for (int d = pegs.length; d >= 1; d--) {
+            int peg = pegs[d - 1];
+            if (peg != target) {
+                remaining += 1L << (d - 1);
+                target = 3 - peg - target;
+            }
+        }
+
+        return remaining;
+    }
+
+    /**
+     * Calcula en O(n) el siguiente movimiento óptimo desde cualquier configuración
+     * Es el del disco más pequeño que no está en la torre donde debe acabar:
+     * todos los menores ya están en la tercera torre, así que el disco está en
+     * la cima de su torre y puede colocarse en su destino
+     * @param pegs torre de cada disco (índice 0 para el disco 1)
+     * @param goal torre destino (0, 1 o 2)
+     * @return siguiente movimiento o null si ya está resuelto
+     */
+    public static Move getNextMove(int[] pegs, int goal) {
+        int target = goal;
+        int disk = 0;
+        int from = -1;
+        int to = -1;
+
+        for (int d = pegs.length; d >= 1; d--) {
+            int peg = pegs[d - 1];
+            if (peg != target) {
+                disk = d;
+                from = peg;
+                to = target;
+                target = 3 - peg - target;
+            }
+        }
+
+        return disk == 0 ? null : new Move(from, to, disk);
+    }
+
+    /**
+     * Comprueba si una configuración coincide con la de la solución óptima tras k movimientos
+     * Permite verificar una partida sin reproducir los k movimientos
+     * @param pegs torre de cada disco (índice 0 para el disco 1)
+     * @param k movimientos realizados
+     * @return true si la configuración es la óptima para k
+     */
+    public static boolean isOptimalConfiguration(int[] pegs, long k) {
+        return Arrays.equals(pegs, getConfigurationAfter(pegs.length, k));
+    }
 }
\ No newline at end of file
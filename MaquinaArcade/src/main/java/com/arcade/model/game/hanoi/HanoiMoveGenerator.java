@@ -0,0 +1,168 @@
+package com.arcade.model.game.hanoi;
+
+/**
+ * Generador iterativo de la solución óptima de las Torres de Hanói
+ * El movimiento k (empezando en 1) se obtiene directamente de la
+ * representación binaria de k: el disco que se mueve es el número de ceros
+ * finales de k más uno, y las torres origen y destino salen de k & (k - 1)
+ * y (k | (k - 1)) + 1 módulo 3. Así no hace falta construir la lista de
+ * 2^n - 1 movimientos y cada paso cuesta O(1) sin reservar memoria
+ *
+ * Las torres siguen el convenio del juego: origen 0, auxiliar 1 y destino 2
+ */
+public class HanoiMoveGenerator {
+
+    public static final int MAX_DISKS = 63;
+
+    private final int numDisks;
+    private final long totalMoves;
+    private long index; // Movimientos ya generados
+    private int disk;
+    private int fromTower;
+    private int toTower;
+
+    /**
+     * Constructor con número de discos
+     * @param numDisks número de discos (1 a 63)
+     */
+    public HanoiMoveGenerator(int numDisks) {
+        this.numDisks = numDisks;
+        this.totalMoves = getTotalMoves(numDisks);
+        reset();
+    }
+
+    /**
+     * Vuelve al principio de la solución
+     */
+    public void reset() {
+        index = 0;
+        disk = 0;
+        fromTower = -1;
+        toTower = -1;
+    }
+
+    /**
+     * Indica si quedan movimientos por generar
+     * @return true si hay más movimientos
+     */
+    public boolean hasNext() {
+        return index < totalMoves;
+    }
+
+    /**
+     * Avanza al siguiente movimiento de la solución
+     * El movimiento queda disponible en getDisk, getFromTower y getToTower
+     * @return true si se generó un movimiento, false si la solución terminó
+     */
+    public boolean next() {
+        if (index >= totalMoves) {
+            return false;
+        }
+
+        index++;
+        disk = getDisk(index);
+        fromTower = getFromTower(numDisks, index);
+        toTower = getToTower(numDisks, index);
+        return true;
+    }
+
+    /**
+     * Sitúa el generador tras un número de movimientos ya realizados
+     * @param movesDone movimientos realizados (0 a 2^n - 1)
+     */
+    public void seek(long movesDone) {
+        if (movesDone < 0 || movesDone > totalMoves) {
+            throw new IllegalArgumentException("El movimiento debe estar entre 0 y " + totalMoves);
+        }
+
+        reset();
+        index = movesDone;
+    }
+
+    /**
+     * Obtiene el número de movimientos generados hasta ahora
+     * @return índice del último movimiento generado (0 si no hay ninguno)
+     */
+    public long getIndex() {
+        return index;
+    }
+
+    public int getNumDisks() {
+        return numDisks;
+    }
+
+    public long getTotalMoves() {
+        return totalMoves;
+    }
+
+    public int getDisk() {
+        return disk;
+    }
+
+    public int getFromTower() {
+        return fromTower;
+    }
+
+    public int getToTower() {
+        return toTower;
+    }
+
+    /**
+     * Calcula el número de movimientos de la solución óptima
+     * @param numDisks número de discos (1 a 63)
+     * @return 2^n - 1
+     */
+    public static long getTotalMoves(int numDisks) {
+        if (numDisks < 1 || numDisks > MAX_DISKS) {
+            throw new IllegalArgumentException("El número de discos debe estar entre 1 y " + MAX_DISKS);
+        }
+
+        // Para 63 discos 1L << 63 desborda a Long.MIN_VALUE y al restar 1 queda Long.MAX_VALUE
+        return (1L << numDisks) - 1;
+    }
+
+    /**
+     * Obtiene el disco que se mueve en el movimiento k
+     * @param k número de movimiento (empezando en 1)
+     * @return tamaño del disco (1 es el más pequeño)
+     */
+    public static int getDisk(long k) {
+        return Long.numberOfTrailingZeros(k) + 1;
+    }
+
+    /**
+     * Obtiene la torre origen del movimiento k
+     * @param numDisks número de discos
+     * @param k número de movimiento (empezando en 1)
+     * @return torre origen (0, 1 o 2)
+     */
+    public static int getFromTower(int numDisks, long k) {
+        return mapTower(numDisks, (int) ((k & (k - 1)) % 3));
+    }
+
+    /**
+     * Obtiene la torre destino del movimiento k
+     * @param numDisks número de discos
+     * @param k número de movimiento (empezando en 1)
+     * @return torre destino (0, 1 o 2)
+     */
+    public static int getToTower(int numDisks, long k) {
+        // (k | (k - 1)) + 1 puede llegar a 2^63, por eso el resto se hace sin signo
+        return mapTower(numDisks, (int) Long.remainderUnsigned((k | (k - 1)) + 1, 3));
+    }
+
+    /**
+     * Ajusta la torre según la paridad del número de discos
+     * La fórmula binaria lleva la torre a la segunda torre cuando n es par,
+     * así que en ese caso se intercambian la auxiliar y la destino
+     * @param numDisks número de discos
+     * @param tower torre calculada por la fórmula
+     * @return torre en el convenio del juego
+     */
+    private static int mapTower(int numDisks, int tower) {
+        if ((numDisks & 1) == 0 && tower != 0) {
+            return 3 - tower;
+        }
+        return tower;
+    }
+}
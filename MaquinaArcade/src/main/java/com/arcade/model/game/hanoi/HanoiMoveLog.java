@@ -0,0 +1,258 @@
+package com.arcade.model.game.hanoi;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Codificación compacta de la secuencia de movimientos de una partida de Hanói
+ * Un movimiento queda determinado por el par (origen, destino), porque el
+ * disco es siempre el superior de la torre origen. Con 3 postes hay 6 pares,
+ * así que basta con 3 bits por movimiento; con p postes se usan los bits
+ * justos para p * (p - 1) pares
+ *
+ * Formato: un byte con el número de postes, el número de movimientos como
+ * entero variable (7 bits por byte) y los códigos empaquetados empezando por
+ * los bits menos significativos de cada byte. Una partida de 1023 movimientos
+ * ocupa 387 bytes
+ */
+public final class HanoiMoveLog {
+
+    private HanoiMoveLog() {
+    }
+
+    /**
+     * Obtiene los bits que ocupa cada movimiento
+     * @param numPegs número de postes
+     * @return bits por movimiento (3 con tres postes)
+     */
+    public static int getBitsPerMove(int numPegs) {
+        if (numPegs < FrameStewart.MIN_PEGS || numPegs > FrameStewart.MAX_PEGS) {
+            throw new IllegalArgumentException("El número de postes debe estar entre " +
+                    FrameStewart.MIN_PEGS + " y " + FrameStewart.MAX_PEGS);
+        }
+        return 32 - Integer.numberOfLeadingZeros(numPegs * (numPegs - 1) - 1);
+    }
+
+    /**
+     * Codifica un par origen-destino
+     * El destino se cuenta saltando el origen, así que los códigos van de 0 a p * (p - 1) - 1
+     */
+    private static int encode(int numPegs, int fromTower, int toTower) {
+        return fromTower * (numPegs - 1) + (toTower < fromTower ? toTower : toTower - 1);
+    }
+
+    /**
+     * Escritor incremental de un registro de movimientos
+     * Reserva memoria por bloques a medida que crece la partida
+     */
+    public static final class Writer {
+        private final int numPegs;
+        private final int bitsPerMove;
+        private byte[] buffer = new byte[64];
+        private long moveCount;
+        private long bitPosition;
+
+        /**
+         * Constructor con número de postes
+         * @param numPegs número de postes
+         */
+        public Writer(int numPegs) {
+            this.numPegs = numPegs;
+            this.bitsPerMove = getBitsPerMove(numPegs);
+        }
+
+        /**
+         * Añade un movimiento al final del registro
+         * @param fromTower torre origen
+         * @param toTower torre destino
+         */
+        public void add(int fromTower, int toTower) {
+            if (fromTower == toTower || fromTower < 0 || toTower < 0 ||
+                    fromTower >= numPegs || toTower >= numPegs) {
+                throw new IllegalArgumentException("Movimiento inválido de " + fromTower + " a " + toTower);
+            }
+
+            int code = encode(numPegs, fromTower, toTower);
+            int byteIndex = (int) (bitPosition >>> 3);
+            int offset = (int) (bitPosition & 7);
+
+            // Un código de hasta 7 bits con desplazamiento hasta 7 ocupa como mucho dos bytes
+            if (byteIndex + 1 >= buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+
+            int shifted = code << offset;
+            buffer[byteIndex] |= (byte) shifted;
+            buffer[byteIndex + 1] |= (byte) (shifted >>> 8);
+
+            bitPosition += bitsPerMove;
+            moveCount++;
+        }
+
+        /**
+         * Vacía el registro
+         */
+        public void clear() {
+            Arrays.fill(buffer, 0, Math.min(buffer.length, (int) ((bitPosition + 7) >>> 3) + 1), (byte) 0);
+            bitPosition = 0;
+            moveCount = 0;
+        }
+
+        public long getMoveCount() {
+            return moveCount;
+        }
+
+        public int getNumPegs() {
+            return numPegs;
+        }
+
+        /**
+         * Obtiene el registro codificado
+         * @return bytes con cabecera y movimientos empaquetados
+         */
+        public byte[] toByteArray() {
+            int payload = (int) ((bitPosition + 7) >>> 3);
+            byte[] header = new byte[11];
+            int headerSize = 0;
+
+            header[headerSize++] = (byte) numPegs;
+            long value = moveCount;
+            while ((value & ~0x7FL) != 0) {
+                header[headerSize++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            header[headerSize++] = (byte) value;
+
+            byte[] data = new byte[headerSize + payload];
+            System.arraycopy(header, 0, data, 0, headerSize);
+            System.arraycopy(buffer, 0, data, headerSize, payload);
+            return data;
+        }
+    }
+
+    /**
+     * Lector de un registro de movimientos
+     * Decodifica los movimientos de uno en uno a partir de un flujo, sin
+     * construir la lista completa. Sigue el mismo esquema de cursor que
+     * HanoiMoveGenerator: next() avanza y getFromTower/getToTower devuelven el
+     * movimiento actual
+     */
+    public static final class Reader {
+        private final InputStream input;
+        private final int numPegs;
+        private final int bitsPerMove;
+        private final long moveCount;
+        private long index;
+        private int bitBuffer;
+        private int bitCount;
+        private int fromTower = -1;
+        private int toTower = -1;
+
+        /**
+         * Constructor a partir de un registro en memoria
+         * @param data bytes del registro
+         */
+        public Reader(byte[] data) {
+            this(new ByteArrayInputStream(data));
+        }
+
+        /**
+         * Constructor a partir de un flujo (por ejemplo el de un BLOB)
+         * @param input flujo situado al principio del registro
+         */
+        public Reader(InputStream input) {
+            this.input = input;
+            this.numPegs = readByte();
+            this.bitsPerMove = getBitsPerMove(numPegs);
+
+            long value = 0;
+            int shift = 0;
+            int b;
+            do {
+                if (shift > 63) {
+                    throw new IllegalStateException("Registro de movimientos corrupto");
+                }
+                b = readByte();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while ((b & 0x80) != 0);
+
+            this.moveCount = value;
+        }
+
+        /**
+         * Indica si quedan movimientos por leer
+         * @return true si hay más movimientos
+         */
+        public boolean hasNext() {
+            return index < moveCount;
+        }
+
+        /**
+         * Avanza al siguiente movimiento del registro
+         * @return true si se leyó un movimiento, false si el registro terminó
+         */
+        public boolean next() {
+            if (index >= moveCount) {
+                return false;
+            }
+
+            while (bitCount < bitsPerMove) {
+                bitBuffer |= readByte() << bitCount;
+                bitCount += 8;
+            }
+
+            int code = bitBuffer & ((1 << bitsPerMove) - 1);
+            bitBuffer >>>= bitsPerMove;
+            bitCount -= bitsPerMove;
+
+            if (code >= numPegs * (numPegs - 1)) {
+                throw new IllegalStateException("Registro de movimientos corrupto en el movimiento " + (index + 1));
+            }
+
+            fromTower = code / (numPegs - 1);
+            int to = code % (numPegs - 1);
+            toTower = to < fromTower ? to : to + 1;
+            index++;
+            return true;
+        }
+
+        private int readByte() {
+            try {
+                int b = input.read();
+                if (b < 0) {
+                    throw new IllegalStateException("Registro de movimientos incompleto");
+                }
+                return b;
+            } catch (IOException e) {
+                throw new IllegalStateException("Error al leer el registro de movimientos: " + e.getMessage(), e);
+            }
+        }
+
+        /**
+         * Obtiene el número de movimientos leídos hasta ahora
+         * @return índice del último movimiento leído (0 si no hay ninguno)
+         */
+        public long getIndex() {
+            return index;
+        }
+
+        public long getMoveCount() {
+            return moveCount;
+        }
+
+        public int getNumPegs() {
+            return numPegs;
+        }
+
+        public int getFromTower() {
+            return fromTower;
+        }
+
+        public int getToTower() {
+            return toTower;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.arcade.model.game.hanoi;
+
+import java.util.stream.IntStream;
+
+/**
+ * Verificador de registros de movimientos de Hanói (ver HanoiMoveLog)
+ * Decodifica el registro como flujo y lo pasa por una máquina de estados
+ * mínima (una máscara de bits por poste), sin crear objetos por movimiento.
+ * Comprueba que cada movimiento sea legal, que la partida termine con todos
+ * los discos en el último poste y que use el mínimo de movimientos; con eso
+ * la partida es óptima de verdad y no solo por el número de movimientos
+ *
+ * Una partida de 10 discos se verifica en microsegundos, así que se pueden
+ * comprobar miles de registros por segundo, y verifyAll los reparte entre
+ * los núcleos disponibles
+ */
+public final class HanoiMoveLogVerifier {
+
+    /**
+     * Resultado de la verificación de un registro
+     */
+    public static final class Result {
+        private final boolean legal;
+        private final boolean complete;
+        private final boolean optimal;
+        private final long moveCount;
+        private final long firstIllegalMove;
+        private final String error;
+
+        Result(boolean legal, boolean complete, boolean optimal, long moveCount,
+               long firstIllegalMove, String error) {
+            this.legal = legal;
+            this.complete = complete;
+            this.optimal = optimal;
+            this.moveCount = moveCount;
+            this.firstIllegalMove = firstIllegalMove;
+            this.error = error;
+        }
+
+        /**
+         * Indica si todos los movimientos respetan las reglas
+         * @return true si no hay movimientos ilegales
+         */
+        public boolean isLegal() {
+            return legal;
+        }
+
+        /**
+         * Indica si la partida termina con todos los discos en el último poste
+         * @return true si el puzzle quedó resuelto
+         */
+        public boolean isComplete() {
+            return complete;
+        }
+
+        /**
+         * Indica si la partida es legal, completa y con el mínimo de movimientos
+         * @return true si la solución es óptima
+         */
+        public boolean isOptimal() {
+            return optimal;
+        }
+
+        /**
+         * Obtiene los movimientos leídos del registro
+         * @return movimientos del registro (hasta el primero ilegal incluido)
+         */
+        public long getMoveCount() {
+            return moveCount;
+        }
+
+        /**
+         * Obtiene el primer movimiento ilegal
+         * @return número del movimiento (empezando en 1) o 0 si todos son legales
+         */
+        public long getFirstIllegalMove() {
+            return firstIllegalMove;
+        }
+
+        /**
+         * Obtiene la descripción del error
+         * @return mensaje o null si el registro es legal
+         */
+        public String getError() {
+            return error;
+        }
+
+        @Override
+        public String toString() {
+            if (!legal) {
+                return "Registro inválido: " + error;
+            }
+            return "Registro legal: " + moveCount + " movimientos" +
+                    (complete ? ", completo" : ", incompleto") +
+                    (optimal ? ", óptimo" : "");
+        }
+    }
+
+    private HanoiMoveLogVerifier() {
+    }
+
+    /**
+     * Verifica un registro de movimientos
+     * @param log bytes generados por HanoiMoveLog.Writer
+     * @param numDisks número de discos de la partida
+     * @return resultado de la verificación
+     */
+    public static Result verify(byte[] log, int numDisks) {
+        if (log == null) {
+            return new Result(false, false, false, 0, 0, "La partida no tiene registro de movimientos");
+        }
+
+        try {
+            return verify(new HanoiMoveLog.Reader(log), numDisks);
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // Cabecera dañada o número de postes fuera de rango
+            return new Result(false, false, false, 0, 0, e.getMessage());
+        }
+    }
+
+    /**
+     * Verifica un registro a medida que se lee del flujo
+     * @param reader lector situado al principio del registro
+     * @param numDisks número de discos de la partida
+     * @return resultado de la verificación
+     */
+    public static Result verify(HanoiMoveLog.Reader reader, int numDisks) {
+        if (numDisks < 1 || numDisks > HanoiMoveGenerator.MAX_DISKS) {
+            throw new IllegalArgumentException("El número de discos debe estar entre 1 y " +
+                    HanoiMoveGenerator.MAX_DISKS);
+        }
+
+        int numPegs = reader.getNumPegs();
+        long fullMask = (1L << numDisks) - 1;
+        long[] pegs = new long[numPegs];
+        pegs[0] = fullMask;
+
+        try {
+            while (reader.next()) {
+                int from = reader.getFromTower();
+                int to = reader.getToTower();
+                long fromMask = pegs[from];
+
+                if (fromMask == 0) {
+                    return illegal(reader.getIndex(), "la torre " + (from + 1) + " está vacía");
+                }
+
+                // El disco superior es el bit activo más bajo de cada torre
+                long disk = fromMask & -fromMask;
+                long toMask = pegs[to];
+                if (toMask != 0 && (toMask & -toMask) < disk) {
+                    return illegal(reader.getIndex(), "disco " + (Long.numberOfTrailingZeros(disk) + 1) +
+                            " sobre uno más pequeño en la torre " + (to + 1));
+                }
+
+                pegs[from] = fromMask ^ disk;
+                pegs[to] = toMask | disk;
+            }
+        } catch (IllegalStateException e) {
+            return illegal(reader.getIndex() + 1, e.getMessage());
+        }
+
+        long moveCount = reader.getMoveCount();
+        boolean complete = pegs[numPegs - 1] == fullMask;
+        long minimum = numPegs == FrameStewart.MIN_PEGS
+                ? HanoiMoveGenerator.getTotalMoves(numDisks)
+                : FrameStewart.getMinimumMoves(numDisks, numPegs);
+
+        return new Result(true, complete, complete && moveCount == minimum, moveCount, 0, null);
+    }
+
+    /**
+     * Verifica muchos registros en paralelo
+     * @param logs registros de movimientos
+     * @param numDisks número de discos de cada partida (mismo orden que logs)
+     * @return resultados en el mismo orden
+     */
+    public static Result[] verifyAll(byte[][] logs, int[] numDisks) {
+        if (logs.length != numDisks.length) {
+            throw new IllegalArgumentException("Debe indicarse el número de discos de cada registro");
+        }
+
+        Result[] results = new Result[logs.length];
+        IntStream.range(0, logs.length).parallel()
+                .forEach(i -> results[i] = verify(logs[i], numDisks[i]));
+        return results;
+    }
+
+    private static Result illegal(long move, String reason) {
+        return new Result(false, false, false, move, move, "movimiento " + move + ": " + reason);
+    }
+}
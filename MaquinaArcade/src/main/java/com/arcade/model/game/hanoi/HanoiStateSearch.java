@@ -0,0 +1,421 @@
+package com.arcade.model.game.hanoi;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * Búsqueda en anchura sobre el grafo de configuraciones de las Torres de Hanói
+ * Encuentra el camino más corto entre dos configuraciones cualesquiera (por
+ * ejemplo un puzzle desordenado y otra posición arbitraria), no solo hacia una
+ * torre completa
+ *
+ * Admite cualquier número de postes: con tres hay fórmula cerrada para ir a
+ * una torre completa (ver HanoiLogic), así que HanoiGame la usa para las
+ * pistas fuera de la solución de Frame–Stewart, donde no hay otra forma de
+ * conocer el camino más corto
+ *
+ * Cada configuración se codifica en base k (el dígito d - 1 es la torre del
+ * disco d) y se marca en un array empaquetado de 2 bits por estado: 0 indica
+ * no visitado y 1-3 la profundidad módulo 3. Con eso basta para reconstruir el
+ * camino desde el destino sin guardar padres, porque los vecinos de un estado
+ * de profundidad D solo pueden estar en D - 1, D o D + 1. La frontera se
+ * expande por niveles, repartida en tramos paralelos cuando es grande, y cada
+ * estado se reclama con compareAndSet para que solo lo añada un hilo
+ *
+ * Los discos mayores que están en la misma torre al principio y al final no se
+ * mueven nunca en un camino mínimo (quitar sus movimientos de cualquier
+ * solución deja otra válida más corta), así que se excluyen de la búsqueda
+ */
+public class HanoiStateSearch {
+
+    public static final long DEFAULT_MEMORY_BUDGET = 1L << 30; // 1 GiB para las marcas y la frontera
+
+    private static final int STATES_PER_WORD = 32;       // 2 bits por estado en cada long
+    private static final long MAX_WORDS = Integer.MAX_VALUE - 8; // Palabras que caben en un array
+    private static final int PARALLEL_THRESHOLD = 2048;  // Tamaño de frontera a partir del que se reparte
+    private static final int MIN_CHUNK = 512;            // Estados de la frontera por tramo paralelo
+
+    private final int numPegs;
+    private final long[] pow;   // Potencias de numPegs hasta el máximo de discos de la búsqueda
+    private final long memoryBudget;
+    private long statesVisited; // Estados marcados en la última búsqueda
+    private int searchDisks;    // Discos que intervinieron en la última búsqueda
+
+    /**
+     * Constructor de tres postes con el presupuesto de memoria por defecto
+     */
+    public HanoiStateSearch() {
+        this(DEFAULT_MEMORY_BUDGET);
+    }
+
+    /**
+     * Constructor de tres postes con presupuesto de memoria
+     * @param memoryBudget bytes máximos para el array de marcas y la frontera
+     */
+    public HanoiStateSearch(long memoryBudget) {
+        this(FrameStewart.MIN_PEGS, memoryBudget);
+    }
+
+    /**
+     * Constructor con el número de postes y el presupuesto de memoria
+     * @param numPegs número de postes (FrameStewart.MIN_PEGS a FrameStewart.MAX_PEGS)
+     * @param memoryBudget bytes máximos para el array de marcas y la frontera
+     */
+    public HanoiStateSearch(int numPegs, long memoryBudget) {
+        if (numPegs < FrameStewart.MIN_PEGS || numPegs > FrameStewart.MAX_PEGS) {
+            throw new IllegalArgumentException("El número de postes debe estar entre " +
+                    FrameStewart.MIN_PEGS + " y " + FrameStewart.MAX_PEGS);
+        }
+        if (memoryBudget <= 0) {
+            throw new IllegalArgumentException("El presupuesto de memoria debe ser positivo");
+        }
+
+        this.numPegs = numPegs;
+        this.memoryBudget = memoryBudget;
+        this.pow = new long[getMaxSearchDisks(numPegs) + 1];
+        this.pow[0] = 1;
+        for (int i = 1; i < pow.length; i++) {
+            pow[i] = pow[i - 1] * numPegs;
+        }
+    }
+
+    /**
+     * Obtiene el máximo de discos que admite la búsqueda
+     * @param numPegs número de postes
+     * @return discos cuyo array de marcas aún cabe en un array de Java
+     */
+    public static int getMaxSearchDisks(int numPegs) {
+        int n = 0;
+        long states = 1;
+        while ((states * numPegs + STATES_PER_WORD - 1) / STATES_PER_WORD <= MAX_WORDS) {
+            states *= numPegs;
+            n++;
+        }
+        return n;
+    }
+
+    /**
+     * Calcula la memoria que necesita el array de marcas con tres postes
+     * @param numDisks discos que intervienen en la búsqueda
+     * @return bytes necesarios (3^n estados a 2 bits cada uno)
+     */
+    public static long getRequiredMemory(int numDisks) {
+        return getRequiredMemory(numDisks, FrameStewart.MIN_PEGS);
+    }
+
+    /**
+     * Calcula la memoria que necesita el array de marcas
+     * La frontera se suma aparte durante la búsqueda, porque su tamaño
+     * depende de las configuraciones de origen y destino
+     * @param numDisks discos que intervienen en la búsqueda
+     * @param numPegs número de postes
+     * @return bytes necesarios (k^n estados a 2 bits cada uno)
+     */
+    public static long getRequiredMemory(int numDisks, int numPegs) {
+        int maxDisks = getMaxSearchDisks(numPegs);
+        if (numDisks < 0 || numDisks > maxDisks) {
+            throw new IllegalArgumentException("La búsqueda con " + numPegs + " postes admite como mucho " +
+                    maxDisks + " discos");
+        }
+
+        long states = 1;
+        for (int i = 0; i < numDisks; i++) {
+            states *= numPegs;
+        }
+        return (states + STATES_PER_WORD - 1) / STATES_PER_WORD * Long.BYTES;
+    }
+
+    /**
+     * Busca el camino más corto entre dos configuraciones
+     * @param start torre de cada disco al principio (índice 0 para el disco 1)
+     * @param goal torre de cada disco al final
+     * @return movimientos del camino más corto (vacío si ya coinciden)
+     * @throws IllegalStateException si las marcas o la frontera superan el presupuesto de memoria
+     */
+    public List<HanoiLogic.Move> findShortestPath(int[] start, int[] goal) {
+        validate(start, goal);
+
+        // Excluir los discos mayores que no cambian de torre
+        int n = start.length;
+        while (n > 0 && start[n - 1] == goal[n - 1]) {
+            n--;
+        }
+
+        searchDisks = n;
+        statesVisited = 0;
+
+        if (n == 0) {
+            return new ArrayList<>();
+        }
+
+        long required = getRequiredMemory(n, numPegs);
+        if (required > memoryBudget) {
+            throw new IllegalStateException("La búsqueda con " + n + " discos necesita " + required +
+                    " bytes y el presupuesto es de " + memoryBudget);
+        }
+
+        long startState = encode(start, n);
+        long goalState = encode(goal, n);
+        AtomicLongArray marks = new AtomicLongArray((int) (required / Long.BYTES));
+
+        int depth = search(marks, required, n, startState, goalState);
+        return reconstruct(marks, n, goalState, depth);
+    }
+
+    /**
+     * Calcula la distancia mínima entre dos configuraciones
+     * @param start torre de cada disco al principio
+     * @param goal torre de cada disco al final
+     * @return número mínimo de movimientos
+     */
+    public long getDistance(int[] start, int[] goal) {
+        return findShortestPath(start, goal).size();
+    }
+
+    /**
+     * Obtiene los estados marcados en la última búsqueda
+     * @return estados visitados
+     */
+    public long getStatesVisited() {
+        return statesVisited;
+    }
+
+    /**
+     * Obtiene los discos que intervinieron en la última búsqueda
+     * @return discos tras excluir los mayores que no se mueven
+     */
+    public int getSearchDisks() {
+        return searchDisks;
+    }
+
+    public int getNumPegs() {
+        return numPegs;
+    }
+
+    public long getMemoryBudget() {
+        return memoryBudget;
+    }
+
+    /**
+     * Expande la frontera nivel a nivel hasta alcanzar el destino
+     * En cada nivel conviven la frontera actual y la siguiente, 8 bytes por
+     * estado, así que se comprueban junto a las marcas contra el presupuesto
+     * @param marksBytes memoria ocupada por el array de marcas
+     * @return profundidad del destino
+     */
+    private int search(AtomicLongArray marks, long marksBytes, int n, long startState, long goalState) {
+        claim(marks, startState, markFor(0));
+        statesVisited = 1;
+
+        long[] frontier = {startState};
+        int frontierSize = 1;
+        int depth = 0;
+
+        while (getMark(marks, goalState) == 0) {
+            if (frontierSize == 0) {
+                // No ocurre con configuraciones válidas: el grafo es conexo
+                throw new IllegalStateException("El destino no es alcanzable desde el origen");
+            }
+
+            int mark = markFor(depth + 1);
+            LongBuffer next;
+
+            if (frontierSize >= PARALLEL_THRESHOLD) {
+                long[] current = frontier;
+                int size = frontierSize;
+                int chunks = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors() * 4, size / MIN_CHUNK));
+
+                next = IntStream.range(0, chunks).parallel()
+                        .mapToObj(c -> expand(marks, n, numPegs, pow, current,
+                                (int) ((long) c * size / chunks),
+                                (int) ((long) (c + 1) * size / chunks), mark))
+                        .reduce(LongBuffer::append)
+                        .orElseGet(LongBuffer::new);
+            } else {
+                next = expand(marks, n, numPegs, pow, frontier, 0, frontierSize, mark);
+            }
+
+            long used = marksBytes + ((long) frontier.length + next.values.length) * Long.BYTES;
+            if (used > memoryBudget) {
+                throw new IllegalStateException("La frontera de la búsqueda en la profundidad " + (depth + 1) +
+                        " necesita " + used + " bytes y el presupuesto es de " + memoryBudget);
+            }
+
+            frontier = next.values;
+            frontierSize = next.size;
+            statesVisited += frontierSize;
+            depth++;
+        }
+
+        return depth;
+    }
+
+    /**
+     * Expande un tramo de la frontera y reclama los vecinos no visitados
+     * @return estados reclamados por este tramo
+     */
+    private static LongBuffer expand(AtomicLongArray marks, int n, int numPegs, long[] pow,
+                                     long[] frontier, int from, int to, int mark) {
+        LongBuffer claimed = new LongBuffer();
+
+        int[] tops = new int[numPegs];
+
+        for (int i = from; i < to; i++) {
+            long state = frontier[i];
+            topDisks(state, n, tops);
+
+            for (int a = 0; a < numPegs; a++) {
+                for (int b = 0; b < numPegs; b++) {
+                    if (a != b && tops[a] < tops[b]) {
+                        long neighbor = state + (b - a) * pow[tops[a]];
+                        if (claim(marks, neighbor, mark)) {
+                            claimed.add(neighbor);
+                        }
+                    }
+                }
+            }
+        }
+
+        return claimed;
+    }
+
+    /**
+     * Reconstruye el camino desde el destino buscando en cada paso un vecino
+     * marcado con la profundidad anterior
+     */
+    private List<HanoiLogic.Move> reconstruct(AtomicLongArray marks, int n, long goalState, int depth) {
+        List<HanoiLogic.Move> path = new ArrayList<>(depth);
+        long state = goalState;
+        int[] tops = new int[numPegs];
+
+        for (int d = depth; d > 0; d--) {
+            int previousMark = markFor(d - 1);
+            topDisks(state, n, tops);
+            boolean found = false;
+
+            for (int a = 0; a < numPegs && !found; a++) {
+                for (int b = 0; b < numPegs && !found; b++) {
+                    if (a != b && tops[a] < tops[b]) {
+                        long neighbor = state + (b - a) * pow[tops[a]];
+                        if (getMark(marks, neighbor) == previousMark) {
+                            // Hacia delante el disco va de b a a
+                            path.add(new HanoiLogic.Move(b, a, tops[a] + 1));
+                            state = neighbor;
+                            found = true;
+                        }
+                    }
+                }
+            }
+
+            if (!found) {
+                throw new IllegalStateException("No se pudo reconstruir el camino en la profundidad " + d);
+            }
+        }
+
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Obtiene el disco superior (índice desde 0) de cada torre
+     * Basta con leer los dígitos hasta encontrar todas las torres, que en la
+     * mayoría de estados son unos pocos discos pequeños
+     * @param tops recibe el índice del disco más pequeño de cada torre, o n si está vacía
+     */
+    private static void topDisks(long state, int n, int[] tops) {
+        int numPegs = tops.length;
+        Arrays.fill(tops, n);
+        int found = 0;
+        long rest = state;
+
+        for (int d = 0; d < n && found < numPegs; d++) {
+            int peg = (int) (rest % numPegs);
+            rest /= numPegs;
+            if (tops[peg] == n) {
+                tops[peg] = d;
+                found++;
+            }
+        }
+    }
+
+    /**
+     * Marca un estado si aún no está visitado
+     * @return true si este hilo lo ha reclamado
+     */
+    private static boolean claim(AtomicLongArray marks, long state, int mark) {
+        int word = (int) (state / STATES_PER_WORD);
+        int shift = (int) (state % STATES_PER_WORD) * 2;
+
+        while (true) {
+            long old = marks.get(word);
+            if (((old >>> shift) & 3) != 0) {
+                return false;
+            }
+            if (marks.compareAndSet(word, old, old | ((long) mark << shift))) {
+                return true;
+            }
+        }
+    }
+
+    private static int getMark(AtomicLongArray marks, long state) {
+        return (int) ((marks.get((int) (state / STATES_PER_WORD)) >>> ((state % STATES_PER_WORD) * 2)) & 3);
+    }
+
+    /**
+     * Marca de una profundidad: 1 a 3 según la profundidad módulo 3
+     */
+    private static int markFor(int depth) {
+        return depth % 3 + 1;
+    }
+
+    private long encode(int[] pegs, int n) {
+        long state = 0;
+        for (int d = n - 1; d >= 0; d--) {
+            state = state * numPegs + pegs[d];
+        }
+        return state;
+    }
+
+    private void validate(int[] start, int[] goal) {
+        if (start == null || goal == null || start.length != goal.length) {
+            throw new IllegalArgumentException("Las configuraciones deben tener el mismo número de discos");
+        }
+        if (start.length > HanoiMoveGenerator.MAX_DISKS) {
+            throw new IllegalArgumentException("El número de discos debe estar entre 0 y " + HanoiMoveGenerator.MAX_DISKS);
+        }
+        for (int i = 0; i < start.length; i++) {
+            if (start[i] < 0 || start[i] >= numPegs || goal[i] < 0 || goal[i] >= numPegs) {
+                throw new IllegalArgumentException("La torre del disco " + (i + 1) + " debe estar entre 0 y " +
+                        (numPegs - 1));
+            }
+        }
+    }
+
+    /**
+     * Lista creciente de estados sin encapsular cada valor en un Long
+     */
+    private static final class LongBuffer {
+        long[] values = new long[16];
+        int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        LongBuffer append(LongBuffer other) {
+            if (size + other.size > values.length) {
+                values = Arrays.copyOf(values, Math.max(size + other.size, size * 2));
+            }
+            System.arraycopy(other.values, 0, values, size, other.size);
+            size += other.size;
+            return this;
+        }
+    }
+}
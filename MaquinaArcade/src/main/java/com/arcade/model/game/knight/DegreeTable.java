@@ -0,0 +1,335 @@
+package com.arcade.model.game.knight;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de grados para la heurística de Warnsdorff
+ * Guarda, para cada casilla, cuántas casillas vecinas (a un salto de la pieza)
+ * siguen sin visitar. Se actualiza de forma incremental al visitar o liberar
+ * una casilla, por lo que consultar el grado es O(1) y no hace falta
+ * recorrer el tablero cada vez que se necesitan las pistas
+ */
+public class DegreeTable {
+
+    private final int width;
+    private final int height;
+    private final int[][] adjacency; // Casillas alcanzables en un salto desde cada casilla
+    private final int[] degree;      // Vecinos sin visitar de cada casilla
+    private final int[] centerDistance; // Distancia al centro (al cuadrado) para desempatar
+    private final int tieBreakScale;  // Mayor que cualquier distancia al centro
+    private final boolean[] visited; // Casillas ya visitadas
+    private int unvisitedCount;      // Casillas que quedan por visitar
+    private int lowCount;            // Casillas sin visitar con grado 0 o 1
+    private int zeroCount;           // Casillas sin visitar con grado 0
+    private final int[] queue;       // Cola del recorrido en anchura de isConnected
+    private final int[] mark;        // Marca de la última exploración que alcanzó cada casilla
+    private int stamp;               // Marca de la exploración actual (evita limpiar mark)
+
+    /**
+     * Constructor con dimensiones del tablero
+     * @param width ancho del tablero
+     * @param height alto del tablero
+     */
+    public DegreeTable(int width, int height) {
+        this(width, height, Leaper.KNIGHT);
+    }
+
+    /**
+     * Constructor con dimensiones del tablero y pieza saltadora
+     * @param width ancho del tablero
+     * @param height alto del tablero
+     * @param leaper pieza cuyos saltos definen las vecinas
+     */
+    public DegreeTable(int width, int height, Leaper leaper) {
+        this(width, height, leaper.buildAdjacency(width, height));
+    }
+
+    /**
+     * Constructor con una tabla de adyacencia ya calculada
+     * @param width ancho del tablero
+     * @param height alto del tablero
+     * @param adjacency vecinas de cada casilla empaquetada
+     */
+    public DegreeTable(int width, int height, int[][] adjacency) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("Las dimensiones del tablero deben ser positivas");
+        }
+
+        this.width = width;
+        this.height = height;
+        this.adjacency = adjacency;
+        this.degree = new int[width * height];
+        this.visited = new boolean[width * height];
+        this.centerDistance = new int[width * height];
+        this.queue = new int[width * height];
+        this.mark = new int[width * height];
+
+        // Coordenadas dobladas para que el centro sea entero incluso en lados pares
+        for (int cell = 0; cell < centerDistance.length; cell++) {
+            int dx = 2 * (cell % width) - (width - 1);
+            int dy = 2 * (cell / width) - (height - 1);
+            centerDistance[cell] = dx * dx + dy * dy;
+        }
+        this.tieBreakScale = (width - 1) * (width - 1) + (height - 1) * (height - 1) + 1;
+
+        reset();
+    }
+
+    /**
+     * Deja todas las casillas sin visitar y recalcula los grados iniciales
+     */
+    public void reset() {
+        for (int cell = 0; cell < degree.length; cell++) {
+            visited[cell] = false;
+            degree[cell] = adjacency[cell].length;
+        }
+
+        unvisitedCount = degree.length;
+        lowCount = 0;
+        zeroCount = 0;
+        for (int cell = 0; cell < degree.length; cell++) {
+            countLow(cell, 1);
+        }
+    }
+
+    /**
+     * Marca una casilla como visitada y reduce el grado de sus vecinas
+     * @param cell casilla empaquetada
+     */
+    public void visit(int cell) {
+        if (visited[cell]) {
+            return;
+        }
+
+        countLow(cell, -1);
+        visited[cell] = true;
+        unvisitedCount--;
+        adjustNeighbours(cell, -1);
+    }
+
+    /**
+     * Marca una casilla como no visitada y aumenta el grado de sus vecinas
+     * @param cell casilla empaquetada
+     */
+    public void unvisit(int cell) {
+        if (!visited[cell]) {
+            return;
+        }
+
+        visited[cell] = false;
+        unvisitedCount++;
+        countLow(cell, 1);
+        adjustNeighbours(cell, 1);
+    }
+
+    /**
+     * Suma un valor al grado de todas las vecinas de una casilla
+     * @param cell casilla empaquetada
+     * @param delta valor a sumar
+     */
+    private void adjustNeighbours(int cell, int delta) {
+        for (int next : adjacency[cell]) {
+            if (visited[next]) {
+                degree[next] += delta;
+            } else {
+                countLow(next, -1);
+                degree[next] += delta;
+                countLow(next, 1);
+            }
+        }
+    }
+
+    /**
+     * Suma o resta una casilla de los contadores de grado bajo según su grado actual
+     * @param cell casilla sin visitar
+     * @param sign 1 para sumar, -1 para restar
+     */
+    private void countLow(int cell, int sign) {
+        if (degree[cell] <= 1) {
+            lowCount += sign;
+            if (degree[cell] == 0) {
+                zeroCount += sign;
+            }
+        }
+    }
+
+    /**
+     * Obtiene los movimientos legales desde una casilla ordenados por grado
+     * (de menor a mayor, como indica la regla de Warnsdorff)
+     * A igual grado va primero la casilla más alejada del centro
+     * @param fromCell casilla de origen
+     * @param out array de al menos 8 posiciones donde se escriben las casillas destino
+     * @return número de movimientos escritos en out
+     */
+    public int rankMoves(int fromCell, int[] out) {
+        return rankMoves(fromCell, out, 0);
+    }
+
+    /**
+     * Obtiene los movimientos legales ordenados por grado a partir de una posición de out
+     * Permite guardar en un mismo array los candidatos de varias profundidades
+     * @param fromCell casilla de origen
+     * @param out array donde se escriben las casillas destino
+     * @param offset primera posición de out que se usa (se escriben hasta 8)
+     * @return número de movimientos escritos
+     */
+    public int rankMoves(int fromCell, int[] out, int offset) {
+        int[] neighbours = adjacency[fromCell];
+        int count = 0;
+
+        for (int i = 0; i < neighbours.length; i++) {
+            int cell = neighbours[i];
+
+            if (!visited[cell]) {
+                // Inserción ordenada: como mucho hay 8 candidatos
+                int key = rankKey(cell);
+                int j = offset + count++;
+                while (j > offset && rankKey(out[j - 1]) > key) {
+                    out[j] = out[j - 1];
+                    j--;
+                }
+                out[j] = cell;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Clave de ordenación de una casilla: grado y, a igualdad, cercanía al centro
+     * @param cell casilla empaquetada
+     * @return clave (menor es mejor)
+     */
+    private int rankKey(int cell) {
+        return degree[cell] * tieBreakScale - centerDistance[cell];
+    }
+
+    /**
+     * Indica si mover el caballo a una casilla dejaría aislada alguna vecina
+     * Una vecina sin visitar cuyo único acceso es la casilla destino quedaría
+     * como callejón sin salida, salvo que fuera la última casilla del recorrido
+     * @param target casilla destino del movimiento
+     * @return true si el movimiento deja una casilla inalcanzable
+     */
+    public boolean isolatesSquare(int target) {
+        // Tras el movimiento quedarán unvisitedCount - 1 casillas por visitar
+        if (unvisitedCount - 1 <= 1) {
+            return false;
+        }
+
+        for (int cell : adjacency[target]) {
+            if (!visited[cell] && degree[cell] <= 1) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Indica si, con la pieza ya en una casilla, el recorrido no puede completarse
+     * Una casilla sin vecinas libres solo puede ser la última, y solo si es
+     * accesible desde la posición actual; una casilla con una sola vecina libre
+     * que no sea accesible ahora tiene que ser el final del recorrido, así que
+     * no puede haber más de una. Los contadores se mantienen de forma incremental,
+     * por lo que la comprobación solo recorre las vecinas de la posición actual
+     * @param head casilla actual de la pieza (ya visitada)
+     * @return true si la rama no tiene solución
+     */
+    public boolean hasDeadEnds(int head) {
+        if (unvisitedCount == 0) {
+            return false;
+        }
+
+        int nearLow = 0;
+        int nearZero = 0;
+        for (int cell : adjacency[head]) {
+            if (!visited[cell] && degree[cell] <= 1) {
+                nearLow++;
+                if (degree[cell] == 0) {
+                    nearZero++;
+                }
+            }
+        }
+
+        if (zeroCount > nearZero) {
+            return true; // Casilla inalcanzable
+        }
+        if (nearZero > 0 && unvisitedCount > 1) {
+            return true; // Callejón sin salida antes de terminar
+        }
+        return lowCount - nearLow > 1; // Más de un posible final
+    }
+
+    /**
+     * Indica si todas las casillas sin visitar son alcanzables desde la posición
+     * actual pasando solo por casillas sin visitar. Si el resto del tablero se ha
+     * partido en dos regiones el recorrido ya no puede completarse
+     * Usa una cola y unas marcas reservadas de antemano, así que no crea objetos
+     * @param head casilla actual de la pieza (ya visitada)
+     * @return true si las casillas pendientes forman una sola región accesible
+     */
+    public boolean isConnected(int head) {
+        if (unvisitedCount == 0) {
+            return true;
+        }
+
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+
+        int tail = 0;
+        for (int cell : adjacency[head]) {
+            if (!visited[cell] && mark[cell] != stamp) {
+                mark[cell] = stamp;
+                queue[tail++] = cell;
+            }
+        }
+
+        for (int next = 0; next < tail; next++) {
+            for (int cell : adjacency[queue[next]]) {
+                if (!visited[cell] && mark[cell] != stamp) {
+                    mark[cell] = stamp;
+                    queue[tail++] = cell;
+                }
+            }
+        }
+
+        return tail == unvisitedCount;
+    }
+
+    /**
+     * Obtiene el grado (vecinas sin visitar) de una casilla
+     * @param cell casilla empaquetada
+     * @return número de vecinas sin visitar
+     */
+    public int getDegree(int cell) {
+        return degree[cell];
+    }
+
+    /**
+     * Indica si una casilla ha sido visitada
+     * @param cell casilla empaquetada
+     * @return true si está visitada
+     */
+    public boolean isVisited(int cell) {
+        return visited[cell];
+    }
+
+    /**
+     * Obtiene el número de casillas sin visitar
+     * @return casillas pendientes
+     */
+    public int getUnvisitedCount() {
+        return unvisitedCount;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+}
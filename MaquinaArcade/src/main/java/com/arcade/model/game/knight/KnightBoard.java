@@ -3,10 +3,14 @@ package com.arcade.model.game.knight;
 /**
  * Clase que representa un tablero para el problema del Recorrido del Caballo
  * Proporciona métodos para manipular y verificar el estado del tablero
+ * Admite tableros rectangulares (ancho x alto) con casillas bloqueadas
  */
 public class KnightBoard {
 
-    private final int size;
+    private final int width;  // Columnas del tablero
+    private final int height; // Filas del tablero
+    private final boolean[][] blocked; // Casillas bloqueadas [fila][columna]
+    private final int openCells; // Casillas que hay que visitar
     private int[][] board; // Almacena el orden de visita de las casillas (-1 si no visitada)
     private int knightX; // Posición actual X del caballo
     private int knightY; // Posición actual Y del caballo
@@ -23,16 +27,48 @@ public class KnightBoard {
      * @param startY posición inicial Y
      */
     public KnightBoard(int size, int startX, int startY) {
-        if (size < 5) {
-            throw new IllegalArgumentException("El tamaño del tablero debe ser al menos 5");
+        this(checkSize(size), size, startX, startY, null);
+    }
+
+    /**
+     * Constructor para tableros rectangulares con casillas bloqueadas
+     * @param width ancho del tablero
+     * @param height alto del tablero
+     * @param startX posición inicial X
+     * @param startY posición inicial Y
+     * @param blocked casillas bloqueadas [fila][columna] (null si no hay)
+     */
+    public KnightBoard(int width, int height, int startX, int startY, boolean[][] blocked) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Las dimensiones del tablero deben ser positivas");
         }
 
-        if (!isValidPosition(startX, startY, size)) {
+        if (startX < 0 || startX >= width || startY < 0 || startY >= height) {
             throw new IllegalArgumentException("Posición inicial fuera del tablero");
         }
 
-        this.size = size;
-        this.board = new int[size][size];
+        this.width = width;
+        this.height = height;
+        this.blocked = new boolean[height][width];
+
+        int open = 0;
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (blocked != null && i < blocked.length && j < blocked[i].length) {
+                    this.blocked[i][j] = blocked[i][j];
+                }
+                if (!this.blocked[i][j]) {
+                    open++;
+                }
+            }
+        }
+
+        if (this.blocked[startY][startX]) {
+            throw new IllegalArgumentException("La posición inicial está bloqueada");
+        }
+
+        this.openCells = open;
+        this.board = new int[height][width];
         this.knightX = startX;
         this.knightY = startY;
         this.moveCount = 0;
@@ -45,13 +81,25 @@ public class KnightBoard {
         moveCount++;
     }
 
+    /**
+     * Comprueba el tamaño mínimo de un tablero cuadrado
+     * @param size tamaño del tablero
+     * @return el mismo tamaño si es válido
+     */
+    private static int checkSize(int size) {
+        if (size < 5) {
+            throw new IllegalArgumentException("El tamaño del tablero debe ser al menos 5");
+        }
+        return size;
+    }
+
     /**
      * Limpia el tablero y reinicia el caballo a la posición inicial
      */
     public void clear() {
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                board[i][j] = -1;
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                board[i][j] = blocked[i][j] ? KnightGame.BLOCKED : -1;
             }
         }
 
@@ -78,7 +126,17 @@ public class KnightBoard {
      * @return true si la posición es válida
      */
     public boolean isValidPosition(int x, int y) {
-        return isValidPosition(x, y, size);
+        return x >= 0 && x < width && y >= 0 && y < height;
+    }
+
+    /**
+     * Verifica si una casilla está bloqueada
+     * @param x coordenada X
+     * @param y coordenada Y
+     * @return true si la casilla está bloqueada
+     */
+    public boolean isBlocked(int x, int y) {
+        return isValidPosition(x, y) && blocked[y][x];
     }
 
     /**
@@ -88,7 +146,7 @@ public class KnightBoard {
      * @return true si la casilla ha sido visitada
      */
     public boolean isVisited(int x, int y) {
-        return isValidPosition(x, y) && board[y][x] != -1;
+        return isValidPosition(x, y) && board[y][x] >= 0;
     }
 
     /**
@@ -115,8 +173,8 @@ public class KnightBoard {
             return false;
         }
 
-        // Verificar que la casilla destino no ha sido visitada
-        if (isVisited(toX, toY)) {
+        // Verificar que la casilla destino no ha sido visitada ni está bloqueada
+        if (isVisited(toX, toY) || blocked[toY][toX]) {
             return false;
         }
 
@@ -160,7 +218,7 @@ public class KnightBoard {
             int nextX = knightX + X_MOVES[i];
             int nextY = knightY + Y_MOVES[i];
 
-            if (isValidPosition(nextX, nextY) && !isVisited(nextX, nextY)) {
+            if (isValidPosition(nextX, nextY) && !isVisited(nextX, nextY) && !blocked[nextY][nextX]) {
                 validCount++;
             }
         }
@@ -173,7 +231,7 @@ public class KnightBoard {
             int nextX = knightX + X_MOVES[i];
             int nextY = knightY + Y_MOVES[i];
 
-            if (isValidPosition(nextX, nextY) && !isVisited(nextX, nextY)) {
+            if (isValidPosition(nextX, nextY) && !isVisited(nextX, nextY) && !blocked[nextY][nextX]) {
                 validMoves[index][0] = nextX;
                 validMoves[index][1] = nextY;
                 index++;
@@ -184,11 +242,11 @@ public class KnightBoard {
     }
 
     /**
-     * Verifica si el recorrido está completo (todas las casillas visitadas)
+     * Verifica si el recorrido está completo (todas las casillas libres visitadas)
      * @return true si el recorrido está completo
      */
     public boolean isComplete() {
-        return moveCount == size * size;
+        return moveCount == openCells;
     }
 
     /**
@@ -201,33 +259,25 @@ public class KnightBoard {
             return true; // No hay movimientos suficientes para verificar
         }
 
-        // Verificar cada par de movimientos consecutivos
-        for (int move = 0; move < moveCount - 1; move++) {
-            int x1 = -1, y1 = -1, x2 = -1, y2 = -1;
-
-            // Encontrar las posiciones de los movimientos consecutivos
-            for (int i = 0; i < size; i++) {
-                for (int j = 0; j < size; j++) {
-                    if (board[i][j] == move) {
-                        y1 = i;
-                        x1 = j;
-                    } else if (board[i][j] == move + 1) {
-                        y2 = i;
-                        x2 = j;
-                    }
+        // Posición de cada movimiento en el tablero
+        int[] xs = new int[moveCount];
+        int[] ys = new int[moveCount];
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (board[i][j] >= 0 && board[i][j] < moveCount) {
+                    xs[board[i][j]] = j;
+                    ys[board[i][j]] = i;
                 }
             }
+        }
 
-            // Verificar que es un movimiento de caballo válido
-            if (x1 != -1 && y1 != -1 && x2 != -1 && y2 != -1) {
-                int dx = Math.abs(x2 - x1);
-                int dy = Math.abs(y2 - y1);
+        // Verificar cada par de movimientos consecutivos
+        for (int move = 0; move < moveCount - 1; move++) {
+            int dx = Math.abs(xs[move + 1] - xs[move]);
+            int dy = Math.abs(ys[move + 1] - ys[move]);
 
-                if ((dx != 1 || dy != 2) && (dx != 2 || dy != 1)) {
-                    return false; // No es un movimiento de caballo válido
-                }
-            } else {
-                return false; // No se encontraron los movimientos consecutivos
+            if ((dx != 1 || dy != 2) && (dx != 2 || dy != 1)) {
+                return false; // No es un movimiento de caballo válido
             }
         }
 
@@ -236,10 +286,34 @@ public class KnightBoard {
 
     /**
      * Obtiene el tamaño del tablero
-     * @return tamaño del tablero
+     * @return tamaño del tablero (el ancho en tableros rectangulares)
      */
     public int getSize() {
-        return size;
+        return width;
+    }
+
+    /**
+     * Obtiene el ancho del tablero
+     * @return número de columnas
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtiene el alto del tablero
+     * @return número de filas
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Obtiene el número de casillas que hay que visitar
+     * @return casillas libres del tablero
+     */
+    public int getOpenCells() {
+        return openCells;
     }
 
     /**
@@ -271,9 +345,9 @@ public class KnightBoard {
      * @return matriz con el estado (-1 si no visitada, 0+ orden de visita)
      */
     public int[][] getBoard() {
-        int[][] copy = new int[size][size];
-        for (int i = 0; i < size; i++) {
-            System.arraycopy(board[i], 0, copy[i], 0, size);
+        int[][] copy = new int[height][width];
+        for (int i = 0; i < height; i++) {
+            System.arraycopy(board[i], 0, copy[i], 0, width);
         }
         return copy;
     }
@@ -282,9 +356,11 @@ public class KnightBoard {
     public String toString() {
         StringBuilder sb = new StringBuilder();
 
-        for (int i = 0; i < size; i++) {
-            for (int j = 0; j < size; j++) {
-                if (board[i][j] == -1) {
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                if (blocked[i][j]) {
+                    sb.append("## ");
+                } else if (board[i][j] == -1) {
                     sb.append(".. ");
                 } else {
                     sb.append(String.format("%2d ", board[i][j]));
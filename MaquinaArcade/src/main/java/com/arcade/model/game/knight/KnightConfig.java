@@ -0,0 +1,287 @@
+package com.arcade.model.game.knight;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.ResumableSearch;
+
+/**
+ * Configuración inmutable de un recorrido de pieza saltadora
+ * Pieza, dimensiones del tablero, posición inicial y casillas bloqueadas.
+ * Una máscara sin casillas bloqueadas se guarda como null, para que dos
+ * tableros iguales tengan siempre la misma configuración
+ */
+public final class KnightConfig implements GameConfig {
+
+    /**
+     * Lado máximo que admite el motor: el solucionador reserva ocho candidatos
+     * por casilla y las máscaras de bloqueadas se leen de ficheros externos
+     */
+    public static final int MAX_SIZE = 256;
+
+    private final Leaper leaper;
+    private final int width;
+    private final int height;
+    private final int startX;
+    private final int startY;
+    private final boolean[] blocked; // Casillas bloqueadas por índice empaquetado (null si no hay)
+    private final int hash;
+
+    private KnightConfig(Leaper leaper, int width, int height, int startX, int startY, boolean[] blocked) {
+        if (leaper == null) {
+            throw new IllegalArgumentException("Se requiere la pieza saltadora");
+        }
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Las dimensiones del tablero deben ser positivas");
+        }
+        if (width > MAX_SIZE || height > MAX_SIZE) {
+            throw new IllegalArgumentException("Las dimensiones del tablero no pueden superar " + MAX_SIZE);
+        }
+        if (Math.max(width, height) < leaper.getMinBoardSize()) {
+            // En tableros rectangulares basta con que el lado mayor alcance el mínimo de la pieza
+            throw new IllegalArgumentException("El tamaño del tablero debe ser al menos " + leaper.getMinBoardSize());
+        }
+        if (blocked != null && blocked.length != width * height) {
+            throw new IllegalArgumentException("La máscara de casillas bloqueadas no coincide con el tablero");
+        }
+        if (startX < 0 || startX >= width || startY < 0 || startY >= height) {
+            throw new IllegalArgumentException("Posición inicial fuera del tablero");
+        }
+        if (blocked != null && blocked[startY * width + startX]) {
+            throw new IllegalArgumentException("La posición inicial está bloqueada");
+        }
+
+        this.leaper = leaper;
+        this.width = width;
+        this.height = height;
+        this.startX = startX;
+        this.startY = startY;
+        this.blocked = blocked != null && countBlocked(blocked) > 0 ? blocked.clone() : null;
+
+        int h = 31 * KNIGHT_TAG + leaper.ordinal();
+        h = 31 * h + width;
+        h = 31 * h + height;
+        h = 31 * h + startX;
+        h = 31 * h + startY;
+        this.hash = 31 * h + Arrays.hashCode(this.blocked);
+    }
+
+    /**
+     * Crea la configuración de un tablero cuadrado completo
+     * @param leaper pieza saltadora
+     * @param size lado del tablero (del mínimo de la pieza a MAX_SIZE)
+     * @param startX columna inicial
+     * @param startY fila inicial
+     * @return configuración validada
+     * @throws IllegalArgumentException si algún valor no es válido
+     */
+    public static KnightConfig square(Leaper leaper, int size, int startX, int startY) {
+        return new KnightConfig(leaper, size, size, startX, startY, null);
+    }
+
+    /**
+     * Crea la configuración de un tablero rectangular, con casillas bloqueadas o sin ellas
+     * @param leaper pieza saltadora
+     * @param width ancho del tablero (hasta MAX_SIZE; el lado mayor, al menos el mínimo de la pieza)
+     * @param height alto del tablero (hasta MAX_SIZE)
+     * @param startX columna inicial
+     * @param startY fila inicial
+     * @param blocked casillas bloqueadas por índice empaquetado (null si no hay)
+     * @return configuración validada
+     * @throws IllegalArgumentException si algún valor no es válido
+     */
+    public static KnightConfig rectangular(Leaper leaper, int width, int height, int startX, int startY,
+                                           boolean[] blocked) {
+        return new KnightConfig(leaper, width, height, startX, startY, blocked);
+    }
+
+    /**
+     * Convierte los parámetros sueltos de Game.initialize en una configuración
+     * Admite (tamaño, x, y) o (ancho, alto, x, y[, máscara de bloqueadas])
+     * @param leaper pieza del juego que se inicializa
+     * @param params parámetros de inicialización
+     * @return configuración validada
+     * @throws IllegalArgumentException si faltan parámetros o no son válidos
+     */
+    public static KnightConfig fromParams(Leaper leaper, Object... params) {
+        if (params.length >= 4 &&
+                params[0] instanceof Integer &&
+                params[1] instanceof Integer &&
+                params[2] instanceof Integer &&
+                params[3] instanceof Integer) {
+            // Tablero rectangular: ancho, alto, posición inicial y máscara opcional
+            boolean[] mask = null;
+            if (params.length >= 5 && params[4] != null) {
+                if (!(params[4] instanceof boolean[])) {
+                    throw new IllegalArgumentException("La máscara de casillas bloqueadas no coincide con el tablero");
+                }
+                mask = (boolean[]) params[4];
+            }
+            return rectangular(leaper, (Integer) params[0], (Integer) params[1],
+                    (Integer) params[2], (Integer) params[3], mask);
+        }
+
+        if (params.length >= 3 &&
+                params[0] instanceof Integer &&
+                params[1] instanceof Integer &&
+                params[2] instanceof Integer) {
+            // Tablero cuadrado: tamaño y posición inicial
+            return square(leaper, (Integer) params[0], (Integer) params[1], (Integer) params[2]);
+        }
+
+        throw new IllegalArgumentException("Se requiere el tamaño del tablero y posición inicial (x,y)");
+    }
+
+    /**
+     * Lee los campos de una configuración (el tipo ya se ha leído)
+     * @param in origen de los datos
+     * @return configuración leída
+     * @throws IOException si hay error al leer
+     */
+    public static KnightConfig readFields(DataInput in) throws IOException {
+        Leaper[] leapers = Leaper.values();
+        Leaper leaper = leapers[ResumableSearch.readVarInt(in, 0, leapers.length - 1, "la pieza")];
+        int w = ResumableSearch.readVarInt(in, 1, MAX_SIZE, "el ancho del tablero");
+        int h = ResumableSearch.readVarInt(in, 1, MAX_SIZE, "el alto del tablero");
+        int x = ResumableSearch.readVarInt(in, 0, w - 1, "la columna inicial");
+        int y = ResumableSearch.readVarInt(in, 0, h - 1, "la fila inicial");
+        boolean[] mask = in.readBoolean() ? readBits(in, w * h) : null;
+        return new KnightConfig(leaper, w, h, x, y, mask);
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        // Pieza, dimensiones, posición inicial y máscara de bloqueadas (un bit por casilla)
+        out.writeByte(KNIGHT_TAG);
+        ResumableSearch.writeVarInt(out, leaper.ordinal());
+        ResumableSearch.writeVarInt(out, width);
+        ResumableSearch.writeVarInt(out, height);
+        ResumableSearch.writeVarInt(out, startX);
+        ResumableSearch.writeVarInt(out, startY);
+        out.writeBoolean(blocked != null);
+        if (blocked != null) {
+            writeBits(out, blocked);
+        }
+    }
+
+    /**
+     * Escribe una máscara como bits empaquetados (8 casillas por byte)
+     */
+    private static void writeBits(DataOutput out, boolean[] bits) throws IOException {
+        for (int i = 0; i < bits.length; i += 8) {
+            int value = 0;
+            for (int b = 0; b < 8 && i + b < bits.length; b++) {
+                if (bits[i + b]) {
+                    value |= 1 << b;
+                }
+            }
+            out.writeByte(value);
+        }
+    }
+
+    /**
+     * Lee una máscara escrita con writeBits
+     */
+    private static boolean[] readBits(DataInput in, int length) throws IOException {
+        boolean[] bits = new boolean[length];
+        for (int i = 0; i < length; i += 8) {
+            int value = in.readUnsignedByte();
+            for (int b = 0; b < 8 && i + b < length; b++) {
+                bits[i + b] = (value & (1 << b)) != 0;
+            }
+        }
+        return bits;
+    }
+
+    private static int countBlocked(boolean[] mask) {
+        int count = 0;
+        for (boolean cell : mask) {
+            if (cell) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public Leaper getLeaper() {
+        return leaper;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getStartX() {
+        return startX;
+    }
+
+    public int getStartY() {
+        return startY;
+    }
+
+    /**
+     * Obtiene las casillas bloqueadas
+     * @return copia de la máscara por índice empaquetado o null si no hay
+     */
+    public boolean[] getBlocked() {
+        return blocked != null ? blocked.clone() : null;
+    }
+
+    /**
+     * Cuenta las casillas bloqueadas
+     * @return número de casillas bloqueadas
+     */
+    public int getBlockedCount() {
+        return blocked != null ? countBlocked(blocked) : 0;
+    }
+
+    /**
+     * Indica si el tablero es rectangular o tiene casillas bloqueadas
+     * @return true si el tablero no es un cuadrado completo
+     */
+    public boolean isIrregular() {
+        return width != height || blocked != null;
+    }
+
+    @Override
+    public int getProblemSize() {
+        return Math.max(width, height); // El lado mayor en tableros rectangulares
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof KnightConfig)) {
+            return false;
+        }
+
+        KnightConfig config = (KnightConfig) other;
+        return hash == config.hash &&
+                leaper == config.leaper &&
+                width == config.width &&
+                height == config.height &&
+                startX == config.startX &&
+                startY == config.startY &&
+                Arrays.equals(blocked, config.blocked);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "KnightConfig[" + leaper + " " + width + "x" + height + " desde " + startX + "," + startY +
+                (blocked != null ? ", " + getBlockedCount() + " bloqueadas" : "") + "]";
+    }
+}
@@ -1,89 +1,231 @@
 package com.arcade.model.game.knight;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.KnightRecord;
 import com.arcade.model.game.AbstractGame;
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.ProgressMailbox;
+import com.arcade.model.game.ResumableSearch;
+import com.arcade.model.game.ReusableSolution;
+import com.arcade.model.game.SolveBudget;
+import com.arcade.model.game.SolverTelemetry;
+import com.arcade.model.game.SolverProgress;
 
 /**
  * Implementación del juego del Recorrido del Caballo
  * Resuelve el problema de recorrer todo el tablero de ajedrez
  * con un caballo, pasando una sola vez por cada casilla
+ *
+ * El mismo motor sirve para cualquier pieza saltadora (camello, cebra, jirafa):
+ * los saltos se precalculan en una tabla de adyacencia al inicializar
+ *
+ * La búsqueda usa una pila explícita (el historial más la siguiente dirección
+ * de cada profundidad), así que al detenerse por sus límites queda intacta y
+ * se puede guardar y reanudar
  */
-public class KnightGame extends AbstractGame {
+public class KnightGame extends AbstractGame implements ResumableSearch, ReusableSolution {
+
+    // Nodos entre comprobaciones del reloj para publicar el progreso
+    private static final int PROGRESS_CHECK_INTERVAL = 4096;
 
-    // Posibles movimientos del caballo (8 direcciones)
-    private static final int[] X_MOVES = {2, 1, -1, -2, -2, -1, 1, 2};
-    private static final int[] Y_MOVES = {1, 2, 2, 1, -1, -2, -2, -1};
+    // Valor de las casillas bloqueadas en el tablero
+    public static final int BLOCKED = -2;
 
-    private int boardSize;
-    private int[][] board; // Almacena el orden de las casillas visitadas
+    private final Leaper leaper;
+    private int width;  // Columnas del tablero
+    private int height; // Filas del tablero
+    private boolean[] blocked; // Casillas bloqueadas por índice empaquetado (null si no hay)
+    private boolean irregular; // Tablero rectangular o con casillas bloqueadas (sin camino rápido)
+    private int[] board; // Orden de visita de cada casilla empaquetada (-1 si no visitada)
     private int startX;
     private int startY;
     private int totalMoves;
+    private int targetMoves; // Casillas que debe visitar el recorrido
+    private int[][] adjacency; // Casillas alcanzables en un salto desde cada casilla
+    private DegreeTable degrees; // Grados de Warnsdorff (solo piezas distintas del caballo)
+    private int[] candidates; // Saltos ordenados por grado, 8 por profundidad
+    private int[] candidateCount; // Número de saltos ordenados en cada profundidad
+    private MoveHistory history; // Casillas visitadas (compartido por la partida y el solucionador)
+    private int[] nextDirection; // Siguiente dirección a probar en cada profundidad del retroceso
+    private volatile ProgressMailbox progressMailbox; // Destino opcional del progreso de la búsqueda
+    private boolean searchPending; // La última búsqueda se detuvo y su pila sigue en el tablero
+    private boolean pendingWarnsdorff; // Algoritmo de la búsqueda pendiente
 
     /**
-     * Constructor por defecto
+     * Constructor por defecto (caballo)
      */
     public KnightGame() {
-        super("Recorrido del Caballo", "Recorre todo el tablero con movimientos de caballo");
+        this(Leaper.KNIGHT);
+    }
+
+    /**
+     * Constructor con la pieza saltadora que realiza el recorrido
+     * @param leaper pieza saltadora
+     */
+    public KnightGame(Leaper leaper) {
+        super(leaper.getTourName(), "Recorre todo el tablero con movimientos de " + leaper.getName().toLowerCase());
+        this.leaper = leaper;
     }
 
     @Override
-    public void initialize(Object... params) {
-        super.initialize(params);
+    protected GameConfig createConfig(Object... params) {
+        return KnightConfig.fromParams(leaper, params);
+    }
 
-        if (params.length < 3 ||
-                !(params[0] instanceof Integer) ||
-                !(params[1] instanceof Integer) ||
-                !(params[2] instanceof Integer)) {
-            throw new IllegalArgumentException("Se requiere el tamaño del tablero y posición inicial (x,y)");
+    @Override
+    public void initialize(GameConfig config) {
+        KnightConfig knightConfig = requireConfig(config, KnightConfig.class);
+        if (knightConfig.getLeaper() != leaper) {
+            throw new IllegalArgumentException("La configuración es de otra pieza: " + knightConfig.getLeaper().getName());
         }
-
-        this.boardSize = (Integer) params[0];
-        this.startX = (Integer) params[1];
-        this.startY = (Integer) params[2];
-
-        if (boardSize < 5) {
-            throw new IllegalArgumentException("El tamaño del tablero debe ser al menos 5");
+        super.initialize(config);
+
+        this.width = knightConfig.getWidth();
+        this.height = knightConfig.getHeight();
+        this.startX = knightConfig.getStartX();
+        this.startY = knightConfig.getStartY();
+        this.blocked = knightConfig.getBlocked();
+
+        this.irregular = width != height || getBlockedCount() > 0;
+
+        int totalCells = width * height;
+        this.board = new int[totalCells];
+        this.adjacency = leaper.buildAdjacency(width, height, blocked);
+        this.history = new MoveHistory(totalCells);
+        this.nextDirection = new int[totalCells];
+
+        // Las piezas que no cambian de color solo recorren las casillas de su color
+        this.targetMoves = 0;
+        for (int cell = 0; cell < totalCells; cell++) {
+            if (covers(cell)) {
+                targetMoves++;
+            }
         }
 
-        if (startX < 0 || startX >= boardSize || startY < 0 || startY >= boardSize) {
-            throw new IllegalArgumentException("Posición inicial fuera del tablero");
+        // Las tablas de Warnsdorff se crean al usarlas por primera vez
+        this.degrees = null;
+        this.candidates = null;
+        this.candidateCount = null;
+        if (!usesFastPath()) {
+            createWarnsdorffTables();
         }
 
-        this.board = new int[boardSize][boardSize];
-        this.totalMoves = 0;
+        clearBoard();
+    }
+
+    /**
+     * Crea las tablas de grados y candidatos de la búsqueda de Warnsdorff
+     */
+    private void createWarnsdorffTables() {
+        int totalCells = width * height;
+        this.degrees = new DegreeTable(width, height, adjacency);
+        this.candidates = new int[totalCells * 8];
+        this.candidateCount = new int[totalCells];
+    }
 
+    /**
+     * Limpia el tablero y deja el caballo en la posición inicial
+     */
+    private void clearBoard() {
         // Inicializar tablero con -1 (no visitado)
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                board[i][j] = -1;
+        Arrays.fill(board, -1);
+        if (blocked != null) {
+            for (int cell = 0; cell < board.length; cell++) {
+                if (blocked[cell]) {
+                    board[cell] = BLOCKED;
+                }
             }
         }
 
         // Marcar posición inicial
-        board[startY][startX] = 0;
+        board[MoveHistory.pack(startX, startY, width)] = 0;
         totalMoves = 1; // Ya hemos visitado la primera casilla
+
+        history.clear();
+        history.push(MoveHistory.pack(startX, startY, width));
+        searchPending = false;
+    }
+
+    /**
+     * Indica si el recorrido usa el backtracking de orden fijo del caballo
+     * Solo en tableros cuadrados sin casillas bloqueadas, donde encuentra el
+     * mismo recorrido de siempre; el resto usa la búsqueda con poda
+     * @return true si se usa el camino rápido del caballo
+     */
+    private boolean usesFastPath() {
+        return leaper == Leaper.KNIGHT && !irregular;
+    }
+
+    /**
+     * Indica si el tablero es rectangular o tiene casillas bloqueadas
+     * @return true si el tablero no es un cuadrado completo
+     */
+    public boolean isIrregular() {
+        return irregular;
     }
 
     @Override
     public boolean solve() {
+        // Resolver usando backtracking (el caballo conserva su orden fijo de saltos)
+        return usesFastPath() ? solveWithBacktracking() : solveWithWarnsdorff();
+    }
+
+    /**
+     * Resuelve con el backtracking de orden fijo, sin poda
+     * Encuentra siempre el mismo recorrido, pero su coste crece muy deprisa
+     * con el tamaño del tablero
+     * @return true si se encontró una solución
+     */
+    public boolean solveWithBacktracking() {
+        return runSolver(false);
+    }
+
+    /**
+     * Resuelve con el backtracking guiado por la regla de Warnsdorff y poda
+     * @return true si se encontró una solución
+     */
+    public boolean solveWithWarnsdorff() {
+        return runSolver(true);
+    }
+
+    /**
+     * Reinicia el tablero y ejecuta el algoritmo indicado
+     * @param warnsdorff true para la búsqueda de Warnsdorff, false para el orden fijo
+     * @return true si se encontró una solución
+     */
+    private boolean runSolver(boolean warnsdorff) {
         if (!initialized) {
             throw new IllegalStateException("El juego no ha sido inicializado");
         }
 
         // Reiniciar el tablero para resolver
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                board[i][j] = -1;
-            }
+        clearBoard();
+
+        if (warnsdorff && degrees == null) {
+            createWarnsdorffTables();
         }
 
-        board[startY][startX] = 0;
-        totalMoves = 1;
+        return finishSearch(warnsdorff, warnsdorff ? solveWarnsdorff() : solveBacktracking());
+    }
+
+    /**
+     * Registra el final de una búsqueda
+     * Si se detuvo por sus límites, la pila queda pendiente para guardarla o reanudarla
+     * @param warnsdorff algoritmo usado
+     * @param solved true si se encontró una solución
+     * @return el mismo valor de solved
+     */
+    private boolean finishSearch(boolean warnsdorff, boolean solved) {
+        // Rehacer solo debe cubrir los movimientos que deshizo el jugador
+        history.discardRedo();
 
-        // Resolver usando backtracking
-        boolean solved = solveBacktracking(startX, startY, 1);
+        searchPending = !solved && isSolveInterrupted();
+        pendingWarnsdorff = warnsdorff;
 
         if (solved) {
             setCompleted();
@@ -93,106 +235,465 @@ public class KnightGame extends AbstractGame {
     }
 
     /**
-     * Método recursivo para resolver el problema mediante backtracking
-     * @param x posición x actual
-     * @param y posición y actual
-     * @param moveCount número del movimiento actual
+     * Resuelve el problema mediante backtracking iterativo
+     * La pila de retroceso es el propio historial de movimientos, y
+     * nextDirection guarda la siguiente vecina a probar en cada profundidad
      * @return true si se encontró una solución
      */
-    private boolean solveBacktracking(int x, int y, int moveCount) {
-        if (moveCount == boardSize * boardSize) {
+    private boolean solveBacktracking() {
+        nextDirection[0] = 0;
+        return continueBacktracking();
+    }
+
+    /**
+     * Continúa el backtracking de orden fijo desde el estado actual de la pila
+     * @return true si se encontró una solución
+     */
+    private boolean continueBacktracking() {
+        // Progreso: solo se consulta el reloj cada PROGRESS_CHECK_INTERVAL nodos
+        ProgressMailbox mailbox = progressMailbox;
+        long startNanos = System.nanoTime();
+        int startSteps = steps;
+        int untilCheck = PROGRESS_CHECK_INTERVAL;
+        SolveBudget limits = budget;
+        SolverTelemetry stats = telemetry;
+        long[] depthNodes = stats != null ? stats.getDepthCounters() : null;
+        long backtracks = 0;
+
+        try {
+            while (totalMoves < targetMoves) {
+                if (mailbox != null && --untilCheck == 0) {
+                    untilCheck = PROGRESS_CHECK_INTERVAL;
+                    publishProgress(mailbox, startNanos, startSteps);
+                }
+
+                if (limits != null && limits.checkpoint()) {
+                    return false; // Tiempo o nodos agotados, o resolución cancelada
+                }
+
+                int depth = history.size() - 1;
+                if (depthNodes != null) {
+                    depthNodes[depth]++;
+                }
+
+                int[] neighbours = adjacency[history.peek()];
+                boolean advanced = false;
+
+                // Probar los saltos restantes desde esta casilla
+                while (nextDirection[depth] < neighbours.length) {
+                    int next = neighbours[nextDirection[depth]++];
+                    steps++; // Contar cada intento como un paso
+
+                    // Verificar si la casilla está libre
+                    if (board[next] == -1) {
+                        // Realizar el movimiento
+                        board[next] = totalMoves;
+                        totalMoves++;
+                        history.push(next);
+                        nextDirection[depth + 1] = 0;
+                        advanced = true;
+                        break;
+                    }
+                }
+
+                if (!advanced) {
+                    if (depth == 0) {
+                        return false; // No se encontró solución desde la posición inicial
+                    }
+
+                    // Si no lleva a una solución, deshacer (backtrack)
+                    int last = history.pop();
+                    board[last] = -1;
+                    totalMoves--;
+                    backtracks++;
+                }
+            }
+
             return true; // Se han visitado todas las casillas
+        } finally {
+            if (stats != null) {
+                // El orden fijo no poda: las casillas ocupadas ya cuentan como intentos
+                stats.add(0, backtracks); // Volcar los contadores locales
+            }
         }
+    }
 
-        // Probar los 8 posibles movimientos
-        for (int i = 0; i < 8; i++) {
-            steps++; // Contar cada intento como un paso
+    /**
+     * Resuelve el problema mediante backtracking guiado por la regla de Warnsdorff
+     * En cada profundidad se prueban primero las casillas con menos salidas libres,
+     * y se descartan los saltos que dejarían una casilla sin acceso o partirían
+     * las casillas pendientes en varias regiones (tableros irregulares incluidos)
+     * @return true si se encontró una solución
+     */
+    private boolean solveWarnsdorff() {
+        degrees.reset();
+        for (int cell = 0; cell < candidateCount.length; cell++) {
+            if (!covers(cell)) {
+                degrees.visit(cell); // Fuera del recorrido: cuenta como ya visitada
+            }
+        }
+        degrees.visit(history.peek());
 
-            int nextX = x + X_MOVES[i];
-            int nextY = y + Y_MOVES[i];
+        // Descartar de entrada los tableros imposibles
+        if (!isColorBalanced() || !degrees.isConnected(history.peek())) {
+            return false;
+        }
+
+        candidateCount[0] = degrees.rankMoves(history.peek(), candidates);
+        nextDirection[0] = 0;
+        return continueWarnsdorff();
+    }
 
-            // Verificar si el movimiento es válido
-            if (isValidMove(nextX, nextY)) {
-                // Realizar el movimiento
-                board[nextY][nextX] = moveCount;
-                totalMoves++;
+    /**
+     * Continúa la búsqueda de Warnsdorff desde el estado actual de la pila
+     * Los grados y los candidatos de cada profundidad deben corresponder a la pila
+     * @return true si se encontró una solución
+     */
+    private boolean continueWarnsdorff() {
+        ProgressMailbox mailbox = progressMailbox;
+        long startNanos = System.nanoTime();
+        int startSteps = steps;
+        int untilCheck = PROGRESS_CHECK_INTERVAL;
+        SolveBudget limits = budget;
+        SolverTelemetry stats = telemetry;
+        long[] depthNodes = stats != null ? stats.getDepthCounters() : null;
+        long prunes = 0;
+        long backtracks = 0;
+
+        try {
+            while (totalMoves < targetMoves) {
+                if (mailbox != null && --untilCheck == 0) {
+                    untilCheck = PROGRESS_CHECK_INTERVAL;
+                    publishProgress(mailbox, startNanos, startSteps);
+                }
 
-                // Continuar con el siguiente movimiento
-                if (solveBacktracking(nextX, nextY, moveCount + 1)) {
-                    return true;
+                if (limits != null && limits.checkpoint()) {
+                    return false; // Tiempo o nodos agotados, o resolución cancelada
                 }
 
-                // Si no lleva a una solución, deshacer (backtrack)
-                board[nextY][nextX] = -1;
-                totalMoves--;
+                int depth = history.size() - 1;
+                int base = depth * 8;
+                if (depthNodes != null) {
+                    depthNodes[depth]++;
+                }
+
+                boolean advanced = false;
+
+                while (nextDirection[depth] < candidateCount[depth]) {
+                    int next = candidates[base + nextDirection[depth]++];
+                    steps++;
+
+                    degrees.visit(next);
+                    if (degrees.hasDeadEnds(next) || !degrees.isConnected(next)) {
+                        degrees.unvisit(next); // Poda: el salto deja casillas sin salida o aisladas
+                        prunes++;
+                        continue;
+                    }
+
+                    board[next] = totalMoves;
+                    totalMoves++;
+                    history.push(next);
+                    candidateCount[depth + 1] = degrees.rankMoves(next, candidates, base + 8);
+                    nextDirection[depth + 1] = 0;
+                    advanced = true;
+                    break;
+                }
+
+                if (!advanced) {
+                    if (depth == 0) {
+                        return false;
+                    }
+
+                    int last = history.pop();
+                    board[last] = -1;
+                    degrees.unvisit(last);
+                    totalMoves--;
+                    backtracks++;
+                }
+            }
+
+            return true;
+        } finally {
+            if (stats != null) {
+                stats.add(prunes, backtracks); // Volcar los contadores locales
             }
         }
+    }
 
-        return false; // No se encontró solución desde esta posición
+    /**
+     * Publica una instantánea de la búsqueda si toca según la frecuencia del buzón
+     * @param mailbox buzón de progreso
+     * @param startNanos instante de inicio de la búsqueda
+     * @param startSteps pasos acumulados al iniciar la búsqueda
+     */
+    private void publishProgress(ProgressMailbox mailbox, long startNanos, int startSteps) {
+        long now = System.nanoTime();
+        if (mailbox.isDue(now)) {
+            mailbox.publish(new SolverProgress(
+                    history.size() - 1,
+                    history.toArray(),
+                    steps - startSteps,
+                    now - startNanos
+            ), now);
+        }
+    }
+
+    /**
+     * Establece el buzón donde publicar el progreso de la resolución
+     * @param mailbox buzón de progreso o null para no publicar
+     */
+    public void setProgressMailbox(ProgressMailbox mailbox) {
+        this.progressMailbox = mailbox;
+    }
+
+    /**
+     * Indica si una casilla forma parte del recorrido
+     * @param cell casilla empaquetada
+     * @return true si la pieza debe visitarla
+     */
+    private boolean covers(int cell) {
+        return (blocked == null || !blocked[cell]) && leaper.covers(cell % width, cell / width, startX, startY);
     }
 
     /**
-     * Verifica si un movimiento es válido
-     * @param x posición x
-     * @param y posición y
-     * @return true si el movimiento es válido
+     * Comprueba la paridad de colores del recorrido
+     * Si a + b es impar cada salto cambia de color, así que el recorrido alterna
+     * colores: del color inicial tiene que haber las mismas casillas que del otro
+     * o una más. Con casillas bloqueadas esto descarta muchos tableros sin buscar
+     * @return true si el número de casillas de cada color permite el recorrido
      */
-    private boolean isValidMove(int x, int y) {
-        return (x >= 0 && x < boardSize &&
-                y >= 0 && y < boardSize &&
-                board[y][x] == -1);
+    private boolean isColorBalanced() {
+        if (leaper.isColorbound()) {
+            return true;
+        }
+
+        int startColor = (startX + startY) % 2;
+        int same = 0;
+        int other = 0;
+
+        for (int cell = 0; cell < board.length; cell++) {
+            if (covers(cell)) {
+                if ((cell % width + cell / width) % 2 == startColor) {
+                    same++;
+                } else {
+                    other++;
+                }
+            }
+        }
+
+        return same == other || same == other + 1;
     }
 
     @Override
     public boolean isValidSolution() {
-        // Verificar que todas las casillas han sido visitadas
-        for (int i = 0; i < boardSize; i++) {
-            for (int j = 0; j < boardSize; j++) {
-                if (board[i][j] == -1) {
+        // Posición de cada número de movimiento en el tablero
+        int[] order = new int[targetMoves];
+        int visited = 0;
+
+        for (int i = 0; i < height; i++) {
+            for (int j = 0; j < width; j++) {
+                int move = board[i * width + j];
+                if (move >= targetMoves) {
                     return false;
                 }
+                if (move >= 0) {
+                    order[move] = i * width + j;
+                    visited++;
+                } else if (covers(i * width + j)) {
+                    return false; // Casilla del recorrido sin visitar
+                }
             }
         }
 
-        // Verificar que los movimientos son válidos (cada par de movimientos consecutivos
-        // debe corresponder a un movimiento de caballo)
-        for (int move = 0; move < boardSize * boardSize - 1; move++) {
-            int x1 = -1, y1 = -1, x2 = -1, y2 = -1;
-
-            // Encontrar las posiciones de los movimientos consecutivos
-            for (int i = 0; i < boardSize; i++) {
-                for (int j = 0; j < boardSize; j++) {
-                    if (board[i][j] == move) {
-                        y1 = i;
-                        x1 = j;
-                    } else if (board[i][j] == move + 1) {
-                        y2 = i;
-                        x2 = j;
-                    }
+        if (visited != targetMoves) {
+            return false;
+        }
+
+        // Cada par de movimientos consecutivos debe ser un salto de la pieza
+        for (int move = 0; move < targetMoves - 1; move++) {
+            int dx = order[move + 1] % width - order[move] % width;
+            int dy = order[move + 1] / width - order[move] / width;
+
+            if (!leaper.isMove(dx, dy)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean hasPendingSearch() {
+        return searchPending;
+    }
+
+    @Override
+    public String getPendingAlgorithm() {
+        return pendingWarnsdorff ? "Warnsdorff con poda" : "Backtracking de orden fijo";
+    }
+
+    @Override
+    public void writeSearchState(DataOutput out) throws IOException {
+        if (!searchPending) {
+            throw new IllegalStateException("No hay ninguna búsqueda interrumpida que guardar");
+        }
+
+        getConfig().writeTo(out);
+
+        // Estado: algoritmo, pasos y la pila (casilla y siguiente dirección de cada profundidad)
+        out.writeBoolean(pendingWarnsdorff);
+        ResumableSearch.writeVarInt(out, steps);
+        ResumableSearch.writeVarInt(out, history.size());
+        for (int depth = 0; depth < history.size(); depth++) {
+            ResumableSearch.writeVarInt(out, history.get(depth));
+            ResumableSearch.writeVarInt(out, nextDirection[depth]);
+        }
+
+        // Warnsdorff: candidatos ordenados de cada profundidad (los grados se recalculan)
+        if (pendingWarnsdorff) {
+            for (int depth = 0; depth < history.size(); depth++) {
+                ResumableSearch.writeVarInt(out, candidateCount[depth]);
+                for (int i = 0; i < candidateCount[depth]; i++) {
+                    ResumableSearch.writeVarInt(out, candidates[depth * 8 + i]);
                 }
             }
+        }
+    }
 
-            // Verificar que es un movimiento de caballo válido
-            boolean validKnightMove = false;
-            for (int i = 0; i < 8; i++) {
-                if (x1 + X_MOVES[i] == x2 && y1 + Y_MOVES[i] == y2) {
-                    validKnightMove = true;
-                    break;
+    @Override
+    public void readSearchState(DataInput in) throws IOException {
+        try {
+            initialize(GameConfig.read(in));
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Configuración no válida: " + e.getMessage(), e);
+        }
+
+        boolean warnsdorff = in.readBoolean();
+        int savedSteps = ResumableSearch.readVarInt(in);
+        int depthCount = ResumableSearch.readVarInt(in, 1, targetMoves, "la profundidad de la pila");
+
+        if (warnsdorff && degrees == null) {
+            createWarnsdorffTables();
+        }
+
+        // Reconstruir el tablero a partir de la pila, comprobando que cada salto es legal
+        for (int depth = 0; depth < depthCount; depth++) {
+            int cell = ResumableSearch.readVarInt(in, 0, board.length - 1, "la casilla " + depth);
+            if (depth == 0) {
+                if (cell != history.peek()) {
+                    throw new IOException("La pila no empieza en la posición inicial");
+                }
+            } else {
+                if (board[cell] != -1 || !isNeighbour(history.peek(), cell)) {
+                    throw new IOException("Salto no válido en la profundidad " + depth);
+                }
+                board[cell] = depth;
+                history.push(cell);
+            }
+            nextDirection[depth] = ResumableSearch.readVarInt(in, 0, 8, "la dirección " + depth);
+        }
+        totalMoves = depthCount;
+
+        if (warnsdorff) {
+            for (int depth = 0; depth < depthCount; depth++) {
+                candidateCount[depth] = ResumableSearch.readVarInt(in, 0, 8, "los candidatos " + depth);
+                for (int i = 0; i < candidateCount[depth]; i++) {
+                    candidates[depth * 8 + i] = ResumableSearch.readVarInt(in, 0, board.length - 1,
+                            "un candidato de la profundidad " + depth);
                 }
             }
 
-            if (!validKnightMove) {
-                return false;
+            // Los grados dependen solo de las casillas visitadas
+            degrees.reset();
+            for (int cell = 0; cell < candidateCount.length; cell++) {
+                if (!covers(cell) || board[cell] >= 0) {
+                    degrees.visit(cell);
+                }
+            }
+        }
+
+        this.steps = savedSteps;
+        this.searchPending = true;
+        this.pendingWarnsdorff = warnsdorff;
+    }
+
+    @Override
+    public boolean resumeSearch() {
+        if (!searchPending) {
+            throw new IllegalStateException("No hay ninguna búsqueda interrumpida que reanudar");
+        }
+
+        boolean warnsdorff = pendingWarnsdorff;
+        searchPending = false;
+        return finishSearch(warnsdorff, warnsdorff ? continueWarnsdorff() : continueBacktracking());
+    }
+
+    @Override
+    public void writeSolution(DataOutput out) throws IOException {
+        if (!solved || history.size() != targetMoves) {
+            throw new IllegalStateException("No hay ninguna solución que guardar");
+        }
+
+        // Pasos de la resolución y casillas del recorrido tras la inicial
+        ResumableSearch.writeVarInt(out, steps);
+        for (int depth = 1; depth < targetMoves; depth++) {
+            ResumableSearch.writeVarInt(out, history.get(depth));
+        }
+    }
+
+    @Override
+    public boolean applySolution(DataInput in) throws IOException {
+        if (!initialized) {
+            throw new IllegalStateException("El juego no ha sido inicializado");
+        }
+
+        clearBoard();
+        int savedSteps = ResumableSearch.readVarInt(in);
+
+        // Repetir el recorrido comprobando que cada salto es legal
+        for (int depth = 1; depth < targetMoves; depth++) {
+            int cell = ResumableSearch.readVarInt(in, 0, board.length - 1, "la casilla " + depth);
+            if (board[cell] != -1 || !isNeighbour(history.peek(), cell)) {
+                clearBoard();
+                throw new IOException("Salto no válido en el movimiento " + depth);
             }
+            board[cell] = depth;
+            history.push(cell);
+        }
+        totalMoves = targetMoves;
+
+        if (!isValidSolution()) {
+            clearBoard();
+            return false;
         }
 
+        steps = savedSteps;
+        setCompleted();
         return true;
     }
 
+    /**
+     * Indica si una casilla se alcanza de un salto desde otra
+     * @param from casilla de origen
+     * @param to casilla de destino
+     * @return true si el salto está en la tabla de adyacencia
+     */
+    private boolean isNeighbour(int from, int to) {
+        for (int next : adjacency[from]) {
+            if (next == to) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public GameRecord createRecord(boolean isCompleted) {
         return new KnightRecord(
-                boardSize,
+                leaper.name(),
+                width,
+                height,
+                getBlockedCount(),
                 startX,
                 startY,
                 totalMoves,
@@ -203,22 +704,90 @@ public class KnightGame extends AbstractGame {
         );
     }
 
+    /**
+     * Obtiene la pieza saltadora que realiza el recorrido
+     * @return pieza saltadora
+     */
+    public Leaper getLeaper() {
+        return leaper;
+    }
+
+    /**
+     * Obtiene el número de casillas que debe visitar el recorrido
+     * @return casillas del recorrido completo
+     */
+    public int getTargetMoves() {
+        return targetMoves;
+    }
+
     /**
      * Obtiene el tamaño del tablero
-     * @return tamaño del tablero
+     * @return tamaño del tablero (el ancho en tableros rectangulares)
      */
     public int getBoardSize() {
-        return boardSize;
+        return width;
+    }
+
+    @Override
+    public int getProblemSize() {
+        return Math.max(width, height); // El lado mayor en tableros rectangulares
+    }
+
+    @Override
+    protected int getMaxSearchDepth() {
+        return width * height; // Un nivel por casilla del recorrido
+    }
+
+    /**
+     * Obtiene el ancho del tablero
+     * @return número de columnas
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Obtiene el alto del tablero
+     * @return número de filas
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Indica si una casilla está bloqueada
+     * @param x columna
+     * @param y fila
+     * @return true si la casilla no se puede visitar
+     */
+    public boolean isBlocked(int x, int y) {
+        return blocked != null && blocked[y * width + x];
+    }
+
+    /**
+     * Obtiene el número de casillas bloqueadas
+     * @return casillas bloqueadas del tablero
+     */
+    public int getBlockedCount() {
+        int count = 0;
+        if (blocked != null) {
+            for (boolean cell : blocked) {
+                if (cell) {
+                    count++;
+                }
+            }
+        }
+        return count;
     }
 
     /**
      * Obtiene el tablero con el orden de visita
-     * @return matriz con el orden de visita (-1 si no visitado)
+     * @return matriz [fila][columna] con el orden de visita (-1 si no visitado, BLOCKED si bloqueada)
      */
     public int[][] getBoard() {
-        int[][] copy = new int[boardSize][boardSize];
-        for (int i = 0; i < boardSize; i++) {
-            System.arraycopy(board[i], 0, copy[i], 0, boardSize);
+        int[][] copy = new int[height][width];
+        for (int i = 0; i < height; i++) {
+            System.arraycopy(board, i * width, copy[i], 0, width);
         }
         return copy;
     }
@@ -248,7 +817,7 @@ public class KnightGame extends AbstractGame {
     }
 
     /**
-     * Intenta realizar un movimiento de caballo
+     * Intenta realizar un salto de la pieza
      * @param fromX posición X actual
      * @param fromY posición Y actual
      * @param toX posición X destino
@@ -257,46 +826,116 @@ public class KnightGame extends AbstractGame {
      */
     public boolean move(int fromX, int fromY, int toX, int toY) {
         if (!initialized ||
-                fromX < 0 || fromX >= boardSize ||
-                fromY < 0 || fromY >= boardSize ||
-                toX < 0 || toX >= boardSize ||
-                toY < 0 || toY >= boardSize) {
+                fromX < 0 || fromX >= width ||
+                fromY < 0 || fromY >= height ||
+                toX < 0 || toX >= width ||
+                toY < 0 || toY >= height) {
             return false;
         }
 
         // Verificar que la posición origen tiene el último movimiento
-        if (board[fromY][fromX] != totalMoves - 1) {
+        if (board[fromY * width + fromX] != totalMoves - 1) {
             return false;
         }
 
         // Verificar que la posición destino no ha sido visitada
-        if (board[toY][toX] != -1) {
+        if (board[toY * width + toX] != -1) {
             return false;
         }
 
-        // Verificar que es un movimiento de caballo válido
-        boolean validKnightMove = false;
-        for (int i = 0; i < 8; i++) {
-            if (fromX + X_MOVES[i] == toX && fromY + Y_MOVES[i] == toY) {
-                validKnightMove = true;
-                break;
-            }
+        // Verificar que es un salto válido de la pieza
+        if (!leaper.isMove(toX - fromX, toY - fromY)) {
+            return false;
         }
 
-        if (!validKnightMove) {
+        // Realizar el movimiento (la búsqueda pendiente deja de corresponder al tablero)
+        board[toY * width + toX] = totalMoves;
+        totalMoves++;
+        steps++;
+        history.push(MoveHistory.pack(toX, toY, width));
+        searchPending = false;
+
+        // Comprobar si se ha completado el tablero
+        if (totalMoves == targetMoves && isValidSolution()) {
+            setCompleted();
+        }
+
+        return true;
+    }
+
+    /**
+     * Deshace el último movimiento del caballo
+     * @return true si se pudo deshacer
+     */
+    public boolean undo() {
+        if (!canUndo()) {
+            return false;
+        }
+
+        int cell = history.pop();
+        board[cell] = -1;
+        totalMoves--;
+        steps++;
+        searchPending = false;
+
+        // Un recorrido deshecho deja de estar completo
+        solved = false;
+        endTime = null;
+
+        return true;
+    }
+
+    /**
+     * Rehace el último movimiento deshecho
+     * @return true si se pudo rehacer
+     */
+    public boolean redo() {
+        if (!canRedo()) {
             return false;
         }
 
-        // Realizar el movimiento
-        board[toY][toX] = totalMoves;
+        int cell = history.redo();
+        board[cell] = totalMoves;
         totalMoves++;
         steps++;
+        searchPending = false;
 
-        // Comprobar si se ha completado el tablero
-        if (totalMoves == boardSize * boardSize && isValidSolution()) {
+        if (totalMoves == targetMoves && isValidSolution()) {
             setCompleted();
         }
 
         return true;
     }
+
+    /**
+     * Indica si hay movimientos que deshacer (la casilla inicial no se deshace)
+     * @return true si se puede deshacer
+     */
+    public boolean canUndo() {
+        return initialized && history.size() > 1;
+    }
+
+    /**
+     * Indica si hay movimientos deshechos que se puedan rehacer
+     * @return true si se puede rehacer
+     */
+    public boolean canRedo() {
+        return initialized && history.canRedo();
+    }
+
+    /**
+     * Obtiene la posición X actual del caballo
+     * @return columna de la última casilla visitada
+     */
+    public int getCurrentX() {
+        return MoveHistory.unpackX(history.peek(), width);
+    }
+
+    /**
+     * Obtiene la posición Y actual del caballo
+     * @return fila de la última casilla visitada
+     */
+    public int getCurrentY() {
+        return MoveHistory.unpackY(history.peek(), width);
+    }
 }
\ No newline at end of file
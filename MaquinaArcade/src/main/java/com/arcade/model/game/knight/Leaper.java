@@ -0,0 +1,165 @@
+package com.arcade.model.game.knight;
+
+/**
+ * Pieza saltadora (a,b): se mueve a casillas desplazadas a columnas y b filas
+ * (o b columnas y a filas) en cualquier sentido, saltando por encima del resto
+ * El caballo es el saltador (1,2); el mismo motor de recorridos sirve para
+ * el camello (1,3), la cebra (2,3) y la jirafa (1,4)
+ */
+public enum Leaper {
+    KNIGHT("Caballo", "Recorrido del Caballo", 1, 2, 8),
+    CAMEL("Camello", "Recorrido del Camello", 1, 3, 8),
+    ZEBRA("Cebra", "Recorrido de la Cebra", 2, 3, 10),
+    GIRAFFE("Jirafa", "Recorrido de la Jirafa", 1, 4, 10);
+
+    private final String name;
+    private final String tourName;
+    private final int a;
+    private final int b;
+    private final int defaultBoardSize; // Tablero con recorrido conocido desde la esquina
+    private final int[] xMoves; // Desplazamientos en columnas (8 direcciones)
+    private final int[] yMoves; // Desplazamientos en filas (8 direcciones)
+
+    Leaper(String name, String tourName, int a, int b, int defaultBoardSize) {
+        this.name = name;
+        this.tourName = tourName;
+        this.a = a;
+        this.b = b;
+        this.defaultBoardSize = defaultBoardSize;
+
+        // Mismo orden de direcciones que el caballo clásico: {2,1}, {1,2}, {-1,2}...
+        this.xMoves = new int[] {b, a, -a, -b, -b, -a, a, b};
+        this.yMoves = new int[] {a, b, b, a, -a, -b, -b, -a};
+    }
+
+    /**
+     * Calcula la tabla de adyacencia de la pieza en un tablero
+     * Para cada casilla empaquetada (fila * ancho + columna) guarda las casillas
+     * alcanzables en un salto, en el orden de las direcciones
+     * @param width ancho del tablero
+     * @param height alto del tablero
+     * @return vecinas de cada casilla
+     */
+    public int[][] buildAdjacency(int width, int height) {
+        return buildAdjacency(width, height, null);
+    }
+
+    /**
+     * Calcula la tabla de adyacencia de la pieza en un tablero con casillas bloqueadas
+     * Las casillas bloqueadas no tienen vecinas ni aparecen como vecinas de otras
+     * @param width ancho del tablero
+     * @param height alto del tablero
+     * @param blocked casillas bloqueadas por índice empaquetado (null si no hay)
+     * @return vecinas de cada casilla
+     */
+    public int[][] buildAdjacency(int width, int height, boolean[] blocked) {
+        int[][] adjacency = new int[width * height][];
+        int[] buffer = new int[8];
+
+        for (int cell = 0; cell < adjacency.length; cell++) {
+            int x = cell % width;
+            int y = cell / width;
+            int count = 0;
+
+            for (int i = 0; i < 8 && (blocked == null || !blocked[cell]); i++) {
+                int nextX = x + xMoves[i];
+                int nextY = y + yMoves[i];
+
+                if (nextX >= 0 && nextX < width && nextY >= 0 && nextY < height &&
+                        (blocked == null || !blocked[nextY * width + nextX])) {
+                    buffer[count++] = nextY * width + nextX;
+                }
+            }
+
+            adjacency[cell] = new int[count];
+            System.arraycopy(buffer, 0, adjacency[cell], 0, count);
+        }
+
+        return adjacency;
+    }
+
+    /**
+     * Indica si un desplazamiento corresponde a un salto de la pieza
+     * @param dx diferencia de columnas
+     * @param dy diferencia de filas
+     * @return true si es un salto válido
+     */
+    public boolean isMove(int dx, int dy) {
+        dx = Math.abs(dx);
+        dy = Math.abs(dy);
+        return (dx == a && dy == b) || (dx == b && dy == a);
+    }
+
+    /**
+     * Indica si la pieza queda siempre en casillas del mismo color
+     * Ocurre cuando a + b es par (por ejemplo el camello), y entonces
+     * el recorrido solo puede cubrir las casillas de ese color
+     * @return true si la pieza no cambia de color
+     */
+    public boolean isColorbound() {
+        return (a + b) % 2 == 0;
+    }
+
+    /**
+     * Indica si una casilla forma parte del recorrido que empieza en otra
+     * @param x columna de la casilla
+     * @param y fila de la casilla
+     * @param startX columna inicial
+     * @param startY fila inicial
+     * @return true si la pieza debe visitar la casilla
+     */
+    public boolean covers(int x, int y, int startX, int startY) {
+        return !isColorbound() || (x + y) % 2 == (startX + startY) % 2;
+    }
+
+    /**
+     * Obtiene el lado mínimo de tablero en el que la pieza tiene saltos
+     * en todas las casillas centrales (2b + 1)
+     * @return tamaño mínimo del tablero
+     */
+    public int getMinBoardSize() {
+        return Math.max(5, 2 * b + 1);
+    }
+
+    /**
+     * Obtiene el tamaño de tablero propuesto por defecto para la pieza
+     * @return tamaño por defecto
+     */
+    public int getDefaultBoardSize() {
+        return defaultBoardSize;
+    }
+
+    /**
+     * Obtiene el desplazamiento en columnas de una dirección
+     * @param direction dirección (0-7)
+     * @return desplazamiento en columnas
+     */
+    public int getXMove(int direction) {
+        return xMoves[direction];
+    }
+
+    /**
+     * Obtiene el desplazamiento en filas de una dirección
+     * @param direction dirección (0-7)
+     * @return desplazamiento en filas
+     */
+    public int getYMove(int direction) {
+        return yMoves[direction];
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTourName() {
+        return tourName;
+    }
+
+    public int getA() {
+        return a;
+    }
+
+    public int getB() {
+        return b;
+    }
+}
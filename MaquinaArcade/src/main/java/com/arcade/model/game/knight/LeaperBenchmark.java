@@ -0,0 +1,63 @@
+package com.arcade.model.game.knight;
+
+/**
+ * Banco de pruebas del motor de recorridos para cada pieza saltadora
+ * Resuelve repetidamente un recorrido por pieza (con unas rondas previas de
+ * calentamiento para que el JIT compile el bucle de búsqueda) e imprime el
+ * tiempo medio, los nodos explorados y los nodos por segundo
+ *
+ * Uso: java com.arcade.model.game.knight.LeaperBenchmark [rondas]
+ */
+public class LeaperBenchmark {
+
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int DEFAULT_ROUNDS = 20;
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_ROUNDS;
+
+        System.out.println(String.format("%-10s %8s %10s %14s %12s %14s",
+                "Pieza", "Tablero", "Resuelto", "Nodos", "Media (ms)", "Nodos/s"));
+
+        for (Leaper leaper : Leaper.values()) {
+            run(leaper, leaper.getDefaultBoardSize(), rounds);
+        }
+    }
+
+    /**
+     * Mide el recorrido de una pieza desde la esquina (0,0)
+     * @param leaper pieza saltadora
+     * @param boardSize tamaño del tablero
+     * @param rounds rondas medidas
+     */
+    private static void run(Leaper leaper, int boardSize, int rounds) {
+        KnightGame game = new KnightGame(leaper);
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            game.initialize(boardSize, 0, 0);
+            game.solve();
+        }
+
+        long totalNanos = 0;
+        long totalNodes = 0;
+        boolean solved = true;
+
+        for (int i = 0; i < rounds; i++) {
+            game.initialize(boardSize, 0, 0);
+
+            long start = System.nanoTime();
+            boolean found = game.solve();
+            totalNanos += System.nanoTime() - start;
+
+            solved &= found && game.isValidSolution();
+            totalNodes += game.getSteps();
+        }
+
+        double averageMillis = totalNanos / 1_000_000.0 / rounds;
+        long nodesPerSecond = totalNanos > 0 ? totalNodes * 1_000_000_000L / totalNanos : 0;
+
+        System.out.println(String.format("%-10s %8s %10s %14d %12.3f %14d",
+                leaper.getName(), boardSize + "x" + boardSize, solved ? "sí" : "no",
+                totalNodes / rounds, averageMillis, nodesPerSecond));
+    }
+}
@@ -0,0 +1,167 @@
+package com.arcade.model.game.knight;
+
+/**
+ * Historial de movimientos del caballo basado en una pila de índices de casilla
+ * Cada casilla se empaqueta como un único entero (fila * ancho + columna),
+ * de forma que deshacer y rehacer son operaciones O(1) sin reservar memoria
+ *
+ * La misma pila sirve tanto para la partida manual (deshacer/rehacer)
+ * como para la pila de retroceso del algoritmo de resolución
+ */
+public class MoveHistory {
+
+    private final int[] cells; // Casillas empaquetadas en orden de visita
+    private int size;          // Número de movimientos aplicados
+    private int limit;         // Número de movimientos disponibles para rehacer
+
+    /**
+     * Constructor con capacidad máxima
+     * @param capacity número máximo de casillas (normalmente el total del tablero)
+     */
+    public MoveHistory(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("La capacidad del historial debe ser positiva");
+        }
+        this.cells = new int[capacity];
+        this.size = 0;
+        this.limit = 0;
+    }
+
+    /**
+     * Empaqueta unas coordenadas en un índice de casilla
+     * @param x columna
+     * @param y fila
+     * @param width ancho del tablero
+     * @return índice de la casilla
+     */
+    public static int pack(int x, int y, int width) {
+        return y * width + x;
+    }
+
+    /**
+     * Obtiene la columna de una casilla empaquetada
+     * @param cell índice de la casilla
+     * @param width ancho del tablero
+     * @return columna
+     */
+    public static int unpackX(int cell, int width) {
+        return cell % width;
+    }
+
+    /**
+     * Obtiene la fila de una casilla empaquetada
+     * @param cell índice de la casilla
+     * @param width ancho del tablero
+     * @return fila
+     */
+    public static int unpackY(int cell, int width) {
+        return cell / width;
+    }
+
+    /**
+     * Añade un movimiento al historial
+     * Descarta los movimientos pendientes de rehacer
+     * @param cell casilla empaquetada
+     */
+    public void push(int cell) {
+        cells[size++] = cell;
+        limit = size;
+    }
+
+    /**
+     * Retira el último movimiento aplicado
+     * El movimiento queda disponible para rehacer
+     * @return casilla retirada
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("No hay movimientos que deshacer");
+        }
+        return cells[--size];
+    }
+
+    /**
+     * Vuelve a aplicar el último movimiento deshecho
+     * @return casilla restaurada
+     */
+    public int redo() {
+        if (size >= limit) {
+            throw new IllegalStateException("No hay movimientos que rehacer");
+        }
+        return cells[size++];
+    }
+
+    /**
+     * Obtiene el último movimiento aplicado sin retirarlo
+     * @return casilla empaquetada
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("El historial está vacío");
+        }
+        return cells[size - 1];
+    }
+
+    /**
+     * Obtiene la casilla visitada en una posición del historial
+     * @param index posición (0 es la casilla inicial)
+     * @return casilla empaquetada
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Índice fuera del historial: " + index);
+        }
+        return cells[index];
+    }
+
+    /**
+     * Copia los movimientos aplicados en un array nuevo
+     * @return casillas empaquetadas desde la inicial hasta la actual
+     */
+    public int[] toArray() {
+        int[] copy = new int[size];
+        System.arraycopy(cells, 0, copy, 0, size);
+        return copy;
+    }
+
+    /**
+     * Obtiene el número de movimientos aplicados
+     * @return tamaño del historial
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Indica si hay movimientos que rehacer
+     * @return true si se puede rehacer
+     */
+    public boolean canRedo() {
+        return size < limit;
+    }
+
+    /**
+     * Descarta los movimientos pendientes de rehacer sin cambiar los aplicados
+     * El algoritmo de resolución retrocede con pop, y las ramas que abandona
+     * no deben poder rehacerse en la partida manual
+     */
+    public void discardRedo() {
+        limit = size;
+    }
+
+    /**
+     * Vacía el historial
+     */
+    public void clear() {
+        size = 0;
+        limit = 0;
+    }
+
+    /**
+     * Obtiene la capacidad del historial
+     * @return número máximo de casillas
+     */
+    public int getCapacity() {
+        return cells.length;
+    }
+}
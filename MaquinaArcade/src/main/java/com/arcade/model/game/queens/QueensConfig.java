@@ -0,0 +1,96 @@
+package com.arcade.model.game.queens;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.ResumableSearch;
+
+/**
+ * Configuración inmutable de las N Reinas: el tamaño del tablero
+ */
+public final class QueensConfig implements GameConfig {
+
+    public static final int MIN_SIZE = 4;
+    /**
+     * Tamaño máximo que admite el motor: el tablero ocupa N x N casillas y la
+     * búsqueda por backtracking baja una fila por nivel de recursión
+     */
+    public static final int MAX_SIZE = 1024;
+
+    private final int boardSize;
+    private final int hash;
+
+    /**
+     * Constructor con el tamaño del tablero
+     * @param boardSize tamaño N del tablero (MIN_SIZE a MAX_SIZE)
+     * @throws IllegalArgumentException si el tamaño está fuera de rango
+     */
+    public QueensConfig(int boardSize) {
+        if (boardSize < MIN_SIZE || boardSize > MAX_SIZE) {
+            throw new IllegalArgumentException("El tamaño del tablero debe estar entre " + MIN_SIZE + " y " + MAX_SIZE);
+        }
+
+        this.boardSize = boardSize;
+        this.hash = 31 * QUEENS_TAG + boardSize;
+    }
+
+    /**
+     * Convierte los parámetros sueltos de Game.initialize en una configuración
+     * @param params tamaño del tablero (Integer)
+     * @return configuración validada
+     * @throws IllegalArgumentException si faltan parámetros o no son válidos
+     */
+    public static QueensConfig fromParams(Object... params) {
+        if (params.length < 1 || !(params[0] instanceof Integer)) {
+            throw new IllegalArgumentException("Se requiere el tamaño del tablero (N)");
+        }
+
+        return new QueensConfig((Integer) params[0]);
+    }
+
+    /**
+     * Lee los campos de una configuración (el tipo ya se ha leído)
+     * @param in origen de los datos
+     * @return configuración leída
+     * @throws IOException si hay error al leer
+     */
+    public static QueensConfig readFields(DataInput in) throws IOException {
+        return new QueensConfig(ResumableSearch.readVarInt(in, MIN_SIZE, MAX_SIZE, "el tamaño del tablero"));
+    }
+
+    @Override
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(QUEENS_TAG);
+        ResumableSearch.writeVarInt(out, boardSize);
+    }
+
+    /**
+     * Obtiene el tamaño del tablero
+     * @return tamaño N del tablero
+     */
+    public int getBoardSize() {
+        return boardSize;
+    }
+
+    @Override
+    public int getProblemSize() {
+        return boardSize;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof QueensConfig && ((QueensConfig) other).boardSize == boardSize;
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "QueensConfig[" + boardSize + "]";
+    }
+}
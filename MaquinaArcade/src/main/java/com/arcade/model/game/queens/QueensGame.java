@@ -1,19 +1,39 @@
 package com.arcade.model.game.queens;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.QueenRecord;
 import com.arcade.model.game.AbstractGame;
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.ResumableSearch;
+import com.arcade.model.game.ReusableSolution;
+import com.arcade.model.game.SolverTelemetry;
 
 /**
  * Implementación del juego de las N Reinas
  * Resuelve el problema de colocar N reinas en un tablero de ajedrez
  * sin que ninguna amenace a otra
+ *
+ * La búsqueda por backtracking se puede guardar a medias y reanudar: el
+ * estado de la recursión es el camino de reinas colocadas más la siguiente
+ * columna a probar en la fila donde se detuvo
+ *
+ * La solución depende solo del tamaño del tablero y se guarda como la columna
+ * de cada fila, para reutilizarla desde la caché de soluciones
  */
-public class QueensGame extends AbstractGame {
+public class QueensGame extends AbstractGame implements ResumableSearch, ReusableSolution {
 
     private int boardSize;
     private int[] queens; // Posición de las reinas (índice = fila, valor = columna)
     private boolean[][] board; // true si hay una reina, false si no
+    private long backtracks; // Retrocesos de la búsqueda en curso, para la telemetría
+    private int[] interruptedPath; // Columnas de las filas anteriores a la interrupción (null si no hay)
+    private int interruptedColumn; // Siguiente columna a probar en la fila interrumpida
+    private int[] resumeColumns; // Columna inicial de cada fila al reanudar (null si no se reanuda)
 
     /**
      * Constructor por defecto
@@ -23,21 +43,20 @@ public class QueensGame extends AbstractGame {
     }
 
     @Override
-    public void initialize(Object... params) {
-        super.initialize(params);
-
-        if (params.length < 1 || !(params[0] instanceof Integer)) {
-            throw new IllegalArgumentException("Se requiere el tamaño del tablero (N)");
-        }
-
-        this.boardSize = (Integer) params[0];
+    protected GameConfig createConfig(Object... params) {
+        return QueensConfig.fromParams(params);
+    }
 
-        if (boardSize < 4) {
-            throw new IllegalArgumentException("El tamaño del tablero debe ser al menos 4");
-        }
+    @Override
+    public void initialize(GameConfig config) {
+        QueensConfig queensConfig = requireConfig(config, QueensConfig.class);
+        super.initialize(config);
 
+        this.boardSize = queensConfig.getBoardSize();
         this.queens = new int[boardSize];
         this.board = new boolean[boardSize][boardSize];
+        this.interruptedPath = null;
+        this.resumeColumns = null;
 
         // Inicializar tablero vacío
         for (int i = 0; i < boardSize; i++) {
@@ -50,11 +69,118 @@ public class QueensGame extends AbstractGame {
 
     @Override
     public boolean solve() {
+        return solveWithBacktracking();
+    }
+
+    /**
+     * Resuelve mediante backtracking fila a fila
+     * Encuentra la primera solución en orden lexicográfico, pero el número de
+     * intentos crece de forma exponencial con el tamaño del tablero
+     * @return true si se encontró una solución
+     */
+    public boolean solveWithBacktracking() {
+        clearForSolve();
+        return runBacktracking();
+    }
+
+    /**
+     * Ejecuta el backtracking sobre el tablero preparado y recoge la telemetría
+     * @return true si se encontró una solución
+     */
+    private boolean runBacktracking() {
+        // Resolver usando backtracking
+        SolverTelemetry stats = telemetry;
+        long[] depthNodes = stats != null ? stats.getDepthCounters() : null;
+        backtracks = 0;
+        boolean solved = solveBacktracking(0, depthNodes);
+        resumeColumns = null;
+
+        if (stats != null) {
+            // Cada intento acaba en poda, en retroceso o en una reina que sigue colocada,
+            // así que las podas se deducen al final sin contarlas en la búsqueda
+            long nodes = 0;
+            for (long count : depthNodes) {
+                nodes += count;
+            }
+            stats.add(nodes - backtracks - getPlacedQueens(), backtracks);
+        }
+
+        if (solved) {
+            setCompleted();
+        }
+
+        return solved;
+    }
+
+    /**
+     * Resuelve con la construcción explícita de una solución, sin búsqueda
+     * Las reinas se colocan en las columnas pares y luego en las impares,
+     * corrigiendo el orden cuando N mod 6 es 2 o 3 (los únicos casos en que
+     * esa disposición tiene reinas en la misma diagonal). Coste lineal en N
+     * @return true (hay solución para cualquier N de al menos 4) salvo que se agoten los límites
+     */
+    public boolean solveConstructive() {
+        clearForSolve();
+
+        int[] columns = new int[boardSize];
+        int count = 0;
+        int remainder = boardSize % 6;
+
+        // Columnas numeradas desde 1 como en la construcción original
+        if (remainder == 3) {
+            for (int c = 4; c <= boardSize; c += 2) {
+                columns[count++] = c;
+            }
+            columns[count++] = 2;
+            for (int c = 5; c <= boardSize; c += 2) {
+                columns[count++] = c;
+            }
+            columns[count++] = 1;
+            columns[count++] = 3;
+        } else {
+            for (int c = 2; c <= boardSize; c += 2) {
+                columns[count++] = c;
+            }
+            if (remainder == 2) {
+                columns[count++] = 3;
+                columns[count++] = 1;
+                for (int c = 7; c <= boardSize; c += 2) {
+                    columns[count++] = c;
+                }
+                columns[count++] = 5;
+            } else {
+                for (int c = 1; c <= boardSize; c += 2) {
+                    columns[count++] = c;
+                }
+            }
+        }
+
+        for (int row = 0; row < boardSize; row++) {
+            if (isBudgetExhausted()) {
+                return false;
+            }
+
+            if (telemetry != null) {
+                telemetry.node(row);
+            }
+
+            queens[row] = columns[row] - 1;
+            board[row][queens[row]] = true;
+            steps++;
+        }
+
+        setCompleted();
+        return true;
+    }
+
+    /**
+     * Vacía el tablero antes de resolver
+     */
+    private void clearForSolve() {
         if (!initialized) {
             throw new IllegalStateException("El juego no ha sido inicializado");
         }
 
-        // Reiniciar el tablero para resolver
         for (int i = 0; i < boardSize; i++) {
             queens[i] = -1;
             for (int j = 0; j < boardSize; j++) {
@@ -62,28 +188,58 @@ public class QueensGame extends AbstractGame {
             }
         }
 
-        // Resolver usando backtracking
-        boolean solved = solveBacktracking(0);
+        interruptedPath = null;
+    }
 
-        if (solved) {
-            setCompleted();
+    /**
+     * Cuenta las reinas colocadas en el tablero
+     * @return número de filas con reina
+     */
+    private int getPlacedQueens() {
+        int placed = 0;
+        for (int i = 0; i < boardSize; i++) {
+            if (queens[i] != -1) {
+                placed++;
+            }
         }
-
-        return solved;
+        return placed;
     }
 
     /**
      * Método recursivo para resolver el problema mediante backtracking
      * @param row fila actual
+     * @param depthNodes contadores de intentos por fila de la telemetría (null si no se recoge)
      * @return true si se encontró una solución
      */
-    private boolean solveBacktracking(int row) {
+    private boolean solveBacktracking(int row, long[] depthNodes) {
         if (row >= boardSize) {
             return true; // Todas las reinas colocadas correctamente
         }
 
+        // Al reanudar, cada fila empieza por la columna guardada (solo la primera vez)
+        int firstColumn = 0;
+        if (resumeColumns != null) {
+            firstColumn = resumeColumns[row];
+            resumeColumns[row] = 0;
+        }
+
         // Intentar colocar una reina en cada columna de la fila actual
-        for (int col = 0; col < boardSize; col++) {
+        // La telemetría se suma una vez por llamada: los intentos salen de las
+        // columnas recorridas y los retrocesos de un contador local
+        int col = firstColumn;
+        int undone = 0;
+        boolean solved = false;
+
+        for (; col < boardSize; col++) {
+            if (isBudgetExhausted()) {
+                if (interruptedPath == null) {
+                    // Guardar el punto de la interrupción antes de deshacer la recursión
+                    interruptedPath = Arrays.copyOf(queens, row);
+                    interruptedColumn = col;
+                }
+                break; // Tiempo o nodos agotados, o resolución cancelada
+            }
+
             steps++; // Contar cada intento como un paso
 
             if (isSafePosition(row, col)) {
@@ -92,17 +248,25 @@ public class QueensGame extends AbstractGame {
                 board[row][col] = true;
 
                 // Pasar a la siguiente fila
-                if (solveBacktracking(row + 1)) {
-                    return true;
+                if (solveBacktracking(row + 1, depthNodes)) {
+                    solved = true;
+                    col++; // El intento que lleva a la solución también cuenta
+                    break;
                 }
 
                 // Si no lleva a una solución, retirar la reina (backtrack)
                 queens[row] = -1;
                 board[row][col] = false;
+                undone++;
             }
         }
 
-        return false; // No se pudo colocar una reina en esta fila
+        if (depthNodes != null) {
+            depthNodes[row] += col - firstColumn;
+            backtracks += undone;
+        }
+
+        return solved; // false si no se pudo colocar una reina en esta fila
     }
 
     /**
@@ -163,6 +327,111 @@ public class QueensGame extends AbstractGame {
         return true;
     }
 
+    @Override
+    public boolean hasPendingSearch() {
+        return interruptedPath != null;
+    }
+
+    @Override
+    public String getPendingAlgorithm() {
+        return "Backtracking";
+    }
+
+    @Override
+    public void writeSearchState(DataOutput out) throws IOException {
+        if (interruptedPath == null) {
+            throw new IllegalStateException("No hay ninguna búsqueda interrumpida que guardar");
+        }
+
+        getConfig().writeTo(out);
+
+        // Estado: pasos, camino de reinas y siguiente columna
+        ResumableSearch.writeVarInt(out, steps);
+        ResumableSearch.writeVarInt(out, interruptedPath.length);
+        for (int column : interruptedPath) {
+            ResumableSearch.writeVarInt(out, column);
+        }
+        ResumableSearch.writeVarInt(out, interruptedColumn);
+    }
+
+    @Override
+    public void readSearchState(DataInput in) throws IOException {
+        try {
+            initialize(GameConfig.read(in));
+        } catch (IllegalArgumentException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+
+        int savedSteps = ResumableSearch.readVarInt(in);
+        int rows = ResumableSearch.readVarInt(in, 0, boardSize - 1, "las filas colocadas");
+        int[] path = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            path[row] = ResumableSearch.readVarInt(in, 0, boardSize - 1, "la columna de la fila " + row);
+            if (!isSafePosition(row, path[row])) {
+                throw new IOException("Las reinas guardadas se amenazan en la fila " + row);
+            }
+            queens[row] = path[row];
+            board[row][path[row]] = true;
+        }
+        int column = ResumableSearch.readVarInt(in, 0, boardSize, "la siguiente columna");
+
+        this.steps = savedSteps;
+        this.interruptedPath = path;
+        this.interruptedColumn = column;
+    }
+
+    @Override
+    public boolean resumeSearch() {
+        if (interruptedPath == null) {
+            throw new IllegalStateException("No hay ninguna búsqueda interrumpida que reanudar");
+        }
+
+        int[] path = interruptedPath;
+        int column = interruptedColumn;
+        clearForSolve();
+
+        // Las filas del camino vuelven a colocar su reina y la interrumpida sigue por su columna
+        resumeColumns = new int[boardSize];
+        System.arraycopy(path, 0, resumeColumns, 0, path.length);
+        resumeColumns[path.length] = column;
+
+        return runBacktracking();
+    }
+
+    @Override
+    public void writeSolution(DataOutput out) throws IOException {
+        if (!solved || !isValidSolution()) {
+            throw new IllegalStateException("No hay ninguna solución que guardar");
+        }
+
+        // Pasos de la resolución y columna de cada fila
+        ResumableSearch.writeVarInt(out, steps);
+        for (int column : queens) {
+            ResumableSearch.writeVarInt(out, column);
+        }
+    }
+
+    @Override
+    public boolean applySolution(DataInput in) throws IOException {
+        clearForSolve();
+
+        int savedSteps = ResumableSearch.readVarInt(in);
+        for (int row = 0; row < boardSize; row++) {
+            int column = ResumableSearch.readVarInt(in, 0, boardSize - 1, "la columna de la fila " + row);
+            queens[row] = column;
+            board[row][column] = true;
+        }
+
+        if (!isValidSolution()) {
+            clearForSolve();
+            return false;
+        }
+
+        steps = savedSteps;
+        setCompleted();
+        return true;
+    }
+
     @Override
     public GameRecord createRecord(boolean isCompleted) {
         return new QueenRecord(
@@ -182,6 +451,11 @@ public class QueensGame extends AbstractGame {
         return boardSize;
     }
 
+    @Override
+    public int getProblemSize() {
+        return boardSize;
+    }
+
     /**
      * Obtiene la posición de las reinas
      * @return array con posiciones (índice = fila, valor = columna)
@@ -0,0 +1,629 @@
+package com.arcade.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.arcade.config.GameRegistry;
+import com.arcade.model.entity.GameRecord;
+import com.arcade.model.game.AbstractGame;
+import com.arcade.model.game.CancellationToken;
+import com.arcade.model.game.Game;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
+import com.arcade.model.game.SolverTelemetry;
+import com.arcade.service.ExecutionService;
+import com.arcade.service.GameFactory.GameType;
+import com.arcade.service.GameService;
+import com.arcade.service.GameServiceImpl;
+import com.arcade.service.SolutionCache;
+import com.arcade.util.Constants;
+import com.arcade.util.JsonBuilder;
+import com.arcade.util.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Servicio HTTP local que expone las operaciones de GameService en JSON
+ * Permite que varias máquinas compartan un mismo equipo de resolución. Cada
+ * petición se atiende en un hilo virtual; las resoluciones se envían al
+ * grupo de cálculo de ExecutionService con el presupuesto de la petición.
+ * Cada partida es una sesión de GameRegistry: los juegos de las partidas
+ * eliminadas se reutilizan y las partidas sin uso caducan con el registro
+ *
+ * Rutas:
+ * - POST   /games              {"type":"KNIGHT"}                  crea una partida
+ * - GET    /games/{id}                                            estado de la partida
+ * - POST   /games/{id}/init    {"params":[8,0,0]}                 inicializa
+ * - POST   /games/{id}/step                                       realiza un paso
+ * - POST   /games/{id}/solve   {"budget":{"timeout_ms":5000,"max_nodes":1000000}}
+ * - DELETE /games/{id}                                            cancela y elimina
+ * - GET    /history[?type=QUEENS]                                 historial de partidas
+ *
+ * El tiempo del presupuesto se limita a Constants.SOLVE_TIMEOUT_SECONDS
+ *
+ * Uso: java com.arcade.server.ArcadeHttpServer [puerto] [--cache=DIR]
+ */
+public class ArcadeHttpServer {
+
+    private static final String GAMES_PATH = "/games";
+    private static final String HISTORY_PATH = "/history";
+
+    private final GameService gameService;
+    private final GameRegistry registry = GameRegistry.getInstance();
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>(); // Por id de sesión del registro
+    private final Duration maxTimeout = Duration.ofSeconds(Constants.SOLVE_TIMEOUT_SECONDS);
+    private HttpServer server;
+    private ExecutorService requestExecutor;
+
+    /**
+     * Constructor con el servicio de juegos que atiende las peticiones
+     * @param gameService servicio de juegos
+     */
+    public ArcadeHttpServer(GameService gameService) {
+        this.gameService = gameService;
+    }
+
+    public static void main(String[] args) {
+        int port = Constants.SERVER_PORT;
+        for (String arg : args) {
+            if (arg.startsWith("--cache=")) {
+                // Las soluciones se conservan también en disco entre ejecuciones
+                try {
+                    SolutionCache.getInstance().enableDiskTier(Paths.get(arg.substring("--cache=".length())));
+                } catch (IOException e) {
+                    System.err.println("No se puede usar el directorio de caché: " + e.getMessage());
+                    System.exit(2);
+                }
+            } else {
+                try {
+                    port = Integer.parseInt(arg);
+                } catch (NumberFormatException e) {
+                    System.err.println("Puerto no válido: " + arg);
+                    System.exit(2);
+                }
+            }
+        }
+
+        ArcadeHttpServer httpServer = new ArcadeHttpServer(new GameServiceImpl());
+        try {
+            httpServer.start(port);
+        } catch (IOException e) {
+            System.err.println("Error al iniciar el servicio HTTP: " + e.getMessage());
+            System.exit(1);
+        }
+
+        Runtime.getRuntime().addShutdownHook(new Thread(httpServer::stop));
+        System.out.println("Servicio HTTP escuchando en http://localhost:" + httpServer.getPort() + GAMES_PATH);
+    }
+
+    /**
+     * Inicia el servicio en la interfaz local
+     * @param port puerto (0 para uno libre cualquiera)
+     * @throws IOException si no se puede abrir el puerto
+     */
+    public synchronized void start(int port) throws IOException {
+        if (server != null) {
+            throw new IllegalStateException("El servicio HTTP ya está iniciado");
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        requestExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("arcade-http-", 0).factory());
+        server.setExecutor(requestExecutor);
+        server.createContext(GAMES_PATH, exchange -> handle(exchange, this::handleGames));
+        server.createContext(HISTORY_PATH, exchange -> handle(exchange, this::handleHistory));
+        server.start();
+    }
+
+    /**
+     * Detiene el servicio y cancela las resoluciones en curso
+     */
+    public synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+
+        for (Session session : sessions.values()) {
+            session.cancelSolve();
+        }
+
+        server.stop(1);
+        requestExecutor.shutdownNow();
+        server = null;
+
+        // Los juegos vuelven al grupo del registro cuando ninguna petición los usa
+        for (Session session : sessions.values()) {
+            session.lock.lock();
+            try {
+                registry.closeSession(session.id);
+            } finally {
+                session.lock.unlock();
+            }
+        }
+        sessions.clear();
+
+        System.out.println("Servicio HTTP detenido; " + SolutionCache.getInstance().getMetrics() +
+                "; " + registry.getMetrics());
+    }
+
+    /**
+     * Obtiene el puerto en el que escucha el servicio
+     * @return puerto local
+     */
+    public synchronized int getPort() {
+        if (server == null) {
+            throw new IllegalStateException("El servicio HTTP no está iniciado");
+        }
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Atiende una petición y convierte los errores en respuestas JSON
+     */
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        try {
+            send(exchange, 200, handler.handle(exchange));
+        } catch (RequestException e) {
+            send(exchange, e.status, error(e.getMessage()));
+        } catch (IllegalArgumentException e) {
+            send(exchange, 400, error(e.getMessage()));
+        } catch (IllegalStateException e) {
+            send(exchange, 409, error(e.getMessage()));
+        } catch (RejectedExecutionException e) {
+            send(exchange, 503, error(e.getMessage()));
+        } catch (RuntimeException e) {
+            System.err.println("Error en petición " + exchange.getRequestMethod() + " " +
+                    exchange.getRequestURI() + ": " + e.getMessage());
+            e.printStackTrace();
+            send(exchange, 500, error("Error interno: " + e.getMessage()));
+        } catch (Error e) {
+            // Sin memoria o pila agotada: el cliente recibe un 500 en lugar de un cierre de conexión
+            System.err.println("Error grave en petición " + exchange.getRequestMethod() + " " +
+                    exchange.getRequestURI() + ": " + e);
+            e.printStackTrace();
+            send(exchange, 500, error("Error interno: " + e));
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Rutas de /games
+     */
+    private JsonBuilder handleGames(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        String[] parts = exchange.getRequestURI().getPath().substring(GAMES_PATH.length()).split("/");
+        // parts[0] es la cadena vacía anterior a la primera barra
+
+        if (parts.length <= 1) {
+            requireMethod(method, "POST");
+            return createGame(readBody(exchange));
+        }
+
+        Session session = findSession(parts[1]);
+        if (session == null) {
+            throw new RequestException(404, "No existe la partida " + parts[1]);
+        }
+
+        if (parts.length == 2) {
+            if (method.equals("DELETE")) {
+                deleteGame(session);
+                return new JsonBuilder().add("id", session.id).add("deleted", true);
+            }
+            requireMethod(method, "GET");
+            return describe(session);
+        }
+
+        if (parts.length != 3) {
+            throw new RequestException(404, "Ruta desconocida: " + exchange.getRequestURI().getPath());
+        }
+
+        requireMethod(method, "POST");
+        Map<String, Object> body = readBody(exchange);
+        switch (parts[2]) {
+            case "init":
+                return initGame(session, body);
+            case "step":
+                return stepGame(session);
+            case "solve":
+                return solveGame(session, body);
+            default:
+                throw new RequestException(404, "Operación desconocida: " + parts[2]);
+        }
+    }
+
+    private JsonBuilder createGame(Map<String, Object> body) {
+        Object type = body.get("type");
+        if (!(type instanceof String)) {
+            throw new IllegalArgumentException("Se requiere el tipo de juego");
+        }
+        GameType gameType = parseType((String) type);
+
+        // Las partidas que el registro ha dado por caducadas no cuentan para el máximo
+        sessions.values().removeIf(session -> session.registrySession.isClosed());
+        if (sessions.size() >= Constants.SERVER_MAX_SESSIONS) {
+            throw new RequestException(503, "Se ha alcanzado el máximo de " + Constants.SERVER_MAX_SESSIONS + " partidas");
+        }
+
+        GameRegistry.Session registrySession = registry.openSession();
+        Session session = new Session(gameType, registrySession);
+        sessions.put(session.id, session);
+        return describe(session);
+    }
+
+    /**
+     * Busca una partida y renueva su sesión en el registro
+     * @return partida o null si no existe o su sesión ha caducado
+     */
+    private Session findSession(String id) {
+        Session session = sessions.get(id);
+        if (session != null && registry.getSession(id) == null) {
+            sessions.remove(id, session);
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * Cancela la resolución en curso y devuelve el juego al grupo del registro
+     * Se espera a que la petición que usa la partida termine, para no
+     * reiniciar un juego que aún se está resolviendo
+     */
+    private void deleteGame(Session session) {
+        sessions.remove(session.id, session);
+        session.cancelSolve();
+
+        session.lock.lock();
+        try {
+            registry.closeSession(session.id);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private JsonBuilder initGame(Session session, Map<String, Object> body) {
+        Object[] params = toParams(body.get("params"));
+        checkLimits(session.type, params);
+
+        session.lockOrFail();
+        try {
+            // Si la inicialización falla, la partida queda sin inicializar y no a medias
+            session.initialized = false;
+            gameService.initializeGame(session.game, params);
+            session.initialized = true;
+            return describe(session);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private JsonBuilder stepGame(Session session) {
+        session.lockOrFail();
+        try {
+            session.requireInitialized();
+            boolean advanced = gameService.stepGame(session.game);
+            return describe(session).add("advanced", advanced);
+        } finally {
+            session.lock.unlock();
+        }
+    }
+
+    private JsonBuilder solveGame(Session session, Map<String, Object> body) {
+        CancellationToken token = new CancellationToken();
+        SolveOptions options = parseBudget(body.get("budget"), token);
+
+        session.lockOrFail();
+        try {
+            session.requireInitialized();
+            session.solveToken = token;
+
+            // La resolución ocupa un hilo de cálculo; el hilo virtual de la petición solo espera
+            Future<SolveResult> future = ExecutionService.getInstance().submitCpu(
+                    () -> gameService.solveGame(session.game, options), ExecutionService.Priority.HIGH);
+            SolveResult result = await(future, token);
+
+            JsonBuilder json = describe(session)
+                    .add("status", result.getStatus().name())
+                    .add("algorithm", result.getAlgorithm())
+                    .add("nodes", result.getNodes())
+                    .add("elapsed_ms", result.getElapsedNanos() / 1e6)
+                    .add("nodes_per_second", result.getNodesPerSecond());
+
+            SolverTelemetry telemetry = result.getTelemetry();
+            if (telemetry != null) {
+                json.add("telemetry", new JsonBuilder()
+                        .add("prunes", telemetry.getPrunes())
+                        .add("backtracks", telemetry.getBacktracks())
+                        .add("max_depth", telemetry.getMaxDepth()));
+            }
+            return json;
+        } finally {
+            session.solveToken = null;
+            session.lock.unlock();
+        }
+    }
+
+    /**
+     * Ruta /history
+     */
+    private JsonBuilder handleHistory(HttpExchange exchange) {
+        requireMethod(exchange.getRequestMethod(), "GET");
+
+        GameType type = null;
+        String query = exchange.getRequestURI().getQuery();
+        if (query != null) {
+            for (String pair : query.split("&")) {
+                if (pair.startsWith("type=")) {
+                    type = parseType(pair.substring("type=".length()));
+                }
+            }
+        }
+
+        List<JsonBuilder> records = new ArrayList<>();
+        for (GameRecord record : gameService.getGameHistory(type)) {
+            records.add(new JsonBuilder()
+                    .add("id", record.getId())
+                    .add("type", record.getGameType())
+                    .add("steps", record.getSteps())
+                    .add("completed", record.isCompleted())
+                    .add("start_time", record.getStartTime() != null ? record.getStartTime().toString() : null)
+                    .add("end_time", record.getEndTime() != null ? record.getEndTime().toString() : null)
+                    .add("elapsed_seconds", record.getElapsedTimeSeconds())
+                    .add("solve_nodes", record.getSolveNodes())
+                    .add("solve_nanos", record.getSolveNanos()));
+        }
+
+        return new JsonBuilder().add("count", records.size()).add("records", records);
+    }
+
+    /**
+     * Convierte el presupuesto de la petición en opciones de resolución
+     * Sin presupuesto se usa el tiempo máximo del servicio y nodos sin límite
+     */
+    private SolveOptions parseBudget(Object value, CancellationToken token) {
+        long timeoutMillis = maxTimeout.toMillis();
+        long maxNodes = Long.MAX_VALUE;
+
+        if (value != null) {
+            if (!(value instanceof Map)) {
+                throw new IllegalArgumentException("El presupuesto debe ser un objeto");
+            }
+            Map<?, ?> budget = (Map<?, ?>) value;
+            timeoutMillis = Math.min(timeoutMillis, longField(budget, "timeout_ms", timeoutMillis));
+            maxNodes = longField(budget, "max_nodes", maxNodes);
+        }
+
+        if (timeoutMillis <= 0 || maxNodes <= 0) {
+            throw new IllegalArgumentException("El presupuesto debe ser positivo");
+        }
+        return new SolveOptions(Duration.ofMillis(timeoutMillis), maxNodes, token);
+    }
+
+    private static long longField(Map<?, ?> object, String name, long defaultValue) {
+        Object value = object.get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        if (!(value instanceof Long)) {
+            throw new IllegalArgumentException("El campo " + name + " debe ser un entero");
+        }
+        return (Long) value;
+    }
+
+    /**
+     * Convierte los parámetros JSON en los que espera Game.initialize
+     * Los enteros pasan a Integer y los arrays de booleanos a boolean[] (máscaras)
+     */
+    private static Object[] toParams(Object value) {
+        if (value == null) {
+            return new Object[0];
+        }
+        if (!(value instanceof List)) {
+            throw new IllegalArgumentException("Los parámetros deben ser un array");
+        }
+
+        List<?> list = (List<?>) value;
+        Object[] params = new Object[list.size()];
+        for (int i = 0; i < params.length; i++) {
+            Object item = list.get(i);
+            if (item instanceof Long) {
+                long number = (Long) item;
+                if (number < Integer.MIN_VALUE || number > Integer.MAX_VALUE) {
+                    throw new IllegalArgumentException("Parámetro fuera de rango en la posición " + i);
+                }
+                params[i] = (int) number;
+            } else if (item instanceof List) {
+                List<?> bits = (List<?>) item;
+                boolean[] mask = new boolean[bits.size()];
+                for (int b = 0; b < mask.length; b++) {
+                    if (!(bits.get(b) instanceof Boolean)) {
+                        throw new IllegalArgumentException("La máscara de la posición " + i + " debe tener solo booleanos");
+                    }
+                    mask[b] = (Boolean) bits.get(b);
+                }
+                params[i] = mask;
+            } else if (item == null || item instanceof Boolean) {
+                params[i] = item;
+            } else {
+                throw new IllegalArgumentException("Parámetro no admitido en la posición " + i + ": " + item);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Rechaza tableros mayores que los límites de la aplicación antes de crear
+     * la partida, para que una petición no pueda reservar memoria sin control
+     * Reinas: (N); piezas saltadoras: (tamaño, x, y) o (ancho, alto, x, y[, máscara]);
+     * Hanói: (discos[, postes])
+     */
+    private static void checkLimits(GameType type, Object[] params) {
+        switch (type) {
+            case QUEENS:
+                checkMax(params, 0, Constants.MAX_QUEENS_SIZE, "El tamaño del tablero");
+                break;
+            case HANOI:
+            case HANOI_MULTIPEG:
+                checkMax(params, 0, Constants.MAX_HANOI_DISKS, "El número de discos");
+                checkMax(params, 1, Constants.MAX_HANOI_PEGS, "El número de postes");
+                break;
+            default:
+                // En la forma cuadrada la segunda posición es la columna inicial, menor que el tamaño
+                checkMax(params, 0, Constants.MAX_LEAPER_SIZE, "Las dimensiones del tablero");
+                checkMax(params, 1, Constants.MAX_LEAPER_SIZE, "Las dimensiones del tablero");
+                break;
+        }
+    }
+
+    private static void checkMax(Object[] params, int index, int max, String what) {
+        if (index < params.length && params[index] instanceof Integer && (Integer) params[index] > max) {
+            throw new IllegalArgumentException(what + " no puede superar " + max);
+        }
+    }
+
+    private static GameType parseType(String type) {
+        try {
+            return GameType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Tipo de juego desconocido: " + type);
+        }
+    }
+
+    private static JsonBuilder describe(Session session) {
+        JsonBuilder json = new JsonBuilder()
+                .add("id", session.id)
+                .add("type", session.type.name())
+                .add("name", session.game.getName())
+                .add("initialized", session.initialized);
+
+        if (session.initialized) {
+            json.add("problem_size", session.game.getProblemSize());
+            if (session.game instanceof AbstractGame) {
+                AbstractGame game = (AbstractGame) session.game;
+                json.add("steps", game.getSteps()).add("solved", game.isSolved());
+            }
+        }
+        return json;
+    }
+
+    private static SolveResult await(Future<SolveResult> future, CancellationToken token) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            token.cancel(); // El servicio se está deteniendo
+            Thread.currentThread().interrupt();
+            throw new RequestException(503, "Resolución interrumpida");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Error al resolver: " + cause.getMessage(), cause);
+        }
+    }
+
+    private static void requireMethod(String method, String expected) {
+        if (!method.equals(expected)) {
+            throw new RequestException(405, "Método no permitido: " + method);
+        }
+    }
+
+    private static Map<String, Object> readBody(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readNBytes(Constants.SERVER_MAX_BODY_BYTES + 1);
+        if (body.length > Constants.SERVER_MAX_BODY_BYTES) {
+            throw new RequestException(413, "La petición supera " + Constants.SERVER_MAX_BODY_BYTES + " bytes");
+        }
+        return JsonParser.parseObject(new String(body, StandardCharsets.UTF_8));
+    }
+
+    private static JsonBuilder error(String message) {
+        return new JsonBuilder().add("error", message);
+    }
+
+    private static void send(HttpExchange exchange, int status, JsonBuilder body) throws IOException {
+        byte[] bytes = body.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Manejador de una ruta que devuelve el cuerpo JSON de la respuesta
+     */
+    @FunctionalInterface
+    private interface Handler {
+        JsonBuilder handle(HttpExchange exchange) throws IOException;
+    }
+
+    /**
+     * Error con el código HTTP que se debe devolver
+     */
+    private static final class RequestException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        RequestException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+
+    /**
+     * Partida creada por un cliente, con su sesión y su juego del registro
+     * El cerrojo impide que dos peticiones usen a la vez la misma partida; una
+     * petición que lo encuentra ocupado recibe un 409 en lugar de esperar
+     */
+    private static final class Session {
+        private final String id;
+        private final GameType type;
+        private final GameRegistry.Session registrySession;
+        private final Game game;
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile boolean initialized;
+        private volatile CancellationToken solveToken; // Resolución en curso (null si no hay)
+
+        Session(GameType type, GameRegistry.Session registrySession) {
+            this.id = registrySession.getId();
+            this.type = type;
+            this.registrySession = registrySession;
+            this.game = registrySession.getGame(type);
+        }
+
+        void lockOrFail() {
+            if (!lock.tryLock()) {
+                throw new IllegalStateException("La partida " + id + " está ocupada con otra petición");
+            }
+        }
+
+        void requireInitialized() {
+            if (!initialized) {
+                throw new IllegalStateException("La partida " + id + " no ha sido inicializada");
+            }
+        }
+
+        void cancelSolve() {
+            CancellationToken token = solveToken;
+            if (token != null) {
+                token.cancel();
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.arcade.server;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+
+import com.arcade.config.GameRegistry;
+import com.arcade.service.GameServiceImpl;
+import com.arcade.util.JsonParser;
+
+/**
+ * Comprobación del servicio HTTP sobre la interfaz local
+ * Inicia ArcadeHttpServer en un puerto libre y recorre el ciclo de vida de
+ * una partida: crear, inicializar, avanzar, resolver, conflicto (409) y
+ * eliminar, además de los tableros fuera de límites y de la reutilización
+ * del juego a través de GameRegistry. Termina con código 1
+ * si alguna respuesta no es la esperada
+ *
+ * Uso: java com.arcade.server.ArcadeHttpServerCheck
+ */
+public class ArcadeHttpServerCheck {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final String baseUrl;
+    private int failures;
+
+    private ArcadeHttpServerCheck(int port) {
+        this.baseUrl = "http://localhost:" + port;
+    }
+
+    public static void main(String[] args) throws Exception {
+        ArcadeHttpServer server = new ArcadeHttpServer(new GameServiceImpl());
+        server.start(0);
+
+        int failures;
+        try {
+            failures = new ArcadeHttpServerCheck(server.getPort()).run();
+        } finally {
+            server.stop();
+        }
+
+        System.out.println(failures == 0 ? "Servicio HTTP correcto" : failures + " comprobaciones fallidas");
+        System.exit(failures == 0 ? 0 : 1);
+    }
+
+    /**
+     * Ejecuta todas las comprobaciones
+     * @return número de comprobaciones fallidas
+     */
+    private int run() throws IOException, InterruptedException {
+        Map<String, Object> created = expect("crear", 200, "POST", "/games", "{\"type\":\"KNIGHT\"}");
+        String id = (String) created.get("id");
+        if (id == null) {
+            fail("crear", "la respuesta no tiene id: " + created);
+            return failures;
+        }
+        String game = "/games/" + id;
+
+        // Avanzar antes de inicializar es un conflicto con el estado de la partida
+        expect("avanzar sin inicializar", 409, "POST", game + "/step", "{}");
+
+        // Tableros fuera de límites: se rechazan sin reservar memoria
+        expect("tablero enorme", 400, "POST", game + "/init", "{\"params\":[46341,46341,0,0]}");
+        expect("tablero grande", 400, "POST", game + "/init", "{\"params\":[20000,20000,0,0]}");
+        expectField("estado tras rechazo", expect("estado tras rechazo", 200, "GET", game, null),
+                "initialized", false);
+
+        expectField("inicializar", expect("inicializar", 200, "POST", game + "/init", "{\"params\":[8,0,0]}"),
+                "initialized", true);
+        expectField("avanzar", expect("avanzar", 200, "POST", game + "/step", "{}"), "advanced", true);
+        expectField("resolver", expect("resolver", 200, "POST", game + "/solve",
+                "{\"budget\":{\"timeout_ms\":5000}}"), "status", "SOLVED");
+
+        expect("operación desconocida", 404, "POST", game + "/jump", "{}");
+        expect("método no permitido", 405, "PUT", game, "{}");
+
+        expectField("eliminar", expect("eliminar", 200, "DELETE", game, null), "deleted", true);
+        expect("consultar eliminada", 404, "GET", game, null);
+
+        // El juego de la partida eliminada vuelve al grupo del registro y se reutiliza sin inicializar
+        long reused = GameRegistry.getInstance().getMetrics().getGamesReused();
+        Map<String, Object> again = expect("crear de nuevo", 200, "POST", "/games", "{\"type\":\"KNIGHT\"}");
+        expectField("crear de nuevo", again, "initialized", false);
+        if (GameRegistry.getInstance().getMetrics().getGamesReused() != reused + 1) {
+            fail("crear de nuevo", "el juego no se ha tomado del grupo del registro");
+        }
+        expect("eliminar de nuevo", 200, "DELETE", "/games/" + again.get("id"), null);
+
+        return failures;
+    }
+
+    /**
+     * Envía una petición y comprueba el código de respuesta
+     * @return cuerpo JSON de la respuesta
+     */
+    private Map<String, Object> expect(String name, int status, String method, String path, String body)
+            throws IOException, InterruptedException {
+        HttpRequest.BodyPublisher publisher = body != null
+                ? HttpRequest.BodyPublishers.ofString(body) : HttpRequest.BodyPublishers.noBody();
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .method(method, publisher)
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != status) {
+            fail(name, "se esperaba " + status + " y se recibió " + response.statusCode() + " " + response.body());
+        } else {
+            System.out.println("OK   " + name + " (" + status + ")");
+        }
+        return JsonParser.parseObject(response.body());
+    }
+
+    private void expectField(String name, Map<String, Object> json, String field, Object expected) {
+        if (!expected.equals(json.get(field))) {
+            fail(name, field + " = " + json.get(field) + " en lugar de " + expected);
+        }
+    }
+
+    private void fail(String name, String message) {
+        failures++;
+        System.out.println("FALLO " + name + ": " + message);
+    }
+}
@@ -0,0 +1,342 @@
+package com.arcade.service;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Servicio central de ejecución de tareas en segundo plano
+ * Implementa el patrón Singleton. Toda la aplicación envía aquí el trabajo
+ * que no debe bloquear el hilo de JavaFX, en lugar de crear hilos sueltos:
+ *
+ * - Cálculo (resoluciones): un grupo acotado de hilos de plataforma, uno por
+ *   núcleo, con cola por prioridad y un límite de tareas pendientes; si la
+ *   cola está llena la tarea se rechaza en vez de acumularse
+ * - Entrada/salida (base de datos, ficheros): un hilo virtual por tarea
+ *
+ * Lleva métricas de tareas enviadas, terminadas, fallidas y rechazadas
+ */
+public class ExecutionService {
+
+    /**
+     * Prioridad de una tarea de cálculo
+     * Las de mayor prioridad salen antes de la cola; a igual prioridad, por orden de llegada
+     */
+    public enum Priority {
+        HIGH,   // Acciones que el usuario está esperando
+        NORMAL, // Trabajo por lotes
+        LOW     // Trabajo de fondo que puede esperar
+    }
+
+    public static final int DEFAULT_CPU_QUEUE_LIMIT = 64;
+
+    private static ExecutionService instance;
+
+    private final int cpuThreads;
+    private final ThreadPoolExecutor cpuPool;
+    private final Semaphore cpuSlots; // Tareas en ejecución más tareas en cola
+    private final ExecutorService ioExecutor;
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicLong cpuSubmitted = new AtomicLong();
+    private final AtomicLong cpuCompleted = new AtomicLong();
+    private final AtomicLong cpuFailed = new AtomicLong();
+    private final AtomicLong cpuRejected = new AtomicLong();
+    private final AtomicLong cpuBusyNanos = new AtomicLong();
+    private final AtomicLong ioSubmitted = new AtomicLong();
+    private final AtomicLong ioCompleted = new AtomicLong();
+    private final AtomicLong ioFailed = new AtomicLong();
+    private final AtomicInteger ioActive = new AtomicInteger();
+
+    /**
+     * Constructor privado para evitar instanciación directa (Singleton)
+     */
+    private ExecutionService() {
+        this(Runtime.getRuntime().availableProcessors(), DEFAULT_CPU_QUEUE_LIMIT);
+    }
+
+    /**
+     * Constructor con el tamaño del grupo de cálculo y el límite de la cola
+     * @param cpuThreads hilos de cálculo
+     * @param cpuQueueLimit tareas de cálculo que pueden esperar en cola
+     */
+    private ExecutionService(int cpuThreads, int cpuQueueLimit) {
+        this.cpuThreads = cpuThreads;
+        this.cpuSlots = new Semaphore(cpuThreads + cpuQueueLimit);
+        this.cpuPool = new ThreadPoolExecutor(cpuThreads, cpuThreads, 60, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<>(), platformFactory("arcade-cpu-"));
+        this.cpuPool.allowCoreThreadTimeOut(true);
+        this.ioExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("arcade-io-", 0).factory());
+    }
+
+    /**
+     * Método para obtener la instancia única del servicio
+     * @return instancia de ExecutionService
+     */
+    public static synchronized ExecutionService getInstance() {
+        if (instance == null) {
+            instance = new ExecutionService();
+        }
+        return instance;
+    }
+
+    /**
+     * Envía una tarea de cálculo al grupo acotado
+     * @param task tarea a ejecutar
+     * @param priority prioridad en la cola
+     * @return futuro de la tarea
+     * @throws RejectedExecutionException si la cola está llena o el servicio está cerrado
+     */
+    public <T> Future<T> submitCpu(Callable<T> task, Priority priority) {
+        if (!cpuSlots.tryAcquire()) {
+            cpuRejected.incrementAndGet();
+            throw new RejectedExecutionException("Hay demasiadas tareas de cálculo pendientes (" +
+                    cpuPool.getQueue().size() + " en cola)");
+        }
+
+        CpuTask<T> cpuTask = new CpuTask<>(task, priority, sequence.getAndIncrement());
+        try {
+            cpuPool.execute(cpuTask);
+        } catch (RejectedExecutionException e) {
+            cpuSlots.release();
+            cpuRejected.incrementAndGet();
+            throw e;
+        }
+
+        cpuSubmitted.incrementAndGet();
+        return cpuTask;
+    }
+
+    /**
+     * Envía una tarea de cálculo sin resultado al grupo acotado
+     * @param task tarea a ejecutar
+     * @param priority prioridad en la cola
+     * @return futuro de la tarea
+     */
+    public Future<?> submitCpu(Runnable task, Priority priority) {
+        return submitCpu(Executors.callable(task), priority);
+    }
+
+    /**
+     * Ejecuta una tarea de entrada/salida en un hilo virtual
+     * @param task tarea a ejecutar
+     * @return futuro de la tarea
+     */
+    public <T> Future<T> submitIo(Callable<T> task) {
+        ioSubmitted.incrementAndGet();
+        return ioExecutor.submit(() -> {
+            ioActive.incrementAndGet();
+            try {
+                T result = task.call();
+                ioCompleted.incrementAndGet();
+                return result;
+            } catch (Exception | Error e) {
+                ioFailed.incrementAndGet();
+                System.err.println("Error en tarea de entrada/salida: " + e.getMessage());
+                throw e;
+            } finally {
+                ioActive.decrementAndGet();
+            }
+        });
+    }
+
+    /**
+     * Ejecuta una tarea de entrada/salida sin resultado en un hilo virtual
+     * @param task tarea a ejecutar
+     * @return futuro de la tarea
+     */
+    public Future<?> submitIo(Runnable task) {
+        return submitIo(Executors.callable(task));
+    }
+
+    /**
+     * Obtiene una instantánea de las métricas del servicio
+     * @return métricas actuales
+     */
+    public Metrics getMetrics() {
+        return new Metrics(
+                cpuThreads,
+                cpuPool.getActiveCount(),
+                cpuPool.getQueue().size(),
+                cpuSubmitted.get(),
+                cpuCompleted.get(),
+                cpuFailed.get(),
+                cpuRejected.get(),
+                cpuBusyNanos.get(),
+                ioActive.get(),
+                ioSubmitted.get(),
+                ioCompleted.get(),
+                ioFailed.get()
+        );
+    }
+
+    /**
+     * Detiene el servicio
+     * Las tareas en curso terminan; las pendientes se descartan
+     */
+    public void shutdown() {
+        cpuPool.shutdownNow();
+        ioExecutor.shutdownNow();
+        System.out.println("Servicio de ejecución detenido: " + getMetrics());
+    }
+
+    private static ThreadFactory platformFactory(String prefix) {
+        // Hilos demonio para no impedir que la aplicación termine
+        return Thread.ofPlatform().name(prefix, 0).daemon(true).factory();
+    }
+
+    /**
+     * Tarea de cálculo ordenable por prioridad y orden de llegada
+     */
+    private final class CpuTask<T> extends FutureTask<T> implements Comparable<CpuTask<?>> {
+        private final Priority priority;
+        private final long order;
+
+        CpuTask(Callable<T> callable, Priority priority, long order) {
+            super(callable);
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            long start = System.nanoTime();
+            try {
+                super.run();
+            } finally {
+                cpuBusyNanos.addAndGet(System.nanoTime() - start);
+            }
+        }
+
+        @Override
+        protected void done() {
+            cpuSlots.release();
+
+            if (isCancelled()) {
+                return;
+            }
+
+            try {
+                get();
+                cpuCompleted.incrementAndGet();
+            } catch (Exception e) {
+                cpuFailed.incrementAndGet();
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                System.err.println("Error en tarea de cálculo: " + cause.getMessage());
+                cause.printStackTrace();
+            }
+        }
+
+        @Override
+        public int compareTo(CpuTask<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+    }
+
+    /**
+     * Instantánea inmutable de las métricas del servicio
+     */
+    public static final class Metrics {
+        private final int cpuThreads;
+        private final int cpuActive;
+        private final int cpuQueued;
+        private final long cpuSubmitted;
+        private final long cpuCompleted;
+        private final long cpuFailed;
+        private final long cpuRejected;
+        private final long cpuBusyNanos;
+        private final int ioActive;
+        private final long ioSubmitted;
+        private final long ioCompleted;
+        private final long ioFailed;
+
+        Metrics(int cpuThreads, int cpuActive, int cpuQueued, long cpuSubmitted, long cpuCompleted,
+                long cpuFailed, long cpuRejected, long cpuBusyNanos, int ioActive, long ioSubmitted,
+                long ioCompleted, long ioFailed) {
+            this.cpuThreads = cpuThreads;
+            this.cpuActive = cpuActive;
+            this.cpuQueued = cpuQueued;
+            this.cpuSubmitted = cpuSubmitted;
+            this.cpuCompleted = cpuCompleted;
+            this.cpuFailed = cpuFailed;
+            this.cpuRejected = cpuRejected;
+            this.cpuBusyNanos = cpuBusyNanos;
+            this.ioActive = ioActive;
+            this.ioSubmitted = ioSubmitted;
+            this.ioCompleted = ioCompleted;
+            this.ioFailed = ioFailed;
+        }
+
+        public int getCpuThreads() {
+            return cpuThreads;
+        }
+
+        public int getCpuActive() {
+            return cpuActive;
+        }
+
+        public int getCpuQueued() {
+            return cpuQueued;
+        }
+
+        public long getCpuSubmitted() {
+            return cpuSubmitted;
+        }
+
+        public long getCpuCompleted() {
+            return cpuCompleted;
+        }
+
+        public long getCpuFailed() {
+            return cpuFailed;
+        }
+
+        public long getCpuRejected() {
+            return cpuRejected;
+        }
+
+        /**
+         * Obtiene el tiempo total que los hilos de cálculo han estado ocupados
+         * @return tiempo en nanosegundos
+         */
+        public long getCpuBusyNanos() {
+            return cpuBusyNanos;
+        }
+
+        public int getIoActive() {
+            return ioActive;
+        }
+
+        public long getIoSubmitted() {
+            return ioSubmitted;
+        }
+
+        public long getIoCompleted() {
+            return ioCompleted;
+        }
+
+        public long getIoFailed() {
+            return ioFailed;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("cálculo[hilos=%d, activas=%d, en cola=%d, enviadas=%d, terminadas=%d, " +
+                            "fallidas=%d, rechazadas=%d, ocupado=%.1f s] e/s[activas=%d, enviadas=%d, " +
+                            "terminadas=%d, fallidas=%d]",
+                    cpuThreads, cpuActive, cpuQueued, cpuSubmitted, cpuCompleted, cpuFailed, cpuRejected,
+                    cpuBusyNanos / 1e9, ioActive, ioSubmitted, ioCompleted, ioFailed);
+        }
+    }
+}
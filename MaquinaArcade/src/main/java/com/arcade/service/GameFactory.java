@@ -3,7 +3,10 @@ package com.arcade.service;
 import com.arcade.model.game.Game;
 import com.arcade.model.game.queens.QueensGame;
 import com.arcade.model.game.knight.KnightGame;
+import com.arcade.model.game.knight.Leaper;
+import com.arcade.model.game.hanoi.FrameStewart;
 import com.arcade.model.game.hanoi.HanoiGame;
+import com.arcade.util.Constants;
 
 /**
  * Fábrica de juegos que implementa el patrón Factory Method
@@ -15,7 +18,11 @@ public class GameFactory {
     public enum GameType {
         QUEENS("N Reinas", "Coloca N reinas en un tablero sin que se amenacen"),
         KNIGHT("Recorrido del Caballo", "Recorre todo el tablero de ajedrez con el caballo"),
-        HANOI("Torres de Hanoi", "Mueve todos los discos de una torre a otra")
+        CAMEL("Recorrido del Camello", "Recorre las casillas de un color con saltos (1,3)"),
+        ZEBRA("Recorrido de la Cebra", "Recorre todo el tablero con saltos (2,3)"),
+        GIRAFFE("Recorrido de la Jirafa", "Recorre todo el tablero con saltos (1,4)"),
+        HANOI("Torres de Hanoi", "Mueve todos los discos de una torre a otra"),
+        HANOI_MULTIPEG("Torres de Hanoi (k postes)", "Mueve la torre con 4 o más postes (acertijo de Reve)")
         ;
 
         private final String name;
@@ -45,14 +52,84 @@ public class GameFactory {
             case QUEENS:
                 return new QueensGame();
             case KNIGHT:
-                return new KnightGame();
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
+                return new KnightGame(getLeaper(type));
             case HANOI:
-                return new HanoiGame();
+            case HANOI_MULTIPEG:
+                return new HanoiGame(getDefaultPegs(type));
             default:
                 throw new IllegalArgumentException("Tipo de juego no soportado: " + type);
         }
     }
 
+    /**
+     * Obtiene la pieza saltadora de un tipo de recorrido
+     * @param type tipo de juego
+     * @return pieza saltadora o null si el tipo no es un recorrido
+     */
+    public static Leaper getLeaper(GameType type) {
+        switch (type) {
+            case KNIGHT:
+                return Leaper.KNIGHT;
+            case CAMEL:
+                return Leaper.CAMEL;
+            case ZEBRA:
+                return Leaper.ZEBRA;
+            case GIRAFFE:
+                return Leaper.GIRAFFE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Obtiene los postes con los que empieza un tipo de Torres de Hanoi
+     * @param type tipo de juego
+     * @return postes por defecto (0 si el tipo no es de Hanoi)
+     */
+    public static int getDefaultPegs(GameType type) {
+        switch (type) {
+            case HANOI:
+                return FrameStewart.MIN_PEGS;
+            case HANOI_MULTIPEG:
+                return Constants.DEFAULT_HANOI_PEGS;
+            default:
+                return 0;
+        }
+    }
+
+    /**
+     * Obtiene el tipo de un juego ya creado
+     * @param game juego
+     * @return tipo de juego correspondiente
+     */
+    public static GameType getGameType(Game game) {
+        if (game instanceof QueensGame) {
+            return GameType.QUEENS;
+        }
+
+        if (game instanceof KnightGame) {
+            switch (((KnightGame) game).getLeaper()) {
+                case CAMEL:
+                    return GameType.CAMEL;
+                case ZEBRA:
+                    return GameType.ZEBRA;
+                case GIRAFFE:
+                    return GameType.GIRAFFE;
+                default:
+                    return GameType.KNIGHT;
+            }
+        }
+
+        if (game instanceof HanoiGame) {
+            return ((HanoiGame) game).isMultiPeg() ? GameType.HANOI_MULTIPEG : GameType.HANOI;
+        }
+
+        throw new IllegalArgumentException("Tipo de juego no soportado: " + game.getClass().getSimpleName());
+    }
+
     /**
      * Método para obtener todos los tipos de juegos disponibles
      * @return array con los tipos de juegos
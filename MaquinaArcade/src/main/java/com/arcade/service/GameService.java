@@ -1,9 +1,13 @@
 package com.arcade.service;
 
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.List;
 
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.game.Game;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
 import com.arcade.service.GameFactory.GameType;
 
 /**
@@ -33,6 +37,41 @@ public interface GameService {
      */
     boolean solveGame(Game game);
 
+    /**
+     * Resuelve automáticamente un juego con límites de tiempo y nodos
+     * @param game juego a resolver
+     * @param options límites y señal de cancelación
+     * @return resultado con el estado final y las estadísticas
+     */
+    SolveResult solveGame(Game game, SolveOptions options);
+
+    /**
+     * Reanuda la búsqueda interrumpida de un juego (ver ResumableSearch)
+     * @param game juego con una búsqueda interrumpida, en memoria o leída de un fichero
+     * @param options límites de la reanudación
+     * @return resultado de la reanudación
+     */
+    SolveResult resumeGame(Game game, SolveOptions options);
+
+    /**
+     * Resuelve un juego por tramos, guardando la búsqueda en un fichero al final de cada tramo
+     * Si el juego ya tiene una búsqueda interrumpida (por ejemplo, leída con
+     * SearchSnapshotFile.read), continúa desde ella. Al terminar (resuelto o sin
+     * solución) el fichero se borra; si se detiene por los límites generales,
+     * queda guardado para reanudarlo en otra ejecución. Las búsquedas que se
+     * pueden guardar son las de backtracking, que solo se usan si se piden por
+     * su nombre
+     * @param game juego que admite guardar la búsqueda
+     * @param strategyName nombre de la estrategia (ver SolverRegistry.findStrategy)
+     *                     o null para la de menor coste esperado
+     * @param options límites generales de la resolución
+     * @param snapshotFile fichero donde guardar la búsqueda
+     * @param interval duración de cada tramo
+     * @return resultado con los nodos y el tiempo de todos los tramos
+     */
+    SolveResult solveWithCheckpoints(Game game, String strategyName, SolveOptions options, Path snapshotFile,
+                                     Duration interval);
+
     /**
      * Realiza un paso en la resolución de un juego
      * @param game juego a avanzar
@@ -48,6 +87,23 @@ public interface GameService {
      */
     GameRecord saveGameRecord(Game game, boolean completed);
 
+    /**
+     * Crea el registro de una partida sin guardarlo
+     * Lee el estado del juego, así que debe llamarse desde el hilo que lo usa;
+     * el guardado con saveRecord puede hacerse después en un hilo de E/S
+     * @param game juego a registrar
+     * @param completed indica si se completó correctamente
+     * @return registro con los datos, la configuración y la telemetría del juego
+     */
+    GameRecord createGameRecord(Game game, boolean completed);
+
+    /**
+     * Guarda un registro creado con createGameRecord
+     * @param record registro a guardar
+     * @return el mismo registro con su identificador, o null si hubo un error
+     */
+    GameRecord saveRecord(GameRecord record);
+
     /**
      * Obtiene el historial de registros para un tipo de juego
      * @param type tipo de juego
@@ -1,5 +1,9 @@
 package com.arcade.service;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -14,7 +18,14 @@ import com.arcade.model.entity.HanoiRecord;
 import com.arcade.model.entity.KnightRecord;
 import com.arcade.model.entity.QueenRecord;
 import com.arcade.model.game.Game;
+import com.arcade.model.game.ResumableSearch;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
+import com.arcade.model.game.SolverTelemetry;
 import com.arcade.service.GameFactory.GameType;
+import com.arcade.service.solver.SolverRegistry;
+import com.arcade.service.solver.SolverStrategy;
+import com.arcade.util.SearchSnapshotFile;
 
 /**
  * Implementación del servicio de juegos
@@ -23,13 +34,16 @@ import com.arcade.service.GameFactory.GameType;
  */
 public class GameServiceImpl implements GameService {
 
-    private final SessionFactory sessionFactory;
-
     /**
      * Constructor por defecto
+     * La base de datos se abre al usar los registros por primera vez, de modo
+     * que resolver juegos no requiere Hibernate
      */
     public GameServiceImpl() {
-        this.sessionFactory = HibernateConfig.getInstance().getSessionFactory();
+    }
+
+    private static SessionFactory getSessionFactory() {
+        return HibernateConfig.getInstance().getSessionFactory();
     }
 
     @Override
@@ -48,11 +62,146 @@ public class GameServiceImpl implements GameService {
 
     @Override
     public boolean solveGame(Game game) {
+        return solveGame(game, SolveOptions.UNLIMITED).isSolved();
+    }
+
+    @Override
+    public SolveResult solveGame(Game game, SolveOptions options) {
         if (game == null) {
             throw new IllegalArgumentException("El juego no puede ser nulo");
         }
 
-        return game.solve();
+        // Elegir el algoritmo de menor coste esperado para este tipo y tamaño
+        SolverStrategy strategy = SolverRegistry.getInstance()
+                .selectStrategy(GameFactory.getGameType(game), game);
+        return solveWith(game, strategy, options);
+    }
+
+    /**
+     * Resuelve un juego con una estrategia, usando la caché de soluciones
+     * @param strategy estrategia o null para el algoritmo propio del juego
+     */
+    private SolveResult solveWith(Game game, SolverStrategy strategy, SolveOptions options) {
+        String algorithm = strategy != null ? strategy.getName() : null;
+
+        // La misma configuración con el mismo algoritmo lleva siempre a la misma solución
+        SolutionCache cache = SolutionCache.getInstance();
+        SolveResult result = cache.lookup(game, algorithm, options);
+        if (result == null) {
+            if (strategy == null) {
+                result = game.solve(options); // Algoritmo propio del juego
+            } else {
+                result = game.solve(options, strategy.getName(), () -> strategy.solve(game));
+            }
+            cache.store(game, algorithm, result);
+        }
+
+        System.out.println(game.getName() + " (tamaño " + game.getProblemSize() + "): " + result);
+        if (result.getTelemetry() != null) {
+            System.out.println("Telemetría: " + result.getTelemetry());
+        }
+        return result;
+    }
+
+    @Override
+    public SolveResult resumeGame(Game game, SolveOptions options) {
+        ResumableSearch search = asResumable(game);
+        if (!search.hasPendingSearch()) {
+            throw new IllegalStateException("No hay ninguna búsqueda interrumpida que reanudar");
+        }
+
+        SolveResult result = game.solve(options, search.getPendingAlgorithm(), search::resumeSearch);
+        SolutionCache.getInstance().store(game, search.getPendingAlgorithm(), result);
+        System.out.println(game.getName() + " (tamaño " + game.getProblemSize() + ", reanudado): " + result);
+        return result;
+    }
+
+    @Override
+    public SolveResult solveWithCheckpoints(Game game, String strategyName, SolveOptions options, Path snapshotFile,
+                                            Duration interval) {
+        ResumableSearch search = asResumable(game);
+        if (options == null) {
+            throw new IllegalArgumentException("Las opciones de resolución no pueden ser nulas");
+        }
+        if (interval == null || interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("La duración de cada tramo debe ser positiva");
+        }
+
+        GameType type = GameFactory.getGameType(game);
+        SolverStrategy strategy;
+        if (strategyName == null) {
+            strategy = SolverRegistry.getInstance().selectStrategy(type, game);
+        } else {
+            strategy = SolverRegistry.getInstance().findStrategy(type, strategyName);
+            if (strategy == null) {
+                throw new IllegalArgumentException("Estrategia desconocida para " + type.getName() + ": " + strategyName);
+            }
+            if (!strategy.canSolve(game)) {
+                throw new IllegalArgumentException("La estrategia " + strategy.getName() + " no admite este tablero");
+            }
+            // Una búsqueda guardada solo se puede continuar con el algoritmo que la empezó
+            if (search.hasPendingSearch() && !search.getPendingAlgorithm().equals(strategy.getName())) {
+                throw new IllegalArgumentException("La búsqueda guardada usa " + search.getPendingAlgorithm() +
+                        ", no " + strategy.getName());
+            }
+        }
+
+        long deadline = options.getTimeout() != null ? System.nanoTime() + options.getTimeout().toNanos() : 0;
+        long nodesLeft = options.getMaxNodes();
+        long totalNodes = 0;
+        long totalNanos = 0;
+        SolverTelemetry telemetry = options.isTelemetryEnabled() ? new SolverTelemetry(0) : null;
+
+        while (true) {
+            // Cada tramo termina al agotar su duración o los límites generales, lo que llegue antes
+            Duration slice = interval;
+            if (deadline != 0) {
+                long remaining = Math.max(1, deadline - System.nanoTime());
+                if (remaining < interval.toNanos()) {
+                    slice = Duration.ofNanos(remaining);
+                }
+            }
+            SolveOptions sliceOptions = new SolveOptions(slice, nodesLeft, options.getCancellationToken(),
+                    options.isTelemetryEnabled());
+
+            SolveResult result = search.hasPendingSearch()
+                    ? resumeGame(game, sliceOptions)
+                    : solveWith(game, strategy, sliceOptions);
+
+            totalNodes += result.getNodes();
+            totalNanos += result.getElapsedNanos();
+            nodesLeft = Math.max(1, nodesLeft - result.getNodes());
+            if (telemetry != null && result.getTelemetry() != null) {
+                telemetry.merge(result.getTelemetry());
+            }
+
+            try {
+                if (search.hasPendingSearch()) {
+                    SearchSnapshotFile.write(snapshotFile, game);
+                } else {
+                    Files.deleteIfExists(snapshotFile); // Búsqueda terminada: ya no hay nada que reanudar
+                }
+            } catch (IOException e) {
+                System.err.println("Error al guardar la búsqueda: " + e.getMessage());
+            }
+
+            // Solo se sigue si se agotó el tramo y no los límites generales
+            boolean sliceEnded = result.getStatus() == SolveResult.Status.TIMED_OUT &&
+                    (deadline == 0 || System.nanoTime() < deadline);
+            if (!sliceEnded) {
+                return new SolveResult(result.getStatus(), totalNodes, totalNanos, result.getAlgorithm(), telemetry);
+            }
+        }
+    }
+
+    private static ResumableSearch asResumable(Game game) {
+        if (game == null) {
+            throw new IllegalArgumentException("El juego no puede ser nulo");
+        }
+        if (!(game instanceof ResumableSearch)) {
+            throw new IllegalArgumentException("El juego " + game.getName() + " no admite guardar la búsqueda");
+        }
+        return (ResumableSearch) game;
     }
 
     @Override
@@ -66,16 +215,32 @@ public class GameServiceImpl implements GameService {
 
     @Override
     public GameRecord saveGameRecord(Game game, boolean completed) {
+        return saveRecord(createGameRecord(game, completed));
+    }
+
+    @Override
+    public GameRecord createGameRecord(Game game, boolean completed) {
         if (game == null) {
             throw new IllegalArgumentException("El juego no puede ser nulo");
         }
 
-        // Crear el registro con los datos del juego
+        // Crear el registro con los datos y la configuración del juego y, si se resolvió
+        // automáticamente, su telemetría
         GameRecord record = game.createRecord(completed);
+        record.applyConfig(game.getConfig());
+        record.applyTelemetry(game.getLastTelemetry());
+        return record;
+    }
+
+    @Override
+    public GameRecord saveRecord(GameRecord record) {
+        if (record == null) {
+            throw new IllegalArgumentException("El registro no puede ser nulo");
+        }
 
         // Guardar en la base de datos
         Transaction transaction = null;
-        try (Session session = sessionFactory.openSession()) {
+        try (Session session = getSessionFactory().openSession()) {
             transaction = session.beginTransaction();
 
             session.save(record);
@@ -96,7 +261,7 @@ public class GameServiceImpl implements GameService {
     @Override
     public List<GameRecord> getGameHistory(GameType type) {
         List<GameRecord> records = new ArrayList<>();
-        try (Session session = sessionFactory.openSession()) {
+        try (Session session = getSessionFactory().openSession()) {
             if (type == null) {
                 // Obtener todos los registros
                 try {
@@ -143,20 +308,27 @@ public class GameServiceImpl implements GameService {
                         }
                         break;
                     case KNIGHT:
+                    case CAMEL:
+                    case ZEBRA:
+                    case GIRAFFE:
                         try {
                             Query<KnightRecord> query = session.createQuery(
-                                    "FROM KnightRecord ORDER BY endTime DESC",
+                                    "FROM KnightRecord WHERE coalesce(leaper, 'KNIGHT') = :leaper ORDER BY endTime DESC",
                                     KnightRecord.class
                             );
+                            query.setParameter("leaper", type.name());
                             records.addAll(query.list());
                         } catch (Exception e) {
                             System.err.println("Error al cargar registros KnightRecord: " + e.getMessage());
                         }
                         break;
                     case HANOI:
+                    case HANOI_MULTIPEG:
                         try {
                             Query<HanoiRecord> query = session.createQuery(
-                                    "FROM HanoiRecord ORDER BY endTime DESC",
+                                    "FROM HanoiRecord WHERE coalesce(numPegs, 3) " +
+                                            (type == GameType.HANOI_MULTIPEG ? ">" : "=") +
+                                            " 3 ORDER BY endTime DESC",
                                     HanoiRecord.class
                             );
                             records.addAll(query.list());
@@ -180,7 +352,7 @@ public class GameServiceImpl implements GameService {
     @Override
     public int getTotalGamesPlayed() {
         int total = 0;
-        try (Session session = sessionFactory.openSession()) {
+        try (Session session = getSessionFactory().openSession()) {
             try {
                 Query<Long> query = session.createQuery(
                         "SELECT COUNT(id) FROM GameRecord",
@@ -200,7 +372,7 @@ public class GameServiceImpl implements GameService {
     @Override
     public int getCompletedGamesCount() {
         int total = 0;
-        try (Session session = sessionFactory.openSession()) {
+        try (Session session = getSessionFactory().openSession()) {
             try {
                 Query<Long> query = session.createQuery(
                         "SELECT COUNT(id) FROM GameRecord WHERE completed = true",
@@ -0,0 +1,481 @@
+package com.arcade.service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.GameConfig;
+import com.arcade.model.game.ReusableSolution;
+import com.arcade.model.game.SolveOptions;
+import com.arcade.model.game.SolveResult;
+import com.arcade.util.Constants;
+
+/**
+ * Caché de soluciones compartida por todas las partidas
+ * Guarda la solución de cada configuración (ver GameConfig) y algoritmo,
+ * de modo que resolver otra vez el mismo tablero, desde cualquier sesión,
+ * solo cuesta aplicar la solución guardada (ver ReusableSolution)
+ *
+ * En memoria se conservan las entradas usadas más recientemente (LRU) hasta
+ * Constants.SOLUTION_CACHE_ENTRIES. De forma opcional se escriben también en
+ * un directorio (un fichero por entrada, en el grupo de E/S de
+ * ExecutionService), que sobrevive a los reinicios y se consulta cuando la
+ * entrada no está en memoria
+ *
+ * Esta clase implementa el patrón Singleton
+ */
+public class SolutionCache {
+
+    private static final int MAGIC = 0x41525343; // "ARSC"
+    private static final int VERSION = 2; // 2: clave codificada con GameConfig
+    private static final String FILE_SUFFIX = ".sol";
+    private static final String CACHED_SUFFIX = " (caché)";
+
+    private static SolutionCache instance;
+
+    private final int capacity;
+    private final Map<Key, Entry> entries;
+    private volatile Path diskDirectory; // null si no se usa el disco
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong diskWrites = new AtomicLong();
+    private final AtomicLong diskErrors = new AtomicLong();
+    private final AtomicLong savedNodes = new AtomicLong();
+
+    /**
+     * Constructor con el número máximo de entradas en memoria
+     * @param capacity entradas en memoria
+     */
+    SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("La capacidad de la caché debe ser positiva");
+        }
+
+        this.capacity = capacity;
+        // Orden de acceso: la primera entrada es la usada hace más tiempo
+        this.entries = new LinkedHashMap<Key, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                if (size() > SolutionCache.this.capacity) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Obtiene la instancia única de la caché
+     * @return instancia de SolutionCache
+     */
+    public static synchronized SolutionCache getInstance() {
+        if (instance == null) {
+            instance = new SolutionCache(Constants.SOLUTION_CACHE_ENTRIES);
+        }
+        return instance;
+    }
+
+    /**
+     * Activa la copia de las entradas en disco
+     * @param directory directorio de las entradas (se crea si no existe)
+     * @throws IOException si no se puede crear el directorio
+     */
+    public void enableDiskTier(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.diskDirectory = directory.toAbsolutePath();
+    }
+
+    /**
+     * Desactiva la copia en disco (los ficheros ya escritos se conservan)
+     */
+    public void disableDiskTier() {
+        this.diskDirectory = null;
+    }
+
+    /**
+     * Resuelve un juego con la solución guardada para su configuración
+     * @param game juego inicializado
+     * @param algorithm nombre del algoritmo que se usaría o null para el propio del juego
+     * @param options límites de la resolución
+     * @return resultado de aplicar la solución o null si no hay ninguna guardada
+     */
+    public SolveResult lookup(Game game, String algorithm, SolveOptions options) {
+        Key key = createKey(game, algorithm);
+        if (key == null) {
+            return null; // El juego no admite reutilizar soluciones
+        }
+
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+        }
+
+        boolean fromDisk = false;
+        if (entry == null) {
+            entry = readFromDisk(key);
+            if (entry != null) {
+                fromDisk = true;
+                synchronized (this) {
+                    entries.put(key, entry);
+                }
+            }
+        }
+
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+
+        ReusableSolution reusable = (ReusableSolution) game;
+        byte[] solution = entry.solution;
+        SolveResult result = game.solve(options, entry.algorithm + CACHED_SUFFIX, () -> apply(reusable, solution));
+
+        if (!result.isSolved()) {
+            // Entrada que ya no corresponde al juego: se descarta y se resuelve de nuevo
+            synchronized (this) {
+                entries.remove(key);
+            }
+            misses.incrementAndGet();
+            return null;
+        }
+
+        (fromDisk ? diskHits : hits).incrementAndGet();
+        savedNodes.addAndGet(entry.nodes);
+        return result;
+    }
+
+    /**
+     * Guarda la solución de un juego recién resuelto
+     * Solo se guardan las soluciones encontradas de los juegos que admiten reutilizarlas
+     * @param game juego resuelto
+     * @param algorithm nombre del algoritmo usado como clave (el mismo de lookup)
+     * @param result resultado de la resolución
+     */
+    public void store(Game game, String algorithm, SolveResult result) {
+        if (result == null || !result.isSolved()) {
+            return;
+        }
+
+        Key key = createKey(game, algorithm);
+        if (key == null) {
+            return;
+        }
+
+        byte[] solution;
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            ((ReusableSolution) game).writeSolution(out);
+            out.flush();
+            solution = bytes.toByteArray();
+        } catch (IOException | IllegalStateException e) {
+            System.err.println("Error al guardar la solución en caché: " + e.getMessage());
+            return;
+        }
+
+        Entry entry = new Entry(result.getAlgorithm(), result.getNodes(), solution);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+        stores.incrementAndGet();
+
+        Path directory = diskDirectory;
+        if (directory != null) {
+            try {
+                ExecutionService.getInstance().submitIo(() -> writeToDisk(directory, key, entry));
+            } catch (RejectedExecutionException e) {
+                diskErrors.incrementAndGet(); // Servicio detenido: la entrada sigue en memoria
+            }
+        }
+    }
+
+    /**
+     * Vacía la caché en memoria (los ficheros en disco se conservan)
+     */
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    /**
+     * Obtiene una instantánea de las métricas de la caché
+     * @return métricas actuales
+     */
+    public Metrics getMetrics() {
+        int size;
+        synchronized (this) {
+            size = entries.size();
+        }
+
+        return new Metrics(
+                capacity,
+                size,
+                hits.get(),
+                diskHits.get(),
+                misses.get(),
+                stores.get(),
+                evictions.get(),
+                diskWrites.get(),
+                diskErrors.get(),
+                savedNodes.get()
+        );
+    }
+
+    /**
+     * Construye la clave de un juego: configuración y algoritmo
+     * @return clave o null si el juego no admite reutilizar soluciones
+     */
+    private static Key createKey(Game game, String algorithm) {
+        if (!(game instanceof ReusableSolution)) {
+            return null;
+        }
+
+        GameConfig config = game.getConfig();
+        if (config == null) {
+            throw new IllegalStateException("El juego no ha sido inicializado");
+        }
+        return new Key(config, algorithm != null ? algorithm : "");
+    }
+
+    private static boolean apply(ReusableSolution game, byte[] solution) {
+        try {
+            return game.applySolution(new DataInputStream(new ByteArrayInputStream(solution)));
+        } catch (IOException e) {
+            System.err.println("Solución en caché no válida: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Lee la entrada de una clave del directorio de la caché
+     * @return entrada o null si no está (o el fichero no es válido)
+     */
+    private Entry readFromDisk(Key key) {
+        Path directory = diskDirectory;
+        if (directory == null) {
+            return null;
+        }
+
+        Path file = directory.resolve(key.getFileName());
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readUnsignedByte() != VERSION) {
+                throw new IOException("formato desconocido");
+            }
+
+            GameConfig config = GameConfig.read(in);
+            if (!config.equals(key.config) || !in.readUTF().equals(key.algorithm)) {
+                return null; // Otra clave con el mismo nombre de fichero
+            }
+
+            String algorithm = in.readUTF();
+            long nodes = in.readLong();
+            byte[] solution = new byte[in.readInt()];
+            in.readFully(solution);
+            return new Entry(algorithm, nodes, solution);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            diskErrors.incrementAndGet();
+            System.err.println("Error al leer la caché de soluciones " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Escribe una entrada en el directorio de la caché
+     * Se escribe en un fichero temporal y se mueve al final, como las búsquedas guardadas
+     */
+    private void writeToDisk(Path directory, Key key, Entry entry) {
+        Path file = directory.resolve(key.getFileName());
+        Path temp = directory.resolve(key.getFileName() + ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(MAGIC);
+                out.writeByte(VERSION);
+                key.config.writeTo(out);
+                out.writeUTF(key.algorithm);
+                out.writeUTF(entry.algorithm);
+                out.writeLong(entry.nodes);
+                out.writeInt(entry.solution.length);
+                out.write(entry.solution);
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            diskWrites.incrementAndGet();
+        } catch (IOException e) {
+            diskErrors.incrementAndGet();
+            System.err.println("Error al escribir la caché de soluciones " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Clave de la caché: configuración del juego y nombre del algoritmo
+     * El hash de la configuración ya viene calculado al crearla
+     */
+    private static final class Key {
+        private final GameConfig config;
+        private final String algorithm; // Cadena vacía para el algoritmo propio del juego
+        private final int hash;
+
+        Key(GameConfig config, String algorithm) {
+            this.config = config;
+            this.algorithm = algorithm;
+            this.hash = 31 * config.hashCode() + algorithm.hashCode();
+        }
+
+        /**
+         * Nombre del fichero de la entrada: hash FNV-1a de 64 bits de la clave codificada
+         */
+        String getFileName() {
+            long fnv = 0xcbf29ce484222325L;
+            byte[] data = config.toBytes();
+            for (byte b : data) {
+                fnv ^= b & 0xff;
+                fnv *= 0x100000001b3L;
+            }
+            for (int i = 0; i < algorithm.length(); i++) {
+                fnv ^= algorithm.charAt(i);
+                fnv *= 0x100000001b3L;
+            }
+            return String.format("%016x", fnv) + FILE_SUFFIX;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            Key key = (Key) other;
+            return hash == key.hash && config.equals(key.config) && algorithm.equals(key.algorithm);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Solución guardada con el algoritmo y los nodos que costó encontrarla
+     */
+    private static final class Entry {
+        private final String algorithm;
+        private final long nodes;
+        private final byte[] solution;
+
+        Entry(String algorithm, long nodes, byte[] solution) {
+            this.algorithm = algorithm;
+            this.nodes = nodes;
+            this.solution = solution;
+        }
+    }
+
+    /**
+     * Instantánea inmutable de las métricas de la caché
+     */
+    public static final class Metrics {
+        private final int capacity;
+        private final int size;
+        private final long hits;
+        private final long diskHits;
+        private final long misses;
+        private final long stores;
+        private final long evictions;
+        private final long diskWrites;
+        private final long diskErrors;
+        private final long savedNodes;
+
+        Metrics(int capacity, int size, long hits, long diskHits, long misses, long stores,
+                long evictions, long diskWrites, long diskErrors, long savedNodes) {
+            this.capacity = capacity;
+            this.size = size;
+            this.hits = hits;
+            this.diskHits = diskHits;
+            this.misses = misses;
+            this.stores = stores;
+            this.evictions = evictions;
+            this.diskWrites = diskWrites;
+            this.diskErrors = diskErrors;
+            this.savedNodes = savedNodes;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getDiskHits() {
+            return diskHits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getStores() {
+            return stores;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getDiskWrites() {
+            return diskWrites;
+        }
+
+        public long getDiskErrors() {
+            return diskErrors;
+        }
+
+        /**
+         * Obtiene los nodos que habría costado buscar las soluciones servidas desde la caché
+         * @return nodos ahorrados
+         */
+        public long getSavedNodes() {
+            return savedNodes;
+        }
+
+        /**
+         * Calcula la proporción de consultas servidas desde la caché (memoria o disco)
+         * @return proporción entre 0 y 1
+         */
+        public double getHitRatio() {
+            long lookups = hits + diskHits + misses;
+            return lookups > 0 ? (double) (hits + diskHits) / lookups : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("caché[entradas=%d/%d, aciertos=%d, aciertos en disco=%d, fallos=%d (%.1f%% aciertos), " +
+                            "guardadas=%d, expulsadas=%d, escritas en disco=%d, errores de disco=%d, nodos ahorrados=%d]",
+                    size, capacity, hits, diskHits, misses, getHitRatio() * 100, stores, evictions,
+                    diskWrites, diskErrors, savedNodes);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.arcade.service.solver;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.hanoi.FrameStewart;
+import com.arcade.model.game.hanoi.HanoiGame;
+import com.arcade.model.game.hanoi.HanoiMoveGenerator;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Estrategia de Torres de Hanói con cuatro o más postes (Frame–Stewart)
+ */
+public class FrameStewartStrategy implements SolverStrategy {
+
+    @Override
+    public String getName() {
+        return "Frame–Stewart";
+    }
+
+    @Override
+    public Set<GameType> getGameTypes() {
+        return EnumSet.of(GameType.HANOI_MULTIPEG);
+    }
+
+    @Override
+    public int getMinSize() {
+        return 3;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return HanoiMoveGenerator.MAX_DISKS;
+    }
+
+    @Override
+    public double getExpectedCost(int size) {
+        // Con cuatro postes es el caso más largo; con más postes hay menos movimientos
+        return FrameStewart.getMinimumMoves(size, 4);
+    }
+
+    @Override
+    public boolean canSolve(Game game) {
+        return ((HanoiGame) game).isMultiPeg();
+    }
+
+    @Override
+    public boolean solve(Game game) {
+        return game.solve();
+    }
+}
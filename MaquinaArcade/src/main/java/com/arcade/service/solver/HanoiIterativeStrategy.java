@@ -0,0 +1,52 @@
+package com.arcade.service.solver;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.hanoi.HanoiGame;
+import com.arcade.model.game.hanoi.HanoiMoveGenerator;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Estrategia de Torres de Hanói con tres postes
+ * Ejecuta la solución óptima con el generador iterativo y, cuando hay
+ * demasiados movimientos para registrarlos, salta al estado final
+ */
+public class HanoiIterativeStrategy implements SolverStrategy {
+
+    @Override
+    public String getName() {
+        return "Solución iterativa óptima";
+    }
+
+    @Override
+    public Set<GameType> getGameTypes() {
+        return EnumSet.of(GameType.HANOI);
+    }
+
+    @Override
+    public int getMinSize() {
+        return 3;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return HanoiMoveGenerator.MAX_DISKS;
+    }
+
+    @Override
+    public double getExpectedCost(int size) {
+        return Math.min(HanoiMoveGenerator.getTotalMoves(size), HanoiGame.MAX_RECORDED_MOVES) + size;
+    }
+
+    @Override
+    public boolean canSolve(Game game) {
+        return !((HanoiGame) game).isMultiPeg();
+    }
+
+    @Override
+    public boolean solve(Game game) {
+        return game.solve();
+    }
+}
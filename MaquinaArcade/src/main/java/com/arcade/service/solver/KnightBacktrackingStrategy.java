@@ -0,0 +1,60 @@
+package com.arcade.service.solver;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.knight.KnightGame;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Estrategia del recorrido del caballo por backtracking de orden fijo
+ * Solo en tableros cuadrados completos y hasta 8x8: más allá el número de
+ * nodos se dispara y la búsqueda no termina en un tiempo razonable
+ *
+ * Su coste (los nodos medidos) siempre supera al de Warnsdorff, así que
+ * SolverRegistry.selectStrategy no la elige nunca: solo se usa pidiéndola por
+ * su nombre, por ejemplo en un fichero de lotes para comparar algoritmos
+ */
+public class KnightBacktrackingStrategy implements SolverStrategy {
+
+    private static final int MIN_SIZE = 5;
+
+    // Nodos medidos desde la esquina para tableros de 5x5 a 8x8
+    private static final long[] NODES = {31_212, 986_272, 33_127_754, 39_965_557};
+
+    @Override
+    public String getName() {
+        return "Backtracking de orden fijo";
+    }
+
+    @Override
+    public Set<GameType> getGameTypes() {
+        return EnumSet.of(GameType.KNIGHT);
+    }
+
+    @Override
+    public int getMinSize() {
+        return MIN_SIZE;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return MIN_SIZE + NODES.length - 1;
+    }
+
+    @Override
+    public double getExpectedCost(int size) {
+        return NODES[size - MIN_SIZE];
+    }
+
+    @Override
+    public boolean canSolve(Game game) {
+        return !((KnightGame) game).isIrregular();
+    }
+
+    @Override
+    public boolean solve(Game game) {
+        return ((KnightGame) game).solveWithBacktracking();
+    }
+}
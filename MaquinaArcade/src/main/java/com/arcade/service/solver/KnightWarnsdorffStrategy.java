@@ -0,0 +1,48 @@
+package com.arcade.service.solver;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.knight.KnightGame;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Estrategia de recorridos de piezas saltadoras guiada por Warnsdorff
+ * Con la poda de callejones sin salida y de regiones aisladas apenas
+ * retrocede, así que visita del orden de una casilla por nodo
+ */
+public class KnightWarnsdorffStrategy implements SolverStrategy {
+
+    @Override
+    public String getName() {
+        return "Warnsdorff con poda";
+    }
+
+    @Override
+    public Set<GameType> getGameTypes() {
+        return EnumSet.of(GameType.KNIGHT, GameType.CAMEL, GameType.ZEBRA, GameType.GIRAFFE);
+    }
+
+    @Override
+    public int getMinSize() {
+        return 1;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public double getExpectedCost(int size) {
+        // Unos n² nodos, cada uno con una comprobación de conectividad de n² casillas
+        double cells = (double) size * size;
+        return cells * cells;
+    }
+
+    @Override
+    public boolean solve(Game game) {
+        return ((KnightGame) game).solveWithWarnsdorff();
+    }
+}
@@ -0,0 +1,60 @@
+package com.arcade.service.solver;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.queens.QueensGame;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Estrategia de N Reinas por backtracking fila a fila
+ * Da la primera solución en orden lexicográfico; su coste depende mucho de N,
+ * así que se estima con los intentos medidos para cada tamaño
+ *
+ * Incluso con N = 4 cuesta más que la construcción explícita, así que
+ * SolverRegistry.selectStrategy no la elige nunca: solo se usa pidiéndola por
+ * su nombre, por ejemplo en un fichero de lotes para comparar algoritmos
+ */
+public class QueensBacktrackingStrategy implements SolverStrategy {
+
+    private static final int MIN_SIZE = 4;
+
+    // Intentos hasta la primera solución para N = 4, 5, 6...
+    private static final long[] ATTEMPTS = {
+            26, 15, 171, 42, 876, 333, 975, 517, 3_066, 1_365, 26_495, 20_280, 160_712, 91_222,
+            743_229, 48_184, 3_992_510, 179_592, 38_217_905, 584_591, 9_878_316, 1_216_775,
+            10_339_849, 12_263_400, 84_175_966, 44_434_525, 1_692_888_135
+    };
+
+    @Override
+    public String getName() {
+        return "Backtracking";
+    }
+
+    @Override
+    public Set<GameType> getGameTypes() {
+        return EnumSet.of(GameType.QUEENS);
+    }
+
+    @Override
+    public int getMinSize() {
+        return MIN_SIZE;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return MIN_SIZE + ATTEMPTS.length - 1;
+    }
+
+    @Override
+    public double getExpectedCost(int size) {
+        // Cada intento revisa en promedio la mitad de las filas anteriores
+        return (double) size * size + ATTEMPTS[size - MIN_SIZE] * size / 2.0;
+    }
+
+    @Override
+    public boolean solve(Game game) {
+        return ((QueensGame) game).solveWithBacktracking();
+    }
+}
@@ -0,0 +1,46 @@
+package com.arcade.service.solver;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.queens.QueensGame;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Estrategia de N Reinas por construcción explícita
+ * Coloca las reinas con una fórmula, sin búsqueda, para cualquier N
+ */
+public class QueensConstructiveStrategy implements SolverStrategy {
+
+    @Override
+    public String getName() {
+        return "Construcción explícita";
+    }
+
+    @Override
+    public Set<GameType> getGameTypes() {
+        return EnumSet.of(GameType.QUEENS);
+    }
+
+    @Override
+    public int getMinSize() {
+        return 4;
+    }
+
+    @Override
+    public int getMaxSize() {
+        return Integer.MAX_VALUE;
+    }
+
+    @Override
+    public double getExpectedCost(int size) {
+        // Vaciar el tablero y colocar una reina por fila
+        return (double) size * size + size;
+    }
+
+    @Override
+    public boolean solve(Game game) {
+        return ((QueensGame) game).solveConstructive();
+    }
+}
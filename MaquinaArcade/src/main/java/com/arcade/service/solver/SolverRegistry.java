@@ -0,0 +1,137 @@
+package com.arcade.service.solver;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+import com.arcade.model.game.Game;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Registro de estrategias de resolución por tipo de juego
+ * Implementa los patrones Singleton y Registry. Las estrategias se cargan una
+ * sola vez con ServiceLoader y se agrupan por tipo de juego; para resolver se
+ * elige la de menor coste esperado entre las que admiten el tamaño pedido
+ */
+public class SolverRegistry {
+
+    private static SolverRegistry instance;
+
+    private final Map<GameType, List<SolverStrategy>> strategies;
+
+    /**
+     * Constructor privado para evitar instanciación directa (Singleton)
+     */
+    private SolverRegistry() {
+        strategies = new EnumMap<>(GameType.class);
+        loadStrategies();
+    }
+
+    /**
+     * Método para obtener la instancia única del registro
+     * @return instancia de SolverRegistry
+     */
+    public static synchronized SolverRegistry getInstance() {
+        if (instance == null) {
+            instance = new SolverRegistry();
+        }
+        return instance;
+    }
+
+    /**
+     * Carga las estrategias declaradas en META-INF/services
+     * Una estrategia que no se puede instanciar se omite sin impedir el resto
+     */
+    private void loadStrategies() {
+        ServiceLoader<SolverStrategy> loader = ServiceLoader.load(SolverStrategy.class);
+
+        for (ServiceLoader.Provider<SolverStrategy> provider : loader.stream().toList()) {
+            try {
+                register(provider.get());
+            } catch (ServiceConfigurationError e) {
+                System.err.println("Error al cargar estrategia " + provider.type().getName() + ": " + e.getMessage());
+            }
+        }
+
+        System.out.println("Estrategias de resolución cargadas para " + strategies.size() + " tipos de juego");
+    }
+
+    /**
+     * Registra una estrategia para todos los tipos de juego que declara
+     * @param strategy estrategia a registrar
+     */
+    public synchronized void register(SolverStrategy strategy) {
+        if (strategy.getMinSize() > strategy.getMaxSize()) {
+            throw new IllegalArgumentException("Rango de tamaños inválido en la estrategia " + strategy.getName());
+        }
+
+        for (GameType type : strategy.getGameTypes()) {
+            strategies.computeIfAbsent(type, t -> new ArrayList<>()).add(strategy);
+        }
+    }
+
+    /**
+     * Obtiene las estrategias registradas para un tipo de juego
+     * @param type tipo de juego
+     * @return lista (no modificable) de estrategias
+     */
+    public synchronized List<SolverStrategy> getStrategies(GameType type) {
+        List<SolverStrategy> list = strategies.get(type);
+        return list != null ? Collections.unmodifiableList(new ArrayList<>(list)) : Collections.emptyList();
+    }
+
+    /**
+     * Busca una estrategia por su nombre
+     * @param type tipo de juego
+     * @param name nombre de la estrategia (sin distinguir mayúsculas)
+     * @return estrategia o null si no hay ninguna con ese nombre para el tipo
+     */
+    public synchronized SolverStrategy findStrategy(GameType type, String name) {
+        List<SolverStrategy> list = strategies.get(type);
+        if (list != null) {
+            for (SolverStrategy strategy : list) {
+                if (strategy.getName().equalsIgnoreCase(name)) {
+                    return strategy;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Elige la estrategia más rápida para un juego inicializado
+     * Las búsquedas por backtracking de N Reinas y del caballo nunca ganan a
+     * la construcción explícita ni a Warnsdorff; se piden con findStrategy
+     * @param type tipo de juego
+     * @param game juego a resolver
+     * @return estrategia de menor coste esperado o null si ninguna es aplicable
+     */
+    public synchronized SolverStrategy selectStrategy(GameType type, Game game) {
+        List<SolverStrategy> list = strategies.get(type);
+        if (list == null) {
+            return null;
+        }
+
+        int size = game.getProblemSize();
+        SolverStrategy best = null;
+        double bestCost = Double.POSITIVE_INFINITY;
+
+        for (SolverStrategy strategy : list) {
+            if (size < strategy.getMinSize() || size > strategy.getMaxSize() || !strategy.canSolve(game)) {
+                continue;
+            }
+
+            double cost = strategy.getExpectedCost(size);
+            if (best == null || cost < bestCost) {
+                best = strategy;
+                bestCost = cost;
+            }
+        }
+
+        return best;
+    }
+}
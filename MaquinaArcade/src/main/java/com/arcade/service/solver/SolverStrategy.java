@@ -0,0 +1,72 @@
+package com.arcade.service.solver;
+
+import java.util.Set;
+
+import com.arcade.model.game.Game;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Estrategia de resolución automática de un juego
+ * Implementa el patrón Strategy: cada implementación encapsula un algoritmo
+ * y declara para qué juegos y tamaños sirve y cuánto se espera que cueste,
+ * de forma que SolverRegistry pueda elegir la más rápida
+ *
+ * Las implementaciones se descubren con ServiceLoader a partir del fichero
+ * META-INF/services/com.arcade.service.solver.SolverStrategy, así que se
+ * pueden añadir estrategias nuevas sin tocar el servicio de juegos
+ */
+public interface SolverStrategy {
+
+    /**
+     * Nombre del algoritmo
+     * @return nombre para mostrar y registrar
+     */
+    String getName();
+
+    /**
+     * Tipos de juego que sabe resolver
+     * @return conjunto de tipos de juego
+     */
+    Set<GameType> getGameTypes();
+
+    /**
+     * Tamaño mínimo admitido (tablero o número de discos)
+     * @return tamaño mínimo
+     */
+    int getMinSize();
+
+    /**
+     * Tamaño máximo admitido (tablero o número de discos)
+     * @return tamaño máximo
+     */
+    int getMaxSize();
+
+    /**
+     * Coste esperado de resolver un problema del tamaño indicado
+     * Se mide en operaciones elementales aproximadas; solo importa para
+     * comparar estrategias del mismo tipo de juego entre sí. Una estrategia
+     * cuyo coste siempre supera al de otra no se elige automáticamente, pero
+     * sigue disponible por su nombre (ver SolverRegistry.findStrategy)
+     * @param size tamaño del problema
+     * @return coste estimado
+     */
+    double getExpectedCost(int size);
+
+    /**
+     * Indica si la estrategia puede resolver este juego concreto
+     * Permite descartar configuraciones que el tamaño no refleja (por ejemplo
+     * tableros rectangulares o con casillas bloqueadas)
+     * @param game juego inicializado
+     * @return true si la estrategia es aplicable
+     */
+    default boolean canSolve(Game game) {
+        return true;
+    }
+
+    /**
+     * Resuelve el juego
+     * @param game juego inicializado
+     * @return true si se encontró una solución
+     */
+    boolean solve(Game game);
+}
@@ -36,8 +36,31 @@ public final class Constants {
     public static final int MAX_QUEENS_SIZE = 12;
     public static final int MIN_KNIGHT_SIZE = 5;
     public static final int MAX_KNIGHT_SIZE = 8;
+    public static final int MAX_LEAPER_SIZE = 12;
     public static final int MIN_HANOI_DISKS = 3;
-    public static final int MAX_HANOI_DISKS = 10;
+    public static final int MAX_HANOI_DISKS = 63;
+    public static final int MIN_HANOI_PEGS = 4; // Variante de k postes
+    public static final int MAX_HANOI_PEGS = 10;
+    public static final int DEFAULT_HANOI_PEGS = 4;
+
+    // Tiempo máximo de la resolución automática desde la interfaz
+    public static final int SOLVE_TIMEOUT_SECONDS = 120;
+
+    // Duración de cada tramo entre dos búsquedas guardadas (ver GameService.solveWithCheckpoints)
+    public static final int CHECKPOINT_INTERVAL_SECONDS = 60;
+
+    // Soluciones conservadas en memoria por la caché de soluciones (ver SolutionCache)
+    public static final int SOLUTION_CACHE_ENTRIES = 512;
+
+    // Sesiones y grupo de juegos reutilizables del registro (ver GameRegistry)
+    public static final int REGISTRY_MAX_IDLE_PER_TYPE = 4;
+    public static final int REGISTRY_IDLE_TIMEOUT_SECONDS = 600;
+    public static final int REGISTRY_EVICTION_INTERVAL_SECONDS = 60;
+
+    // Servicio HTTP local (ver ArcadeHttpServer)
+    public static final int SERVER_PORT = 8765;
+    public static final int SERVER_MAX_SESSIONS = 256;
+    public static final int SERVER_MAX_BODY_BYTES = 64 * 1024;
 
     // Parámetros de animación
     public static final int ANIMATION_DURATION_MS = 500;
@@ -87,7 +110,7 @@ public final class Constants {
      * @param disks número de discos
      * @return número mínimo de movimientos (2^n - 1)
      */
-    public static int calculateMinimumHanoiMoves(int disks) {
-        return (int) Math.pow(2, disks) - 1;
+    public static long calculateMinimumHanoiMoves(int disks) {
+        return (1L << disks) - 1;
     }
 }
\ No newline at end of file
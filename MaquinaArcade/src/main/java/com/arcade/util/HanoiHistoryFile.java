@@ -0,0 +1,121 @@
+package com.arcade.util;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import com.arcade.model.entity.HanoiRecord;
+
+/**
+ * Lectura y escritura de historiales de Torres de Hanoi en un fichero de texto
+ * Cada línea es una partida con sus datos y el registro de movimientos en
+ * Base64, para poder importarla en otra base de datos y verificarla
+ *
+ * Formato: discos;postes;movimientos;completada;inicio;fin;registro
+ */
+public final class HanoiHistoryFile {
+
+    private static final String HEADER = "# discos;postes;movimientos;completada;inicio;fin;registro";
+    private static final String SEPARATOR = ";";
+
+    // Evitar instanciación
+    private HanoiHistoryFile() {
+        throw new AssertionError("No se deben crear instancias de esta clase");
+    }
+
+    /**
+     * Escribe las partidas en un fichero
+     * @param file fichero de destino
+     * @param records partidas a exportar (las que no tienen registro de movimientos se omiten)
+     * @return número de partidas escritas
+     * @throws IOException si hay error al escribir
+     */
+    public static int write(Path file, List<HanoiRecord> records) throws IOException {
+        int written = 0;
+
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+
+            for (HanoiRecord record : records) {
+                if (record.getMoveLog() == null) {
+                    continue;
+                }
+
+                writer.write(record.getNumDisks() + SEPARATOR +
+                        record.getNumPegs() + SEPARATOR +
+                        record.getMovements() + SEPARATOR +
+                        record.isCompleted() + SEPARATOR +
+                        format(record.getStartTime()) + SEPARATOR +
+                        format(record.getEndTime()) + SEPARATOR +
+                        Base64.getEncoder().encodeToString(record.getMoveLog()));
+                writer.newLine();
+                written++;
+            }
+        }
+
+        return written;
+    }
+
+    /**
+     * Lee las partidas de un fichero
+     * Las partidas no se verifican aquí; eso se hace al importarlas
+     * @param file fichero de origen
+     * @return partidas leídas
+     * @throws IOException si hay error al leer o una línea no tiene el formato esperado
+     */
+    public static List<HanoiRecord> read(Path file) throws IOException {
+        List<HanoiRecord> records = new ArrayList<>();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                String[] fields = line.split(SEPARATOR, -1);
+                if (fields.length != 7) {
+                    throw new IOException("Línea " + lineNumber + ": se esperaban 7 campos y hay " + fields.length);
+                }
+
+                try {
+                    HanoiRecord record = new HanoiRecord(
+                            Integer.parseInt(fields[0]),
+                            Long.parseLong(fields[2]),
+                            Boolean.parseBoolean(fields[3]),
+                            parse(fields[4]),
+                            parse(fields[5]),
+                            Integer.parseInt(fields[1])
+                    );
+                    record.setMoveLog(Base64.getDecoder().decode(fields[6]));
+                    records.add(record);
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    throw new IOException("Línea " + lineNumber + ": " + e.getMessage(), e);
+                }
+            }
+        }
+
+        return records;
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.toString() : "";
+    }
+
+    private static LocalDateTime parse(String text) {
+        return text.isEmpty() ? null : LocalDateTime.parse(text);
+    }
+}
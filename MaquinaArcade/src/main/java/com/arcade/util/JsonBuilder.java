@@ -0,0 +1,175 @@
+package com.arcade.util;
+
+import java.util.List;
+
+/**
+ * Constructor de objetos JSON de una sola línea
+ * Suficiente para los resultados por líneas (JSONL) y las respuestas de la
+ * aplicación sin depender de una biblioteca JSON. Los campos se escriben en
+ * el orden en que se añaden; los valores null se escriben como null
+ */
+public final class JsonBuilder {
+
+    private final StringBuilder json = new StringBuilder("{");
+    private boolean empty = true;
+
+    /**
+     * Añade un campo de texto
+     * @param name nombre del campo
+     * @param value valor (null se escribe como null)
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, String value) {
+        return addRaw(name, value != null ? quote(value) : "null");
+    }
+
+    /**
+     * Añade un campo numérico entero
+     * @param name nombre del campo
+     * @param value valor
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, long value) {
+        return addRaw(name, Long.toString(value));
+    }
+
+    /**
+     * Añade un campo numérico que puede faltar
+     * @param name nombre del campo
+     * @param value valor (null se escribe como null)
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, Number value) {
+        return addRaw(name, value != null ? value.toString() : "null");
+    }
+
+    /**
+     * Añade un campo numérico decimal
+     * @param name nombre del campo
+     * @param value valor (NaN e infinito se escriben como null)
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, double value) {
+        return addRaw(name, Double.isFinite(value) ? Double.toString(value) : "null");
+    }
+
+    /**
+     * Añade un campo booleano
+     * @param name nombre del campo
+     * @param value valor
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, boolean value) {
+        return addRaw(name, Boolean.toString(value));
+    }
+
+    /**
+     * Añade un objeto anidado
+     * @param name nombre del campo
+     * @param value objeto (null se escribe como null)
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, JsonBuilder value) {
+        return addRaw(name, value != null ? value.toString() : "null");
+    }
+
+    /**
+     * Añade un array de enteros
+     * @param name nombre del campo
+     * @param values valores (null se escribe como null)
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, long[] values) {
+        if (values == null) {
+            return addRaw(name, "null");
+        }
+
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                array.append(',');
+            }
+            array.append(values[i]);
+        }
+        return addRaw(name, array.append(']').toString());
+    }
+
+    /**
+     * Añade un array de objetos
+     * @param name nombre del campo
+     * @param values objetos (null se escribe como null)
+     * @return este mismo constructor
+     */
+    public JsonBuilder add(String name, List<JsonBuilder> values) {
+        if (values == null) {
+            return addRaw(name, "null");
+        }
+
+        StringBuilder array = new StringBuilder("[");
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                array.append(',');
+            }
+            array.append(values.get(i));
+        }
+        return addRaw(name, array.append(']').toString());
+    }
+
+    /**
+     * Añade un campo con un valor JSON ya construido
+     * @param name nombre del campo
+     * @param rawJson valor en JSON válido
+     * @return este mismo constructor
+     */
+    public JsonBuilder addRaw(String name, String rawJson) {
+        if (!empty) {
+            json.append(',');
+        }
+        json.append(quote(name)).append(':').append(rawJson);
+        empty = false;
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        return json + "}";
+    }
+
+    /**
+     * Escribe un texto como cadena JSON, con las comillas y los escapes necesarios
+     * @param text texto a escribir
+     * @return cadena JSON
+     */
+    public static String quote(String text) {
+        StringBuilder quoted = new StringBuilder(text.length() + 2).append('"');
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '"':
+                    quoted.append("\\\"");
+                    break;
+                case '\\':
+                    quoted.append("\\\\");
+                    break;
+                case '\n':
+                    quoted.append("\\n");
+                    break;
+                case '\r':
+                    quoted.append("\\r");
+                    break;
+                case '\t':
+                    quoted.append("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+
+        return quoted.append('"').toString();
+    }
+}
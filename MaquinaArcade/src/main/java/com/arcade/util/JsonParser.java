@@ -0,0 +1,269 @@
+package com.arcade.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Intérprete mínimo de JSON para las peticiones de la aplicación
+ * Convierte el texto en objetos de Java: Map (objetos, con el orden de los
+ * campos), List (arrays), String, Long o Double (números), Boolean y null.
+ * Complementa a JsonBuilder sin depender de una biblioteca JSON
+ */
+public final class JsonParser {
+
+    private static final int MAX_DEPTH = 32;
+
+    private final String text;
+    private int position;
+
+    private JsonParser(String text) {
+        this.text = text;
+    }
+
+    /**
+     * Interpreta un documento JSON completo
+     * @param text texto JSON
+     * @return valor leído
+     * @throws IllegalArgumentException si el texto no es JSON válido
+     */
+    public static Object parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("JSON no válido: texto vacío");
+        }
+
+        JsonParser parser = new JsonParser(text);
+        Object value = parser.readValue(0);
+        parser.skipWhitespace();
+        if (parser.position < text.length()) {
+            throw parser.error("contenido de más");
+        }
+        return value;
+    }
+
+    /**
+     * Interpreta un documento JSON que debe ser un objeto
+     * @param text texto JSON (vacío equivale a un objeto vacío)
+     * @return campos del objeto
+     * @throws IllegalArgumentException si el texto no es un objeto JSON válido
+     */
+    @SuppressWarnings("unchecked")
+    public static Map<String, Object> parseObject(String text) {
+        if (text == null || text.isBlank()) {
+            return new LinkedHashMap<>();
+        }
+
+        Object value = parse(text);
+        if (!(value instanceof Map)) {
+            throw new IllegalArgumentException("JSON no válido: se esperaba un objeto");
+        }
+        return (Map<String, Object>) value;
+    }
+
+    private Object readValue(int depth) {
+        if (depth > MAX_DEPTH) {
+            throw error("demasiados niveles de anidamiento");
+        }
+
+        skipWhitespace();
+        if (position >= text.length()) {
+            throw error("fin inesperado");
+        }
+
+        char c = text.charAt(position);
+        switch (c) {
+            case '{':
+                return readObject(depth);
+            case '[':
+                return readArray(depth);
+            case '"':
+                return readString();
+            case 't':
+                expect("true");
+                return Boolean.TRUE;
+            case 'f':
+                expect("false");
+                return Boolean.FALSE;
+            case 'n':
+                expect("null");
+                return null;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    return readNumber();
+                }
+                throw error("carácter inesperado '" + c + "'");
+        }
+    }
+
+    private Map<String, Object> readObject(int depth) {
+        Map<String, Object> object = new LinkedHashMap<>();
+        position++; // {
+
+        skipWhitespace();
+        if (peek() == '}') {
+            position++;
+            return object;
+        }
+
+        while (true) {
+            skipWhitespace();
+            if (peek() != '"') {
+                throw error("se esperaba el nombre de un campo");
+            }
+            String name = readString();
+
+            skipWhitespace();
+            if (peek() != ':') {
+                throw error("se esperaba ':'");
+            }
+            position++;
+
+            object.put(name, readValue(depth + 1));
+
+            skipWhitespace();
+            char c = peek();
+            position++;
+            if (c == '}') {
+                return object;
+            }
+            if (c != ',') {
+                throw error("se esperaba ',' o '}'");
+            }
+        }
+    }
+
+    private List<Object> readArray(int depth) {
+        List<Object> array = new ArrayList<>();
+        position++; // [
+
+        skipWhitespace();
+        if (peek() == ']') {
+            position++;
+            return array;
+        }
+
+        while (true) {
+            array.add(readValue(depth + 1));
+
+            skipWhitespace();
+            char c = peek();
+            position++;
+            if (c == ']') {
+                return array;
+            }
+            if (c != ',') {
+                throw error("se esperaba ',' o ']'");
+            }
+        }
+    }
+
+    private String readString() {
+        StringBuilder value = new StringBuilder();
+        position++; // "
+
+        while (position < text.length()) {
+            char c = text.charAt(position++);
+            if (c == '"') {
+                return value.toString();
+            }
+            if (c != '\\') {
+                value.append(c);
+                continue;
+            }
+
+            if (position >= text.length()) {
+                break;
+            }
+            char escape = text.charAt(position++);
+            switch (escape) {
+                case '"':
+                case '\\':
+                case '/':
+                    value.append(escape);
+                    break;
+                case 'b':
+                    value.append('\b');
+                    break;
+                case 'f':
+                    value.append('\f');
+                    break;
+                case 'n':
+                    value.append('\n');
+                    break;
+                case 'r':
+                    value.append('\r');
+                    break;
+                case 't':
+                    value.append('\t');
+                    break;
+                case 'u':
+                    if (position + 4 > text.length()) {
+                        throw error("secuencia \\u incompleta");
+                    }
+                    try {
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw error("secuencia \\u no válida");
+                    }
+                    position += 4;
+                    break;
+                default:
+                    throw error("escape no válido '\\" + escape + "'");
+            }
+        }
+
+        throw error("cadena sin cerrar");
+    }
+
+    private Object readNumber() {
+        int start = position;
+        boolean decimal = false;
+
+        if (peek() == '-') {
+            position++;
+        }
+        while (position < text.length()) {
+            char c = text.charAt(position);
+            if (c >= '0' && c <= '9') {
+                position++;
+            } else if (c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                decimal = true;
+                position++;
+            } else {
+                break;
+            }
+        }
+
+        String number = text.substring(start, position);
+        try {
+            return decimal ? (Object) Double.parseDouble(number) : (Object) Long.parseLong(number);
+        } catch (NumberFormatException e) {
+            throw error("número no válido '" + number + "'");
+        }
+    }
+
+    private void expect(String word) {
+        if (!text.startsWith(word, position)) {
+            throw error("se esperaba " + word);
+        }
+        position += word.length();
+    }
+
+    private char peek() {
+        if (position >= text.length()) {
+            throw error("fin inesperado");
+        }
+        return text.charAt(position);
+    }
+
+    private void skipWhitespace() {
+        while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException("JSON no válido: " + message + " en la posición " + position);
+    }
+}
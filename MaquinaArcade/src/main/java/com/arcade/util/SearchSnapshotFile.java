@@ -0,0 +1,105 @@
+package com.arcade.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import com.arcade.model.game.Game;
+import com.arcade.model.game.ResumableSearch;
+import com.arcade.service.GameFactory;
+import com.arcade.service.GameFactory.GameType;
+
+/**
+ * Lectura y escritura de búsquedas interrumpidas en un fichero binario
+ * Permite que una resolución larga sobreviva a un reinicio de la máquina:
+ * se guarda al detenerse y, al arrancar de nuevo, se lee y se reanuda
+ *
+ * Formato: "ARCS", versión (1 byte), tipo de juego (UTF) y a continuación
+ * la configuración (ver GameConfig) y el estado que escribe el propio juego
+ * (ver ResumableSearch). El fichero se escribe en uno temporal y se mueve
+ * al final, para que un corte a mitad de escritura no deje una instantánea
+ * a medias
+ */
+public final class SearchSnapshotFile {
+
+    private static final int MAGIC = 0x41524353; // "ARCS"
+    private static final int VERSION = 2; // 2: configuración codificada con GameConfig
+
+    // Evitar instanciación
+    private SearchSnapshotFile() {
+        throw new AssertionError("No se deben crear instancias de esta clase");
+    }
+
+    /**
+     * Escribe la búsqueda interrumpida de un juego
+     * @param file fichero de destino (se reemplaza si existe)
+     * @param game juego con una búsqueda interrumpida
+     * @throws IOException si hay error al escribir
+     * @throws IllegalArgumentException si el juego no admite guardar la búsqueda
+     * @throws IllegalStateException si el juego no tiene búsqueda interrumpida
+     */
+    public static void write(Path file, Game game) throws IOException {
+        ResumableSearch search = asResumable(game);
+        if (!search.hasPendingSearch()) {
+            throw new IllegalStateException("No hay ninguna búsqueda interrumpida que guardar");
+        }
+
+        Path absolute = file.toAbsolutePath();
+        Path temp = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(GameFactory.getGameType(game).name());
+            search.writeSearchState(out);
+        }
+
+        Files.move(temp, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Lee una búsqueda interrumpida
+     * @param file fichero de origen
+     * @return juego inicializado con la búsqueda lista para reanudar
+     * @throws IOException si hay error al leer o el fichero no es una instantánea válida
+     */
+    public static Game read(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) {
+                throw new IOException("El fichero no es una búsqueda guardada: " + file);
+            }
+
+            int version = in.readUnsignedByte();
+            if (version != VERSION) {
+                throw new IOException("Versión de búsqueda guardada no soportada: " + version);
+            }
+
+            GameType type;
+            try {
+                type = GameType.valueOf(in.readUTF());
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Tipo de juego desconocido en " + file, e);
+            }
+
+            Game game = GameFactory.createGame(type);
+            if (!(game instanceof ResumableSearch)) {
+                throw new IOException("El juego " + type.getName() + " no admite reanudar búsquedas");
+            }
+
+            ((ResumableSearch) game).readSearchState(in);
+            return game;
+        }
+    }
+
+    private static ResumableSearch asResumable(Game game) {
+        if (!(game instanceof ResumableSearch)) {
+            throw new IllegalArgumentException("El juego " + game.getName() + " no admite guardar la búsqueda");
+        }
+        return (ResumableSearch) game;
+    }
+}
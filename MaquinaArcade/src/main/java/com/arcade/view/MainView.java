@@ -40,6 +40,10 @@ public class MainView {
     private Button queensButton;
     private Button knightButton;
     private Button hanoiButton;
+    private Button camelButton;
+    private Button zebraButton;
+    private Button giraffeButton;
+    private Button hanoiMultiPegButton;
     private Button historyButton;
     private Button exitButton;
 
@@ -115,6 +119,24 @@ public class MainView {
         HBox cardsBox = new HBox(50, queensCard, knightCard, hanoiCard);
         cardsBox.setAlignment(Pos.CENTER);
 
+        // Variantes del recorrido con otras piezas saltadoras
+        camelButton = new Button("Camello (1,3)");
+        zebraButton = new Button("Cebra (2,3)");
+        giraffeButton = new Button("Jirafa (1,4)");
+        camelButton.setPrefWidth(130);
+        zebraButton.setPrefWidth(130);
+        giraffeButton.setPrefWidth(130);
+
+        HBox leapersBox = new HBox(10, new Label("Otras piezas saltadoras:"), camelButton, zebraButton, giraffeButton);
+        leapersBox.setAlignment(Pos.CENTER);
+
+        // Variante de Hanoi con más postes
+        hanoiMultiPegButton = new Button("Hanoi con k postes");
+        hanoiMultiPegButton.setPrefWidth(150);
+
+        HBox hanoiVariantsBox = new HBox(10, new Label("Variantes de Hanoi:"), hanoiMultiPegButton);
+        hanoiVariantsBox.setAlignment(Pos.CENTER);
+
         // Crear botones adicionales
         historyButton = new Button("Ver Historial de Partidas");
         historyButton.setPrefWidth(200);
@@ -127,7 +149,7 @@ public class MainView {
         bottomBox.setPadding(new Insets(20));
 
         // Organizar elementos en el panel principal
-        VBox centerBox = new VBox(20, cardsBox, new javafx.scene.control.Separator(), bottomBox);
+        VBox centerBox = new VBox(20, cardsBox, leapersBox, hanoiVariantsBox, new javafx.scene.control.Separator(), bottomBox);
         centerBox.setAlignment(Pos.CENTER);
         centerBox.setPadding(new Insets(20));
 
@@ -193,6 +215,10 @@ public class MainView {
         queensButton.setOnAction(event -> openGame(GameType.QUEENS));
         knightButton.setOnAction(event -> openGame(GameType.KNIGHT));
         hanoiButton.setOnAction(event -> openGame(GameType.HANOI));
+        camelButton.setOnAction(event -> openGame(GameType.CAMEL));
+        zebraButton.setOnAction(event -> openGame(GameType.ZEBRA));
+        giraffeButton.setOnAction(event -> openGame(GameType.GIRAFFE));
+        hanoiMultiPegButton.setOnAction(event -> openGame(GameType.HANOI_MULTIPEG));
 
         // Evento para el historial
         historyButton.setOnAction(event -> openHistoryView());
@@ -46,12 +46,16 @@ public class ViewFactory {
                 title = "N Reinas";
                 break;
             case KNIGHT:
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
                 fxmlPath = "/fxml/knight.fxml";
-                title = "Recorrido del Caballo";
+                title = gameType.getName();
                 break;
             case HANOI:
+            case HANOI_MULTIPEG:
                 fxmlPath = "/fxml/hanoi.fxml";
-                title = "Torres de Hanoi";
+                title = gameType.getName();
                 break;
             default:
                 throw new IllegalArgumentException("Tipo de juego no soportado");
@@ -119,12 +123,16 @@ public class ViewFactory {
                 title = "Configurar N Reinas";
                 break;
             case KNIGHT:
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
                 fxmlPath = "/fxml/dialogs/knight_config.fxml";
-                title = "Configurar Recorrido del Caballo";
+                title = "Configurar " + gameType.getName();
                 break;
             case HANOI:
+            case HANOI_MULTIPEG:
                 fxmlPath = "/fxml/dialogs/hanoi_config.fxml";
-                title = "Configurar Torres de Hanoi";
+                title = "Configurar " + gameType.getName();
                 break;
             default:
                 throw new IllegalArgumentException("Tipo de juego no soportado");
@@ -29,6 +29,7 @@ public class ChessBoard extends GridPane {
     private static final Color LIGHT_COLOR = Color.rgb(240, 217, 181);
     private static final Color DARK_COLOR = Color.rgb(181, 136, 99);
     private static final Color HIGHLIGHT_COLOR = Color.rgb(106, 168, 79, 0.7);
+    private static final Color BLOCKED_COLOR = Color.rgb(60, 60, 60);
 
     // Imágenes para las piezas (se podrían cargar de recursos)
     private Image queenImage;
@@ -223,7 +224,30 @@ public class ChessBoard extends GridPane {
      * @param row fila
      */
     public void removeQueenAt(int col, int row) {
+        clearCell(col, row);
+    }
+
+    /**
+     * Vacía el contenido de una celda (pieza o número)
+     * @param col columna
+     * @param row fila
+     */
+    public void clearCell(int col, int row) {
+        if (isValidPosition(col, row)) {
+            cells[row][col].getChildren().clear();
+        }
+    }
+
+    /**
+     * Marca o desmarca una casilla como bloqueada (no se puede visitar)
+     * @param col columna
+     * @param row fila
+     * @param blocked true para bloquearla
+     */
+    public void setBlocked(int col, int row, boolean blocked) {
         if (isValidPosition(col, row)) {
+            Color cellColor = blocked ? BLOCKED_COLOR : (col + row) % 2 == 0 ? LIGHT_COLOR : DARK_COLOR;
+            cells[row][col].setBackground(new Background(new BackgroundFill(cellColor, CornerRadii.EMPTY, Insets.EMPTY)));
             cells[row][col].getChildren().clear();
         }
     }
@@ -68,7 +68,9 @@ public class GameHistoryPanel extends BorderPane {
 
         gameTypeComboBox = new ComboBox<>();
         gameTypeComboBox.setItems(FXCollections.observableArrayList(
-                "Todos", "N Reinas", "Recorrido del Caballo", "Torres de Hanoi"
+                "Todos", "N Reinas", "Recorrido del Caballo", "Recorrido del Camello",
+                "Recorrido de la Cebra", "Recorrido de la Jirafa", "Torres de Hanoi",
+                "Torres de Hanoi (k postes)"
         ));
         gameTypeComboBox.setValue("Todos");
 
@@ -218,7 +220,11 @@ public class GameHistoryPanel extends BorderPane {
         switch (s) {
             case "N Reinas":             return GameType.QUEENS;
             case "Recorrido del Caballo": return GameType.KNIGHT;
+            case "Recorrido del Camello": return GameType.CAMEL;
+            case "Recorrido de la Cebra": return GameType.ZEBRA;
+            case "Recorrido de la Jirafa": return GameType.GIRAFFE;
             case "Torres de Hanoi":       return GameType.HANOI;
+            case "Torres de Hanoi (k postes)": return GameType.HANOI_MULTIPEG;
             default:                      return null;
         }
     }
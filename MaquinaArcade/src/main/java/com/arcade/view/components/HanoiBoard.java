@@ -13,23 +13,34 @@ import javafx.scene.input.MouseEvent;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.StrokeLineCap;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.function.Consumer;
 
 /**
  * Componente que implementa un tablero para el juego de Torres de Hanói
  * Visualiza las torres y discos, y permite la interacción
+ *
+ * Cada disco tiene un único nodo que se crea al fijar el número de discos y
+ * se reutiliza: al actualizar las torres solo cambia la traslación de los
+ * discos que han cambiado de torre o de altura, sin tocar el grafo de escena
  */
 public class HanoiBoard extends Pane {
 
     private int numDisks;
+    private final int numTowers;
+    private final int towerSpacing;      // Separación entre torres según cuántas haya
+    private final int maxDiskWidth;
+    private final int clickAreaWidth;
     private Rectangle[] towerRods;       // Las torres (postes verticales)
     private Rectangle[] towerClickAreas; // Áreas para hacer clic en las torres
     private Rectangle base;              // La base horizontal
-    private List<List<Rectangle>> disks; // Discos en cada torre
+    private Rectangle[] diskNodes;       // Un nodo por disco (índice tamaño - 1)
+    private int[] diskTower;             // Torre en la que se pintó cada disco (-1 si ninguna)
+    private int[] diskLevel;             // Altura en la que se pintó cada disco
+    private int diskHeight;
     private Consumer<Integer> towerClickHandler;
 
+    public static final int MAX_DISKS = 64;
+
     // Constantes de dimensiones
     private static final int TOWER_WIDTH = 20;
     private static final int TOWER_HEIGHT = 200;
@@ -51,15 +62,30 @@ public class HanoiBoard extends Pane {
      * @param numDisks número de discos
      */
     public HanoiBoard(int numDisks) {
-        this.numDisks = numDisks;
-        this.towerRods = new Rectangle[3];
-        this.towerClickAreas = new Rectangle[3];
-        this.disks = new ArrayList<>(3);
+        this(numDisks, 3);
+    }
 
-        for (int i = 0; i < 3; i++) {
-            disks.add(new ArrayList<>());
+    /**
+     * Constructor con número de discos y de torres
+     * Con más de tres torres se reduce la separación y el ancho de los discos
+     * para que todas quepan en la base
+     * @param numDisks número de discos
+     * @param numTowers número de torres (postes)
+     */
+    public HanoiBoard(int numDisks, int numTowers) {
+        if (numDisks < 1 || numDisks > MAX_DISKS) {
+            throw new IllegalArgumentException("El tablero admite entre 1 y " + MAX_DISKS + " discos");
         }
 
+        this.numDisks = numDisks;
+        this.numTowers = numTowers;
+        this.towerSpacing = Math.min(TOWER_SPACING, BASE_WIDTH / numTowers);
+        this.maxDiskWidth = MAX_DISK_WIDTH * towerSpacing / TOWER_SPACING;
+        this.clickAreaWidth = CLICK_AREA_WIDTH * towerSpacing / TOWER_SPACING;
+        this.towerRods = new Rectangle[numTowers];
+        this.towerClickAreas = new Rectangle[numTowers];
+        this.diskNodes = new Rectangle[0];
+
         initialize();
     }
 
@@ -80,8 +106,8 @@ public class HanoiBoard extends Pane {
         this.getChildren().add(base);
 
         // Crear torres y áreas de clic
-        for (int i = 0; i < 3; i++) {
-            int xPos = i * TOWER_SPACING + (TOWER_SPACING / 2) - (TOWER_WIDTH / 2);
+        for (int i = 0; i < numTowers; i++) {
+            int xPos = i * towerSpacing + (towerSpacing / 2) - (TOWER_WIDTH / 2);
 
             // Crear el poste de la torre
             Rectangle tower = new Rectangle(xPos, 0, TOWER_WIDTH, TOWER_HEIGHT);
@@ -89,9 +115,9 @@ public class HanoiBoard extends Pane {
 
             // Crear área de clic para la torre (más ancha para mejor interacción)
             Rectangle clickArea = new Rectangle(
-                    xPos - CLICK_AREA_WIDTH/2 + TOWER_WIDTH/2,
+                    xPos - clickAreaWidth/2 + TOWER_WIDTH/2,
                     0,
-                    CLICK_AREA_WIDTH,
+                    clickAreaWidth,
                     TOWER_HEIGHT
             );
             clickArea.setFill(CLICK_AREA_COLOR);
@@ -113,55 +139,70 @@ public class HanoiBoard extends Pane {
             towerClickAreas[i] = clickArea;
         }
 
-        // Crear discos iniciales en la primera torre
-        createInitialDisks();
+        // Crear los discos, todos en la primera torre
+        createDiskNodes();
     }
 
     /**
-     * Crea los discos iniciales en la primera torre
+     * Crea el conjunto de nodos de los discos y los coloca en la primera torre
+     * Solo se llama al crear el tablero o al cambiar el número de discos
      */
-    private void createInitialDisks() {
-        // Limpiar discos existentes
-        for (List<Rectangle> towerDisks : disks) {
-            for (Rectangle disk : towerDisks) {
-                this.getChildren().remove(disk);
+    private void createDiskNodes() {
+        this.getChildren().removeAll(diskNodes);
+
+        diskHeight = calculateDiskHeight();
+        diskNodes = new Rectangle[numDisks];
+        diskTower = new int[numDisks];
+        diskLevel = new int[numDisks];
+
+        for (int size = 1; size <= numDisks; size++) {
+            Rectangle disk = new Rectangle(0, 0, calculateDiskWidth(size), diskHeight);
+            disk.setFill(getDiskColor(size));
+
+            // Con discos muy finos el borde y las esquinas los taparían
+            if (diskHeight >= 6) {
+                disk.setArcWidth(10);
+                disk.setArcHeight(10);
+                disk.setStroke(Color.BLACK);
+                disk.setStrokeWidth(1);
             }
-            towerDisks.clear();
+
+            disk.setMouseTransparent(true);
+            diskNodes[size - 1] = disk;
+            diskTower[size - 1] = -1;
         }
 
-        // Crear nuevos discos en la primera torre
-        for (int i = numDisks; i > 0; i--) {
-            createDisk(0, i);
+        this.getChildren().addAll(diskNodes);
+
+        // Asegurar que las áreas de clic estén en el frente
+        for (Rectangle clickArea : towerClickAreas) {
+            clickArea.toFront();
+        }
+
+        for (int size = numDisks; size >= 1; size--) {
+            placeDisk(size, 0, numDisks - size);
         }
     }
 
     /**
-     * Crea un disco en una torre
-     * @param tower índice de la torre (0, 1 o 2)
+     * Coloca un disco en una torre y altura
+     * Si ya estaba ahí no se toca el nodo
      * @param size tamaño del disco (1 es el más pequeño)
+     * @param tower índice de la torre (0 a numTowers - 1)
+     * @param level altura desde la base (0 es la base)
      */
-    private Rectangle createDisk(int tower, int size) {
-        int diskWidth = calculateDiskWidth(size);
-        int xPos = tower * TOWER_SPACING + (TOWER_SPACING / 2) - (diskWidth / 2);
-        int yPos = TOWER_HEIGHT - BASE_HEIGHT - (disks.get(tower).size() + 1) * DISK_HEIGHT;
-
-        Rectangle disk = new Rectangle(xPos, yPos, diskWidth, DISK_HEIGHT);
-        disk.setFill(getDiskColor(size));
-        disk.setArcWidth(10);
-        disk.setArcHeight(10);
-
-        // Añadir borde para mejor visibilidad
-        disk.setStroke(Color.BLACK);
-        disk.setStrokeWidth(1);
-
-        // Agregar disco a la torre
-        disks.get(tower).add(disk);
-        this.getChildren().add(disk);
+    private void placeDisk(int size, int tower, int level) {
+        int i = size - 1;
+        if (diskTower[i] == tower && diskLevel[i] == level) {
+            return;
+        }
 
-        // Asegurar que el disco esté por encima de la torre
-        disk.toFront();
+        Rectangle disk = diskNodes[i];
+        disk.setTranslateX(tower * towerSpacing + (towerSpacing / 2.0) - disk.getWidth() / 2);
+        disk.setTranslateY(TOWER_HEIGHT - BASE_HEIGHT - (level + 1) * diskHeight);
 
-        return disk;
+        diskTower[i] = tower;
+        diskLevel[i] = level;
     }
 
     /**
@@ -169,26 +210,34 @@ public class HanoiBoard extends Pane {
      * @param towerDisks arreglo con los discos en cada torre
      */
     public void updateTowers(int[][] towerDisks) {
-        // Limpiar discos existentes
-        for (List<Rectangle> towerDisks1 : disks) {
-            for (Rectangle disk : towerDisks1) {
-                this.getChildren().remove(disk);
-            }
-            towerDisks1.clear();
-        }
-
-        // Crear discos según el estado actual
-        for (int i = 0; i < 3; i++) {
-            if (towerDisks[i] != null && towerDisks[i].length > 0) {
+        for (int i = 0; i < numTowers && i < towerDisks.length; i++) {
+            if (towerDisks[i] != null) {
                 for (int j = 0; j < towerDisks[i].length; j++) {
-                    createDisk(i, towerDisks[i][j]);
+                    if (towerDisks[i][j] <= numDisks) {
+                        placeDisk(towerDisks[i][j], i, j);
+                    }
                 }
             }
         }
+    }
 
-        // Asegurar que las áreas de clic estén en el frente
-        for (Rectangle clickArea : towerClickAreas) {
-            clickArea.toFront();
+    /**
+     * Actualiza el estado de las torres a partir de sus máscaras de bits
+     * Evita construir arrays intermedios en cada frame de una reproducción
+     * @param towerMasks máscara de cada torre (bit d - 1 activo para el disco d)
+     */
+    public void updateTowerMasks(long[] towerMasks) {
+        for (int i = 0; i < numTowers && i < towerMasks.length; i++) {
+            long mask = towerMasks[i];
+
+            // El bit más alto es el disco mayor, que queda en la base
+            for (int level = 0; mask != 0; level++) {
+                int bit = 63 - Long.numberOfLeadingZeros(mask);
+                if (bit < numDisks) {
+                    placeDisk(bit + 1, i, level);
+                }
+                mask &= ~(1L << bit);
+            }
         }
     }
 
@@ -197,13 +246,17 @@ public class HanoiBoard extends Pane {
      * @param numDisks nuevo número de discos
      */
     public void setNumDisks(int numDisks) {
+        if (numDisks < 1 || numDisks > MAX_DISKS) {
+            throw new IllegalArgumentException("El tablero admite entre 1 y " + MAX_DISKS + " discos");
+        }
+
         this.numDisks = numDisks;
-        createInitialDisks();
+        createDiskNodes();
     }
 
     /**
      * Resalta una torre
-     * @param tower índice de la torre (0, 1 o 2)
+     * @param tower índice de la torre (0 a numTowers - 1)
      */
     public void highlightTower(int tower) {
         // Restaurar colores originales
@@ -212,7 +265,7 @@ public class HanoiBoard extends Pane {
         }
 
         // Resaltar torre seleccionada
-        if (tower >= 0 && tower < 3) {
+        if (tower >= 0 && tower < numTowers) {
             towerRods[tower].setFill(HIGHLIGHT_COLOR);
         }
     }
@@ -225,7 +278,15 @@ public class HanoiBoard extends Pane {
     private int calculateDiskWidth(int size) {
         // El disco más grande ocupa casi todo el ancho disponible
         // Los demás discos se escalan según su tamaño relativo
-        return (int) (MAX_DISK_WIDTH * (0.3 + (0.7 * size / numDisks)));
+        return (int) (maxDiskWidth * (0.3 + (0.7 * size / numDisks)));
+    }
+
+    /**
+     * Calcula el alto de los discos para que la torre completa quepa en el poste
+     * @return alto de disco (DISK_HEIGHT con pocos discos, menos con muchos)
+     */
+    private int calculateDiskHeight() {
+        return Math.max(1, Math.min(DISK_HEIGHT, (TOWER_HEIGHT - BASE_HEIGHT) / Math.max(1, numDisks)));
     }
 
     /**
@@ -16,6 +16,7 @@ import javafx.stage.Stage;
 import javafx.stage.StageStyle;
 import javafx.stage.Window;
 
+import com.arcade.model.game.hanoi.FrameStewart;
 import com.arcade.service.GameFactory.GameType;
 import com.arcade.util.Constants;
 
@@ -35,6 +36,7 @@ public class GameConfigDialog {
     private Spinner<Integer> startXSpinner; // Para Recorrido del Caballo
     private Spinner<Integer> startYSpinner; // Para Recorrido del Caballo
     private Slider disksSlider; // Para Torres de Hanoi
+    private Slider pegsSlider; // Para Torres de Hanoi con k postes
 
     /**
      * Constructor con tipo de juego
@@ -111,9 +113,13 @@ public class GameConfigDialog {
                 createQueensContent(content);
                 break;
             case KNIGHT:
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
                 createKnightContent(content);
                 break;
             case HANOI:
+            case HANOI_MULTIPEG:
                 createHanoiContent(content);
                 break;
         }
@@ -236,15 +242,47 @@ public class GameConfigDialog {
         disksSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
             int disks = newVal.intValue();
             disksLabel.setText("Número de discos: " + disks);
-            optimalLabel.setText("Movimientos óptimos: " + Constants.calculateMinimumHanoiMoves(disks));
+            optimalLabel.setText("Movimientos óptimos: " + getOptimalHanoiMoves());
         });
 
         content.getChildren().addAll(
-                new Label("Configuración para Torres de Hanoi:"),
+                new Label("Configuración para " + getGameName(gameType) + ":"),
                 disksLabel,
-                disksSlider,
-                optimalLabel
+                disksSlider
         );
+
+        if (gameType == GameType.HANOI_MULTIPEG) {
+            Label pegsLabel = new Label("Número de postes: " + Constants.DEFAULT_HANOI_PEGS);
+
+            pegsSlider = new Slider(Constants.MIN_HANOI_PEGS, Constants.MAX_HANOI_PEGS, Constants.DEFAULT_HANOI_PEGS);
+            pegsSlider.setShowTickLabels(true);
+            pegsSlider.setShowTickMarks(true);
+            pegsSlider.setMajorTickUnit(1);
+            pegsSlider.setMinorTickCount(0);
+            pegsSlider.setSnapToTicks(true);
+
+            pegsSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+                pegsLabel.setText("Número de postes: " + newVal.intValue());
+                optimalLabel.setText("Movimientos óptimos: " + getOptimalHanoiMoves());
+            });
+
+            content.getChildren().addAll(pegsLabel, pegsSlider);
+        }
+
+        optimalLabel.setText("Movimientos óptimos: " + getOptimalHanoiMoves());
+        content.getChildren().add(optimalLabel);
+    }
+
+    /**
+     * Calcula los movimientos óptimos de la configuración de Hanoi elegida
+     * @return movimientos mínimos (Frame–Stewart si hay más de tres postes)
+     */
+    private long getOptimalHanoiMoves() {
+        int disks = (int) disksSlider.getValue();
+        if (pegsSlider == null) {
+            return Constants.calculateMinimumHanoiMoves(disks);
+        }
+        return FrameStewart.getMinimumMoves(disks, (int) pegsSlider.getValue());
     }
 
     /**
@@ -256,6 +294,9 @@ public class GameConfigDialog {
                 configValues = new Object[] { (int) sizeSlider.getValue() };
                 break;
             case KNIGHT:
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
                 configValues = new Object[] {
                         (int) sizeSlider.getValue(),
                         startXSpinner.getValue(),
@@ -265,6 +306,9 @@ public class GameConfigDialog {
             case HANOI:
                 configValues = new Object[] { (int) disksSlider.getValue() };
                 break;
+            case HANOI_MULTIPEG:
+                configValues = new Object[] { (int) disksSlider.getValue(), (int) pegsSlider.getValue() };
+                break;
         }
     }
 
@@ -277,7 +321,11 @@ public class GameConfigDialog {
         switch (type) {
             case QUEENS: return "N Reinas";
             case KNIGHT: return "Recorrido del Caballo";
+            case CAMEL: return "Recorrido del Camello";
+            case ZEBRA: return "Recorrido de la Cebra";
+            case GIRAFFE: return "Recorrido de la Jirafa";
             case HANOI: return "Torres de Hanoi";
+            case HANOI_MULTIPEG: return "Torres de Hanoi (k postes)";
             default: return "Juego";
         }
     }
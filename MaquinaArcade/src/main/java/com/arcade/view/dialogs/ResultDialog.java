@@ -307,12 +307,25 @@ public class ResultDialog {
                         "de un caballo de ajedrez tal que visite cada casilla del tablero exactamente una vez. " +
                         "La dificultad aumenta con el tamaño del tablero y varía según la posición inicial.";
 
+            case CAMEL:
+            case ZEBRA:
+            case GIRAFFE:
+                return "Variante del Recorrido del Caballo con otra pieza saltadora (a,b), que salta a columnas " +
+                        "y b filas (o al revés). El camello (1,3) nunca cambia de color, así que su recorrido solo " +
+                        "cubre las casillas del color inicial; la cebra (2,3) y la jirafa (1,4) necesitan tableros " +
+                        "más grandes que el caballo.";
+
             case HANOI:
                 return "El problema de las Torres de Hanoi consiste en mover una pila de discos desde una torre " +
                         "a otra, usando una tercera torre como auxiliar, moviendo un solo disco cada vez y sin " +
                         "colocar nunca un disco más grande sobre uno más pequeño. El número mínimo de movimientos " +
                         "necesarios es 2^n - 1, donde n es el número de discos.";
 
+            case HANOI_MULTIPEG:
+                return "Variante de las Torres de Hanoi con cuatro o más postes (el acertijo de Reve con cuatro). " +
+                        "Con postes adicionales se pueden apartar varios discos a la vez, y el algoritmo de " +
+                        "Frame–Stewart reduce los movimientos: 17 en lugar de 63 para 6 discos y 4 postes.";
+
             default:
                 return "";
         }
@@ -327,7 +340,11 @@ public class ResultDialog {
         switch (type) {
             case QUEENS: return "N Reinas";
             case KNIGHT: return "Recorrido del Caballo";
+            case CAMEL: return "Recorrido del Camello";
+            case ZEBRA: return "Recorrido de la Cebra";
+            case GIRAFFE: return "Recorrido de la Jirafa";
             case HANOI: return "Torres de Hanoi";
+            case HANOI_MULTIPEG: return "Torres de Hanoi (k postes)";
             default: return "Juego";
         }
     }
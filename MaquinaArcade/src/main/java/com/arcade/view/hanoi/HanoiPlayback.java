@@ -0,0 +1,143 @@
+package com.arcade.view.hanoi;
+
+import javafx.animation.AnimationTimer;
+
+import com.arcade.model.game.hanoi.HanoiGame;
+
+/**
+ * Reproducción de la solución de las Torres de Hanoi guiada por frames
+ * Un único AnimationTimer calcula en cada frame cuántos movimientos tocan
+ * según el tiempo transcurrido y la velocidad, los aplica y repinta una sola
+ * vez. Cuando en un frame tocan muchos movimientos no se ejecutan uno a uno:
+ * se salta directamente al estado de la solución con HanoiGame.seek, así que
+ * el coste por frame no depende de la velocidad
+ *
+ * Todo se ejecuta en el hilo de JavaFX, sin hilos auxiliares ni runLater
+ */
+public class HanoiPlayback {
+
+    public static final double MIN_SPEED = 1;
+    public static final double MAX_SPEED = 10_000;
+
+    private static final double MOVES_PER_SECOND = 1.0; // Velocidad 1x: un movimiento por segundo
+    private static final long MAX_STEPS_PER_FRAME = 64;  // A partir de aquí se salta con seek
+    private static final double MAX_FRAME_SECONDS = 0.25; // Tope si la ventana estuvo bloqueada
+
+    private final HanoiGame game;
+    private final Runnable onFrame;
+    private final Runnable onFinished;
+    private final AnimationTimer timer;
+
+    private double speed = MIN_SPEED;
+    private double pendingMoves; // Fracción de movimiento acumulada entre frames
+    private long lastFrame = -1;
+    private boolean playing;
+
+    /**
+     * Constructor
+     * @param game juego que se reproduce
+     * @param onFrame acción para repintar tras aplicar los movimientos de un frame
+     * @param onFinished acción al completar el puzzle
+     */
+    public HanoiPlayback(HanoiGame game, Runnable onFrame, Runnable onFinished) {
+        this.game = game;
+        this.onFrame = onFrame;
+        this.onFinished = onFinished;
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onTick(now);
+            }
+        };
+    }
+
+    /**
+     * Empieza o continúa la reproducción desde el estado actual del juego
+     */
+    public void play() {
+        if (playing) {
+            return;
+        }
+
+        playing = true;
+        lastFrame = -1;
+        pendingMoves = 0;
+        timer.start();
+    }
+
+    /**
+     * Detiene la reproducción dejando el tablero en el estado alcanzado
+     */
+    public void pause() {
+        playing = false;
+        timer.stop();
+    }
+
+    /**
+     * Indica si se está reproduciendo
+     * @return true si el temporizador está activo
+     */
+    public boolean isPlaying() {
+        return playing;
+    }
+
+    /**
+     * Establece la velocidad de reproducción
+     * @param speed multiplicador (1 a MAX_SPEED)
+     */
+    public void setSpeed(double speed) {
+        this.speed = Math.max(MIN_SPEED, Math.min(MAX_SPEED, speed));
+    }
+
+    public double getSpeed() {
+        return speed;
+    }
+
+    /**
+     * Aplica los movimientos que corresponden al tiempo transcurrido
+     * @param now instante del frame en nanosegundos
+     */
+    private void onTick(long now) {
+        if (lastFrame < 0) {
+            lastFrame = now;
+            return;
+        }
+
+        double elapsed = Math.min(MAX_FRAME_SECONDS, (now - lastFrame) / 1e9);
+        lastFrame = now;
+
+        pendingMoves += elapsed * MOVES_PER_SECOND * speed;
+        long due = (long) pendingMoves;
+        if (due == 0) {
+            return;
+        }
+        pendingMoves -= due;
+
+        advance(due);
+        onFrame.run();
+
+        if (game.isSolved() || game.getNextOptimalMove() == null) {
+            pause();
+            onFinished.run();
+        }
+    }
+
+    /**
+     * Avanza el juego varios movimientos de la solución
+     * Con pocos movimientos se ejecutan paso a paso; con muchos, si el tablero
+     * está en la solución óptima de tres postes, se calcula el estado destino
+     * directamente y los frames intermedios no se llegan a construir
+     * @param due movimientos que tocan en este frame
+     */
+    private void advance(long due) {
+        if (due > MAX_STEPS_PER_FRAME && !game.isMultiPeg() && game.isOnOptimalPath()) {
+            long target = Math.min(game.getMinimumMoves(), game.getCurrentMoveIndex() + due);
+            game.seek(target);
+            return;
+        }
+
+        for (long i = 0; i < due && game.step(); i++) {
+            // Cada paso ejecuta el siguiente movimiento óptimo desde el estado actual
+        }
+    }
+}
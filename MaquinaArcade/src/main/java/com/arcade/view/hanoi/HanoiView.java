@@ -12,17 +12,15 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
-import java.util.List;
-import java.util.Stack;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.RejectedExecutionException;
 
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.HanoiRecord;
 import com.arcade.model.game.Game;
-import com.arcade.model.game.hanoi.Disk;
 import com.arcade.model.game.hanoi.HanoiGame;
-import com.arcade.model.game.hanoi.HanoiGame.Move;
+import com.arcade.service.ExecutionService;
 import com.arcade.service.GameService;
+import com.arcade.util.Constants;
 import com.arcade.view.GameView;
 import com.arcade.view.components.HanoiBoard;
 
@@ -49,7 +47,10 @@ public class HanoiView extends BorderPane implements GameView {
     private Label movesLabel;
     private Label optimalLabel;
     private Label timeLabel;
+    private Label speedLabel;
+    private Slider speedSlider;
     private HanoiBoard hanoiBoard;
+    private HanoiPlayback playback;
 
     /**
      * Constructor por defecto
@@ -78,18 +79,18 @@ public class HanoiView extends BorderPane implements GameView {
         // Panel izquierdo (controles)
         disksLabel = new Label("Número de discos: 5");
 
-        disksSlider = new Slider(3, 10, 5);
+        disksSlider = new Slider(Constants.MIN_HANOI_DISKS, Constants.MAX_HANOI_DISKS, Constants.DEFAULT_HANOI_DISKS);
         disksSlider.setShowTickLabels(true);
         disksSlider.setShowTickMarks(true);
-        disksSlider.setMajorTickUnit(1);
-        disksSlider.setMinorTickCount(0);
+        disksSlider.setMajorTickUnit(10);
+        disksSlider.setMinorTickCount(9);
         disksSlider.setSnapToTicks(true);
 
         // Actualizar etiqueta al cambiar el slider
         disksSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
             int disks = newVal.intValue();
             disksLabel.setText("Número de discos: " + disks);
-            optimalLabel.setText("Movimientos óptimos: " + ((int) Math.pow(2, disks) - 1));
+            optimalLabel.setText("Movimientos óptimos: " + Constants.calculateMinimumHanoiMoves(disks));
         });
 
         initButton = new Button("Iniciar Juego");
@@ -111,6 +112,20 @@ public class HanoiView extends BorderPane implements GameView {
         resetButton.setPrefWidth(180);
         resetButton.setDisable(true);
 
+        // Velocidad de la reproducción en escala logarítmica: 10^0 a 10^4
+        speedLabel = new Label("Velocidad: 1x");
+        speedSlider = new Slider(0, Math.log10(HanoiPlayback.MAX_SPEED), 0);
+        speedSlider.setShowTickMarks(true);
+        speedSlider.setMajorTickUnit(1);
+        speedSlider.setMinorTickCount(0);
+        speedSlider.valueProperty().addListener((obs, oldVal, newVal) -> {
+            double speed = getSelectedSpeed();
+            speedLabel.setText("Velocidad: " + Math.round(speed) + "x");
+            if (playback != null) {
+                playback.setSpeed(speed);
+            }
+        });
+
         Label statsLabel = new Label("Estadísticas");
         statsLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
 
@@ -139,6 +154,8 @@ public class HanoiView extends BorderPane implements GameView {
                 solveButton,
                 stepButton,
                 resetButton,
+                speedLabel,
+                speedSlider,
                 new javafx.scene.control.Separator(),
                 statsLabel,
                 movesLabel,
@@ -191,7 +208,7 @@ public class HanoiView extends BorderPane implements GameView {
 
             // Crear o actualizar el tablero de Hanoi
             if (hanoiBoard == null) {
-                hanoiBoard = new HanoiBoard(disks);
+                hanoiBoard = new HanoiBoard(disks, game.getNumPegs());
 
                 // Configurar el evento de clic
                 hanoiBoard.setOnTowerClick(this::handleTowerClick);
@@ -219,7 +236,7 @@ public class HanoiView extends BorderPane implements GameView {
             disksSlider.setDisable(true);
 
             // Actualizar etiquetas
-            int minMoves = (int) Math.pow(2, disks) - 1;
+            long minMoves = game.getMinimumMoves();
             movesLabel.setText("Movimientos: 0 / " + minMoves);
             optimalLabel.setText("Movimientos óptimos: " + minMoves);
             timeLabel.setText("Tiempo: 0s");
@@ -237,10 +254,8 @@ public class HanoiView extends BorderPane implements GameView {
         if (game != null && hanoiBoard != null) {
             if (selectedTower == -1) {
                 // Primera selección (torre origen)
-                List<Stack<Disk>> towers = game.getTowers();
-
                 // Verificar que la torre tenga discos
-                if (towers.get(tower).isEmpty()) {
+                if (game.isTowerEmpty(tower)) {
                     return;
                 }
 
@@ -261,7 +276,7 @@ public class HanoiView extends BorderPane implements GameView {
                         // Verificar si se completó el puzzle
                         if (game.isSolved()) {
                             showMessage("¡Felicidades! Has completado el puzzle con " +
-                                    game.getMoves().size() + " movimientos.\n" +
+                                    game.getMoveCount() + " movimientos.\n" +
                                     "Movimientos óptimos: " + game.getMinimumMoves());
                             saveGameRecord(true);
                         }
@@ -285,22 +300,15 @@ public class HanoiView extends BorderPane implements GameView {
      */
     private void updateHanoiBoard() {
         if (game != null && hanoiBoard != null) {
-            List<Stack<Disk>> towers = game.getTowers();
-
-            // Convertir las pilas de discos a arreglos para el tablero
-            int[][] towerDisks = new int[3][];
-
-            for (int i = 0; i < 3; i++) {
-                Stack<Disk> tower = towers.get(i);
-                towerDisks[i] = new int[tower.size()];
+            // Discos de cada torre como máscara de bits
+            long[] towerMasks = new long[game.getNumPegs()];
 
-                for (int j = 0; j < tower.size(); j++) {
-                    towerDisks[i][j] = tower.get(j).getSize();
-                }
+            for (int i = 0; i < towerMasks.length; i++) {
+                towerMasks[i] = game.getTowerMask(i);
             }
 
-            // Actualizar el tablero
-            hanoiBoard.updateTowers(towerDisks);
+            // Actualizar el tablero (solo se mueven los discos que cambian)
+            hanoiBoard.updateTowerMasks(towerMasks);
         }
     }
 
@@ -308,7 +316,7 @@ public class HanoiView extends BorderPane implements GameView {
     public void updateView() {
         if (game != null) {
             // Actualizar etiquetas
-            movesLabel.setText("Movimientos: " + game.getMoves().size() +
+            movesLabel.setText("Movimientos: " + game.getMoveCount() +
                     " / " + game.getMinimumMoves());
             timeLabel.setText("Tiempo: " + game.getElapsedTimeSeconds() + "s");
         }
@@ -318,12 +326,11 @@ public class HanoiView extends BorderPane implements GameView {
     public void showStep() {
         if (game != null && hanoiBoard != null) {
             // Ejecutar un paso de la solución automática
-            if (game.getOptimalSolution().size() <= game.getMoves().size()) {
+            if (game.getNextOptimalMove() == null) {
                 showMessage("No hay más pasos disponibles.");
                 return;
             }
 
-            int currentStep = game.getMoves().size();
             boolean success = game.step();
 
             // Actualizar tablero
@@ -338,7 +345,7 @@ public class HanoiView extends BorderPane implements GameView {
 
             // Verificar si se completó el puzzle
             if (game.isSolved()) {
-                showMessage("Puzzle completado con " + game.getMoves().size() +
+                showMessage("Puzzle completado con " + game.getMoveCount() +
                         " movimientos (óptimo: " + game.getMinimumMoves() + ").");
                 saveGameRecord(true);
             }
@@ -351,75 +358,89 @@ public class HanoiView extends BorderPane implements GameView {
             // Desactivar botones durante la resolución
             setControlsEnabled(false);
 
-            // Resolver en un hilo separado para no bloquear la UI
-            new Thread(() -> {
-                // Resolver puzzle
-                boolean success = false;
-
-                // Opcionalmente, mostrar una animación paso a paso
-                if (autoMode) {
-                    // Reiniciar juego
-                    game.reset();
-                    game.initialize(game.getNumDisks());
-
-                    // Mostrar solución paso a paso
-                    AtomicInteger currentStep = new AtomicInteger(0);
-                    List<Move> solution = game.getOptimalSolution();
-
-                    Platform.runLater(() -> updateHanoiBoard());
-
-                    for (Move move : solution) {
-                        try {
-                            Thread.sleep(500); // Pausa entre movimientos
-
-                            // Ejecutar movimiento en el hilo de JavaFX
-                            Platform.runLater(() -> {
-                                game.moveDisk(move.getFromTower(), move.getToTower());
-                                updateHanoiBoard();
-                                updateView();
-                                currentStep.incrementAndGet();
-                            });
-
-                            Thread.sleep(500); // Pausa para ver el resultado
+            // Opcionalmente, mostrar una animación paso a paso
+            if (autoMode) {
+                playSolution();
+                return;
+            }
 
-                        } catch (InterruptedException e) {
-                            break;
-                        }
+            // Resolver en el grupo de cálculo para no bloquear la UI
+            try {
+                ExecutionService.getInstance().submitCpu(() -> {
+                    boolean success = false;
+                    try {
+                        success = game.solve();
+                    } finally {
+                        // Los controles se rehabilitan aunque la resolución falle
+                        final boolean solved = success;
+
+                        // Actualizar interfaz en el hilo de JavaFX
+                        Platform.runLater(() -> {
+                            updateHanoiBoard();
+                            updateView();
+                        });
+
+                        // Actualizar UI en el hilo de JavaFX
+                        Platform.runLater(() -> {
+                            setControlsEnabled(true);
+
+                            if (solved) {
+                                showMessage("Se ha resuelto el puzzle con " + game.getMoveCount() +
+                                        " movimientos (óptimo: " + game.getMinimumMoves() + ").");
+                                saveGameRecord(true);
+                            } else {
+                                showError("Ocurrió un error al resolver el puzzle.");
+                            }
+                        });
                     }
+                }, ExecutionService.Priority.HIGH);
+            } catch (RejectedExecutionException e) {
+                // Grupo de cálculo saturado: devolver la interfaz a su estado anterior
+                setControlsEnabled(true);
+                showError("No se pudo iniciar la resolución: " + e.getMessage());
+            }
+        }
+    }
 
-                    success = true;
-
-                } else {
-                    // Resolver de una vez
-                    success = game.solve();
-
-                    // Actualizar interfaz en el hilo de JavaFX
-                    Platform.runLater(() -> {
-                        updateHanoiBoard();
-                        updateView();
-                    });
-                }
-
-                final boolean finalSuccess = success;
+    /**
+     * Reproduce la solución desde el principio con la velocidad seleccionada
+     * El temporizador de la reproducción aplica los movimientos en el hilo de
+     * JavaFX y repinta una vez por frame
+     */
+    private void playSolution() {
+        game.initialize(game.getNumDisks(), game.getNumPegs());
+        updateHanoiBoard();
+        updateView();
 
-                // Actualizar UI en el hilo de JavaFX
-                Platform.runLater(() -> {
-                    setControlsEnabled(true);
+        playback = new HanoiPlayback(game, () -> {
+            updateHanoiBoard();
+            updateView();
+        }, () -> Platform.runLater(() -> {
+            // Los diálogos no se pueden abrir durante un pulso de animación
+            setControlsEnabled(true);
+            showMessage("Se ha resuelto el puzzle con " + game.getMoveCount() +
+                    " movimientos (óptimo: " + game.getMinimumMoves() + ").");
+            saveGameRecord(true);
+        }));
+        playback.setSpeed(getSelectedSpeed());
+        playback.play();
+    }
 
-                    if (finalSuccess) {
-                        showMessage("Se ha resuelto el puzzle con " + game.getMoves().size() +
-                                " movimientos (óptimo: " + game.getMinimumMoves() + ").");
-                        saveGameRecord(true);
-                    } else {
-                        showError("Ocurrió un error al resolver el puzzle.");
-                    }
-                });
-            }).start();
-        }
+    /**
+     * Obtiene la velocidad elegida en el slider logarítmico
+     * @return multiplicador de velocidad (1 a HanoiPlayback.MAX_SPEED)
+     */
+    private double getSelectedSpeed() {
+        return Math.pow(10, speedSlider.getValue());
     }
 
     @Override
     public void reset() {
+        if (playback != null) {
+            playback.pause();
+            playback = null;
+        }
+
         if (game != null) {
             game.reset();
 
@@ -453,23 +474,29 @@ public class HanoiView extends BorderPane implements GameView {
     private void saveGameRecord(boolean completed) {
         if (game != null && gameService != null) {
             try {
-                GameRecord record = gameService.saveGameRecord(game, completed);
-
-                if (record instanceof HanoiRecord) {
-                    HanoiRecord hanoiRecord = (HanoiRecord) record;
-
-                    String message = String.format(
-                            "Resultado guardado:\nDiscos: %d\nMovimientos: %d (óptimo: %d)\n" +
-                                    "Solución óptima: %s\nTiempo: %ds",
-                            hanoiRecord.getNumDisks(),
-                            hanoiRecord.getMovements(),
-                            hanoiRecord.getMinimumMoves(),
-                            hanoiRecord.isOptimalSolution() ? "Sí" : "No",
-                            hanoiRecord.getElapsedTimeSeconds()
-                    );
-
-                    showMessage(message);
-                }
+                // El registro se crea aquí, donde se usa el juego, y se guarda en un hilo de E/S
+                GameRecord pending = gameService.createGameRecord(game, completed);
+                ExecutionService.getInstance().submitIo(() -> {
+                    GameRecord record = gameService.saveRecord(pending);
+
+                    Platform.runLater(() -> {
+                        if (record instanceof HanoiRecord) {
+                            HanoiRecord hanoiRecord = (HanoiRecord) record;
+
+                            String message = String.format(
+                                    "Resultado guardado:\nDiscos: %d\nMovimientos: %d (óptimo: %d)\n" +
+                                            "Solución óptima: %s\nTiempo: %ds",
+                                    hanoiRecord.getNumDisks(),
+                                    hanoiRecord.getMovements(),
+                                    hanoiRecord.getMinimumMoves(),
+                                    hanoiRecord.isOptimalSolution() ? "Sí" : "No",
+                                    hanoiRecord.getElapsedTimeSeconds()
+                            );
+
+                            showMessage(message);
+                        }
+                    });
+                });
             } catch (Exception e) {
                 showError("Error al guardar: " + e.getMessage());
             }
@@ -16,6 +16,8 @@ import javafx.scene.text.TextAlignment;
 
 import java.util.function.BiConsumer;
 
+import com.arcade.model.game.knight.DegreeTable;
+
 /**
  * Panel que dibuja un tablero para el problema del Recorrido del Caballo
  * Permite interacción para mover el caballo
@@ -33,6 +35,12 @@ public class KnightBoardPanel extends Pane {
     private int knightX;
     private int knightY;
 
+    // Grados de Warnsdorff compartidos, actualizados en cada cambio del tablero
+    private DegreeTable degrees;
+    private final int[] rankedMoves = new int[8];
+    private int hoverCell = -1;      // Última casilla bajo el ratón
+    private boolean hintsDirty = true; // Las pistas deben volver a pintarse
+
     // Colores para el tablero
     private static final Color LIGHT_COLOR = Color.rgb(240, 217, 181);
     private static final Color DARK_COLOR = Color.rgb(181, 136, 99);
@@ -63,6 +71,7 @@ public class KnightBoardPanel extends Pane {
 
         // Marcar posición inicial
         board[startY][startX] = 0;
+        rebuildDegrees();
 
         // Cargar imagen del caballo
         try {
@@ -124,6 +133,7 @@ public class KnightBoardPanel extends Pane {
             knightY = 0;
             board[0][0] = 0;
         }
+        rebuildDegrees();
 
         int canvasSize = boardSize * cellSize;
         canvas.setWidth(canvasSize);
@@ -150,6 +160,7 @@ public class KnightBoardPanel extends Pane {
      */
     private void drawBoard() {
         GraphicsContext gc = canvas.getGraphicsContext2D();
+        hintsDirty = true;
 
         // Limpiar canvas
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
@@ -309,6 +320,7 @@ public class KnightBoardPanel extends Pane {
         board[row][col] = moveNumber;
         knightX = col;
         knightY = row;
+        degrees.visit(row * boardSize + col);
 
         // Redibujar tablero
         drawBoard();
@@ -338,6 +350,9 @@ public class KnightBoardPanel extends Pane {
 
     /**
      * Resalta las casillas a las que el caballo puede moverse
+     * Los movimientos se ordenan por grado (regla de Warnsdorff): la mejor opción
+     * se resalta con más intensidad y las que dejarían aislada alguna casilla
+     * se marcan en rojo. Cada casilla muestra su grado en la esquina
      */
     public void highlightValidMoves() {
         GraphicsContext gc = canvas.getGraphicsContext2D();
@@ -345,24 +360,69 @@ public class KnightBoardPanel extends Pane {
         // Redibuja el tablero para quitar resaltados anteriores
         drawBoard();
 
-        // Posibles movimientos del caballo (8 direcciones)
-        int[] dx = {2, 1, -1, -2, -2, -1, 1, 2};
-        int[] dy = {1, 2, 2, 1, -1, -2, -2, -1};
-
-        // Resaltar casillas válidas
-        for (int i = 0; i < 8; i++) {
-            int newX = knightX + dx[i];
-            int newY = knightY + dy[i];
-
-            if (newX >= 0 && newX < boardSize && newY >= 0 && newY < boardSize && board[newY][newX] == -1) {
-                // Casilla válida
-                gc.setFill(VALID_MOVE_COLOR);
-                gc.fillRect(newX * cellSize, newY * cellSize, cellSize, cellSize);
+        // Movimientos legales ordenados por grado usando la tabla compartida
+        int count = degrees.rankMoves(knightY * boardSize + knightX, rankedMoves);
+        boolean bestMarked = false;
+
+        for (int i = 0; i < count; i++) {
+            int cell = rankedMoves[i];
+            int col = cell % boardSize;
+            int row = cell / boardSize;
+
+            Color color;
+            if (degrees.isolatesSquare(cell)) {
+                color = INVALID_MOVE_COLOR; // Dejaría una casilla inalcanzable
+            } else if (!bestMarked) {
+                color = HIGHLIGHT_COLOR; // Mejor opción según Warnsdorff
+                bestMarked = true;
+            } else {
+                color = VALID_MOVE_COLOR;
             }
+
+            gc.setFill(color);
+            gc.fillRect(col * cellSize, row * cellSize, cellSize, cellSize);
+            drawDegree(gc, col, row, degrees.getDegree(cell));
         }
 
         // Volver a dibujar el caballo
         drawKnight(gc, knightX, knightY);
+        hintsDirty = false;
+    }
+
+    /**
+     * Dibuja el grado de Warnsdorff en la esquina de una casilla
+     * @param gc contexto gráfico
+     * @param col columna
+     * @param row fila
+     * @param degree grado de la casilla
+     */
+    private void drawDegree(GraphicsContext gc, int col, int row, int degree) {
+        gc.setFill(Color.BLACK);
+        gc.setFont(Font.font("Arial", FontWeight.NORMAL, 11));
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText(String.valueOf(degree), col * cellSize + 4, row * cellSize + 13);
+    }
+
+    /**
+     * Reconstruye la tabla de grados a partir del estado del tablero
+     * Solo se usa cuando el tablero cambia por completo
+     */
+    private void rebuildDegrees() {
+        if (degrees == null || degrees.getWidth() != boardSize) {
+            degrees = new DegreeTable(boardSize, boardSize);
+        } else {
+            degrees.reset();
+        }
+
+        for (int i = 0; i < boardSize; i++) {
+            for (int j = 0; j < boardSize; j++) {
+                if (board[i][j] >= 0) {
+                    degrees.visit(i * boardSize + j);
+                }
+            }
+        }
+
+        hintsDirty = true;
     }
 
     /**
@@ -386,26 +446,20 @@ public class KnightBoardPanel extends Pane {
                 drawMoveNumber(gc, col, row, board[row][col]);
             }
 
-            // Restaurar color original después de un tiempo
-            new Thread(() -> {
-                try {
-                    Thread.sleep(800);
-
-                    // Volver al color original en el hilo de JavaFX
-                    javafx.application.Platform.runLater(() -> {
-                        gc.setFill(originalColor);
-                        gc.fillRect(col * cellSize, row * cellSize, cellSize, cellSize);
-
-                        // Redibujar número si existe
-                        if (board[row][col] >= 0) {
-                            drawMoveNumber(gc, col, row, board[row][col]);
-                        }
-                    });
+            // Restaurar color original después de un tiempo (en el hilo de JavaFX, sin hilos auxiliares)
+            javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(
+                    javafx.util.Duration.seconds(0.8)
+            );
+            pause.setOnFinished(event -> {
+                gc.setFill(originalColor);
+                gc.fillRect(col * cellSize, row * cellSize, cellSize, cellSize);
 
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+                // Redibujar número si existe
+                if (board[row][col] >= 0) {
+                    drawMoveNumber(gc, col, row, board[row][col]);
                 }
-            }).start();
+            });
+            pause.play();
         }
     }
 
@@ -427,6 +481,7 @@ public class KnightBoardPanel extends Pane {
 
         // Marcar posición inicial
         board[startY][startX] = 0;
+        rebuildDegrees();
 
         drawBoard();
     }
@@ -455,6 +510,7 @@ public class KnightBoardPanel extends Pane {
                 }
             }
         }
+        rebuildDegrees();
 
         drawBoard();
     }
@@ -481,9 +537,13 @@ public class KnightBoardPanel extends Pane {
             int col = (int) (event.getX() / cellSize);
             int row = (int) (event.getY() / cellSize);
 
-            // Resaltar casillas válidas cuando el ratón se mueve
+            // Resaltar casillas válidas solo si cambia la casilla o el tablero
             if (isValidPosition(col, row)) {
-                highlightValidMoves();
+                int cell = row * boardSize + col;
+                if (cell != hoverCell || hintsDirty) {
+                    hoverCell = cell;
+                    highlightValidMoves();
+                }
             }
         }
     }
@@ -14,10 +14,13 @@ import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.KnightRecord;
 import com.arcade.model.game.Game;
 import com.arcade.model.game.knight.KnightGame;
+import com.arcade.service.ExecutionService;
 import com.arcade.service.GameService;
 import com.arcade.view.GameView;
 import com.arcade.view.components.ChessBoard;
@@ -44,6 +47,8 @@ public class KnightView extends BorderPane implements GameView {
     private Button solveButton;
     private Button stepButton;
     private Button resetButton;
+    private Button undoButton;
+    private Button redoButton;
     private Label stepsLabel;
     private Label movesLabel;
     private Label timeLabel;
@@ -123,6 +128,17 @@ public class KnightView extends BorderPane implements GameView {
         resetButton.setPrefWidth(180);
         resetButton.setDisable(true);
 
+        undoButton = new Button("Deshacer");
+        undoButton.setPrefWidth(85);
+        undoButton.setDisable(true);
+
+        redoButton = new Button("Rehacer");
+        redoButton.setPrefWidth(85);
+        redoButton.setDisable(true);
+
+        HBox historyBox = new HBox(10, undoButton, redoButton);
+        historyBox.setAlignment(Pos.CENTER_LEFT);
+
         Label statsLabel = new Label("Estadísticas");
         statsLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
 
@@ -149,6 +165,7 @@ public class KnightView extends BorderPane implements GameView {
                 solveButton,
                 stepButton,
                 resetButton,
+                historyBox,
                 new javafx.scene.control.Separator(),
                 statsLabel,
                 stepsLabel,
@@ -166,6 +183,8 @@ public class KnightView extends BorderPane implements GameView {
         solveButton.setOnAction(e -> showSolution());
         stepButton.setOnAction(e -> showStep());
         resetButton.setOnAction(e -> reset());
+        undoButton.setOnAction(e -> undoMove());
+        redoButton.setOnAction(e -> redoMove());
 
         // Asignar paneles
         setTop(topBox);
@@ -296,6 +315,38 @@ public class KnightView extends BorderPane implements GameView {
         }
     }
 
+    /**
+     * Deshace el último movimiento del caballo
+     */
+    private void undoMove() {
+        if (game != null && chessBoard != null && game.undo()) {
+            chessBoard.clearCell(lastX, lastY);
+            lastX = game.getCurrentX();
+            lastY = game.getCurrentY();
+            chessBoard.placeKnightAt(lastX, lastY);
+            chessBoard.placeNumberAt(lastX, lastY, game.getTotalMoves() - 1);
+            updateView();
+        }
+    }
+
+    /**
+     * Rehace el último movimiento deshecho
+     */
+    private void redoMove() {
+        if (game != null && chessBoard != null && game.redo()) {
+            lastX = game.getCurrentX();
+            lastY = game.getCurrentY();
+            chessBoard.placeKnightAt(lastX, lastY);
+            chessBoard.placeNumberAt(lastX, lastY, game.getTotalMoves() - 1);
+            updateView();
+
+            if (game.isSolved()) {
+                showMessage("¡Felicidades! Has completado el recorrido correctamente.");
+                saveGameRecord(true);
+            }
+        }
+    }
+
     @Override
     public void updateView() {
         if (game != null) {
@@ -305,6 +356,9 @@ public class KnightView extends BorderPane implements GameView {
             movesLabel.setText("Movimientos: " + game.getTotalMoves() + " / " +
                     (boardSize * boardSize));
             timeLabel.setText("Tiempo: " + game.getElapsedTimeSeconds() + "s");
+
+            undoButton.setDisable(!game.canUndo());
+            redoButton.setDisable(!game.canRedo());
         }
     }
 
@@ -381,52 +435,64 @@ public class KnightView extends BorderPane implements GameView {
             // Desactivar botones durante la resolución
             setControlsEnabled(false);
 
-            // Resolver en un hilo separado para no bloquear la UI
-            new Thread(() -> {
-                boolean success = game.solve();
-
-                // Actualizar UI en el hilo de JavaFX
-                Platform.runLater(() -> {
-                    // Actualizar tablero con la solución
-                    if (success && chessBoard != null) {
-                        int[][] board = game.getBoard();
-                        int size = game.getBoardSize();
-
-                        chessBoard.clear();
-
-                        // Mostrar secuencia de movimientos
-                        for (int i = 0; i < size; i++) {
-                            for (int j = 0; j < size; j++) {
-                                if (board[i][j] >= 0) {
-                                    chessBoard.placeNumberAt(j, i, board[i][j]);
+            // Resolver en el grupo de cálculo para no bloquear la UI
+            try {
+                ExecutionService.getInstance().submitCpu(() -> {
+                    boolean success = false;
+                    try {
+                        success = game.solve();
+                    } finally {
+                        // Los controles se rehabilitan aunque la resolución falle
+                        final boolean solved = success;
+
+                        // Actualizar UI en el hilo de JavaFX
+                        Platform.runLater(() -> {
+                            // Actualizar tablero con la solución
+                            if (solved && chessBoard != null) {
+                                int[][] board = game.getBoard();
+                                int size = game.getBoardSize();
+
+                                chessBoard.clear();
+
+                                // Mostrar secuencia de movimientos
+                                for (int i = 0; i < size; i++) {
+                                    for (int j = 0; j < size; j++) {
+                                        if (board[i][j] >= 0) {
+                                            chessBoard.placeNumberAt(j, i, board[i][j]);
+                                        }
+                                    }
                                 }
-                            }
-                        }
 
-                        // Colocar caballo en posición final
-                        int lastMove = size * size - 1;
-                        for (int i = 0; i < size; i++) {
-                            for (int j = 0; j < size; j++) {
-                                if (board[i][j] == lastMove) {
-                                    chessBoard.placeKnightAt(j, i);
-                                    lastX = j;
-                                    lastY = i;
+                                // Colocar caballo en posición final
+                                int lastMove = size * size - 1;
+                                for (int i = 0; i < size; i++) {
+                                    for (int j = 0; j < size; j++) {
+                                        if (board[i][j] == lastMove) {
+                                            chessBoard.placeKnightAt(j, i);
+                                            lastX = j;
+                                            lastY = i;
+                                        }
+                                    }
                                 }
                             }
-                        }
-                    }
 
-                    updateView();
-                    setControlsEnabled(true);
+                            updateView();
+                            setControlsEnabled(true);
 
-                    if (success) {
-                        showMessage("Se ha encontrado un recorrido válido.");
-                        saveGameRecord(true);
-                    } else {
-                        showMessage("No se pudo encontrar un recorrido completo con los parámetros actuales.");
+                            if (solved) {
+                                showMessage("Se ha encontrado un recorrido válido.");
+                                saveGameRecord(true);
+                            } else {
+                                showMessage("No se pudo encontrar un recorrido completo con los parámetros actuales.");
+                            }
+                        });
                     }
-                });
-            }).start();
+                }, ExecutionService.Priority.HIGH);
+            } catch (RejectedExecutionException e) {
+                // Grupo de cálculo saturado: devolver la interfaz a su estado anterior
+                setControlsEnabled(true);
+                showError("No se pudo iniciar la resolución: " + e.getMessage());
+            }
         }
     }
 
@@ -448,6 +514,8 @@ public class KnightView extends BorderPane implements GameView {
             solveButton.setDisable(true);
             stepButton.setDisable(true);
             resetButton.setDisable(true);
+            undoButton.setDisable(true);
+            redoButton.setDisable(true);
 
             // Actualizar etiquetas
             stepsLabel.setText("Pasos: 0");
@@ -463,22 +531,28 @@ public class KnightView extends BorderPane implements GameView {
     private void saveGameRecord(boolean completed) {
         if (game != null && gameService != null) {
             try {
-                GameRecord record = gameService.saveGameRecord(game, completed);
-
-                if (record instanceof KnightRecord) {
-                    KnightRecord knightRecord = (KnightRecord) record;
-
-                    String message = String.format(
-                            "Resultado guardado:\nTablero %dx%d\nPosición inicial: (%d,%d)\n" +
-                                    "Movimientos: %d\nPasos: %d\nTiempo: %ds",
-                            knightRecord.getBoardSize(), knightRecord.getBoardSize(),
-                            knightRecord.getStartX(), knightRecord.getStartY(),
-                            knightRecord.getTotalMoves(), knightRecord.getSteps(),
-                            knightRecord.getElapsedTimeSeconds()
-                    );
-
-                    showMessage(message);
-                }
+                // El registro se crea aquí, donde se usa el juego, y se guarda en un hilo de E/S
+                GameRecord pending = gameService.createGameRecord(game, completed);
+                ExecutionService.getInstance().submitIo(() -> {
+                    GameRecord record = gameService.saveRecord(pending);
+
+                    Platform.runLater(() -> {
+                        if (record instanceof KnightRecord) {
+                            KnightRecord knightRecord = (KnightRecord) record;
+
+                            String message = String.format(
+                                    "Resultado guardado:\nTablero %dx%d\nPosición inicial: (%d,%d)\n" +
+                                            "Movimientos: %d\nPasos: %d\nTiempo: %ds",
+                                    knightRecord.getBoardSize(), knightRecord.getBoardSize(),
+                                    knightRecord.getStartX(), knightRecord.getStartY(),
+                                    knightRecord.getTotalMoves(), knightRecord.getSteps(),
+                                    knightRecord.getElapsedTimeSeconds()
+                            );
+
+                            showMessage(message);
+                        }
+                    });
+                });
             } catch (Exception e) {
                 showError("Error al guardar: " + e.getMessage());
             }
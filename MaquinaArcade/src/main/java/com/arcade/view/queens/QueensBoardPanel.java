@@ -202,26 +202,20 @@ public class QueensBoardPanel extends Pane {
                 drawQueen(gc, col, row);
             }
 
-            // Restaurar color original después de un tiempo
-            new Thread(() -> {
-                try {
-                    Thread.sleep(800);
-
-                    // Volver al color original en el hilo de JavaFX
-                    javafx.application.Platform.runLater(() -> {
-                        gc.setFill(originalColor);
-                        gc.fillRect(col * cellSize, row * cellSize, cellSize, cellSize);
-
-                        // Redibujar reina si existe
-                        if (queens[row][col]) {
-                            drawQueen(gc, col, row);
-                        }
-                    });
-
-                } catch (InterruptedException e) {
-                    e.printStackTrace();
+            // Restaurar color original después de un tiempo (en el hilo de JavaFX, sin hilos auxiliares)
+            javafx.animation.PauseTransition pause = new javafx.animation.PauseTransition(
+                    javafx.util.Duration.seconds(0.8)
+            );
+            pause.setOnFinished(event -> {
+                gc.setFill(originalColor);
+                gc.fillRect(col * cellSize, row * cellSize, cellSize, cellSize);
+
+                // Redibujar reina si existe
+                if (queens[row][col]) {
+                    drawQueen(gc, col, row);
                 }
-            }).start();
+            });
+            pause.play();
         }
     }
 
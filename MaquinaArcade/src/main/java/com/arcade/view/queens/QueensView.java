@@ -14,10 +14,13 @@ import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
 import javafx.util.Duration;
 
+import java.util.concurrent.RejectedExecutionException;
+
 import com.arcade.model.entity.GameRecord;
 import com.arcade.model.entity.QueenRecord;
 import com.arcade.model.game.Game;
 import com.arcade.model.game.queens.QueensGame;
+import com.arcade.service.ExecutionService;
 import com.arcade.service.GameService;
 import com.arcade.view.GameView;
 import com.arcade.view.components.ChessBoard;
@@ -308,23 +311,35 @@ public class QueensView extends BorderPane implements GameView {
             // Desactivar botones durante la resolución
             setControlsEnabled(false);
 
-            // Resolver en un hilo separado para no bloquear la UI
-            new Thread(() -> {
-                boolean success = game.solve();
-
-                // Actualizar UI en el hilo de JavaFX
-                Platform.runLater(() -> {
-                    updateView();
-                    setControlsEnabled(true);
-
-                    if (success) {
-                        showMessage("Se ha encontrado una solución válida.");
-                        saveGameRecord(true);
-                    } else {
-                        showMessage("No se pudo resolver el problema con los parámetros actuales.");
+            // Resolver en el grupo de cálculo para no bloquear la UI
+            try {
+                ExecutionService.getInstance().submitCpu(() -> {
+                    boolean success = false;
+                    try {
+                        success = game.solve();
+                    } finally {
+                        // Los controles se rehabilitan aunque la resolución falle
+                        final boolean solved = success;
+
+                        // Actualizar UI en el hilo de JavaFX
+                        Platform.runLater(() -> {
+                            updateView();
+                            setControlsEnabled(true);
+
+                            if (solved) {
+                                showMessage("Se ha encontrado una solución válida.");
+                                saveGameRecord(true);
+                            } else {
+                                showMessage("No se pudo resolver el problema con los parámetros actuales.");
+                            }
+                        });
                     }
-                });
-            }).start();
+                }, ExecutionService.Priority.HIGH);
+            } catch (RejectedExecutionException e) {
+                // Grupo de cálculo saturado: devolver la interfaz a su estado anterior
+                setControlsEnabled(true);
+                showError("No se pudo iniciar la resolución: " + e.getMessage());
+            }
         }
     }
 
@@ -358,19 +373,25 @@ public class QueensView extends BorderPane implements GameView {
     private void saveGameRecord(boolean completed) {
         if (game != null && gameService != null) {
             try {
-                GameRecord record = gameService.saveGameRecord(game, completed);
-
-                if (record instanceof QueenRecord) {
-                    QueenRecord queenRecord = (QueenRecord) record;
-
-                    String message = String.format(
-                            "Resultado guardado:\nTablero %dx%d\nPasos: %d\nTiempo: %ds",
-                            queenRecord.getBoardSize(), queenRecord.getBoardSize(),
-                            queenRecord.getSteps(), queenRecord.getElapsedTimeSeconds()
-                    );
-
-                    showMessage(message);
-                }
+                // El registro se crea aquí, donde se usa el juego, y se guarda en un hilo de E/S
+                GameRecord pending = gameService.createGameRecord(game, completed);
+                ExecutionService.getInstance().submitIo(() -> {
+                    GameRecord record = gameService.saveRecord(pending);
+
+                    Platform.runLater(() -> {
+                        if (record instanceof QueenRecord) {
+                            QueenRecord queenRecord = (QueenRecord) record;
+
+                            String message = String.format(
+                                    "Resultado guardado:\nTablero %dx%d\nPasos: %d\nTiempo: %ds",
+                                    queenRecord.getBoardSize(), queenRecord.getBoardSize(),
+                                    queenRecord.getSteps(), queenRecord.getElapsedTimeSeconds()
+                            );
+
+                            showMessage(message);
+                        }
+                    });
+                });
             } catch (Exception e) {
                 showError("Error al guardar: " + e.getMessage());
             }